@@ -0,0 +1,101 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.AuthenticatedHttpClient;
+import br.com.uol.pagseguro.api.http.JSEHttpClient;
+
+/**
+ * Decoration of the request urls with credential and correlation id. The size is the number of
+ * parameters already on the query, like the searches
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticatedHttpClientBenchmark {
+
+  /**
+   * Keeps the level of the client logger, so the correlation id logs are not measured. The simple
+   * logger factory of the lib sets each logger to {@code ALL} when the class is loaded, so the level
+   * is changed after the client is created
+   */
+  private static final Logger CLIENT_LOGGER = Logger.getLogger(
+      AuthenticatedHttpClient.class.getName());
+
+  @Param({"0", "5", "20"})
+  private int size;
+
+  private AuthenticatedHttpClient httpClient;
+
+  private String url;
+
+  @Setup
+  public void setUp() {
+    httpClient = new AuthenticatedHttpClient(new JSEHttpClient(),
+        Credential.sellerCredential("vendedor@loja.com.br", "6B8C3F4A2D1E4B7C9A0F5E3D2C1B0A9F"));
+    CLIENT_LOGGER.setLevel(Level.WARNING);
+    final StringBuilder builder = new StringBuilder(
+        "https://ws.sandbox.pagseguro.uol.com.br/v3/transactions");
+    for (int i = 0; i < size; i++) {
+      builder.append(i == 0 ? '?' : '&').append("parameter").append(i).append("=value").append(i);
+    }
+    url = builder.toString();
+  }
+
+  @Benchmark
+  public String appendCredential() throws URISyntaxException, UnsupportedEncodingException {
+    return httpClient.appendCredential(url);
+  }
+
+  @Benchmark
+  public String appendCorrelationId() throws URISyntaxException, UnsupportedEncodingException {
+    return httpClient.appendCorrelationId(url);
+  }
+
+  @Benchmark
+  public String decorate() throws URISyntaxException, UnsupportedEncodingException {
+    return httpClient.appendCorrelationId(httpClient.appendCredential(url));
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH result in csv format ({@code -rf csv}) with a committed baseline. A benchmark
+ * regresses when its time per operation grows more than the time tolerance or when its
+ * allocation per operation ({@code gc.alloc.rate.norm}) grows more than the allocation tolerance.
+ * The allocation is the stable metric across machines; the time is only comparable on the machine
+ * that recorded the baseline.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar br.com.uol.pagseguro.api.benchmark.BaselineCheck \
+ *     baselines/jdk8.csv result.csv [timeTolerance] [allocationTolerance]
+ * </pre>
+ *
+ * Exits with status 1 when some benchmark regressed
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class BaselineCheck {
+
+  private static final String ALLOCATION_SUFFIX = "gc.alloc.rate.norm";
+
+  /**
+   * Bytes per operation ignored on the allocation comparison, to absorb the noise of the small
+   * benchmarks
+   */
+  private static final double ALLOCATION_SLACK = 16;
+
+  BaselineCheck() {
+    throw new IllegalStateException();
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Uso: BaselineCheck <baseline.csv> <resultado.csv> "
+                         + "[toleranciaTempo] [toleranciaAlocacao]");
+      System.exit(2);
+    }
+    final double timeTolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+    final double allocationTolerance = args.length > 3 ? Double.parseDouble(args[3]) : 0.10;
+    final Map<String, Row> baseline = read(args[0]);
+    final Map<String, Row> result = read(args[1]);
+    int regressions = 0;
+    for (Row expected : baseline.values()) {
+      final Row actual = result.get(expected.key);
+      if (actual == null) {
+        continue;
+      }
+      final boolean regressed;
+      if (expected.benchmark.endsWith(ALLOCATION_SUFFIX)) {
+        regressed = actual.score > expected.score * (1 + allocationTolerance) + ALLOCATION_SLACK;
+      } else if (expected.benchmark.indexOf(':') < 0) {
+        regressed = "thrpt".equals(expected.mode)
+            ? actual.score < expected.score * (1 - timeTolerance)
+            : actual.score > expected.score * (1 + timeTolerance);
+      } else {
+        continue;
+      }
+      System.out.println(String.format("%-4s %s: %.3f -> %.3f %s", regressed ? "PIOR" : "ok",
+          expected.key, expected.score, actual.score, expected.unit));
+      if (regressed) {
+        regressions++;
+      }
+    }
+    System.out.println(String.format("%d regressao(oes)", regressions));
+    System.exit(regressions > 0 ? 1 : 0);
+  }
+
+  /**
+   * Read the rows of a csv result, keyed by benchmark and parameters
+   *
+   * @param file Csv file
+   * @return Rows
+   */
+  private static Map<String, Row> read(String file) throws IOException {
+    final Map<String, Row> rows = new LinkedHashMap<String, Row>();
+    final BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new FileInputStream(file), "UTF-8"));
+    try {
+      final List<String> header = split(reader.readLine());
+      final int benchmark = header.indexOf("Benchmark");
+      final int mode = header.indexOf("Mode");
+      final int score = header.indexOf("Score");
+      final int unit = header.indexOf("Unit");
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+        final List<String> fields = split(line);
+        final StringBuilder key = new StringBuilder(fields.get(benchmark));
+        for (int i = 0; i < header.size(); i++) {
+          if (header.get(i).startsWith("Param: ") && i < fields.size()
+              && !fields.get(i).isEmpty()) {
+            key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+          }
+        }
+        rows.put(key.toString(), new Row(key.toString(), fields.get(benchmark),
+            fields.get(mode), parse(fields.get(score)), fields.get(unit)));
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+
+  private static double parse(String value) {
+    if (value.indexOf(',') >= 0 && value.indexOf('.') < 0) {
+      return Double.parseDouble(value.replace(',', '.'));
+    }
+    return Double.parseDouble(value);
+  }
+
+  private static List<String> split(String line) {
+    final List<String> fields = new ArrayList<String>();
+    final StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Row of a csv result
+   */
+  private static class Row {
+
+    private final String key;
+
+    private final String benchmark;
+
+    private final String mode;
+
+    private final double score;
+
+    private final String unit;
+
+    Row(String key, String benchmark, String mode, double score, String unit) {
+      this.key = key;
+      this.benchmark = benchmark;
+      this.mode = mode;
+      this.score = score;
+      this.unit = unit;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the JMH command line and adds the gc profiler, so
+ * every result reports the allocation rate ({@code gc.alloc.rate.norm} is the bytes allocated per
+ * operation). Pass {@code -prof} to choose the profilers explicitly
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class BenchmarkMain {
+
+  BenchmarkMain() {
+    throw new IllegalStateException();
+  }
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    final CommandLineOptions commandLine;
+    try {
+      commandLine = new CommandLineOptions(args);
+    } catch (CommandLineOptionException e) {
+      System.err.println("Erro ao ler opcoes: " + e.getMessage());
+      System.exit(1);
+      return;
+    }
+    if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+        || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+    final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (commandLine.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+}
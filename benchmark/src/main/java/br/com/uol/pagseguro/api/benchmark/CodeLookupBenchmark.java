@@ -0,0 +1,161 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+import br.com.uol.pagseguro.api.common.domain.TransactionType;
+import br.com.uol.pagseguro.api.common.domain.enums.PaymentMethodName;
+import br.com.uol.pagseguro.api.notification.NotificationType;
+
+/**
+ * Classification loop over one million rows: status, type, payment method name and notification
+ * type of each row. The linear benchmark reproduces the previous {@code values()} scans and
+ * wrapper allocation, the indexed one uses the lookup tables and cached wrappers
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeLookupBenchmark {
+
+  private static final int ROWS = 1000000;
+
+  private static final Integer[] STATUS_IDS = {1, 2, 3, 4, 5, 6, 7};
+
+  private static final Integer[] TYPE_IDS = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14};
+
+  private static final String[] NOTIFICATION_TYPES = {"transaction", "preApproval",
+      "applicationAuthorization"};
+
+  private Integer[] statusIds;
+
+  private Integer[] typeIds;
+
+  private String[] paymentMethodNames;
+
+  private String[] notificationTypes;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    final PaymentMethodName[] names = PaymentMethodName.values();
+    statusIds = new Integer[ROWS];
+    typeIds = new Integer[ROWS];
+    paymentMethodNames = new String[ROWS];
+    notificationTypes = new String[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      statusIds[i] = random.nextInt(9) + 1;
+      typeIds[i] = random.nextInt(14) + 1;
+      final String name = names[random.nextInt(names.length - 1)].getValue();
+      paymentMethodNames[i] = random.nextBoolean() ? name : name.toLowerCase();
+      notificationTypes[i] = NOTIFICATION_TYPES[random.nextInt(NOTIFICATION_TYPES.length)];
+    }
+  }
+
+  @Benchmark
+  public void linear(Blackhole blackhole) {
+    for (int i = 0; i < ROWS; i++) {
+      blackhole.consume(new TransactionStatus(statusIds[i]));
+      blackhole.consume(linearStatus(statusIds[i]));
+      blackhole.consume(new TransactionType(typeIds[i]));
+      blackhole.consume(linearType(typeIds[i]));
+      blackhole.consume(linearPaymentMethodName(paymentMethodNames[i]));
+      blackhole.consume(linearNotificationType(notificationTypes[i]));
+    }
+  }
+
+  @Benchmark
+  public void indexed(Blackhole blackhole) {
+    for (int i = 0; i < ROWS; i++) {
+      final TransactionStatus status = TransactionStatus.valueOf(statusIds[i]);
+      blackhole.consume(status);
+      blackhole.consume(status.getStatus());
+      final TransactionType type = TransactionType.valueOf(typeIds[i]);
+      blackhole.consume(type);
+      blackhole.consume(type.getType());
+      blackhole.consume(PaymentMethodName.fromValue(paymentMethodNames[i]));
+      blackhole.consume(NotificationType.fromName(notificationTypes[i]));
+    }
+  }
+
+  /**
+   * Scan of {@code values()} comparing boxed ids, as done before the lookup tables
+   */
+  private static TransactionStatus.Status linearStatus(Integer statusId) {
+    final TransactionStatus.Status[] values = TransactionStatus.Status.values();
+    for (int i = 0; i < values.length; i++) {
+      if (i < STATUS_IDS.length && STATUS_IDS[i] == statusId) {
+        return values[i];
+      }
+    }
+    return TransactionStatus.Status.UNRECOGNIZED;
+  }
+
+  private static TransactionType.Type linearType(Integer typeId) {
+    final TransactionType.Type[] values = TransactionType.Type.values();
+    for (int i = 0; i < values.length; i++) {
+      if (i < TYPE_IDS.length && TYPE_IDS[i] == typeId) {
+        return values[i];
+      }
+    }
+    return TransactionType.Type.UNRECOGNIZED;
+  }
+
+  private static PaymentMethodName linearPaymentMethodName(String value) {
+    for (PaymentMethodName paymentMethodName : PaymentMethodName.values()) {
+      if (paymentMethodName.getValue() != null
+          && paymentMethodName.getValue().equalsIgnoreCase(value)) {
+        return paymentMethodName;
+      }
+    }
+    return PaymentMethodName.UNRECOGNIZED;
+  }
+
+  private static NotificationType linearNotificationType(String name) {
+    final NotificationType[] values = NotificationType.values();
+    for (int i = 0; i < values.length; i++) {
+      if (i < NOTIFICATION_TYPES.length && NOTIFICATION_TYPES[i].equalsIgnoreCase(name)) {
+        return values[i];
+      }
+    }
+    return NotificationType.OTHER;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistration;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalRegistration;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistration;
+import br.com.uol.pagseguro.api.utils.MapConverter;
+import br.com.uol.pagseguro.api.utils.RequestMap;
+
+/**
+ * Conversion of the registrations to request maps by the top level converters
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see RegistrationPayloads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapConverterBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int size;
+
+  private MapConverter<CheckoutRegistration> checkoutConverter;
+
+  private MapConverter<DirectPaymentRegistration> directPaymentConverter;
+
+  private MapConverter<SplitPaymentRegistration> splitPaymentConverter;
+
+  private MapConverter<PreApprovalRegistration> preApprovalConverter;
+
+  private CheckoutRegistration checkout;
+
+  private DirectPaymentRegistration directPayment;
+
+  private SplitPaymentRegistration splitPayment;
+
+  private PreApprovalRegistration preApproval;
+
+  @Setup
+  public void setUp() {
+    checkoutConverter = MapConverters.checkout();
+    directPaymentConverter = MapConverters.directPayment();
+    splitPaymentConverter = MapConverters.splitPayment();
+    preApprovalConverter = MapConverters.preApproval();
+    checkout = RegistrationPayloads.checkout(size);
+    directPayment = RegistrationPayloads.directPayment(size);
+    splitPayment = RegistrationPayloads.splitPayment(size);
+    preApproval = RegistrationPayloads.preApproval(size);
+  }
+
+  @Benchmark
+  public RequestMap checkout() {
+    return checkoutConverter.convert(checkout);
+  }
+
+  @Benchmark
+  public RequestMap directPayment() {
+    return directPaymentConverter.convert(directPayment);
+  }
+
+  @Benchmark
+  public RequestMap splitPayment() {
+    return splitPaymentConverter.convert(splitPayment);
+  }
+
+  @Benchmark
+  public RequestMap preApproval() {
+    return preApprovalConverter.convert(preApproval);
+  }
+}
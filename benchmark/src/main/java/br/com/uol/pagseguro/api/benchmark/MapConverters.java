@@ -0,0 +1,92 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.lang.reflect.Constructor;
+
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistration;
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistrationV2MapConverter;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalRegistration;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalRegistrationV2MapConverter;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistrationV2MapConverter;
+import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistrationV3MapConverter;
+import br.com.uol.pagseguro.api.utils.MapConverter;
+
+/**
+ * Top level converters of the registrations. Their constructors are package private, so the
+ * instances are created by reflection once, outside of the measurement
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class MapConverters {
+
+  MapConverters() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Checkout registration converter
+   *
+   * @return Converter
+   */
+  /**
+   * Direct payment registration converter
+   *
+   * @return Converter
+   */
+  /**
+   * Split payment registration converter
+   *
+   * @return Converter
+   */
+  /**
+   * Pre approval registration converter
+   *
+   * @return Converter
+   */
+  public static MapConverter<CheckoutRegistration> checkout() {
+    return create(CheckoutRegistrationV2MapConverter.class);
+  }
+
+  public static MapConverter<DirectPaymentRegistration> directPayment() {
+    return create(DirectPaymentRegistrationV2MapConverter.class);
+  }
+
+  public static MapConverter<SplitPaymentRegistration> splitPayment() {
+    return create(SplitPaymentRegistrationV3MapConverter.class);
+  }
+
+  public static MapConverter<PreApprovalRegistration> preApproval() {
+    return create(PreApprovalRegistrationV2MapConverter.class);
+  }
+
+  private static <T extends MapConverter<?>> T create(Class<T> clazz) {
+    try {
+      final Constructor<T> constructor = clazz.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return constructor.newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
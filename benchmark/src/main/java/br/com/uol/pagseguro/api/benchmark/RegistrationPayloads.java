@@ -0,0 +1,216 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistration;
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistrationBuilder;
+import br.com.uol.pagseguro.api.common.domain.ShippingType;
+import br.com.uol.pagseguro.api.common.domain.builder.AddressBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ParameterBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PreApprovalBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ReceiverBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ShippingBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SplitBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalRegistration;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalRegistrationBuilder;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistrationBuilder;
+import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistrationBuilder;
+
+/**
+ * Registrations like the ones sent to api, used by the benchmarks. The size is the number of
+ * items (pre approvals have no items, so the size is the number of parameters)
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class RegistrationPayloads {
+
+  private static final BigDecimal AMOUNT = new BigDecimal("249.90");
+
+  RegistrationPayloads() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Checkout registration
+   *
+   * @param items Number of items
+   * @return Checkout registration
+   */
+  public static CheckoutRegistration checkout(int items) {
+    final CheckoutRegistrationBuilder builder = new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withExtraAmount(BigDecimal.ZERO)
+        .withReference("REF1234")
+        .withSender(sender())
+        .withShipping(shipping())
+        .withPreApproval(new PreApprovalBuilder()
+            .withCharge("auto")
+            .withName("Assinatura mensal")
+            .withDetails("Cobranca mensal da assinatura")
+            .withAmountPerPayment(AMOUNT)
+            .withMaxTotalAmount(new BigDecimal("2998.80"))
+            .withPeriod("MONTHLY")
+            .withDateRange(dateRange()));
+    for (int i = 0; i < items; i++) {
+      builder.addItem(item(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Direct payment registration
+   *
+   * @param items Number of items
+   * @return Direct payment registration
+   */
+  public static DirectPaymentRegistration directPayment(int items) {
+    final DirectPaymentRegistrationBuilder builder = new DirectPaymentRegistrationBuilder()
+        .withPaymentMode("default")
+        .withCurrency(Currency.BRL)
+        .withExtraAmount(BigDecimal.ZERO)
+        .withReference("REF1234")
+        .withNotificationURL("https://www.loja.com.br/notificacoes")
+        .withReceiverEmail("vendedor@loja.com.br")
+        .withSender(sender())
+        .withShipping(shipping());
+    for (int i = 0; i < items; i++) {
+      builder.addItem(item(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Split payment registration, with one secondary receiver
+   *
+   * @param items Number of items
+   * @return Split payment registration
+   */
+  public static SplitPaymentRegistration splitPayment(int items) {
+    final SplitPaymentRegistrationBuilder builder = new SplitPaymentRegistrationBuilder()
+        .withPaymentMode("default")
+        .withCurrency(Currency.BRL)
+        .withExtraAmount(BigDecimal.ZERO)
+        .withReference("REF1234")
+        .withNotificationURL("https://www.loja.com.br/notificacoes")
+        .withSender(sender())
+        .withShipping(shipping())
+        .withPrimaryReceiver(new ReceiverBuilder()
+            .withPublicKey("PUB4C3B2A1E0D9C8B7A6F5E4D3C2B1A0F9E")
+            .withSplit(new SplitBuilder()
+                .withAmount(new BigDecimal("200.00"))
+                .withRatePercent(new BigDecimal("80.00"))
+                .withFeePercent(new BigDecimal("80.00"))))
+        .addReceiver(new ReceiverBuilder()
+            .withPublicKey("PUB9F8E7D6C5B4A3F2E1D0C9B8A7F6E5D4C")
+            .withSplit(new SplitBuilder()
+                .withAmount(new BigDecimal("49.90"))
+                .withRatePercent(new BigDecimal("20.00"))
+                .withFeePercent(new BigDecimal("20.00"))));
+    for (int i = 0; i < items; i++) {
+      builder.addItem(item(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Pre approval registration
+   *
+   * @param parameters Number of parameters
+   * @return Pre approval registration
+   */
+  public static PreApprovalRegistration preApproval(int parameters) {
+    final PreApprovalRegistrationBuilder builder = new PreApprovalRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withExtraAmount(BigDecimal.ZERO)
+        .withReference("REF1234")
+        .withRedirectURL("https://www.loja.com.br/retorno")
+        .withNotificationURL("https://www.loja.com.br/notificacoes")
+        .withSender(sender())
+        .withShipping(shipping())
+        .withPreApproval(new PreApprovalBuilder()
+            .withCharge("auto")
+            .withName("Assinatura mensal")
+            .withDetails("Cobranca mensal da assinatura")
+            .withAmountPerPayment(AMOUNT)
+            .withMaxTotalAmount(new BigDecimal("2998.80"))
+            .withPeriod("MONTHLY")
+            .withDateRange(dateRange()));
+    for (int i = 0; i < parameters; i++) {
+      builder.addParameter(new ParameterBuilder()
+          .withName("metadata" + i)
+          .withValue("valor " + i));
+    }
+    return builder.build();
+  }
+
+  private static PaymentItemBuilder item(int index) {
+    return new PaymentItemBuilder()
+        .withId(String.valueOf(index + 1))
+        .withDescription("Notebook Prata 15 polegadas")
+        .withAmount(AMOUNT)
+        .withQuantity(1)
+        .withWeight(1500)
+        .withShippingCost(BigDecimal.ZERO);
+  }
+
+  private static SenderBuilder sender() {
+    return new SenderBuilder()
+        .withName("Jose Comprador")
+        .withEmail("comprador@sandbox.pagseguro.com.br")
+        .withPhone(new PhoneBuilder()
+            .withAreaCode("11")
+            .withNumber("56273440"))
+        .withCPF("22111944785")
+        .withHash("abc123def456");
+  }
+
+  private static ShippingBuilder shipping() {
+    return new ShippingBuilder()
+        .withType(ShippingType.Type.SEDEX)
+        .withCost(new BigDecimal("21.50"))
+        .withAddress(new AddressBuilder()
+            .withStreet("Av. Brig. Faria Lima")
+            .withNumber("1384")
+            .withComplement("5o andar")
+            .withDistrict("Jardim Paulistano")
+            .withCity("Sao Paulo")
+            .withState("SP")
+            .withCountry("BRA")
+            .withPostalCode("01452002"));
+  }
+
+  private static DateRangeBuilder dateRange() {
+    return new DateRangeBuilder()
+        .between(new GregorianCalendar(2017, Calendar.JANUARY, 1).getTime(),
+            new GregorianCalendar(2018, Calendar.JANUARY, 1).getTime());
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.utils.CharSet;
+import br.com.uol.pagseguro.api.utils.RequestMap;
+
+/**
+ * Url encoding of the request maps. The map is the one of a checkout with the given number of
+ * items, so the size follows the converter benchmarks
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMapBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int size;
+
+  private RequestMap requestMap;
+
+  @Setup
+  public void setUp() {
+    requestMap = MapConverters.checkout().convert(RegistrationPayloads.checkout(size));
+  }
+
+  @Benchmark
+  public String toUrlEncode() throws UnsupportedEncodingException {
+    return requestMap.toUrlEncode(CharSet.ENCODING_ISO);
+  }
+
+  @Benchmark
+  public HttpRequestBody toHttpRequestBody() throws UnsupportedEncodingException {
+    return requestMap.toHttpRequestBody(CharSet.ENCODING_ISO);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.PagSeguroEnv;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.ServerErrorsXML;
+import br.com.uol.pagseguro.api.installment.InstallmentListingResponseXML;
+import br.com.uol.pagseguro.api.session.CreatedSessionXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSummaryXML;
+import br.com.uol.pagseguro.api.utils.xml.JAXBResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.StAXResponseParser;
+
+/**
+ * Compares the StAX readers with JAXB for the hot response types
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParserBenchmark {
+
+  @Param({"stax", "jaxb"})
+  private String parser;
+
+  @Param({"1", "10", "100"})
+  private int size;
+
+  private ResponseParser responseParser;
+
+  private PagSeguro pagSeguro;
+
+  private String transactionDetail;
+
+  private String transactionSearch;
+
+  private String session;
+
+  private String installments;
+
+  private String errors;
+
+  @Setup
+  public void setUp() {
+    responseParser = "stax".equals(parser) ? new StAXResponseParser() : new JAXBResponseParser();
+    pagSeguro = PagSeguro.instance(Credential.sellerCredential("email", "token"),
+        PagSeguroEnv.SANDBOX);
+    transactionDetail = XMLPayloads.transactionDetail(size);
+    transactionSearch = XMLPayloads.transactionSearch(size);
+    session = XMLPayloads.session();
+    installments = XMLPayloads.installments(Math.min(size, 18));
+    errors = XMLPayloads.errors(Math.min(size, 10));
+  }
+
+  @Benchmark
+  public Object transactionDetail() {
+    return responseParser.parse(pagSeguro, TransactionDetailXML.class, transactionDetail);
+  }
+
+  @Benchmark
+  public Object transactionSearch() {
+    return responseParser.parse(pagSeguro, TransactionSearchResponseXML.class,
+        transactionSearch);
+  }
+
+  /**
+   * Reads only code, status and gross amount of each row, like the reconciliation jobs
+   */
+  @Benchmark
+  public void transactionSearchReconciliation(Blackhole blackhole) {
+    final TransactionSearchResponseXML page = responseParser.parse(pagSeguro,
+        TransactionSearchResponseXML.class, transactionSearch);
+    for (TransactionSummaryXML transaction : page) {
+      blackhole.consume(transaction.getCode());
+      blackhole.consume(transaction.getStatusId());
+      blackhole.consume(transaction.getGrossAmount());
+    }
+  }
+
+  @Benchmark
+  public Object session() {
+    return responseParser.parse(pagSeguro, CreatedSessionXML.class, session);
+  }
+
+  @Benchmark
+  public Object installments() {
+    return responseParser.parse(pagSeguro, InstallmentListingResponseXML.class, installments);
+  }
+
+  @Benchmark
+  public Object errors() {
+    return responseParser.parse(pagSeguro, ServerErrorsXML.class, errors);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.WarmUpBuilder;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.stub.PagSeguroStubServer;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
+import br.com.uol.pagseguro.api.utils.xml.JAXBResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.StAXResponseParser;
+
+/**
+ * Time to the first successful call on a new jvm, against the stub server. Each fork measures one
+ * call, so the result is the cold start:
+ * <ul>
+ * <li>{@code firstCall}: the first search by code, with the client created (and warmed up, when
+ * {@code warmUp} is true) before the measurement</li>
+ * <li>{@code startToFirstCall}: the client creation, the warm up (when {@code warmUp} is true)
+ * and the first search by code</li>
+ * </ul>
+ * The stub server runs on the same jvm and is started before the measurement
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+  private static final Credential CREDENTIAL = Credential.sellerCredential(
+      "vendedor@loja.com.br", "6B8C3F4A2D1E4B7C9A0F5E3D2C1B0A9F");
+
+  /**
+   * Stub server
+   */
+  @State(Scope.Benchmark)
+  public static class ServerState {
+
+    @Param({"stax", "jaxb"})
+    private String parser;
+
+    private PagSeguroStubServer server;
+
+    @Setup
+    public void setUp() {
+      for (Handler handler : Logger.getLogger("").getHandlers()) {
+        handler.setLevel(Level.WARNING);
+      }
+      ResponseParser.configureResponseParser("jaxb".equals(parser)
+          ? new JAXBResponseParser() : new StAXResponseParser());
+      server = new PagSeguroStubServer().start();
+    }
+
+    @TearDown
+    public void tearDown() {
+      server.close();
+    }
+  }
+
+  /**
+   * Client created before the measurement
+   */
+  @State(Scope.Benchmark)
+  public static class ClientState {
+
+    @Param({"false", "true"})
+    private boolean warmUp;
+
+    private PagSeguro pagSeguro;
+
+    @Setup
+    public void setUp(ServerState serverState) {
+      pagSeguro = StartupBenchmark.client(serverState.server, warmUp);
+    }
+  }
+
+  /**
+   * Warm up option of the clients created on the measurement
+   */
+  @State(Scope.Benchmark)
+  public static class WarmUpState {
+
+    @Param({"false", "true"})
+    private boolean warmUp;
+  }
+
+  @Benchmark
+  public TransactionDetail firstCall(ClientState clientState) {
+    return clientState.pagSeguro.transactions().search().byCode("CODE");
+  }
+
+  @Benchmark
+  public TransactionDetail startToFirstCall(ServerState serverState, WarmUpState warmUpState) {
+    return client(serverState.server, warmUpState.warmUp).transactions().search()
+        .byCode("CODE");
+  }
+
+  private static PagSeguro client(PagSeguroStubServer server, boolean warmUp) {
+    final PagSeguro pagSeguro = server.client(CREDENTIAL);
+    if (warmUp) {
+      pagSeguro.warmUp(new WarmUpBuilder().withConnections(1));
+    }
+    return pagSeguro;
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.benchmark;
+
+/**
+ * Xml payloads like the ones returned by api, used by the benchmarks
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class XMLPayloads {
+
+  private static final String HEADER = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\" " +
+                                       "standalone=\"yes\"?>";
+
+  XMLPayloads() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Transaction detail
+   *
+   * @param items Number of items
+   * @return Xml
+   */
+  public static String transactionDetail(int items) {
+    final StringBuilder xml = new StringBuilder(HEADER)
+        .append("<transaction>")
+        .append("<date>2016-11-09T00:00:00.000-02:00</date>")
+        .append("<code>9E884542-81B3-4419-9A75-BCC6FB495EF1</code>")
+        .append("<reference>REF1234</reference>")
+        .append("<type>1</type>")
+        .append("<status>3</status>")
+        .append("<lastEventDate>2016-11-10T10:25:55.000-02:00</lastEventDate>")
+        .append("<paymentMethod><type>1</type><code>101</code></paymentMethod>")
+        .append("<grossAmount>49900.00</grossAmount>")
+        .append("<discountAmount>0.00</discountAmount>")
+        .append("<creditorFees>")
+        .append("<intermediationRateAmount>0.40</intermediationRateAmount>")
+        .append("<intermediationFeeAmount>1644.80</intermediationFeeAmount>")
+        .append("</creditorFees>")
+        .append("<netAmount>48254.80</netAmount>")
+        .append("<extraAmount>0.00</extraAmount>")
+        .append("<escrowEndDate>2016-12-09T00:00:00.000-02:00</escrowEndDate>")
+        .append("<installmentCount>1</installmentCount>")
+        .append("<itemCount>").append(items).append("</itemCount>")
+        .append("<items>");
+    for (int i = 0; i < items; i++) {
+      xml.append("<item><id>").append(i).append("</id>")
+          .append("<description>Notebook Prata</description>")
+          .append("<quantity>1</quantity><amount>24300.00</amount></item>");
+    }
+    return xml.append("</items>")
+        .append("<sender>")
+        .append("<name>Jose Comprador</name>")
+        .append("<email>comprador@uol.com.br</email>")
+        .append("<phone><areaCode>11</areaCode><number>56273440</number></phone>")
+        .append("</sender>")
+        .append("<shipping>")
+        .append("<address>")
+        .append("<street>Av. Brig. Faria Lima</street><number>1384</number>")
+        .append("<complement>5o andar</complement><district>Jardim Paulistano</district>")
+        .append("<city>Sao Paulo</city><state>SP</state><country>BRA</country>")
+        .append("<postalCode>01452002</postalCode>")
+        .append("</address>")
+        .append("<type>1</type>")
+        .append("<cost>21.50</cost>")
+        .append("</shipping>")
+        .append("</transaction>")
+        .toString();
+  }
+
+  /**
+   * Transaction search result page
+   *
+   * @param transactions Number of transactions in page
+   * @return Xml
+   */
+  public static String transactionSearch(int transactions) {
+    final StringBuilder xml = new StringBuilder(HEADER)
+        .append("<transactionSearchResult>")
+        .append("<date>2016-11-09T00:00:00.000-02:00</date>")
+        .append("<currentPage>1</currentPage>")
+        .append("<resultsInThisPage>").append(transactions).append("</resultsInThisPage>")
+        .append("<totalPages>1</totalPages>")
+        .append("<transactions>");
+    for (int i = 0; i < transactions; i++) {
+      xml.append("<transaction>")
+          .append("<date>2016-11-09T01:01:01.000-02:00</date>")
+          .append("<lastEventDate>2016-11-09T02:02:02.000-02:00</lastEventDate>")
+          .append("<code>9E884542-81B3-4419-9A75-").append(100000000000L + i).append("</code>")
+          .append("<reference>REF").append(i).append("</reference>")
+          .append("<type>1</type>")
+          .append("<status>3</status>")
+          .append("<paymentMethod><type>1</type></paymentMethod>")
+          .append("<grossAmount>9.99</grossAmount>")
+          .append("<discountAmount>0.00</discountAmount>")
+          .append("<feeAmount>3.33</feeAmount>")
+          .append("<netAmount>6.66</netAmount>")
+          .append("<extraAmount>0.00</extraAmount>")
+          .append("</transaction>");
+    }
+    return xml.append("</transactions>")
+        .append("</transactionSearchResult>")
+        .toString();
+  }
+
+  /**
+   * Created session
+   *
+   * @return Xml
+   */
+  public static String session() {
+    return HEADER + "<session><id>620f99e348c24f07877c927b353e49d3</id></session>";
+  }
+
+  /**
+   * Installments
+   *
+   * @param installments Number of installments
+   * @return Xml
+   */
+  public static String installments(int installments) {
+    final StringBuilder xml = new StringBuilder(HEADER).append("<installments>");
+    for (int i = 1; i <= installments; i++) {
+      xml.append("<installment>")
+          .append("<cardBrand>visa</cardBrand>")
+          .append("<quantity>").append(i).append("</quantity>")
+          .append("<amount>15.48</amount>")
+          .append("<totalAmount>30.96</totalAmount>")
+          .append("<interestFree>").append(i == 1).append("</interestFree>")
+          .append("</installment>");
+    }
+    return xml.append("</installments>").toString();
+  }
+
+  /**
+   * Server errors
+   *
+   * @param errors Number of errors
+   * @return Xml
+   */
+  public static String errors(int errors) {
+    final StringBuilder xml = new StringBuilder(HEADER).append("<errors>");
+    for (int i = 1; i <= errors; i++) {
+      xml.append("<error><code>").append(53000 + i).append("</code>")
+          .append("<message>sender email invalid value.</message></error>");
+    }
+    return xml.append("</errors>").toString();
+  }
+}
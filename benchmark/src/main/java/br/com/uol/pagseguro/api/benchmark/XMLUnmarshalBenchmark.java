@@ -0,0 +1,113 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.PagSeguroEnv;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.ServerErrorsXML;
+import br.com.uol.pagseguro.api.installment.InstallmentListingResponseXML;
+import br.com.uol.pagseguro.api.session.CreatedSessionXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXML;
+import br.com.uol.pagseguro.api.utils.XMLUtils;
+
+/**
+ * {@link XMLUtils#unmarshal} per response type. This is the JAXB path used by the response types
+ * without a StAX reader and by the fallback of the StAX parser
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XMLUnmarshalBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int size;
+
+  private PagSeguro pagSeguro;
+
+  private String transactionDetail;
+
+  private String transactionSearch;
+
+  private String session;
+
+  private String installments;
+
+  private String errors;
+
+  @Setup
+  public void setUp() {
+    pagSeguro = PagSeguro.instance(Credential.sellerCredential("email", "token"),
+        PagSeguroEnv.SANDBOX);
+    transactionDetail = XMLPayloads.transactionDetail(size);
+    transactionSearch = XMLPayloads.transactionSearch(size);
+    session = XMLPayloads.session();
+    installments = XMLPayloads.installments(Math.min(size, 18));
+    errors = XMLPayloads.errors(Math.min(size, 10));
+  }
+
+  @Benchmark
+  public Object transactionDetail() throws JAXBException {
+    return XMLUtils.unmarshal(pagSeguro, TransactionDetailXML.class, transactionDetail);
+  }
+
+  @Benchmark
+  public Object transactionSearch() throws JAXBException {
+    return XMLUtils.unmarshal(pagSeguro, TransactionSearchResponseXML.class, transactionSearch);
+  }
+
+  @Benchmark
+  public Object session() throws JAXBException {
+    return XMLUtils.unmarshal(pagSeguro, CreatedSessionXML.class, session);
+  }
+
+  @Benchmark
+  public Object installments() throws JAXBException {
+    return XMLUtils.unmarshal(pagSeguro, InstallmentListingResponseXML.class, installments);
+  }
+
+  @Benchmark
+  public Object errors() throws JAXBException {
+    return XMLUtils.unmarshal(pagSeguro, ServerErrorsXML.class, errors);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.stub.PagSeguroStubServer;
+import br.com.uol.pagseguro.api.utils.Threads;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+/**
+ * Open loop load generator. Requests are started at the target rate of the scenario by a
+ * dispatcher thread and executed by a pool of workers. The dispatcher never waits for responses,
+ * so a slow server does not reduce the load, and the latency is measured from the time each
+ * request should have started. Measuring from the real start hides the requests that were
+ * delayed by the slow ones (coordinated omission)
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see LoadScenario
+ * @see LoadReport
+ */
+public class LoadGenerator {
+
+  private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final PagSeguroStubServer server;
+
+  private final Credential credential;
+
+  /**
+   * Constructor
+   *
+   * @param server     Stub server that answers the requests
+   * @param credential Credential sent on the requests
+   */
+  public LoadGenerator(PagSeguroStubServer server, Credential credential) {
+    if (server == null || credential == null) {
+      throw new NullPointerException();
+    }
+    this.server = server;
+    this.credential = credential;
+  }
+
+  /**
+   * Run a scenario. Blocks until the requests of the scenario end, or until one minute after the
+   * last request was started
+   *
+   * @param scenario Scenario
+   * @return Report of the measured requests
+   */
+  public LoadReport run(LoadScenario scenario) throws InterruptedException {
+    final ResponseParser previousParser = ResponseParser.getResponseParser();
+    if (scenario.getResponseParser() != null) {
+      ResponseParser.configureResponseParser(scenario.getResponseParser());
+    }
+    final PagSeguro pagSeguro = server.client(scenario.getHttpClient(), credential);
+    final ExecutorService workers = Executors.newFixedThreadPool(scenario.getMaxConcurrency(),
+        Threads.threadFactory("pagseguro-load-"));
+    final LoadReport report = new LoadReport(scenario);
+    final Random random = new Random(scenario.getSeed());
+    final double intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.getRate();
+    try {
+      final long start = System.nanoTime();
+      final long measureStart = start + scenario.getWarmUpNanos();
+      final long end = measureStart + scenario.getDurationNanos();
+      report.start(measureStart);
+      for (long i = 0; ; i++) {
+        final long intendedStart = start + (long) (i * intervalNanos);
+        if (intendedStart >= end) {
+          break;
+        }
+        waitUntil(intendedStart);
+        final Operation operation = scenario.getMix().next(random);
+        final boolean measured = intendedStart >= measureStart;
+        if (measured) {
+          report.dispatch();
+        }
+        workers.execute(new Runnable() {
+
+          @Override
+          public void run() {
+            execute(pagSeguro, operation, intendedStart, measured ? report : null);
+          }
+        });
+      }
+      workers.shutdown();
+      workers.awaitTermination(DRAIN_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+    } finally {
+      workers.shutdownNow();
+      ResponseParser.configureResponseParser(previousParser);
+    }
+    return report;
+  }
+
+  /**
+   * Execute a request
+   *
+   * @param pagSeguro     Pagseguro instance
+   * @param operation     Operation
+   * @param intendedStart Time the request should have started, in nanoseconds
+   * @param report        Report, or null if the request is part of the warm up
+   */
+  private static void execute(PagSeguro pagSeguro, Operation operation, long intendedStart,
+                              LoadReport report) {
+    final long start = System.nanoTime();
+    Throwable error = null;
+    try {
+      operation.execute(pagSeguro);
+    } catch (RuntimeException e) {
+      error = e;
+    }
+    if (report != null) {
+      report.record(operation, intendedStart, start, System.nanoTime(), error);
+    }
+  }
+
+  /**
+   * Park the dispatcher until the time
+   *
+   * @param time Time in nanoseconds
+   */
+  private static void waitUntil(long time) {
+    long remaining;
+    while ((remaining = time - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.HdrHistogram.Histogram;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.JSEHttpClient;
+import br.com.uol.pagseguro.api.stub.PagSeguroStubServer;
+import br.com.uol.pagseguro.api.stub.StubProfileBuilder;
+import br.com.uol.pagseguro.api.utils.xml.JAXBResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.StAXResponseParser;
+
+/**
+ * Command line of the load generator. Starts a stub server and runs one scenario for each
+ * combination of transport and parser, printing the report of each one and a comparison
+ *
+ * <pre>
+ * java -jar target/load-harness.jar --rate=200 --duration=30 --transports=jse,com.loja.OkHttpClient
+ *     --parsers=stax,jaxb
+ * </pre>
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see LoadGenerator
+ */
+public final class LoadHarness {
+
+  private static final String USAGE = "Opcoes:\n"
+      + "  --rate=<req/s>            taxa alvo (padrao 100)\n"
+      + "  --duration=<s>            duracao da medicao (padrao 30)\n"
+      + "  --warmup=<s>              duracao do aquecimento (padrao 5)\n"
+      + "  --concurrency=<n>         requisicoes simultaneas (padrao 64)\n"
+      + "  --mix=<op:peso,...>       operacoes: direct-payment, search-by-code, refund,\n"
+      + "                            installments, session\n"
+      + "  --transports=<t,...>      jse ou nome de classe de HttpClient (padrao jse)\n"
+      + "  --parsers=<p,...>         stax, jaxb ou nome de classe de ResponseParser (padrao stax)\n"
+      + "  --latency=<mediana,p99>   latencia do servidor stub em ms\n"
+      + "  --error-rate=<0-1>        taxa de erros do servidor stub\n"
+      + "  --hgrm=<pasta>            grava os percentis no formato do HdrHistogram\n"
+      + "  --verbose                 mantem os logs da biblioteca";
+
+  LoadHarness() {
+    throw new IllegalStateException();
+  }
+
+  public static void main(String[] args) throws Exception {
+    final Map<String, String> options = parse(args);
+    if (options.containsKey("help")) {
+      System.out.println(USAGE);
+      return;
+    }
+    if (!options.containsKey("verbose")) {
+      for (Handler handler : Logger.getLogger("").getHandlers()) {
+        handler.setLevel(Level.WARNING);
+      }
+    }
+    final StubProfileBuilder profile = new StubProfileBuilder();
+    if (options.containsKey("latency")) {
+      final String[] latency = options.get("latency").split(",");
+      profile.withLatency(Long.parseLong(latency[0].trim()), Long.parseLong(latency[1].trim()));
+    }
+    if (options.containsKey("error-rate")) {
+      profile.withErrorRate(Double.parseDouble(options.get("error-rate")));
+    }
+    final OperationMix mix = options.containsKey("mix")
+        ? new OperationMixBuilder().withWeights(options.get("mix")).build()
+        : OperationMix.DEFAULT;
+
+    final List<LoadReport> reports = new ArrayList<LoadReport>();
+    final PagSeguroStubServer server = new PagSeguroStubServer(0, profile.build()).start();
+    try {
+      final LoadGenerator generator = new LoadGenerator(server,
+          Credential.sellerCredential("vendedor@loja.com.br", "6B8C3F4A2D1E4B7C9A0F5E3D2C1B0A9F"));
+      for (String transport : value(options, "transports", "jse").split(",")) {
+        for (String parser : value(options, "parsers", "stax").split(",")) {
+          final LoadScenario scenario = new LoadScenarioBuilder()
+              .withName(transport.trim() + "/" + parser.trim())
+              .withRate(Double.parseDouble(value(options, "rate", "100")))
+              .withDuration(Long.parseLong(value(options, "duration", "30")), TimeUnit.SECONDS)
+              .withWarmUp(Long.parseLong(value(options, "warmup", "5")), TimeUnit.SECONDS)
+              .withMaxConcurrency(Integer.parseInt(value(options, "concurrency", "64")))
+              .withMix(mix)
+              .withHttpClient(httpClient(transport.trim()))
+              .withResponseParser(responseParser(parser.trim()))
+              .build();
+          final LoadReport report = generator.run(scenario);
+          report.print(System.out);
+          System.out.println();
+          if (options.containsKey("hgrm")) {
+            report.writeHistograms(new File(options.get("hgrm")));
+          }
+          reports.add(report);
+        }
+      }
+    } finally {
+      server.close();
+    }
+    if (reports.size() > 1) {
+      compare(reports);
+    }
+  }
+
+  /**
+   * Print the comparison of the scenarios
+   *
+   * @param reports Reports
+   */
+  private static void compare(List<LoadReport> reports) {
+    System.out.println(String.format(Locale.ROOT, "%-40s %9s %8s %8s %8s %8s %8s", "cenario",
+        "req/s", "erros", "p50", "p99", "p99.9", "max"));
+    for (LoadReport report : reports) {
+      final Histogram responseTimes = report.getResponseTimes();
+      final double scale = TimeUnit.MILLISECONDS.toNanos(1);
+      System.out.println(String.format(Locale.ROOT,
+          "%-40s %9.1f %7.2f%% %8.2f %8.2f %8.2f %8.2f", report.getScenario().getName(),
+          report.getThroughput(),
+          report.getCount() == 0 ? 0 : report.getErrorCount() * 100.0 / report.getCount(),
+          responseTimes.getValueAtPercentile(50) / scale,
+          responseTimes.getValueAtPercentile(99) / scale,
+          responseTimes.getValueAtPercentile(99.9) / scale,
+          responseTimes.getMaxValue() / scale));
+    }
+  }
+
+  /**
+   * Create http client
+   *
+   * @param name {@code jse} or name of a class with a public constructor without arguments
+   * @return Http client
+   */
+  static HttpClient httpClient(String name) throws ReflectiveOperationException {
+    if ("jse".equals(name)) {
+      return new JSEHttpClient();
+    }
+    return Class.forName(name).asSubclass(HttpClient.class).newInstance();
+  }
+
+  /**
+   * Create response parser
+   *
+   * @param name {@code stax}, {@code jaxb} or name of a class with a public constructor without
+   *             arguments
+   * @return Response parser
+   */
+  static ResponseParser responseParser(String name) throws ReflectiveOperationException {
+    if ("stax".equals(name)) {
+      return new StAXResponseParser();
+    }
+    if ("jaxb".equals(name)) {
+      return new JAXBResponseParser();
+    }
+    return Class.forName(name).asSubclass(ResponseParser.class).newInstance();
+  }
+
+  private static String value(Map<String, String> options, String name, String defaultValue) {
+    final String value = options.get(name);
+    return value != null ? value : defaultValue;
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    final Map<String, String> options = new HashMap<String, String>();
+    for (String arg : args) {
+      if (!arg.startsWith("--")) {
+        throw new IllegalArgumentException(String.format("Opcao invalida [%s]\n%s", arg, USAGE));
+      }
+      final int separator = arg.indexOf('=');
+      if (separator < 0) {
+        options.put(arg.substring(2), "");
+      } else {
+        options.put(arg.substring(2, separator), arg.substring(separator + 1));
+      }
+    }
+    return options;
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Result of a load run, by operation
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see LoadGenerator
+ */
+public class LoadReport {
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final LoadScenario scenario;
+
+  private final Map<Operation, OperationStats> stats =
+      new EnumMap<Operation, OperationStats>(Operation.class);
+
+  private final AtomicLong dispatched = new AtomicLong();
+
+  private final AtomicLong lastEnd = new AtomicLong();
+
+  private volatile long measureStart;
+
+  LoadReport(LoadScenario scenario) {
+    this.scenario = scenario;
+    for (Operation operation : scenario.getMix().getWeights().keySet()) {
+      stats.put(operation, new OperationStats(operation.getName()));
+    }
+  }
+
+  /**
+   * Start the measurement
+   *
+   * @param measureStart Time the measurement starts, in nanoseconds
+   */
+  void start(long measureStart) {
+    this.measureStart = measureStart;
+    this.lastEnd.set(measureStart);
+  }
+
+  /**
+   * Count a request sent to the workers
+   */
+  void dispatch() {
+    dispatched.incrementAndGet();
+  }
+
+  /**
+   * Record a request
+   *
+   * @param operation     Operation
+   * @param intendedStart Time the request should have started, in nanoseconds
+   * @param start         Time the request started, in nanoseconds
+   * @param end           Time the request ended, in nanoseconds
+   * @param error         Error of request, or null if it succeeded
+   */
+  void record(Operation operation, long intendedStart, long start, long end, Throwable error) {
+    stats.get(operation).record(intendedStart, start, end, error);
+    long last;
+    do {
+      last = lastEnd.get();
+    } while (end > last && !lastEnd.compareAndSet(last, end));
+  }
+
+  /**
+   * Get scenario
+   *
+   * @return Scenario
+   */
+  public LoadScenario getScenario() {
+    return scenario;
+  }
+
+  /**
+   * Get stats of operations of mix
+   *
+   * @return Stats by operation
+   */
+  public Map<Operation, OperationStats> getStats() {
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /**
+   * Get number of requests measured
+   *
+   * @return Number of requests
+   */
+  public long getCount() {
+    long count = 0;
+    for (OperationStats operationStats : stats.values()) {
+      count += operationStats.getCount();
+    }
+    return count;
+  }
+
+  /**
+   * Get number of failed requests
+   *
+   * @return Number of errors
+   */
+  public long getErrorCount() {
+    long errors = 0;
+    for (OperationStats operationStats : stats.values()) {
+      errors += operationStats.getErrorCount();
+    }
+    return errors;
+  }
+
+  /**
+   * Get number of requests started on the measurement that did not end before the run stopped
+   *
+   * @return Number of pending requests
+   */
+  public long getPendingCount() {
+    return dispatched.get() - getCount();
+  }
+
+  /**
+   * Get achieved throughput: requests ended from the start of the measurement to the end of the
+   * last request
+   *
+   * @return Requests per second
+   */
+  public double getThroughput() {
+    final long elapsed = lastEnd.get() - measureStart;
+    return elapsed <= 0 ? 0 : getCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+
+  /**
+   * Get response times of all operations
+   *
+   * @return Histogram in nanoseconds
+   */
+  public Histogram getResponseTimes() {
+    final Histogram total = new Histogram(3);
+    for (OperationStats operationStats : stats.values()) {
+      total.add(operationStats.getResponseTimes());
+    }
+    return total;
+  }
+
+  /**
+   * Get service times of all operations
+   *
+   * @return Histogram in nanoseconds
+   */
+  public Histogram getServiceTimes() {
+    final Histogram total = new Histogram(3);
+    for (OperationStats operationStats : stats.values()) {
+      total.add(operationStats.getServiceTimes());
+    }
+    return total;
+  }
+
+  /**
+   * Print report as a table. Latencies are response times in milliseconds, except the last
+   * column, that shows the service time for comparison
+   *
+   * @param out Output
+   */
+  public void print(PrintStream out) {
+    out.println(String.format(Locale.ROOT,
+        "Cenario %s: alvo %.1f req/s, atingido %.1f req/s, %d pendente(s)", scenario.getName(),
+        scenario.getRate(), getThroughput(), getPendingCount()));
+    out.println(String.format(Locale.ROOT, "%-16s %8s %8s %9s %8s %8s %8s %8s %8s %12s",
+        "operacao", "req", "erros", "req/s", "p50", "p90", "p99", "p99.9", "max",
+        "p99 servico"));
+    final long elapsed = lastEnd.get() - measureStart;
+    for (OperationStats operationStats : stats.values()) {
+      print(out, operationStats.getName(), operationStats.getCount(),
+          operationStats.getErrorCount(), elapsed, operationStats.getResponseTimes(),
+          operationStats.getServiceTimes());
+    }
+    print(out, "total", getCount(), getErrorCount(), elapsed, getResponseTimes(),
+        getServiceTimes());
+    for (OperationStats operationStats : stats.values()) {
+      for (Map.Entry<String, Long> error : operationStats.getErrorTypes().entrySet()) {
+        out.println(String.format(Locale.ROOT, "  %s: %d %s", operationStats.getName(),
+            error.getValue(), error.getKey()));
+      }
+    }
+  }
+
+  private static void print(PrintStream out, String name, long count, long errors, long elapsed,
+                            Histogram responseTimes, Histogram serviceTimes) {
+    out.println(String.format(Locale.ROOT,
+        "%-16s %8d %7.2f%% %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %12.2f", name, count,
+        count == 0 ? 0 : errors * 100.0 / count,
+        elapsed <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsed,
+        millis(responseTimes, 50), millis(responseTimes, 90), millis(responseTimes, 99),
+        millis(responseTimes, 99.9), responseTimes.getMaxValue() / NANOS_PER_MILLI,
+        millis(serviceTimes, 99)));
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+  }
+
+  /**
+   * Write the percentile distribution of response times of each operation, in the HdrHistogram
+   * format ({@code .hgrm}), that can be plotted by the HdrHistogram tools
+   *
+   * @param directory Directory of the files
+   * @return Files written
+   */
+  public List<File> writeHistograms(File directory) throws FileNotFoundException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new FileNotFoundException(directory.getPath());
+    }
+    final List<File> files = new ArrayList<File>();
+    final String prefix = scenario.getName().replaceAll("[^A-Za-z0-9_.-]", "_");
+    for (OperationStats operationStats : stats.values()) {
+      files.add(write(new File(directory, prefix + "-" + operationStats.getName() + ".hgrm"),
+          operationStats.getResponseTimes()));
+    }
+    files.add(write(new File(directory, prefix + "-total.hgrm"), getResponseTimes()));
+    return files;
+  }
+
+  private static File write(File file, Histogram histogram) throws FileNotFoundException {
+    final PrintStream out = new PrintStream(file);
+    try {
+      histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+    } finally {
+      out.close();
+    }
+    return file;
+  }
+
+  @Override
+  public String toString() {
+    return "LoadReport{" +
+           "scenario=" + scenario.getName() +
+           ", count=" + getCount() +
+           ", errors=" + getErrorCount() +
+           ", throughput=" + getThroughput() +
+           '}';
+  }
+}
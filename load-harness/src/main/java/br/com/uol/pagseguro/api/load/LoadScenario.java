@@ -0,0 +1,157 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+/**
+ * Scenario of a load run: the target rate, the duration and the implementations compared
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see LoadScenarioBuilder
+ * @see LoadGenerator
+ */
+public class LoadScenario {
+
+  private final String name;
+
+  private final double rate;
+
+  private final long durationNanos;
+
+  private final long warmUpNanos;
+
+  private final int maxConcurrency;
+
+  private final OperationMix mix;
+
+  private final HttpClient httpClient;
+
+  private final ResponseParser responseParser;
+
+  private final long seed;
+
+  LoadScenario(LoadScenarioBuilder builder) {
+    name = builder.getName();
+    rate = builder.getRate();
+    durationNanos = builder.getDurationNanos();
+    warmUpNanos = builder.getWarmUpNanos();
+    maxConcurrency = builder.getMaxConcurrency();
+    mix = builder.getMix();
+    httpClient = builder.getHttpClient();
+    responseParser = builder.getResponseParser();
+    seed = builder.getSeed();
+  }
+
+  /**
+   * Get name used on the reports
+   *
+   * @return Name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get target rate
+   *
+   * @return Requests per second
+   */
+  public double getRate() {
+    return rate;
+  }
+
+  /**
+   * Get duration of measurement, after the warm up
+   *
+   * @return Duration in nanoseconds
+   */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * Get duration of warm up. Requests of warm up are not reported
+   *
+   * @return Duration in nanoseconds
+   */
+  public long getWarmUpNanos() {
+    return warmUpNanos;
+  }
+
+  /**
+   * Get max number of requests in flight
+   *
+   * @return Max concurrency
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Get operation mix
+   *
+   * @return Operation mix
+   */
+  public OperationMix getMix() {
+    return mix;
+  }
+
+  /**
+   * Get http client used as transport
+   *
+   * @return Http client
+   */
+  public HttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  /**
+   * Get response parser, or null to keep the configured one
+   *
+   * @return Response parser
+   */
+  public ResponseParser getResponseParser() {
+    return responseParser;
+  }
+
+  /**
+   * Get seed of the operation choice
+   *
+   * @return Seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public String toString() {
+    return "LoadScenario{" +
+           "name='" + name + '\'' +
+           ", rate=" + rate +
+           ", durationNanos=" + durationNanos +
+           ", warmUpNanos=" + warmUpNanos +
+           ", maxConcurrency=" + maxConcurrency +
+           ", mix=" + mix +
+           '}';
+  }
+}
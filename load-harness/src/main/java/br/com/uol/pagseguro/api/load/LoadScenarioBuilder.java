@@ -0,0 +1,239 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.JSEHttpClient;
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+/**
+ * Builder for load scenario
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see LoadScenario
+ */
+public final class LoadScenarioBuilder implements Builder<LoadScenario> {
+
+  private String name = "default";
+
+  private double rate = 100;
+
+  private long durationNanos = TimeUnit.SECONDS.toNanos(30);
+
+  private long warmUpNanos = TimeUnit.SECONDS.toNanos(5);
+
+  private int maxConcurrency = 64;
+
+  private OperationMix mix = OperationMix.DEFAULT;
+
+  private HttpClient httpClient;
+
+  private ResponseParser responseParser;
+
+  private long seed = 42;
+
+  /**
+   * Set name used on the reports
+   *
+   * @param name Name
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withName(String name) {
+    if (name == null) {
+      throw new NullPointerException();
+    }
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * Set target rate. Requests are started at this rate whatever the response time is, so a slow
+   * response delays the next ones only through the queue and the delay is measured
+   *
+   * @param rate Requests per second
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withRate(double rate) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("rate must be positive");
+    }
+    this.rate = rate;
+    return this;
+  }
+
+  /**
+   * Set duration of measurement
+   *
+   * @param duration Duration
+   * @param unit     Unit of duration
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withDuration(long duration, TimeUnit unit) {
+    if (duration <= 0) {
+      throw new IllegalArgumentException("duration must be positive");
+    }
+    this.durationNanos = unit.toNanos(duration);
+    return this;
+  }
+
+  /**
+   * Set duration of warm up
+   *
+   * @param warmUp Duration
+   * @param unit   Unit of duration
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withWarmUp(long warmUp, TimeUnit unit) {
+    if (warmUp < 0) {
+      throw new IllegalArgumentException("warm up must not be negative");
+    }
+    this.warmUpNanos = unit.toNanos(warmUp);
+    return this;
+  }
+
+  /**
+   * Set max number of requests in flight. Requests started when all workers are busy wait on a
+   * queue, and the wait is part of the response time
+   *
+   * @param maxConcurrency Max concurrency
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withMaxConcurrency(int maxConcurrency) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("max concurrency must be positive");
+    }
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  /**
+   * Set operation mix
+   *
+   * @param mix Operation mix
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withMix(OperationMix mix) {
+    if (mix == null) {
+      throw new NullPointerException();
+    }
+    this.mix = mix;
+    return this;
+  }
+
+  /**
+   * Set operation mix
+   *
+   * @param mixBuilder Builder for operation mix
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withMix(Builder<OperationMix> mixBuilder) {
+    return withMix(mixBuilder.build());
+  }
+
+  /**
+   * Set http client used as transport. The default is {@link JSEHttpClient}
+   *
+   * @param httpClient Http client
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withHttpClient(HttpClient httpClient) {
+    if (httpClient == null) {
+      throw new NullPointerException();
+    }
+    this.httpClient = httpClient;
+    return this;
+  }
+
+  /**
+   * Set response parser used during the run. The parser is global, so scenarios with different
+   * parsers must not run at the same time
+   *
+   * @param responseParser Response parser
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withResponseParser(ResponseParser responseParser) {
+    if (responseParser == null) {
+      throw new NullPointerException();
+    }
+    this.responseParser = responseParser;
+    return this;
+  }
+
+  /**
+   * Set seed of the operation choice
+   *
+   * @param seed Seed
+   * @return Builder for load scenario
+   */
+  public LoadScenarioBuilder withSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  double getRate() {
+    return rate;
+  }
+
+  long getDurationNanos() {
+    return durationNanos;
+  }
+
+  long getWarmUpNanos() {
+    return warmUpNanos;
+  }
+
+  int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  OperationMix getMix() {
+    return mix;
+  }
+
+  HttpClient getHttpClient() {
+    return httpClient != null ? httpClient : new JSEHttpClient();
+  }
+
+  ResponseParser getResponseParser() {
+    return responseParser;
+  }
+
+  long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Build load scenario
+   *
+   * @return Load scenario
+   */
+  @Override
+  public LoadScenario build() {
+    return new LoadScenario(this);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.math.BigDecimal;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.installment.InstallmentRequest;
+import br.com.uol.pagseguro.api.installment.InstallmentRequestBuilder;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistrationBuilder;
+
+/**
+ * Operations executed by the load generator. Each execution is one request to api
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see OperationMix
+ */
+public enum Operation {
+
+  DIRECT_PAYMENT("direct-payment") {
+    @Override
+    void execute(PagSeguro pagSeguro) {
+      pagSeguro.transactions().register(DIRECT_PAYMENT_REGISTRATION).withBankSlip();
+    }
+  },
+
+  SEARCH_BY_CODE("search-by-code") {
+    @Override
+    void execute(PagSeguro pagSeguro) {
+      pagSeguro.transactions().search().byCode(TRANSACTION_CODE);
+    }
+  },
+
+  REFUND("refund") {
+    @Override
+    void execute(PagSeguro pagSeguro) {
+      pagSeguro.transactions().refundByCode(TRANSACTION_CODE);
+    }
+  },
+
+  INSTALLMENTS("installments") {
+    @Override
+    void execute(PagSeguro pagSeguro) {
+      pagSeguro.installments().list(INSTALLMENT_REQUEST);
+    }
+  },
+
+  SESSION("session") {
+    @Override
+    void execute(PagSeguro pagSeguro) {
+      pagSeguro.sessions().create();
+    }
+  };
+
+  private static final String TRANSACTION_CODE = "9E884542-81B3-4419-9A75-BCC6FB495EF1";
+
+  private static final BigDecimal AMOUNT = new BigDecimal("249.90");
+
+  private static final DirectPaymentRegistration DIRECT_PAYMENT_REGISTRATION =
+      new DirectPaymentRegistrationBuilder()
+          .withPaymentMode("default")
+          .withCurrency(Currency.BRL)
+          .withReference("LOAD")
+          .withSender(new SenderBuilder()
+              .withName("Jose Comprador")
+              .withEmail("comprador@sandbox.pagseguro.com.br")
+              .withPhone(new PhoneBuilder()
+                  .withAreaCode("11")
+                  .withNumber("56273440"))
+              .withCPF("22111944785")
+              .withHash("abc123def456"))
+          .addItem(new PaymentItemBuilder()
+              .withId("1")
+              .withDescription("Notebook Prata")
+              .withAmount(AMOUNT)
+              .withQuantity(1))
+          .build();
+
+  private static final InstallmentRequest INSTALLMENT_REQUEST = new InstallmentRequestBuilder()
+      .withCardBrand("visa")
+      .withAmount(AMOUNT)
+      .withMaxInstallmentNoInterest(3)
+      .build();
+
+  private final String name;
+
+  Operation(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Get name used on the command line and on the reports
+   *
+   * @return Name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Execute the operation
+   *
+   * @param pagSeguro Pagseguro instance
+   */
+  abstract void execute(PagSeguro pagSeguro);
+
+  /**
+   * Get operation by name
+   *
+   * @param name Name
+   * @return Operation
+   */
+  public static Operation fromName(String name) {
+    for (Operation operation : values()) {
+      if (operation.name.equals(name)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException(String.format("Operacao desconhecida [%s]", name));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted mix of operations
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see OperationMixBuilder
+ */
+public class OperationMix {
+
+  /**
+   * Mix of a checkout flow: sessions and installments before the payment, searches and some
+   * refunds after it
+   */
+  public static final OperationMix DEFAULT = new OperationMixBuilder()
+      .withWeight(Operation.DIRECT_PAYMENT, 30)
+      .withWeight(Operation.SEARCH_BY_CODE, 30)
+      .withWeight(Operation.INSTALLMENTS, 15)
+      .withWeight(Operation.SESSION, 15)
+      .withWeight(Operation.REFUND, 10)
+      .build();
+
+  private final Map<Operation, Integer> weights;
+
+  private final Operation[] operations;
+
+  private final int[] cumulativeWeights;
+
+  OperationMix(OperationMixBuilder builder) {
+    weights = Collections.unmodifiableMap(new EnumMap<Operation, Integer>(builder.getWeights()));
+    operations = new Operation[weights.size()];
+    cumulativeWeights = new int[weights.size()];
+    int total = 0;
+    int i = 0;
+    for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+      total += entry.getValue();
+      operations[i] = entry.getKey();
+      cumulativeWeights[i] = total;
+      i++;
+    }
+  }
+
+  /**
+   * Get weights of operations
+   *
+   * @return Weights
+   */
+  public Map<Operation, Integer> getWeights() {
+    return weights;
+  }
+
+  /**
+   * Choose the next operation
+   *
+   * @param random Random used on the choice
+   * @return Operation
+   */
+  public Operation next(Random random) {
+    final int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    return operations[operations.length - 1];
+  }
+
+  @Override
+  public String toString() {
+    return "OperationMix{" +
+           "weights=" + weights +
+           '}';
+  }
+}
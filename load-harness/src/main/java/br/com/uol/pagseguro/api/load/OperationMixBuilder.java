@@ -0,0 +1,94 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.utils.Builder;
+
+/**
+ * Builder for operation mix
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see OperationMix
+ */
+public final class OperationMixBuilder implements Builder<OperationMix> {
+
+  private final Map<Operation, Integer> weights = new EnumMap<Operation, Integer>(Operation.class);
+
+  /**
+   * Set weight of an operation. Operations without weight are not executed
+   *
+   * @param operation Operation
+   * @param weight    Weight, relative to the other operations
+   * @return Builder for operation mix
+   */
+  public OperationMixBuilder withWeight(Operation operation, int weight) {
+    if (operation == null) {
+      throw new NullPointerException();
+    }
+    if (weight < 0) {
+      throw new IllegalArgumentException("weight must not be negative");
+    }
+    if (weight == 0) {
+      weights.remove(operation);
+    } else {
+      weights.put(operation, weight);
+    }
+    return this;
+  }
+
+  /**
+   * Set weights from text, like {@code direct-payment:30,search-by-code:70}
+   *
+   * @param text Weights separated by comma
+   * @return Builder for operation mix
+   */
+  public OperationMixBuilder withWeights(String text) {
+    for (String weight : text.split(",")) {
+      final int separator = weight.indexOf(':');
+      if (separator < 0) {
+        throw new IllegalArgumentException(String.format("Peso invalido [%s]", weight));
+      }
+      withWeight(Operation.fromName(weight.substring(0, separator).trim()),
+          Integer.parseInt(weight.substring(separator + 1).trim()));
+    }
+    return this;
+  }
+
+  Map<Operation, Integer> getWeights() {
+    return weights;
+  }
+
+  /**
+   * Build operation mix
+   *
+   * @return Operation mix
+   */
+  @Override
+  public OperationMix build() {
+    if (weights.isEmpty()) {
+      throw new IllegalStateException("at least one operation must have weight");
+    }
+    return new OperationMix(this);
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and errors of an operation. Two latencies are recorded for each request:
+ * <ul>
+ * <li>response time: from the time the request should have started, by the target rate, to its
+ * end. Includes the time waiting for a free worker, so it is not affected by coordinated
+ * omission</li>
+ * <li>service time: from the time the request really started to its end</li>
+ * </ul>
+ * Latencies are recorded in nanoseconds
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class OperationStats {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final String name;
+
+  private final ConcurrentHistogram responseTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+  private final ConcurrentHistogram serviceTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+  private final AtomicLong errors = new AtomicLong();
+
+  private final ConcurrentMap<String, AtomicLong> errorTypes =
+      new ConcurrentHashMap<String, AtomicLong>();
+
+  OperationStats(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Record a request
+   *
+   * @param intendedStart Time the request should have started, in nanoseconds
+   * @param start         Time the request started, in nanoseconds
+   * @param end           Time the request ended, in nanoseconds
+   * @param error         Error of request, or null if it succeeded
+   */
+  void record(long intendedStart, long start, long end, Throwable error) {
+    responseTimes.recordValue(Math.max(0, end - intendedStart));
+    serviceTimes.recordValue(Math.max(0, end - start));
+    if (error != null) {
+      errors.incrementAndGet();
+      final String type = error.getClass().getSimpleName();
+      AtomicLong count = errorTypes.get(type);
+      if (count == null) {
+        final AtomicLong created = new AtomicLong();
+        count = errorTypes.putIfAbsent(type, created);
+        if (count == null) {
+          count = created;
+        }
+      }
+      count.incrementAndGet();
+    }
+  }
+
+  /**
+   * Get name of operation
+   *
+   * @return Name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get number of requests, including the failed ones
+   *
+   * @return Number of requests
+   */
+  public long getCount() {
+    return responseTimes.getTotalCount();
+  }
+
+  /**
+   * Get number of failed requests
+   *
+   * @return Number of errors
+   */
+  public long getErrorCount() {
+    return errors.get();
+  }
+
+  /**
+   * Get rate of failed requests
+   *
+   * @return Error rate, between 0 and 1
+   */
+  public double getErrorRate() {
+    final long count = getCount();
+    return count == 0 ? 0 : (double) getErrorCount() / count;
+  }
+
+  /**
+   * Get number of errors by exception class
+   *
+   * @return Errors by simple name of exception class
+   */
+  public Map<String, Long> getErrorTypes() {
+    final Map<String, Long> types = new TreeMap<String, Long>();
+    for (Map.Entry<String, AtomicLong> entry : errorTypes.entrySet()) {
+      types.put(entry.getKey(), entry.getValue().get());
+    }
+    return Collections.unmodifiableMap(types);
+  }
+
+  /**
+   * Get copy of response times
+   *
+   * @return Histogram in nanoseconds
+   */
+  public Histogram getResponseTimes() {
+    final Histogram copy = new Histogram(SIGNIFICANT_DIGITS);
+    copy.add(responseTimes);
+    return copy;
+  }
+
+  /**
+   * Get copy of service times
+   *
+   * @return Histogram in nanoseconds
+   */
+  public Histogram getServiceTimes() {
+    final Histogram copy = new Histogram(SIGNIFICANT_DIGITS);
+    copy.add(serviceTimes);
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return "OperationStats{" +
+           "name='" + name + '\'' +
+           ", count=" + getCount() +
+           ", errors=" + getErrorCount() +
+           '}';
+  }
+}
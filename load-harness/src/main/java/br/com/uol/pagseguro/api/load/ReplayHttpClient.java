@@ -0,0 +1,111 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+
+/**
+ * Http client that answers from memory. The first response of each method and path is fetched
+ * from the delegate and recorded; the next requests are answered with the recorded response,
+ * whatever the host and the query string. Without network, the benchmarks measure only the lib
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see ScalingBenchmark
+ */
+public class ReplayHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+
+  private final ConcurrentMap<String, HttpResponse> responses =
+      new ConcurrentHashMap<String, HttpResponse>();
+
+  /**
+   * Constructor
+   *
+   * @param delegate Http client used to record the responses, or null to answer only the
+   *                 responses already recorded
+   */
+  public ReplayHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public HttpResponse execute(HttpMethod method, String targetURL, Map<String, String> headers,
+                              HttpRequestBody body) throws IOException {
+    final String key = key(method, targetURL);
+    final HttpResponse recorded = responses.get(key);
+    if (recorded != null) {
+      return recorded;
+    }
+    if (delegate == null) {
+      throw new IOException(String.format("Nenhuma resposta gravada para [%s]", key));
+    }
+    final HttpResponse response = delegate.execute(method, targetURL, headers, body);
+    final HttpResponse previous = responses.putIfAbsent(key, response);
+    return previous != null ? previous : response;
+  }
+
+  /**
+   * Record a response
+   *
+   * @param method   Http method
+   * @param path     Path of url, like {@code /v2/sessions}
+   * @param response Response
+   */
+  public void record(HttpMethod method, String path, HttpResponse response) {
+    responses.put(method + " " + path, response);
+  }
+
+  /**
+   * Get number of responses recorded
+   *
+   * @return Responses recorded
+   */
+  public int getRecordedCount() {
+    return responses.size();
+  }
+
+  /**
+   * Key of a request: method and path, without scheme, host and query string
+   *
+   * @param method    Http method
+   * @param targetURL Url
+   * @return Key
+   */
+  static String key(HttpMethod method, String targetURL) {
+    int start = targetURL.indexOf("://");
+    start = start < 0 ? 0 : targetURL.indexOf('/', start + 3);
+    if (start < 0) {
+      return method + " /";
+    }
+    final int query = targetURL.indexOf('?', start);
+    return method + " " + (query < 0 ? targetURL.substring(start) : targetURL.substring(start,
+        query));
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.MultiTenantPagSeguro;
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.utils.Threads;
+
+/**
+ * Closed loop benchmark of shared Pagseguro instances. Each thread executes the operations of the
+ * mix back to back, so the throughput grows with the threads while the lib scales; the number of
+ * threads where it stops growing linearly shows the contention of the shared state
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see ScalingReport
+ */
+public class ScalingBenchmark {
+
+  private final Target target;
+
+  private final OperationMix mix;
+
+  private final long seed;
+
+  /**
+   * Constructor
+   *
+   * @param target Target of the operations
+   * @param mix    Mix of operations
+   * @param seed   Seed of the choice of operations
+   */
+  public ScalingBenchmark(Target target, OperationMix mix, long seed) {
+    if (target == null || mix == null) {
+      throw new NullPointerException();
+    }
+    this.target = target;
+    this.mix = mix;
+    this.seed = seed;
+  }
+
+  /**
+   * Run the benchmark once for each number of threads
+   *
+   * @param name         Name of the report
+   * @param threadCounts Numbers of threads, the first one is the baseline
+   * @param warmUp       Warm up of each run
+   * @param duration     Measurement of each run
+   * @param unit         Unit of warm up and measurement
+   * @return Report
+   */
+  public ScalingReport run(String name, int[] threadCounts, long warmUp, long duration,
+                           TimeUnit unit) throws InterruptedException {
+    final ScalingReport report = new ScalingReport(name);
+    for (int threads : threadCounts) {
+      report.add(run(threads, unit.toNanos(warmUp), unit.toNanos(duration)));
+    }
+    return report;
+  }
+
+  /**
+   * Run the benchmark with a number of threads. Only the operations that end during the
+   * measurement are counted
+   *
+   * @param threads       Threads
+   * @param warmUpNanos   Warm up, in nanoseconds
+   * @param durationNanos Measurement, in nanoseconds
+   * @return Sample
+   */
+  public ScalingReport.Sample run(int threads, long warmUpNanos, long durationNanos)
+      throws InterruptedException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads");
+    }
+    final CountDownLatch ready = new CountDownLatch(threads);
+    final CountDownLatch go = new CountDownLatch(1);
+    final long[] counts = new long[threads];
+    final long[] errors = new long[threads];
+    final long[] times = new long[2];
+    final List<Thread> workers = new ArrayList<Thread>();
+    for (int i = 0; i < threads; i++) {
+      final int index = i;
+      workers.add(Threads.threadFactory("pagseguro-scaling-" + index + "-").newThread(
+          new Runnable() {
+
+            @Override
+            public void run() {
+              ready.countDown();
+              try {
+                go.await();
+              } catch (InterruptedException e) {
+                return;
+              }
+              loop(index, times[0], times[1], counts, errors);
+            }
+          }));
+    }
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    ready.await();
+    times[0] = System.nanoTime() + warmUpNanos;
+    times[1] = times[0] + durationNanos;
+    go.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    long count = 0;
+    long errorCount = 0;
+    for (int i = 0; i < threads; i++) {
+      count += counts[i];
+      errorCount += errors[i];
+    }
+    return new ScalingReport.Sample(threads, count, errorCount, durationNanos);
+  }
+
+  /**
+   * Loop of a thread. The results are written at the end, so the threads do not share counters
+   *
+   * @param index        Index of thread
+   * @param measureStart Start of measurement, in nanoseconds
+   * @param end          End of measurement, in nanoseconds
+   * @param counts       Operations by thread
+   * @param errors       Failed operations by thread
+   */
+  private void loop(int index, long measureStart, long end, long[] counts, long[] errors) {
+    final Random random = new Random(seed + index);
+    long count = 0;
+    long errorCount = 0;
+    long now = System.nanoTime();
+    while (now < end) {
+      final Operation operation = mix.next(random);
+      boolean failed = false;
+      try {
+        operation.execute(target.get(random));
+      } catch (RuntimeException e) {
+        failed = true;
+      }
+      now = System.nanoTime();
+      if (now >= measureStart && now < end) {
+        count++;
+        if (failed) {
+          errorCount++;
+        }
+      }
+    }
+    counts[index] = count;
+    errors[index] = errorCount;
+  }
+
+  /**
+   * Pagseguro instance used by each operation
+   */
+  public interface Target {
+
+    /**
+     * Get the instance of the next operation
+     *
+     * @param random Random of the calling thread
+     * @return Pagseguro instance
+     */
+    PagSeguro get(Random random);
+  }
+
+  /**
+   * Target where all threads share the same instance
+   *
+   * @param pagSeguro Pagseguro instance
+   * @return Target
+   */
+  public static Target shared(final PagSeguro pagSeguro) {
+    if (pagSeguro == null) {
+      throw new NullPointerException();
+    }
+    return new Target() {
+
+      @Override
+      public PagSeguro get(Random random) {
+        return pagSeguro;
+      }
+    };
+  }
+
+  /**
+   * Target where each operation gets the view of a random tenant, as a multi tenant server does
+   * for each request
+   *
+   * @param multiTenant Multi tenant instance
+   * @param credentials Credentials of tenants
+   * @return Target
+   */
+  public static Target tenants(final MultiTenantPagSeguro multiTenant,
+                               List<Credential> credentials) {
+    if (multiTenant == null || credentials.isEmpty()) {
+      throw new IllegalArgumentException("tenants");
+    }
+    final Credential[] tenants = credentials.toArray(new Credential[credentials.size()]);
+    return new Target() {
+
+      @Override
+      public PagSeguro get(Random random) {
+        return multiTenant.tenant(tenants[random.nextInt(tenants.length)]);
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "ScalingBenchmark{" +
+           "mix=" + mix +
+           ", seed=" + seed +
+           '}';
+  }
+}
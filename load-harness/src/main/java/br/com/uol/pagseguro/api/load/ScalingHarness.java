@@ -0,0 +1,197 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import br.com.uol.pagseguro.api.MultiTenantPagSeguro;
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.PagSeguroEnv;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.JSEHttpClient;
+import br.com.uol.pagseguro.api.stub.PagSeguroStubServer;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+/**
+ * Command line of the scaling benchmark. Runs the mix of operations on shared Pagseguro instances
+ * with an increasing number of threads and prints the throughput by thread
+ *
+ * <pre>
+ * java -cp target/load-harness.jar br.com.uol.pagseguro.api.load.ScalingHarness
+ *     --threads=1,2,4,8,16 --tenants=1000
+ * </pre>
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see ScalingBenchmark
+ */
+public final class ScalingHarness {
+
+  private static final String USAGE = "Opcoes:\n"
+      + "  --threads=<n,...>         threads de cada rodada (padrao 1, 2, 4... ate 2x cpus)\n"
+      + "  --duration=<s>            duracao da medicao de cada rodada (padrao 10)\n"
+      + "  --warmup=<s>              duracao do aquecimento de cada rodada (padrao 3)\n"
+      + "  --mix=<op:peso,...>       operacoes: direct-payment, search-by-code, refund,\n"
+      + "                            installments, session\n"
+      + "  --transport=<t>           memory, jse ou nome de classe de HttpClient (padrao memory)\n"
+      + "  --parser=<p>              stax, jaxb ou nome de classe de ResponseParser (padrao stax)\n"
+      + "  --tenants=<n>             n credenciais em um MultiTenantPagSeguro (requer memory)\n"
+      + "  --csv=<arquivo>           grava o resultado em csv\n"
+      + "  --verbose                 mantem os logs da biblioteca";
+
+  private static final Credential CREDENTIAL =
+      Credential.sellerCredential("vendedor@loja.com.br", "6B8C3F4A2D1E4B7C9A0F5E3D2C1B0A9F");
+
+  ScalingHarness() {
+    throw new IllegalStateException();
+  }
+
+  public static void main(String[] args) throws Exception {
+    final Map<String, String> options = parse(args);
+    if (options.containsKey("help")) {
+      System.out.println(USAGE);
+      return;
+    }
+    if (!options.containsKey("verbose")) {
+      for (Handler handler : Logger.getLogger("").getHandlers()) {
+        handler.setLevel(Level.WARNING);
+      }
+    }
+    final OperationMix mix = options.containsKey("mix")
+        ? new OperationMixBuilder().withWeights(options.get("mix")).build()
+        : OperationMix.DEFAULT;
+    final String transport = value(options, "transport", "memory");
+    final int tenants = Integer.parseInt(value(options, "tenants", "0"));
+    if (tenants > 0 && !"memory".equals(transport)) {
+      throw new IllegalArgumentException(String.format("--tenants requer --transport=memory\n%s",
+          USAGE));
+    }
+
+    final ResponseParser previousParser = ResponseParser.getResponseParser();
+    ResponseParser.configureResponseParser(
+        LoadHarness.responseParser(value(options, "parser", "stax")));
+    final PagSeguroStubServer server = new PagSeguroStubServer(0).start();
+    try {
+      final HttpClient httpClient = "memory".equals(transport)
+          ? record(server, mix) : LoadHarness.httpClient(transport);
+      final ScalingBenchmark.Target target;
+      if (tenants > 0) {
+        final List<Credential> credentials = new ArrayList<Credential>();
+        for (int i = 0; i < tenants; i++) {
+          credentials.add(Credential.sellerCredential("vendedor" + i + "@loja.com.br",
+              "token" + i));
+        }
+        target = ScalingBenchmark.tenants(
+            new MultiTenantPagSeguro(httpClient, PagSeguroEnv.SANDBOX, tenants), credentials);
+      } else {
+        target = ScalingBenchmark.shared(server.client(httpClient, CREDENTIAL));
+      }
+      final ScalingReport report = new ScalingBenchmark(target, mix, 1L).run(
+          transport + (tenants > 0 ? "/" + tenants + " tenants" : ""),
+          threads(options.get("threads")),
+          Long.parseLong(value(options, "warmup", "3")),
+          Long.parseLong(value(options, "duration", "10")), TimeUnit.SECONDS);
+      report.print(System.out);
+      if (options.containsKey("csv")) {
+        report.writeCsv(new File(options.get("csv")));
+      }
+    } finally {
+      server.close();
+      ResponseParser.configureResponseParser(previousParser);
+    }
+  }
+
+  /**
+   * Record one response of each operation of the mix, so the benchmark runs without network
+   *
+   * @param server Stub server
+   * @param mix    Mix of operations
+   * @return Http client answering from memory
+   */
+  static ReplayHttpClient record(PagSeguroStubServer server, OperationMix mix) {
+    final ReplayHttpClient replay = new ReplayHttpClient(new JSEHttpClient());
+    final PagSeguro pagSeguro = server.client(replay, CREDENTIAL);
+    for (Operation operation : mix.getWeights().keySet()) {
+      operation.execute(pagSeguro);
+    }
+    return replay;
+  }
+
+  /**
+   * Parse the numbers of threads
+   *
+   * @param value Numbers separated by comma, or null to use the powers of two up to twice the
+   *              processors, plus the number of processors
+   * @return Numbers of threads
+   */
+  static int[] threads(String value) {
+    final List<Integer> threads = new ArrayList<Integer>();
+    if (value != null) {
+      for (String item : value.split(",")) {
+        threads.add(Integer.parseInt(item.trim()));
+      }
+    } else {
+      final int processors = Runtime.getRuntime().availableProcessors();
+      final TreeSet<Integer> defaults = new TreeSet<Integer>();
+      for (int i = 1; i <= processors * 2; i *= 2) {
+        defaults.add(i);
+      }
+      defaults.add(processors);
+      defaults.add(processors * 2);
+      threads.addAll(defaults);
+    }
+    final int[] result = new int[threads.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = threads.get(i);
+    }
+    return result;
+  }
+
+  private static String value(Map<String, String> options, String name, String defaultValue) {
+    final String value = options.get(name);
+    return value != null ? value : defaultValue;
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    final Map<String, String> options = new HashMap<String, String>();
+    for (String arg : args) {
+      if (!arg.startsWith("--")) {
+        throw new IllegalArgumentException(String.format("Opcao invalida [%s]\n%s", arg, USAGE));
+      }
+      final int separator = arg.indexOf('=');
+      if (separator < 0) {
+        options.put(arg.substring(2), "");
+      } else {
+        options.put(arg.substring(2, separator), arg.substring(separator + 1));
+      }
+    }
+    return options;
+  }
+}
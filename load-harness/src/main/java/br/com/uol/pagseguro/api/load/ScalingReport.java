@@ -0,0 +1,287 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a benchmark by number of threads. The first sample is the baseline: the speedup
+ * of a sample is its throughput divided by the throughput of the baseline, and the efficiency is
+ * the speedup divided by the ideal (linear) speedup
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see ScalingBenchmark
+ */
+public class ScalingReport {
+
+  /**
+   * Minimal efficiency of a linear scaling
+   */
+  public static final double LINEAR_EFFICIENCY = 0.8;
+
+  private static final int CHART_WIDTH = 50;
+
+  private final String name;
+
+  private final List<Sample> samples = new ArrayList<Sample>();
+
+  /**
+   * Constructor
+   *
+   * @param name Name of the benchmark
+   */
+  public ScalingReport(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Add a sample
+   *
+   * @param sample Sample
+   */
+  public void add(Sample sample) {
+    samples.add(sample);
+  }
+
+  /**
+   * Get name of the benchmark
+   *
+   * @return Name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get samples, in the order they were added
+   *
+   * @return Samples
+   */
+  public List<Sample> getSamples() {
+    return Collections.unmodifiableList(samples);
+  }
+
+  /**
+   * Get speedup of a sample over the baseline
+   *
+   * @param sample Sample
+   * @return Speedup
+   */
+  public double getSpeedup(Sample sample) {
+    final double baseline = samples.get(0).getThroughput();
+    return baseline == 0 ? 0 : sample.getThroughput() / baseline;
+  }
+
+  /**
+   * Get efficiency of a sample: its speedup divided by the linear speedup
+   *
+   * @param sample Sample
+   * @return Efficiency, 1 when the sample scales linearly
+   */
+  public double getEfficiency(Sample sample) {
+    return getSpeedup(sample) * samples.get(0).getThreads() / sample.getThreads();
+  }
+
+  /**
+   * Get the number of threads up to which the benchmark scales linearly, that is, with an
+   * efficiency of at least {@link #LINEAR_EFFICIENCY} on that sample and on all previous ones
+   *
+   * @return Threads, or 0 without samples
+   */
+  public int getLinearLimit() {
+    int limit = 0;
+    for (Sample sample : samples) {
+      if (getEfficiency(sample) < LINEAR_EFFICIENCY) {
+        break;
+      }
+      limit = sample.getThreads();
+    }
+    return limit;
+  }
+
+  /**
+   * Print the report as a table followed by a chart of throughput
+   *
+   * @param out Output
+   */
+  public void print(PrintStream out) {
+    out.println(String.format(Locale.ROOT, "Escalabilidade %s (%d processadores)", name,
+        Runtime.getRuntime().availableProcessors()));
+    out.println(String.format(Locale.ROOT, "%8s %12s %8s %10s %10s", "threads", "ops/s", "erros",
+        "speedup", "eficiencia"));
+    double max = 0;
+    for (Sample sample : samples) {
+      out.println(String.format(Locale.ROOT, "%8d %12.1f %8d %9.2fx %9.0f%%",
+          sample.getThreads(), sample.getThroughput(), sample.getErrorCount(),
+          getSpeedup(sample), getEfficiency(sample) * 100));
+      max = Math.max(max, sample.getThroughput());
+    }
+    out.println();
+    for (Sample sample : samples) {
+      final int width = max == 0 ? 0 : (int) Math.round(sample.getThroughput() * CHART_WIDTH / max);
+      final int ideal = max == 0 ? 0 : (int) Math.round(Math.min(getIdealThroughput(sample),
+          max) * CHART_WIDTH / max);
+      final StringBuilder bar = new StringBuilder();
+      for (int i = 0; i < CHART_WIDTH; i++) {
+        bar.append(i < width ? '#' : i < ideal ? '.' : ' ');
+      }
+      out.println(String.format(Locale.ROOT, "%8d |%s| %.1f", sample.getThreads(), bar,
+          sample.getThroughput()));
+    }
+    out.println(String.format(Locale.ROOT, "%8s  # medido, . linear (limitado ao maior valor)",
+        ""));
+    final int limit = getLinearLimit();
+    if (limit > 0) {
+      out.println(String.format(Locale.ROOT, "Escala linear (eficiencia >= %.0f%%) ate %d threads",
+          LINEAR_EFFICIENCY * 100, limit));
+    }
+  }
+
+  /**
+   * Write the samples as csv
+   *
+   * @param file File
+   */
+  public void writeCsv(File file) throws FileNotFoundException {
+    final PrintStream out = new PrintStream(file);
+    try {
+      out.println("threads,ops,errors,seconds,throughput,speedup,efficiency");
+      for (Sample sample : samples) {
+        out.println(String.format(Locale.ROOT, "%d,%d,%d,%.3f,%.1f,%.3f,%.3f",
+            sample.getThreads(), sample.getCount(), sample.getErrorCount(),
+            sample.getElapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1),
+            sample.getThroughput(), getSpeedup(sample), getEfficiency(sample)));
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Throughput of a sample if the benchmark scaled linearly from the baseline
+   *
+   * @param sample Sample
+   * @return Ideal throughput
+   */
+  private double getIdealThroughput(Sample sample) {
+    final Sample baseline = samples.get(0);
+    return baseline.getThroughput() * sample.getThreads() / baseline.getThreads();
+  }
+
+  @Override
+  public String toString() {
+    return "ScalingReport{" +
+           "name=" + name +
+           ", samples=" + samples +
+           '}';
+  }
+
+  /**
+   * Operations completed by a number of threads during the measurement
+   */
+  public static class Sample {
+
+    private final int threads;
+
+    private final long count;
+
+    private final long errorCount;
+
+    private final long elapsedNanos;
+
+    /**
+     * Constructor
+     *
+     * @param threads      Threads
+     * @param count        Operations completed, including the failed ones
+     * @param errorCount   Operations failed
+     * @param elapsedNanos Duration of the measurement
+     */
+    public Sample(int threads, long count, long errorCount, long elapsedNanos) {
+      this.threads = threads;
+      this.count = count;
+      this.errorCount = errorCount;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get number of threads
+     *
+     * @return Threads
+     */
+    public int getThreads() {
+      return threads;
+    }
+
+    /**
+     * Get number of operations, including the failed ones
+     *
+     * @return Operations
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Get number of failed operations
+     *
+     * @return Failed operations
+     */
+    public long getErrorCount() {
+      return errorCount;
+    }
+
+    /**
+     * Get duration of the measurement
+     *
+     * @return Duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /**
+     * Get throughput
+     *
+     * @return Operations per second
+     */
+    public double getThroughput() {
+      return elapsedNanos <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return "Sample{" +
+             "threads=" + threads +
+             ", count=" + count +
+             ", errorCount=" + errorCount +
+             ", elapsedNanos=" + elapsedNanos +
+             '}';
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.stub.PagSeguroStubServer;
+import br.com.uol.pagseguro.api.stub.StubProfileBuilder;
+import br.com.uol.pagseguro.api.stub.StubRoute;
+import br.com.uol.pagseguro.api.utils.xml.JAXBResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.StAXResponseParser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class LoadGeneratorTest {
+
+  private PagSeguroStubServer server;
+
+  private LoadGenerator generator;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new PagSeguroStubServer().start();
+    generator = new LoadGenerator(server, Credential.sellerCredential("email@email.com", "token"));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.close();
+  }
+
+  @Test
+  public void shouldRunEveryOperationOfMix() throws Exception {
+    LoadReport report = generator.run(new LoadScenarioBuilder()
+        .withRate(100)
+        .withDuration(1, TimeUnit.SECONDS)
+        .withWarmUp(0, TimeUnit.SECONDS)
+        .build());
+
+    assertEquals(100, report.getCount());
+    assertEquals(0, report.getErrorCount());
+    assertEquals(0, report.getPendingCount());
+    for (OperationStats stats : report.getStats().values()) {
+      assertTrue(stats.getName(), stats.getCount() > 0);
+    }
+    assertEquals(report.getStats().get(Operation.DIRECT_PAYMENT).getCount(),
+        server.getRequestCount(StubRoute.DIRECT_PAYMENT));
+    assertEquals(report.getStats().get(Operation.REFUND).getCount(),
+        server.getRequestCount(StubRoute.TRANSACTION_REFUND));
+  }
+
+  @Test
+  public void shouldNotReportWarmUp() throws Exception {
+    LoadReport report = generator.run(new LoadScenarioBuilder()
+        .withRate(50)
+        .withDuration(1, TimeUnit.SECONDS)
+        .withWarmUp(1, TimeUnit.SECONDS)
+        .withMix(new OperationMixBuilder().withWeight(Operation.SESSION, 1))
+        .build());
+
+    assertEquals(50, report.getCount());
+    assertEquals(100, server.getRequestCount(StubRoute.SESSION_CREATE));
+  }
+
+  @Test
+  public void shouldMeasureQueueingDelay() throws Exception {
+    server.setProfile(new StubProfileBuilder().withFixedLatency(50).build());
+    LoadReport report = generator.run(new LoadScenarioBuilder()
+        .withRate(40)
+        .withDuration(1, TimeUnit.SECONDS)
+        .withWarmUp(0, TimeUnit.SECONDS)
+        .withMaxConcurrency(1)
+        .withMix(new OperationMixBuilder().withWeight(Operation.SESSION, 1))
+        .build());
+
+    assertEquals(40, report.getCount());
+    assertTrue(report.getServiceTimes().getMaxValue() < TimeUnit.MILLISECONDS.toNanos(500));
+    assertTrue(report.getResponseTimes().getMaxValue() > TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  public void shouldCountErrorsByType() throws Exception {
+    server.setProfile(new StubProfileBuilder().withErrorRate(1).withErrorStatus(503, 1).build());
+    LoadReport report = generator.run(new LoadScenarioBuilder()
+        .withRate(20)
+        .withDuration(1, TimeUnit.SECONDS)
+        .withWarmUp(0, TimeUnit.SECONDS)
+        .withMix(new OperationMixBuilder().withWeight(Operation.SEARCH_BY_CODE, 1))
+        .build());
+
+    OperationStats stats = report.getStats().get(Operation.SEARCH_BY_CODE);
+    assertEquals(20, stats.getErrorCount());
+    assertEquals(1.0, stats.getErrorRate(), 0);
+    assertEquals(Long.valueOf(20),
+        stats.getErrorTypes().get("PagSeguroServiceUnavailableException"));
+  }
+
+  @Test
+  public void shouldRestoreResponseParser() throws Exception {
+    ResponseParser parser = new StAXResponseParser();
+    ResponseParser.configureResponseParser(parser);
+
+    LoadReport report = generator.run(new LoadScenarioBuilder()
+        .withRate(20)
+        .withDuration(1, TimeUnit.SECONDS)
+        .withWarmUp(0, TimeUnit.SECONDS)
+        .withResponseParser(new JAXBResponseParser())
+        .build());
+
+    assertEquals(0, report.getErrorCount());
+    assertSame(parser, ResponseParser.getResponseParser());
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.load;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.MultiTenantPagSeguro;
+import br.com.uol.pagseguro.api.PagSeguroEnv;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.stub.PagSeguroStubServer;
+import br.com.uol.pagseguro.api.stub.StubRoute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class ScalingBenchmarkTest {
+
+  private PagSeguroStubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new PagSeguroStubServer().start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.close();
+  }
+
+  @Test
+  public void shouldReplayRecordedResponses() throws Exception {
+    ReplayHttpClient replay = ScalingHarness.record(server, OperationMix.DEFAULT);
+    long sessions = server.getRequestCount(StubRoute.SESSION_CREATE);
+
+    ScalingReport.Sample sample = new ScalingBenchmark(ScalingBenchmark.shared(
+        server.client(replay, Credential.sellerCredential("email@email.com", "token"))),
+        OperationMix.DEFAULT, 1L).run(2, 0, TimeUnit.MILLISECONDS.toNanos(200));
+
+    assertEquals(5, replay.getRecordedCount());
+    assertEquals(sessions, server.getRequestCount(StubRoute.SESSION_CREATE));
+    assertTrue(sample.getCount() > 0);
+    assertEquals(0, sample.getErrorCount());
+  }
+
+  @Test
+  public void shouldReplayAnyHost() throws Exception {
+    ReplayHttpClient replay = ScalingHarness.record(server,
+        new OperationMixBuilder().withWeight(Operation.SESSION, 1).build());
+    MultiTenantPagSeguro multiTenant = new MultiTenantPagSeguro(replay, PagSeguroEnv.SANDBOX, 2);
+
+    ScalingReport.Sample sample = new ScalingBenchmark(ScalingBenchmark.tenants(multiTenant,
+        Arrays.asList(Credential.sellerCredential("a@email.com", "a"),
+            Credential.sellerCredential("b@email.com", "b"),
+            Credential.sellerCredential("c@email.com", "c"))),
+        new OperationMixBuilder().withWeight(Operation.SESSION, 1).build(), 1L)
+        .run(4, 0, TimeUnit.MILLISECONDS.toNanos(200));
+
+    assertTrue(sample.getCount() > 0);
+    assertEquals(0, sample.getErrorCount());
+    assertEquals(2, multiTenant.getCredentialQueries().size());
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldFailWithoutRecordedResponse() throws Exception {
+    new ReplayHttpClient(null).execute(HttpMethod.GET, "https://host/v2/sessions", null, null);
+  }
+
+  @Test
+  public void shouldIgnoreHostAndQueryOnKey() throws Exception {
+    assertEquals("POST /v2/sessions",
+        ReplayHttpClient.key(HttpMethod.POST, "https://ws.pagseguro.uol.com.br/v2/sessions?a=b"));
+    assertEquals("GET /v3/transactions/1",
+        ReplayHttpClient.key(HttpMethod.GET, "http://127.0.0.1:8080/v3/transactions/1"));
+    assertEquals("GET /", ReplayHttpClient.key(HttpMethod.GET, "http://127.0.0.1:8080"));
+  }
+
+  @Test
+  public void shouldComputeLinearLimit() throws Exception {
+    ScalingReport report = new ScalingReport("teste");
+    report.add(new ScalingReport.Sample(1, 100, 0, TimeUnit.SECONDS.toNanos(1)));
+    report.add(new ScalingReport.Sample(2, 190, 0, TimeUnit.SECONDS.toNanos(1)));
+    report.add(new ScalingReport.Sample(4, 330, 0, TimeUnit.SECONDS.toNanos(1)));
+    report.add(new ScalingReport.Sample(8, 400, 0, TimeUnit.SECONDS.toNanos(1)));
+
+    assertEquals(1.9, report.getSpeedup(report.getSamples().get(1)), 0.001);
+    assertEquals(0.825, report.getEfficiency(report.getSamples().get(2)), 0.001);
+    assertEquals(4, report.getLinearLimit());
+  }
+
+  @Test
+  public void shouldRecordResponse() throws Exception {
+    ReplayHttpClient replay = new ReplayHttpClient(null);
+    replay.record(HttpMethod.POST, "/v2/sessions", new HttpResponse(200, "<session/>"));
+
+    assertEquals("<session/>", replay.execute(HttpMethod.POST,
+        "https://ws.sandbox.pagseguro.uol.com.br/v2/sessions", null, null).asString());
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.http.AuthenticatedHttpClient;
+import br.com.uol.pagseguro.api.http.CredentialQueryCache;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.JSEHttpClient;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+import br.com.uol.pagseguro.api.utils.logging.SimpleLoggerFactory;
+
+/**
+ * Client of many sellers, used by marketplaces. All the tenants share the same http client and
+ * environment, and each tenant is a lightweight {@link PagSeguro} view bound to one credential.
+ * The queries of the credentials are built once and cached
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class MultiTenantPagSeguro {
+
+  private static final int DEFAULT_MAX_CREDENTIALS = 10000;
+
+  private final HttpClient httpClient;
+
+  private final PagSeguroEnv environment;
+
+  private final CredentialQueryCache credentialQueries;
+
+  /**
+   * Constructor. Caches up to 10000 credentials
+   *
+   * @param httpClient  Http Client shared by the tenants
+   * @param environment Environment
+   */
+  public MultiTenantPagSeguro(HttpClient httpClient, PagSeguroEnv environment) {
+    this(httpClient, environment, DEFAULT_MAX_CREDENTIALS);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param httpClient     Http Client shared by the tenants
+   * @param environment    Environment
+   * @param maxCredentials Max number of credentials cached
+   */
+  public MultiTenantPagSeguro(HttpClient httpClient, PagSeguroEnv environment,
+                              int maxCredentials) {
+    if (httpClient == null || environment == null) {
+      throw new NullPointerException();
+    }
+    this.httpClient = httpClient;
+    this.environment = environment;
+    this.credentialQueries = new CredentialQueryCache(maxCredentials);
+  }
+
+  /**
+   * Construct multi tenant instance of Pagseguro
+   *
+   * @param environment Environment
+   * @return Multi tenant instance built
+   */
+  public static MultiTenantPagSeguro instance(PagSeguroEnv environment) {
+    return instance(new SimpleLoggerFactory(), new JSEHttpClient(), environment);
+  }
+
+  /**
+   * Construct multi tenant instance of Pagseguro. The logger factory is configured once for all
+   * tenants
+   *
+   * @param loggerFactory Logger Factory
+   * @param httpClient    Http Client shared by the tenants
+   * @param environment   Environment
+   * @return Multi tenant instance built
+   */
+  public static MultiTenantPagSeguro instance(LoggerFactory loggerFactory, HttpClient httpClient,
+                                              PagSeguroEnv environment) {
+    LoggerFactory.configureLoggerFactory(loggerFactory);
+    return new MultiTenantPagSeguro(httpClient, environment);
+  }
+
+  /**
+   * Get view of a tenant. Views are cheap and may be created for each call
+   *
+   * @param credential Credential of tenant
+   * @return Pagseguro instance of tenant
+   */
+  public PagSeguro tenant(Credential credential) {
+    if (credential == null) {
+      throw new NullPointerException();
+    }
+    final AuthenticatedHttpClient authenticatedHttpClient =
+        new AuthenticatedHttpClient(httpClient, credentialQueries.get(credential));
+    switch (environment) {
+      case PRODUCTION:
+        return new PagSeguroProdEnv(authenticatedHttpClient);
+      case SANDBOX:
+        return new PagSeguroSandboxEnv(authenticatedHttpClient);
+      default:
+        throw new PagSeguroLibException(new IllegalArgumentException("Environment not exists"));
+    }
+  }
+
+  /**
+   * Get environment
+   *
+   * @return Environment
+   */
+  public PagSeguroEnv getEnvironment() {
+    return environment;
+  }
+
+  /**
+   * Get cache of credential queries
+   *
+   * @return Credential query cache
+   */
+  public CredentialQueryCache getCredentialQueries() {
+    return credentialQueries;
+  }
+}
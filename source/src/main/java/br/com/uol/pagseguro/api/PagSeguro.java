@@ -34,6 +34,7 @@ import br.com.uol.pagseguro.api.notification.NotificationsResource;
 import br.com.uol.pagseguro.api.preapproval.PreApprovalsResource;
 import br.com.uol.pagseguro.api.session.SessionResource;
 import br.com.uol.pagseguro.api.transaction.TransactionsResource;
+import br.com.uol.pagseguro.api.utils.Builder;
 import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
 import br.com.uol.pagseguro.api.utils.logging.SimpleLoggerFactory;
 
@@ -45,7 +46,7 @@ import br.com.uol.pagseguro.api.utils.logging.SimpleLoggerFactory;
  */
 public abstract class PagSeguro {
 
-  private final HttpClient httpClient;
+  private final AuthenticatedHttpClient httpClient;
 
   /**
    * Constructor
@@ -57,6 +58,16 @@ public abstract class PagSeguro {
     this.httpClient = new AuthenticatedHttpClient(httpClient, credential);
   }
 
+  /**
+   * Constructor
+   *
+   * @param httpClient Http Client with the credential
+   * @see MultiTenantPagSeguro
+   */
+  protected PagSeguro(AuthenticatedHttpClient httpClient) {
+    this.httpClient = httpClient;
+  }
+
   /**
    * Get factory to checkout
    *
@@ -120,6 +131,43 @@ public abstract class PagSeguro {
     return new NotificationsResource(this, httpClient);
   }
 
+  /**
+   * Warm up the instance with the default options: parsers, encoders and credential, without
+   * opening connections
+   *
+   * @return The instance itself
+   * @see WarmUp
+   */
+  public PagSeguro warmUp() {
+    return warmUp(new WarmUpBuilder());
+  }
+
+  /**
+   * Warm up the instance
+   *
+   * @param warmUpBuilder Builder for warm up
+   * @return The instance itself
+   * @see WarmUp
+   */
+  public PagSeguro warmUp(Builder<WarmUp> warmUpBuilder) {
+    return warmUp(warmUpBuilder.build());
+  }
+
+  /**
+   * Warm up the instance. Should be called on startup, before the first request
+   *
+   * @param warmUp Warm up
+   * @return The instance itself
+   * @see WarmUp
+   */
+  public PagSeguro warmUp(WarmUp warmUp) {
+    if (warmUp == null) {
+      throw new NullPointerException();
+    }
+    warmUp.apply(this, httpClient);
+    return this;
+  }
+
   /**
    * Get production environment
    *
@@ -21,6 +21,7 @@
 package br.com.uol.pagseguro.api;
 
 import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.AuthenticatedHttpClient;
 import br.com.uol.pagseguro.api.http.HttpClient;
 
 /**
@@ -40,6 +41,15 @@ public class PagSeguroSandboxEnv extends PagSeguro {
     super(httpClient, credential);
   }
 
+  /**
+   * Constructor
+   *
+   * @param httpClient Http client with the credential
+   */
+  PagSeguroSandboxEnv(AuthenticatedHttpClient httpClient) {
+    super(httpClient);
+  }
+
   /**
    * Get host
    *
@@ -0,0 +1,240 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import br.com.uol.pagseguro.api.application.authorization.RegisteredAuthorizationResponseXML;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationDetailXML;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationSearchResponseXML;
+import br.com.uol.pagseguro.api.checkout.RegisterCheckoutResponseXML;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.ServerErrorsXML;
+import br.com.uol.pagseguro.api.http.AuthenticatedHttpClient;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.installment.InstallmentListingResponseXML;
+import br.com.uol.pagseguro.api.preapproval.ChargePreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.RegisterPreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.cancel.CancelPreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalDetailXML;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalSearchResponseXML;
+import br.com.uol.pagseguro.api.session.CreatedSessionXML;
+import br.com.uol.pagseguro.api.transaction.CancelResponseXMLTransaction;
+import br.com.uol.pagseguro.api.transaction.RefundResponseXMLTransaction;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXML;
+import br.com.uol.pagseguro.api.utils.CharSet;
+import br.com.uol.pagseguro.api.utils.RequestMap;
+import br.com.uol.pagseguro.api.utils.Threads;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+/**
+ * Warm up of a pagseguro instance. Moves to the startup the costs that the first request would
+ * pay: class loading, JAXB introspection of responses, logger setup, random generator seeding
+ * and, optionally, the tls handshake. Warm up is best effort: failures are logged and ignored
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see WarmUpBuilder
+ * @see PagSeguro#warmUp(WarmUp)
+ */
+public class WarmUp {
+
+  private static Log LOGGER = LoggerFactory.getLogger(WarmUp.class.getName());
+
+  /**
+   * Root classes of the responses of api
+   */
+  private static final Class<?>[] RESPONSE_CLASSES = {
+      TransactionDetailXML.class,
+      TransactionSearchResponseXML.class,
+      CancelResponseXMLTransaction.class,
+      RefundResponseXMLTransaction.class,
+      RegisterCheckoutResponseXML.class,
+      CreatedSessionXML.class,
+      InstallmentListingResponseXML.class,
+      RegisterPreApprovalResponseXML.class,
+      ChargePreApprovalResponseXML.class,
+      CancelPreApprovalResponseXML.class,
+      PreApprovalDetailXML.class,
+      PreApprovalSearchResponseXML.class,
+      RegisteredAuthorizationResponseXML.class,
+      AuthorizationDetailXML.class,
+      AuthorizationSearchResponseXML.class,
+      ServerErrorsXML.class
+  };
+
+  private final boolean parsers;
+
+  private final boolean encoders;
+
+  private final boolean credential;
+
+  private final int connections;
+
+  private final long connectionTimeoutMillis;
+
+  WarmUp(WarmUpBuilder builder) {
+    parsers = builder.getParsers();
+    encoders = builder.getEncoders();
+    credential = builder.getCredential();
+    connections = builder.getConnections();
+    connectionTimeoutMillis = builder.getConnectionTimeoutMillis();
+  }
+
+  /**
+   * Warm up a pagseguro instance
+   *
+   * @param pagSeguro  Pagseguro instance
+   * @param httpClient Http client of instance
+   */
+  void apply(PagSeguro pagSeguro, AuthenticatedHttpClient httpClient) {
+    final long start = System.nanoTime();
+    if (parsers) {
+      warmUpParsers(pagSeguro);
+    }
+    if (encoders) {
+      warmUpEncoders(pagSeguro);
+    }
+    if (credential) {
+      warmUpCredential(pagSeguro, httpClient);
+    }
+    if (connections > 0) {
+      warmUpConnections(pagSeguro, httpClient.getHttpClient());
+    }
+    LOGGER.info(String.format("Aquecimento concluido em %d ms",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+  }
+
+  /**
+   * Prepare the configured response parser to each response
+   *
+   * @param pagSeguro Pagseguro instance
+   */
+  private static void warmUpParsers(PagSeguro pagSeguro) {
+    final ResponseParser parser = ResponseParser.getResponseParser();
+    for (Class<?> clazz : RESPONSE_CLASSES) {
+      try {
+        parser.prepare(pagSeguro, clazz);
+      } catch (PagSeguroLibException e) {
+        LOGGER.warn(String.format("Falha ao aquecer o parser de [%s]", clazz.getName()), e);
+      }
+    }
+  }
+
+  /**
+   * Load the resources and encode a request body
+   *
+   * @param pagSeguro Pagseguro instance
+   */
+  private static void warmUpEncoders(PagSeguro pagSeguro) {
+    pagSeguro.checkouts();
+    pagSeguro.transactions().search();
+    pagSeguro.authorizations().search();
+    pagSeguro.preApprovals().search();
+    pagSeguro.sessions();
+    pagSeguro.installments();
+    pagSeguro.notifications();
+    try {
+      new RequestMap().putString("warmUp", String.format(Endpoints.CHECKOUT_REQUEST,
+          pagSeguro.getHost())).toHttpRequestBody(CharSet.ENCODING_ISO);
+    } catch (IOException e) {
+      LOGGER.warn("Falha ao aquecer os encoders", e);
+    }
+  }
+
+  /**
+   * Append the credential and a correlation id to the host
+   *
+   * @param pagSeguro  Pagseguro instance
+   * @param httpClient Http client of instance
+   */
+  private static void warmUpCredential(PagSeguro pagSeguro, AuthenticatedHttpClient httpClient) {
+    try {
+      httpClient.appendCorrelationId(httpClient.appendCredential(pagSeguro.getHost()));
+    } catch (URISyntaxException e) {
+      LOGGER.warn("Falha ao aquecer a credencial", e);
+    } catch (IOException e) {
+      LOGGER.warn("Falha ao aquecer a credencial", e);
+    }
+  }
+
+  /**
+   * Open connections to the host, in parallel
+   *
+   * @param pagSeguro  Pagseguro instance
+   * @param httpClient Http client without credential
+   */
+  private void warmUpConnections(PagSeguro pagSeguro, final HttpClient httpClient) {
+    final String host = pagSeguro.getHost();
+    final ExecutorService executor = Threads.newTaskExecutor("pagseguro-warm-up-");
+    try {
+      final List<Future<?>> futures = new ArrayList<Future<?>>();
+      for (int i = 0; i < connections; i++) {
+        futures.add(executor.submit(new Runnable() {
+
+          @Override
+          public void run() {
+            try {
+              httpClient.execute(HttpMethod.GET, host, null, null);
+            } catch (IOException e) {
+              LOGGER.warn(String.format("Falha ao abrir conexao com [%s]", host), e);
+            }
+          }
+        }));
+      }
+      final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+          connectionTimeoutMillis);
+      for (Future<?> future : futures) {
+        future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+    } catch (TimeoutException e) {
+      LOGGER.warn(String.format("Conexoes com [%s] nao abertas em %d ms", host,
+          connectionTimeoutMillis));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      LOGGER.warn(String.format("Falha ao abrir conexoes com [%s]", host), e);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "WarmUp{" +
+           "parsers=" + parsers +
+           ", encoders=" + encoders +
+           ", credential=" + credential +
+           ", connections=" + connections +
+           ", connectionTimeoutMillis=" + connectionTimeoutMillis +
+           '}';
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api;
+
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.utils.Builder;
+
+/**
+ * Builder for warm up
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see WarmUp
+ * @see PagSeguro#warmUp(WarmUp)
+ */
+public final class WarmUpBuilder implements Builder<WarmUp> {
+
+  private boolean parsers = true;
+
+  private boolean encoders = true;
+
+  private boolean credential = true;
+
+  private int connections = 0;
+
+  private long connectionTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+  /**
+   * Set if the parsers of the responses must be initialized. Builds the JAXB context of each
+   * response and loads the StAX readers
+   *
+   * @param parsers True to initialize the parsers
+   * @return Builder for warm up
+   */
+  public WarmUpBuilder withParsers(boolean parsers) {
+    this.parsers = parsers;
+    return this;
+  }
+
+  /**
+   * Set if the resources and the encoders of the requests must be initialized. Loads the
+   * resources with their map converters and loggers, and encodes a request body
+   *
+   * @param encoders True to initialize the encoders
+   * @return Builder for warm up
+   */
+  public WarmUpBuilder withEncoders(boolean encoders) {
+    this.encoders = encoders;
+    return this;
+  }
+
+  /**
+   * Set if the credential and correlation id must be appended to an url. Initializes the url
+   * handling and the random generator of correlation ids
+   *
+   * @param credential True to append the credential
+   * @return Builder for warm up
+   */
+  public WarmUpBuilder withCredential(boolean credential) {
+    this.credential = credential;
+    return this;
+  }
+
+  /**
+   * Set number of connections opened to the host, in parallel. Each connection executes a
+   * request without credential to the root of host, whatever the answer is. Loads the http and
+   * tls classes, does the tls handshake and fills the connection pool of http clients that have
+   * one. The default is zero
+   *
+   * @param connections Number of connections
+   * @return Builder for warm up
+   */
+  public WarmUpBuilder withConnections(int connections) {
+    if (connections < 0) {
+      throw new IllegalArgumentException("connections must not be negative");
+    }
+    this.connections = connections;
+    return this;
+  }
+
+  /**
+   * Set max time waiting for the connections
+   *
+   * @param timeout Timeout
+   * @param unit    Unit of timeout
+   * @return Builder for warm up
+   */
+  public WarmUpBuilder withConnectionTimeout(long timeout, TimeUnit unit) {
+    if (timeout <= 0) {
+      throw new IllegalArgumentException("timeout must be positive");
+    }
+    this.connectionTimeoutMillis = unit.toMillis(timeout);
+    return this;
+  }
+
+  boolean getParsers() {
+    return parsers;
+  }
+
+  boolean getEncoders() {
+    return encoders;
+  }
+
+  boolean getCredential() {
+    return credential;
+  }
+
+  int getConnections() {
+    return connections;
+  }
+
+  long getConnectionTimeoutMillis() {
+    return connectionTimeoutMillis;
+  }
+
+  /**
+   * Build warm up
+   *
+   * @return Warm up
+   */
+  @Override
+  public WarmUp build() {
+    return new WarmUp(this);
+  }
+}
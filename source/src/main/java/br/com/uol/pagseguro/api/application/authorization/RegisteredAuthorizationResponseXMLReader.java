@@ -0,0 +1,56 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.application.authorization;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code RegisteredAuthorizationResponseXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class RegisteredAuthorizationResponseXMLReader extends
+    AbstractXMLElementReader<RegisteredAuthorizationResponseXML> {
+
+  @Override
+  protected RegisteredAuthorizationResponseXML newInstance() {
+    return new RegisteredAuthorizationResponseXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name,
+                           RegisteredAuthorizationResponseXML target) throws XMLStreamException {
+    if ("code".equals(name)) {
+      target.setCode(context.readString());
+    } else if ("date".equals(name)) {
+      target.setDate(context.readDate());
+    } else if ("redirectURL".equals(name)) {
+      target.setRedirectURL(context.readString());
+    } else {
+      context.skipElement();
+    }
+  }
+}
@@ -20,10 +20,14 @@
  */
 package br.com.uol.pagseguro.api.application.authorization.search;
 
+import java.util.concurrent.Executor;
+
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.common.domain.DataList;
 import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
 import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.utils.PageFetcher;
+import br.com.uol.pagseguro.api.utils.PagedPublisher;
 
 /**
  * Factory to search authorizations.
@@ -142,4 +146,52 @@ public class AuthorizationSearchResource {
       AuthorizationSearch authorizationSearch) {
     return new AuthorizationSearchByDateRange(authorizationSearch).execute(pagSeguro, httpClient);
   }
+
+  /**
+   * Publish authorizations by date range. The pages are requested from PagSeguro as the subscriber
+   * demands the results, starting at the first page. The page of search is ignored
+   *
+   * @param search   Search
+   * @param prefetch Pages fetched ahead of demand
+   * @return Publisher of results
+   * @see PagedPublisher
+   */
+  public PagedPublisher<AuthorizationSummary> publishByDateRange(AuthorizationSearch search,
+                                                                 int prefetch) {
+    return new PagedPublisher<AuthorizationSummary>(pagesByDateRange(search), prefetch);
+  }
+
+  /**
+   * Publish authorizations by date range. The pages are requested from PagSeguro as the subscriber
+   * demands the results, starting at the first page. The page of search is ignored
+   *
+   * @param search   Search
+   * @param prefetch Pages fetched ahead of demand
+   * @param executor Executor of the page fetches
+   * @return Publisher of results
+   * @see PagedPublisher
+   */
+  public PagedPublisher<AuthorizationSummary> publishByDateRange(AuthorizationSearch search,
+                                                                 int prefetch,
+                                                                 Executor executor) {
+    return new PagedPublisher<AuthorizationSummary>(pagesByDateRange(search), prefetch, executor);
+  }
+
+  /**
+   * Create fetcher of the pages of a search by date range
+   *
+   * @param search Search
+   * @return Page fetcher
+   */
+  private PageFetcher<AuthorizationSummary> pagesByDateRange(final AuthorizationSearch search) {
+    return new PageFetcher<AuthorizationSummary>() {
+
+      @Override
+      public DataList<? extends AuthorizationSummary> fetch(int page) {
+        return byDateRange(new AuthorizationSearchBuilder().withDateRange(search.getDateRange())
+            .withReference(search.getReference()).withPage(page)
+            .withMaxResults(search.getMaxResults()).build());
+      }
+    };
+  }
 }
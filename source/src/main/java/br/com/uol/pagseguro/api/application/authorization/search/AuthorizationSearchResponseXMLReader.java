@@ -0,0 +1,64 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.application.authorization.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code AuthorizationSearchResponseXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class AuthorizationSearchResponseXMLReader extends
+    AbstractXMLElementReader<AuthorizationSearchResponseXML> {
+
+  private static final AuthorizationSummaryXMLReader AUTHORIZATION_READER =
+      new AuthorizationSummaryXMLReader();
+
+  @Override
+  protected AuthorizationSearchResponseXML newInstance() {
+    return new AuthorizationSearchResponseXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name,
+                           AuthorizationSearchResponseXML target) throws XMLStreamException {
+    if ("date".equals(name)) {
+      target.setDate(context.readDate());
+    } else if ("resultsInThisPage".equals(name)) {
+      target.setResultsInThisPage(context.readInteger());
+    } else if ("currentPage".equals(name)) {
+      target.setCurrentPage(context.readInteger());
+    } else if ("totalPages".equals(name)) {
+      target.setTotalPages(context.readInteger());
+    } else if ("authorizations".equals(name)) {
+      target.setAuthorizations(context.<AuthorizationSummaryXML>readList("authorization",
+          AUTHORIZATION_READER));
+    } else {
+      context.skipElement();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.application.authorization.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.common.domain.xml.AccountXMLReader;
+import br.com.uol.pagseguro.api.common.domain.xml.PermissionXML;
+import br.com.uol.pagseguro.api.common.domain.xml.PermissionXMLReader;
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code AuthorizationSummaryXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class AuthorizationSummaryXMLReader extends
+    AbstractXMLElementReader<AuthorizationSummaryXML> {
+
+  private static final AccountXMLReader ACCOUNT_READER = new AccountXMLReader();
+
+  private static final PermissionXMLReader PERMISSION_READER = new PermissionXMLReader();
+
+  @Override
+  protected AuthorizationSummaryXML newInstance() {
+    return new AuthorizationSummaryXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, AuthorizationSummaryXML target)
+      throws XMLStreamException {
+    if ("code".equals(name)) {
+      target.setCode(context.readString());
+    } else if ("authorizerEmail".equals(name)) {
+      target.setAuthorizerEmail(context.readString());
+    } else if ("creationDate".equals(name)) {
+      target.setCreationDate(context.readDate());
+    } else if ("reference".equals(name)) {
+      target.setReference(context.readString());
+    } else if ("account".equals(name)) {
+      target.setAccount(context.read(ACCOUNT_READER));
+    } else if ("permissions".equals(name)) {
+      target.setPermissions(context.<PermissionXML>readList("permission",
+          PERMISSION_READER));
+    } else {
+      context.skipElement();
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.checkout;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+
+/**
+ * Pipelined registration of many checkouts. Each registration is encoded, sent and parsed on a
+ * worker, so encoding overlaps the network I/O of the other registrations.
+ *
+ * The results are returned in completion order and carry the index of their registration. The
+ * registrations are read as results are consumed, and at most {@code concurrency} registrations
+ * are in flight or waiting to be consumed
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see CheckoutsResource#registerBatch(Iterator, int)
+ */
+public class CheckoutBatch implements Iterator<CheckoutBatchResult>, Closeable {
+
+  private final CheckoutsResource checkouts;
+
+  private final Iterator<? extends CheckoutRegistration> registrations;
+
+  private final int concurrency;
+
+  private final Executor executor;
+
+  private final BlockingQueue<CheckoutBatchResult> results =
+      new LinkedBlockingQueue<CheckoutBatchResult>();
+
+  private int submitted;
+
+  private int consumed;
+
+  private volatile boolean closed;
+
+  /**
+   * Constructor. Starts the first registrations
+   *
+   * @param checkouts     Checkouts resource
+   * @param registrations Registrations
+   * @param concurrency   Maximum registrations in flight
+   * @param executor      Executor of the registrations
+   */
+  CheckoutBatch(CheckoutsResource checkouts,
+                Iterator<? extends CheckoutRegistration> registrations, int concurrency,
+                Executor executor) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive");
+    }
+    this.checkouts = checkouts;
+    this.registrations = registrations;
+    this.concurrency = concurrency;
+    this.executor = executor;
+    fill();
+  }
+
+  /**
+   * Check if there are results not consumed
+   *
+   * @return True if there are results
+   */
+  @Override
+  public boolean hasNext() {
+    fill();
+    return consumed < submitted;
+  }
+
+  /**
+   * Wait for the next completed registration
+   *
+   * @return Result of registration
+   */
+  @Override
+  public CheckoutBatchResult next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final CheckoutBatchResult result;
+    try {
+      result = results.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PagSeguroLibException(e);
+    }
+    consumed++;
+    fill();
+    return result;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Stop reading registrations. The registrations in flight are completed, and their results
+   * are discarded
+   */
+  @Override
+  public void close() {
+    closed = true;
+    consumed = submitted;
+  }
+
+  /**
+   * Start registrations until the limit of registrations in flight
+   */
+  private void fill() {
+    while (!closed && submitted - consumed < concurrency && registrations.hasNext()) {
+      final RegistrationTask task = new RegistrationTask(submitted, registrations.next());
+      submitted++;
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        results.add(new CheckoutBatchResult(task.index, task.registration, null, e));
+      }
+    }
+  }
+
+  /**
+   * Task registering a checkout
+   */
+  private class RegistrationTask implements Runnable {
+
+    private final int index;
+
+    private final CheckoutRegistration registration;
+
+    RegistrationTask(int index, CheckoutRegistration registration) {
+      this.index = index;
+      this.registration = registration;
+    }
+
+    @Override
+    public void run() {
+      CheckoutBatchResult result;
+      try {
+        result = new CheckoutBatchResult(index, registration, checkouts.register(registration),
+            null);
+      } catch (RuntimeException e) {
+        result = new CheckoutBatchResult(index, registration, null, e);
+      }
+      if (!closed) {
+        results.add(result);
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.checkout;
+
+/**
+ * Result of a checkout registration of a batch
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see CheckoutBatch
+ */
+public class CheckoutBatchResult {
+
+  private final int index;
+
+  private final CheckoutRegistration registration;
+
+  private final RegisteredCheckout registeredCheckout;
+
+  private final RuntimeException error;
+
+  CheckoutBatchResult(int index, CheckoutRegistration registration,
+                      RegisteredCheckout registeredCheckout, RuntimeException error) {
+    this.index = index;
+    this.registration = registration;
+    this.registeredCheckout = registeredCheckout;
+    this.error = error;
+  }
+
+  /**
+   * Get position of the registration in the input, starting at zero
+   *
+   * @return Index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Get checkout registration
+   *
+   * @return Checkout registration
+   */
+  public CheckoutRegistration getRegistration() {
+    return registration;
+  }
+
+  /**
+   * Get registered checkout
+   *
+   * @return Registered checkout or null if the registration failed
+   */
+  public RegisteredCheckout getRegisteredCheckout() {
+    return registeredCheckout;
+  }
+
+  /**
+   * Get error of the registration
+   *
+   * @return Error or null if the registration succeeded
+   */
+  public RuntimeException getError() {
+    return error;
+  }
+
+  /**
+   * Check if the registration succeeded
+   *
+   * @return True if the registration succeeded
+   */
+  public boolean isSuccessful() {
+    return error == null;
+  }
+
+  @Override
+  public String toString() {
+    return "CheckoutBatchResult{" +
+           "index=" + index +
+           ", registeredCheckout=" + registeredCheckout +
+           ", error=" + error +
+           '}';
+  }
+}
@@ -54,7 +54,20 @@ public class CheckoutRegistrationV2MapConverter extends AbstractMapConverter<Che
   private final static PaymentMethodConfigsV2MapConverter PAYMENT_METHOD_CONFIGS_MC =
       new PaymentMethodConfigsV2MapConverter();
 
+  private final PaymentItemsV2MapConverter paymentItemsMC;
+
   CheckoutRegistrationV2MapConverter() {
+    this.paymentItemsMC = PAYMENT_ITEMS_MC;
+  }
+
+  /**
+   * Constructor. Used to convert registrations of a template
+   *
+   * @param itemsOffset Number of items of template
+   * @see CheckoutTemplate
+   */
+  CheckoutRegistrationV2MapConverter(int itemsOffset) {
+    this.paymentItemsMC = new PaymentItemsV2MapConverter(itemsOffset);
   }
 
   /**
@@ -73,7 +86,7 @@ public class CheckoutRegistrationV2MapConverter extends AbstractMapConverter<Che
     requestMap.putCurrency("extraAmount", checkoutRegistration.getExtraAmount());
     requestMap.putMap(SHIPPING_MC.convert(checkoutRegistration.getShipping()));
     requestMap.putMap(SENDER_MC.convert(checkoutRegistration.getSender()));
-    requestMap.putMap(PAYMENT_ITEMS_MC.convert(checkoutRegistration.getItems()));
+    requestMap.putMap(paymentItemsMC.convert(checkoutRegistration.getItems()));
     requestMap.putMap(PRE_APPROVAL_MC.convert(checkoutRegistration.getPreApproval()));
     requestMap.putMap(PARAMETER_MC.convert(checkoutRegistration.getParameters()));
     requestMap.putMap(ACCEPTED_PAYMENT_METHODS_MC.convert(checkoutRegistration
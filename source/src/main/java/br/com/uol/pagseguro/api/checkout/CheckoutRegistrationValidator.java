@@ -0,0 +1,134 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.checkout;
+
+import java.util.List;
+
+import br.com.uol.pagseguro.api.common.domain.PaymentItem;
+import br.com.uol.pagseguro.api.common.domain.validator.AbstractPaymentItemsValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.CheckoutSenderValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.CheckoutShippingValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.PreApprovalValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.Validations;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for Checkout Registration. Uses the error codes of checkouts
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class CheckoutRegistrationValidator extends AbstractValidator<CheckoutRegistration> {
+
+  private static final CheckoutItemsValidator ITEMS_V = new CheckoutItemsValidator();
+
+  private static final CheckoutSenderValidator SENDER_V = new CheckoutSenderValidator();
+
+  private static final CheckoutShippingValidator SHIPPING_V = new CheckoutShippingValidator();
+
+  private static final PreApprovalValidator PRE_APPROVAL_V = new PreApprovalValidator();
+
+  CheckoutRegistrationValidator() {
+  }
+
+  /**
+   * Validate Interface for Checkout Registration. Items are optional only on checkouts of pre
+   * approvals
+   *
+   * @param errors               Errors found
+   * @param checkoutRegistration Interface for Checkout Registration
+   * @see CheckoutRegistration
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, CheckoutRegistration checkoutRegistration) {
+    if (checkoutRegistration.getCurrency() == null) {
+      errors.add(11004, "currency is required.");
+    }
+    final List<? extends PaymentItem> items = checkoutRegistration.getItems();
+    if (items != null && !items.isEmpty()) {
+      ITEMS_V.validate(errors, items);
+    } else if (checkoutRegistration.getPreApproval() == null) {
+      errors.add(11024, "items invalid quantity.");
+    }
+    if (Validations.isLongerThan(checkoutRegistration.getReference(), 200)) {
+      errors.add(11008, String.format("reference invalid length: %s",
+          checkoutRegistration.getReference()));
+    }
+    SENDER_V.validate(errors, checkoutRegistration.getSender());
+    SHIPPING_V.validate(errors, checkoutRegistration.getShipping());
+    PRE_APPROVAL_V.validate(errors, checkoutRegistration.getPreApproval());
+  }
+
+  /**
+   * Implementation of {@code AbstractPaymentItemsValidator}. Used to set error codes
+   *
+   * @see AbstractPaymentItemsValidator
+   */
+  private static class CheckoutItemsValidator extends AbstractPaymentItemsValidator {
+
+    @Override
+    protected int getItemsQuantityCode() {
+      return 11024;
+    }
+
+    @Override
+    protected int getIdRequiredCode() {
+      return 11025;
+    }
+
+    @Override
+    protected int getIdLengthCode() {
+      return 11025;
+    }
+
+    @Override
+    protected int getDescriptionRequiredCode() {
+      return 11033;
+    }
+
+    @Override
+    protected int getDescriptionLengthCode() {
+      return 11034;
+    }
+
+    @Override
+    protected int getQuantityRequiredCode() {
+      return 11026;
+    }
+
+    @Override
+    protected int getQuantityRangeCode() {
+      return 11027;
+    }
+
+    @Override
+    protected int getAmountRequiredCode() {
+      return 11028;
+    }
+
+    @Override
+    protected int getAmountRangeCode() {
+      return 11030;
+    }
+  }
+
+}
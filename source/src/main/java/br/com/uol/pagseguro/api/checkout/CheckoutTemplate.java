@@ -0,0 +1,322 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.checkout;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.common.domain.AcceptedPaymentMethods;
+import br.com.uol.pagseguro.api.common.domain.Parameter;
+import br.com.uol.pagseguro.api.common.domain.PaymentItem;
+import br.com.uol.pagseguro.api.common.domain.PaymentMethodConfig;
+import br.com.uol.pagseguro.api.common.domain.PreApproval;
+import br.com.uol.pagseguro.api.common.domain.Sender;
+import br.com.uol.pagseguro.api.common.domain.Shipping;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.utils.AbstractRequestTemplate;
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.CharSet;
+import br.com.uol.pagseguro.api.utils.RequestMap;
+
+/**
+ * Template of checkout registrations. The fields shared by the checkouts, like accepted payment
+ * methods, payment method configs, shipping and catalog items, are encoded once. A field set by
+ * a checkout replaces the field of template, and the items of each checkout are sent after the
+ * items of template
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see CheckoutsResource#register(CheckoutTemplate, CheckoutRegistration)
+ */
+public class CheckoutTemplate extends AbstractRequestTemplate<CheckoutRegistration> {
+
+  private static final CheckoutRegistrationV2MapConverter CHECKOUT_REGISTRATION_MC =
+      new CheckoutRegistrationV2MapConverter();
+
+  private static final String CURRENCY = "currency";
+
+  private static final String REFERENCE = "reference";
+
+  private static final String EXTRA_AMOUNT = "extraAmount";
+
+  private static final String SHIPPING = "shipping";
+
+  private static final String SENDER = "sender";
+
+  private static final String ITEMS = "items";
+
+  private static final String PRE_APPROVAL = "preApproval";
+
+  private static final String PARAMETERS = "parameters";
+
+  private static final String ACCEPTED_PAYMENT_METHODS = "acceptedPaymentMethods";
+
+  private static final String PAYMENT_METHOD_CONFIGS = "paymentMethodConfigs";
+
+  private static final String[] FIELDS = {CURRENCY, REFERENCE, EXTRA_AMOUNT, SHIPPING, SENDER,
+      ITEMS, PRE_APPROVAL, PARAMETERS, ACCEPTED_PAYMENT_METHODS, PAYMENT_METHOD_CONFIGS};
+
+  private final CheckoutRegistrationV2MapConverter checkoutRegistrationMC;
+
+  /**
+   * Constructor
+   *
+   * @param checkoutRegistrationBuilder Builder for the fields shared by the checkouts
+   */
+  public CheckoutTemplate(Builder<CheckoutRegistration> checkoutRegistrationBuilder) {
+    this(checkoutRegistrationBuilder.build());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param checkoutRegistration Fields shared by the checkouts
+   */
+  public CheckoutTemplate(CheckoutRegistration checkoutRegistration) {
+    super(checkoutRegistration, convertFields(checkoutRegistration), CharSet.ENCODING_ISO);
+    checkoutRegistrationMC = new CheckoutRegistrationV2MapConverter(
+        sizeOf(checkoutRegistration.getItems()));
+  }
+
+  /**
+   * Merge a checkout registration with the template
+   *
+   * @param checkoutRegistration Interface for Checkout Registration
+   * @return Checkout registration sent
+   * @see AbstractRequestTemplate#merge(Object)
+   */
+  @Override
+  public CheckoutRegistration merge(CheckoutRegistration checkoutRegistration) {
+    return new TemplateCheckoutRegistration(getRegistration(), checkoutRegistration);
+  }
+
+  /**
+   * Convert a checkout registration, numbering its items after the items of template
+   *
+   * @param checkoutRegistration Interface for Checkout Registration
+   * @return Request map of checkout registration
+   * @see AbstractRequestTemplate#convert(Object)
+   */
+  @Override
+  public RequestMap convert(CheckoutRegistration checkoutRegistration) {
+    return checkoutRegistrationMC.convert(checkoutRegistration);
+  }
+
+  /**
+   * Check if a checkout registration replaces a field of template. Items are never replaced
+   *
+   * @param checkoutRegistration Interface for Checkout Registration
+   * @param field                Field name
+   * @return True if the field of template is not sent
+   * @see AbstractRequestTemplate#isReplaced(Object, String)
+   */
+  @Override
+  protected boolean isReplaced(CheckoutRegistration checkoutRegistration, String field) {
+    return !ITEMS.equals(field) && isSet(fieldOf(checkoutRegistration, field));
+  }
+
+  /**
+   * Get a field of a checkout registration
+   *
+   * @param checkoutRegistration Interface for Checkout Registration
+   * @param field                Field name
+   * @return Value of field
+   */
+  private static Object fieldOf(CheckoutRegistration checkoutRegistration, String field) {
+    if (CURRENCY.equals(field)) {
+      return checkoutRegistration.getCurrency();
+    } else if (REFERENCE.equals(field)) {
+      return checkoutRegistration.getReference();
+    } else if (EXTRA_AMOUNT.equals(field)) {
+      return checkoutRegistration.getExtraAmount();
+    } else if (SHIPPING.equals(field)) {
+      return checkoutRegistration.getShipping();
+    } else if (SENDER.equals(field)) {
+      return checkoutRegistration.getSender();
+    } else if (ITEMS.equals(field)) {
+      return checkoutRegistration.getItems();
+    } else if (PRE_APPROVAL.equals(field)) {
+      return checkoutRegistration.getPreApproval();
+    } else if (PARAMETERS.equals(field)) {
+      return checkoutRegistration.getParameters();
+    } else if (ACCEPTED_PAYMENT_METHODS.equals(field)) {
+      return checkoutRegistration.getAcceptedPaymentMethods();
+    }
+    return checkoutRegistration.getPaymentMethodConfigs();
+  }
+
+  /**
+   * Convert each field of template
+   *
+   * @param checkoutRegistration Interface for Checkout Registration
+   * @return Request map of each field, by field name
+   */
+  private static Map<String, RequestMap> convertFields(CheckoutRegistration checkoutRegistration) {
+    final Map<String, RequestMap> fields = new LinkedHashMap<String, RequestMap>();
+    for (String field : FIELDS) {
+      fields.put(field, CHECKOUT_REGISTRATION_MC.convert(
+          new FieldCheckoutRegistration(checkoutRegistration, field)));
+    }
+    return fields;
+  }
+
+  /**
+   * Implementation of {@code CheckoutRegistration}. Used to convert a single field of
+   * registration
+   *
+   * @see CheckoutRegistration
+   */
+  private static class FieldCheckoutRegistration implements CheckoutRegistration {
+
+    private final CheckoutRegistration registration;
+
+    private final String field;
+
+    FieldCheckoutRegistration(CheckoutRegistration registration, String field) {
+      this.registration = registration;
+      this.field = field;
+    }
+
+    @Override
+    public String getReference() {
+      return REFERENCE.equals(field) ? registration.getReference() : null;
+    }
+
+    @Override
+    public BigDecimal getExtraAmount() {
+      return EXTRA_AMOUNT.equals(field) ? registration.getExtraAmount() : null;
+    }
+
+    @Override
+    public Currency getCurrency() {
+      return CURRENCY.equals(field) ? registration.getCurrency() : null;
+    }
+
+    @Override
+    public Shipping getShipping() {
+      return SHIPPING.equals(field) ? registration.getShipping() : null;
+    }
+
+    @Override
+    public Sender getSender() {
+      return SENDER.equals(field) ? registration.getSender() : null;
+    }
+
+    @Override
+    public List<? extends PaymentItem> getItems() {
+      return ITEMS.equals(field) ? registration.getItems() : null;
+    }
+
+    @Override
+    public PreApproval getPreApproval() {
+      return PRE_APPROVAL.equals(field) ? registration.getPreApproval() : null;
+    }
+
+    @Override
+    public List<? extends Parameter> getParameters() {
+      return PARAMETERS.equals(field) ? registration.getParameters() : null;
+    }
+
+    @Override
+    public AcceptedPaymentMethods getAcceptedPaymentMethods() {
+      return ACCEPTED_PAYMENT_METHODS.equals(field) ? registration.getAcceptedPaymentMethods()
+          : null;
+    }
+
+    @Override
+    public List<? extends PaymentMethodConfig> getPaymentMethodConfigs() {
+      return PAYMENT_METHOD_CONFIGS.equals(field) ? registration.getPaymentMethodConfigs() : null;
+    }
+  }
+
+  /**
+   * Implementation of {@code CheckoutRegistration}. Used to merge a registration with the
+   * template
+   *
+   * @see CheckoutRegistration
+   */
+  private static class TemplateCheckoutRegistration implements CheckoutRegistration {
+
+    private final CheckoutRegistration template;
+
+    private final CheckoutRegistration registration;
+
+    TemplateCheckoutRegistration(CheckoutRegistration template,
+                                 CheckoutRegistration registration) {
+      this.template = template;
+      this.registration = registration;
+    }
+
+    @Override
+    public String getReference() {
+      return valueOf(registration.getReference(), template.getReference());
+    }
+
+    @Override
+    public BigDecimal getExtraAmount() {
+      return valueOf(registration.getExtraAmount(), template.getExtraAmount());
+    }
+
+    @Override
+    public Currency getCurrency() {
+      return valueOf(registration.getCurrency(), template.getCurrency());
+    }
+
+    @Override
+    public Shipping getShipping() {
+      return valueOf(registration.getShipping(), template.getShipping());
+    }
+
+    @Override
+    public Sender getSender() {
+      return valueOf(registration.getSender(), template.getSender());
+    }
+
+    @Override
+    public List<? extends PaymentItem> getItems() {
+      return valuesOf(registration.getItems(), template.getItems());
+    }
+
+    @Override
+    public PreApproval getPreApproval() {
+      return valueOf(registration.getPreApproval(), template.getPreApproval());
+    }
+
+    @Override
+    public List<? extends Parameter> getParameters() {
+      return valueOf(registration.getParameters(), template.getParameters());
+    }
+
+    @Override
+    public AcceptedPaymentMethods getAcceptedPaymentMethods() {
+      return valueOf(registration.getAcceptedPaymentMethods(),
+          template.getAcceptedPaymentMethods());
+    }
+
+    @Override
+    public List<? extends PaymentMethodConfig> getPaymentMethodConfigs() {
+      return valueOf(registration.getPaymentMethodConfigs(),
+          template.getPaymentMethodConfigs());
+    }
+  }
+
+}
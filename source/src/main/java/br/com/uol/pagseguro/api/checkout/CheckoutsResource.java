@@ -21,16 +21,24 @@
 package br.com.uol.pagseguro.api.checkout;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import br.com.uol.pagseguro.api.Endpoints;
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroValidationException;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
 import br.com.uol.pagseguro.api.http.HttpClient;
 import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
 import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
 import br.com.uol.pagseguro.api.utils.Builder;
 import br.com.uol.pagseguro.api.utils.CharSet;
 import br.com.uol.pagseguro.api.utils.RequestMap;
+import br.com.uol.pagseguro.api.utils.Threads;
 import br.com.uol.pagseguro.api.utils.logging.Log;
 import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
 
@@ -46,6 +54,12 @@ public class CheckoutsResource {
   private static final CheckoutRegistrationV2MapConverter CHECKOUT_REGISTRATION_MC =
       new CheckoutRegistrationV2MapConverter();
 
+  private static final CheckoutRegistrationValidator CHECKOUT_REGISTRATION_V =
+      new CheckoutRegistrationValidator();
+
+  private static final ExecutorService BATCH_EXECUTOR =
+      Threads.newTaskExecutor("pagseguro-checkout-");
+
   private final PagSeguro pagSeguro;
 
   private final HttpClient httpClient;
@@ -78,14 +92,87 @@ public class CheckoutsResource {
    */
   public RegisteredCheckout register(CheckoutRegistration checkoutRegistration) {
     LOGGER.info("Iniciando checkout");
+    validate(checkoutRegistration);
     LOGGER.info("Convertendo valores");
     final RequestMap map = CHECKOUT_REGISTRATION_MC.convert(checkoutRegistration);
     LOGGER.info("Valores convertidos");
+    return send(null, checkoutRegistration, map);
+  }
+
+  /**
+   * Checkout Registration with a template
+   *
+   * @param checkoutTemplate            Template with the fields shared by the checkouts
+   * @param checkoutRegistrationBuilder Builder for Interface with the fields of this checkout
+   * @return Response of checkout registration
+   * @see CheckoutTemplate
+   * @see RegisteredCheckout
+   */
+  public RegisteredCheckout register(CheckoutTemplate checkoutTemplate,
+                                     Builder<CheckoutRegistration> checkoutRegistrationBuilder) {
+    return register(checkoutTemplate, checkoutRegistrationBuilder.build());
+  }
+
+  /**
+   * Checkout Registration with a template. Only the fields of registration are converted, the
+   * fields of template were encoded on its creation
+   *
+   * @param checkoutTemplate     Template with the fields shared by the checkouts
+   * @param checkoutRegistration Interface with the fields of this checkout
+   * @return Response of checkout registration
+   * @see CheckoutTemplate
+   * @see RegisteredCheckout
+   */
+  public RegisteredCheckout register(CheckoutTemplate checkoutTemplate,
+                                     CheckoutRegistration checkoutRegistration) {
+    if (checkoutTemplate == null || checkoutRegistration == null) {
+      throw new NullPointerException();
+    }
+    LOGGER.info("Iniciando checkout com template");
+    validate(checkoutTemplate.merge(checkoutRegistration));
+    LOGGER.info("Convertendo valores");
+    final RequestMap map = checkoutTemplate.convert(checkoutRegistration);
+    LOGGER.info("Valores convertidos");
+    return send(checkoutTemplate, checkoutRegistration, map);
+  }
+
+  /**
+   * Validate a checkout registration before the conversion
+   *
+   * @param checkoutRegistration Interface with attributes for checkout registration
+   * @throws PagSeguroValidationException if the registration is not valid
+   */
+  private void validate(CheckoutRegistration checkoutRegistration) {
+    if (!AbstractValidator.isEnabled()) {
+      return;
+    }
+    LOGGER.info("Validando valores");
+    final ValidationErrors errors = CHECKOUT_REGISTRATION_V.validate(checkoutRegistration);
+    if (!errors.isEmpty()) {
+      LOGGER.error(String.format("Valores invalidos: %s", errors));
+      throw new PagSeguroValidationException(errors);
+    }
+    LOGGER.info("Valores validados");
+  }
+
+  /**
+   * Send a checkout registration
+   *
+   * @param checkoutTemplate     Template of registration, or null if it has no template
+   * @param checkoutRegistration Interface with attributes for checkout registration
+   * @param map                  Checkout registration converted
+   * @return Response of checkout registration
+   */
+  private RegisteredCheckout send(CheckoutTemplate checkoutTemplate,
+                                  CheckoutRegistration checkoutRegistration, RequestMap map) {
     final HttpResponse response;
     try {
       LOGGER.debug(String.format("Parametros: %s", map));
+      final HttpRequestBody body = checkoutTemplate == null
+          ? map.toHttpRequestBody(CharSet.ENCODING_ISO)
+          : checkoutTemplate.toHttpRequestBody(checkoutRegistration, map);
       response = httpClient.execute(HttpMethod.POST, String.format(Endpoints.CHECKOUT_REQUEST,
-          pagSeguro.getHost()), null, map.toHttpRequestBody(CharSet.ENCODING_ISO));
+          pagSeguro.getHost()), null, body);
       LOGGER.debug(String.format("Resposta: %s", response.toString()));
     } catch (IOException e) {
       LOGGER.error("Erro ao executar checkout");
@@ -99,4 +186,48 @@ public class CheckoutsResource {
     return registeredCheckout;
   }
 
+  /**
+   * Pipelined registration of many checkouts
+   *
+   * @param checkoutRegistrations Checkout registrations
+   * @param concurrency           Maximum registrations in flight
+   * @return Results of the registrations, in completion order
+   * @see CheckoutBatch
+   */
+  public CheckoutBatch registerBatch(
+      Iterable<? extends CheckoutRegistration> checkoutRegistrations, int concurrency) {
+    return registerBatch(checkoutRegistrations.iterator(), concurrency);
+  }
+
+  /**
+   * Pipelined registration of many checkouts
+   *
+   * @param checkoutRegistrations Checkout registrations, read as the results are consumed
+   * @param concurrency           Maximum registrations in flight
+   * @return Results of the registrations, in completion order
+   * @see CheckoutBatch
+   */
+  public CheckoutBatch registerBatch(
+      Iterator<? extends CheckoutRegistration> checkoutRegistrations, int concurrency) {
+    return registerBatch(checkoutRegistrations, concurrency, BATCH_EXECUTOR);
+  }
+
+  /**
+   * Pipelined registration of many checkouts
+   *
+   * @param checkoutRegistrations Checkout registrations, read as the results are consumed
+   * @param concurrency           Maximum registrations in flight
+   * @param executor              Executor of the registrations
+   * @return Results of the registrations, in completion order
+   * @see CheckoutBatch
+   */
+  public CheckoutBatch registerBatch(
+      Iterator<? extends CheckoutRegistration> checkoutRegistrations, int concurrency,
+      Executor executor) {
+    if (checkoutRegistrations == null || executor == null) {
+      throw new NullPointerException();
+    }
+    return new CheckoutBatch(this, checkoutRegistrations, concurrency, executor);
+  }
+
 }
@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Class used to set a bank name
  *
@@ -101,6 +103,8 @@ public class BankName {
 
     private final String stringName;
 
+    private static final CaseInsensitiveLookup<Name> BY_STRING_NAME = index();
+
     /**
      * Constructor
      *
@@ -126,12 +130,20 @@ public class BankName {
      * @return Enum
      */
     public static Name fromName(String stringName) {
-      for (Name name : Name.values()) {
-        if (name.stringName != null && name.stringName.equalsIgnoreCase(stringName)) {
-          return name;
-        }
+      return BY_STRING_NAME.get(stringName, OTHER);
+    }
+
+    /**
+     * Index the enums by string name
+     *
+     * @return Enums indexed by string name
+     */
+    private static CaseInsensitiveLookup<Name> index() {
+      final CaseInsensitiveLookup<Name> index = new CaseInsensitiveLookup<Name>();
+      for (Name name : values()) {
+        index.put(name.stringName, name);
       }
-      return OTHER;
+      return index;
     }
   }
 }
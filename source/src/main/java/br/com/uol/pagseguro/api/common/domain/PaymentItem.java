@@ -22,6 +22,8 @@ package br.com.uol.pagseguro.api.common.domain;
 
 import java.math.BigDecimal;
 
+import br.com.uol.pagseguro.api.utils.Cents;
+
 /**
  * Interface for payment item.
  *
@@ -71,4 +73,24 @@ public interface PaymentItem {
    */
   Integer getWeight();
 
+  /**
+   * Get amount in cents
+   *
+   * @return Amount in cents or zero if there is no amount
+   * @see #getAmount()
+   */
+  default long getAmountCents() {
+    return Cents.valueOf(getAmount());
+  }
+
+  /**
+   * Get shipping cost in cents
+   *
+   * @return Shipping cost in cents or zero if there is no amount
+   * @see #getShippingCost()
+   */
+  default long getShippingCostCents() {
+    return Cents.valueOf(getShippingCost());
+  }
+
 }
@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Class for permission code
  *
@@ -98,6 +100,8 @@ public class PermissionCode {
 
     private final String stringCode;
 
+    private static final CaseInsensitiveLookup<Code> BY_STRING_CODE = index();
+
     Code(String stringCode) {
       this.stringCode = stringCode;
     }
@@ -107,12 +111,20 @@ public class PermissionCode {
     }
 
     public static Code fromStringCode(String stringCode) {
-      for (Code code : Code.values()) {
-        if (code.stringCode != null && code.stringCode.equalsIgnoreCase(stringCode)) {
-          return code;
-        }
+      return BY_STRING_CODE.get(stringCode, UNRECOGNIZED);
+    }
+
+    /**
+     * Index the enums by string code
+     *
+     * @return Enums indexed by string code
+     */
+    private static CaseInsensitiveLookup<Code> index() {
+      final CaseInsensitiveLookup<Code> index = new CaseInsensitiveLookup<Code>();
+      for (Code code : values()) {
+        index.put(code.stringCode, code);
       }
-      return UNRECOGNIZED;
+      return index;
     }
   }
 }
@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Class for pre approval status
  *
@@ -105,6 +107,8 @@ public class PreApprovalStatus {
 
     private String statusId;
 
+    private static final CaseInsensitiveLookup<Status> BY_STATUS_ID = index();
+
     /**
      * Constructor
      *
@@ -121,12 +125,20 @@ public class PreApprovalStatus {
      * @return Status enum
      */
     public static Status fromStatusId(String statusId) {
-      for (Status status : Status.values()) {
-        if (status.statusId != null && status.statusId.equalsIgnoreCase(statusId)) {
-          return status;
-        }
+      return BY_STATUS_ID.get(statusId, UNRECOGNIZED);
+    }
+
+    /**
+     * Index the enums by status id
+     *
+     * @return Enums indexed by status id
+     */
+    private static CaseInsensitiveLookup<Status> index() {
+      final CaseInsensitiveLookup<Status> index = new CaseInsensitiveLookup<Status>();
+      for (Status status : values()) {
+        index.put(status.statusId, status);
       }
-      return UNRECOGNIZED;
+      return index;
     }
   }
 }
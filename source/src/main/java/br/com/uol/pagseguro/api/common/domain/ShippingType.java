@@ -94,6 +94,8 @@ public class ShippingType {
 
     private final Integer typeId;
 
+    private static final Type[] BY_TYPE_ID = index();
+
     /**
      * Constructor
      *
@@ -110,12 +112,32 @@ public class ShippingType {
      * @return Type enum
      */
     public static Type fromTypeId(int typeId) {
-      for (Type type : Type.values()) {
-        if (type.typeId != null && type.typeId == typeId) {
-          return type;
+      if (typeId < 0 || typeId >= BY_TYPE_ID.length) {
+        return UNRECOGNIZED;
+      }
+      final Type type = BY_TYPE_ID[typeId];
+      return type != null ? type : UNRECOGNIZED;
+    }
+
+    /**
+     * Index the enums by type id
+     *
+     * @return Enums indexed by type id
+     */
+    private static Type[] index() {
+      int max = -1;
+      for (Type type : values()) {
+        if (type.typeId != null && type.typeId > max) {
+          max = type.typeId;
+        }
+      }
+      final Type[] index = new Type[max + 1];
+      for (Type type : values()) {
+        if (type.typeId != null && type.typeId >= 0 && index[type.typeId] == null) {
+          index[type.typeId] = type;
         }
       }
-      return UNRECOGNIZED;
+      return index;
     }
 
     /**
@@ -22,6 +22,8 @@ package br.com.uol.pagseguro.api.common.domain;
 
 import java.math.BigDecimal;
 
+import br.com.uol.pagseguro.api.utils.Cents;
+
 /**
  * Interface for split
  *
@@ -49,4 +51,15 @@ public interface Split {
    * @return Fee percent
    */
   BigDecimal getFeePercent();
-}
\ No newline at end of file
+
+  /**
+   * Get amount in cents
+   *
+   * @return Amount in cents or zero if there is no amount
+   * @see #getAmount()
+   */
+  default long getAmountCents() {
+    return Cents.valueOf(getAmount());
+  }
+
+}
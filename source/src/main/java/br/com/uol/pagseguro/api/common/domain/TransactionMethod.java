@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Class for transaction method
  *
@@ -94,6 +96,8 @@ public class TransactionMethod {
 
     private final String name;
 
+    private static final CaseInsensitiveLookup<PaymentMethod> BY_NAME = index();
+
     /**
      * Constructor
      *
@@ -119,12 +123,20 @@ public class TransactionMethod {
      * @return Payment method enum
      */
     public static PaymentMethod fromName(String name) {
-      for (PaymentMethod paymentMethod : PaymentMethod.values()) {
-        if (paymentMethod.name != null && paymentMethod.name.equalsIgnoreCase(name)) {
-          return paymentMethod;
-        }
+      return BY_NAME.get(name, OTHER);
+    }
+
+    /**
+     * Index the enums by name
+     *
+     * @return Enums indexed by name
+     */
+    private static CaseInsensitiveLookup<PaymentMethod> index() {
+      final CaseInsensitiveLookup<PaymentMethod> index = new CaseInsensitiveLookup<PaymentMethod>();
+      for (PaymentMethod paymentMethod : values()) {
+        index.put(paymentMethod.name, paymentMethod);
       }
-      return OTHER;
+      return index;
     }
   }
 }
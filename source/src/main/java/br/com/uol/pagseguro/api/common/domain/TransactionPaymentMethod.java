@@ -100,6 +100,8 @@ public interface TransactionPaymentMethod {
 
     private Integer codeId;
 
+    private static final Code[] BY_CODE_ID = index();
+
     /**
      * Constructor
      */
@@ -114,12 +116,32 @@ public interface TransactionPaymentMethod {
      * @return Enum code
      */
     public static Code fromCodeId(int codeId) {
-      for (Code code : Code.values()) {
-        if (code.codeId != null && code.codeId == codeId) {
-          return code;
+      if (codeId < 0 || codeId >= BY_CODE_ID.length) {
+        return UNRECOGNIZED;
+      }
+      final Code code = BY_CODE_ID[codeId];
+      return code != null ? code : UNRECOGNIZED;
+    }
+
+    /**
+     * Index the enums by code id
+     *
+     * @return Enums indexed by code id
+     */
+    private static Code[] index() {
+      int max = -1;
+      for (Code code : values()) {
+        if (code.codeId != null && code.codeId > max) {
+          max = code.codeId;
+        }
+      }
+      final Code[] index = new Code[max + 1];
+      for (Code code : values()) {
+        if (code.codeId != null && code.codeId >= 0 && index[code.codeId] == null) {
+          index[code.codeId] = code;
         }
       }
-      return UNRECOGNIZED;
+      return index;
     }
 
   }
@@ -164,6 +186,8 @@ public interface TransactionPaymentMethod {
 
     private Integer typeId;
 
+    private static final Type[] BY_TYPE_ID = index();
+
     /**
      * Constructor
      *
@@ -180,12 +204,32 @@ public interface TransactionPaymentMethod {
      * @return Type enum
      */
     public static Type fromTypeId(int typeId) {
-      for (Type type : Type.values()) {
-        if (type.typeId != null && type.typeId == typeId) {
-          return type;
+      if (typeId < 0 || typeId >= BY_TYPE_ID.length) {
+        return UNRECOGNIZED;
+      }
+      final Type type = BY_TYPE_ID[typeId];
+      return type != null ? type : UNRECOGNIZED;
+    }
+
+    /**
+     * Index the enums by type id
+     *
+     * @return Enums indexed by type id
+     */
+    private static Type[] index() {
+      int max = -1;
+      for (Type type : values()) {
+        if (type.typeId != null && type.typeId > max) {
+          max = type.typeId;
+        }
+      }
+      final Type[] index = new Type[max + 1];
+      for (Type type : values()) {
+        if (type.typeId != null && type.typeId >= 0 && index[type.typeId] == null) {
+          index[type.typeId] = type;
         }
       }
-      return UNRECOGNIZED;
+      return index;
     }
 
   }
@@ -27,8 +27,31 @@ package br.com.uol.pagseguro.api.common.domain;
  */
 public class TransactionStatus {
 
+  private static final int CACHE_SIZE = 32;
+
+  private static final TransactionStatus[] CACHE = createCache();
+
+  private static final TransactionStatus NULL_STATUS = new TransactionStatus(null);
+
   private final Integer statusId;
 
+  /**
+   * Get status by status id. Ids commonly returned by the api share the same instance, so
+   * readers of large search results do not create one object per transaction
+   *
+   * @param statusId Status id
+   * @return Transaction status
+   */
+  public static TransactionStatus valueOf(Integer statusId) {
+    if (statusId == null) {
+      return NULL_STATUS;
+    }
+    if (statusId >= 0 && statusId < CACHE_SIZE) {
+      return CACHE[statusId];
+    }
+    return new TransactionStatus(statusId);
+  }
+
   /**
    * Constructor
    *
@@ -57,6 +80,14 @@ public class TransactionStatus {
     return Status.fromStatusId(statusId);
   }
 
+  private static TransactionStatus[] createCache() {
+    final TransactionStatus[] cache = new TransactionStatus[CACHE_SIZE];
+    for (int i = 0; i < CACHE_SIZE; i++) {
+      cache[i] = new TransactionStatus(i);
+    }
+    return cache;
+  }
+
   /**
    * Status enum
    */
@@ -104,6 +135,8 @@ public class TransactionStatus {
 
     private Integer statusId;
 
+    private static final Status[] BY_STATUS_ID = index();
+
     /**
      * Constructor
      *
@@ -120,12 +153,32 @@ public class TransactionStatus {
      * @return Status
      */
     public static Status fromStatusId(Integer statusId) {
-      for (Status status : Status.values()) {
-        if (status.statusId != null && status.statusId == statusId) {
-          return status;
+      if (statusId == null || statusId < 0 || statusId >= BY_STATUS_ID.length) {
+        return UNRECOGNIZED;
+      }
+      final Status status = BY_STATUS_ID[statusId];
+      return status != null ? status : UNRECOGNIZED;
+    }
+
+    /**
+     * Index the enums by status id
+     *
+     * @return Enums indexed by status id
+     */
+    private static Status[] index() {
+      int max = -1;
+      for (Status status : values()) {
+        if (status.statusId != null && status.statusId > max) {
+          max = status.statusId;
+        }
+      }
+      final Status[] index = new Status[max + 1];
+      for (Status status : values()) {
+        if (status.statusId != null && status.statusId >= 0 && index[status.statusId] == null) {
+          index[status.statusId] = status;
         }
       }
-      return UNRECOGNIZED;
+      return index;
     }
 
   }
@@ -27,8 +27,31 @@ package br.com.uol.pagseguro.api.common.domain;
  */
 public class TransactionType {
 
+  private static final int CACHE_SIZE = 32;
+
+  private static final TransactionType[] CACHE = createCache();
+
+  private static final TransactionType NULL_TYPE = new TransactionType(null);
+
   private final Integer typeId;
 
+  /**
+   * Get type by type id. Ids commonly returned by the api share the same instance, so
+   * readers of large search results do not create one object per transaction
+   *
+   * @param typeId Type id
+   * @return Transaction type
+   */
+  public static TransactionType valueOf(Integer typeId) {
+    if (typeId == null) {
+      return NULL_TYPE;
+    }
+    if (typeId >= 0 && typeId < CACHE_SIZE) {
+      return CACHE[typeId];
+    }
+    return new TransactionType(typeId);
+  }
+
   /**
    * Constructor
    *
@@ -56,6 +79,14 @@ public class TransactionType {
     return Type.fromTypeId(typeId);
   }
 
+  private static TransactionType[] createCache() {
+    final TransactionType[] cache = new TransactionType[CACHE_SIZE];
+    for (int i = 0; i < CACHE_SIZE; i++) {
+      cache[i] = new TransactionType(i);
+    }
+    return cache;
+  }
+
   /**
    * Type enym
    */
@@ -138,6 +169,8 @@ public class TransactionType {
 
     private Integer typeId;
 
+    private static final Type[] BY_TYPE_ID = index();
+
     /**
      * Constructor
      *
@@ -154,12 +187,32 @@ public class TransactionType {
      * @return Type enum
      */
     public static Type fromTypeId(Integer typeId) {
-      for (Type type : Type.values()) {
-        if (type.typeId != null && type.typeId == typeId) {
-          return type;
+      if (typeId == null || typeId < 0 || typeId >= BY_TYPE_ID.length) {
+        return UNRECOGNIZED;
+      }
+      final Type type = BY_TYPE_ID[typeId];
+      return type != null ? type : UNRECOGNIZED;
+    }
+
+    /**
+     * Index the enums by type id
+     *
+     * @return Enums indexed by type id
+     */
+    private static Type[] index() {
+      int max = -1;
+      for (Type type : values()) {
+        if (type.typeId != null && type.typeId > max) {
+          max = type.typeId;
+        }
+      }
+      final Type[] index = new Type[max + 1];
+      for (Type type : values()) {
+        if (type.typeId != null && type.typeId >= 0 && index[type.typeId] == null) {
+          index[type.typeId] = type;
         }
       }
-      return UNRECOGNIZED;
+      return index;
     }
 
   }
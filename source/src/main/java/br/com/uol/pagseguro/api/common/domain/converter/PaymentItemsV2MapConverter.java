@@ -33,6 +33,24 @@ import br.com.uol.pagseguro.api.utils.RequestMap;
 public class PaymentItemsV2MapConverter extends
     AbstractMapConverter<Iterable<? extends PaymentItem>> {
 
+  private final int offset;
+
+  /**
+   * Constructor. The first item is converted with index 1
+   */
+  public PaymentItemsV2MapConverter() {
+    this(0);
+  }
+
+  /**
+   * Constructor. Used to convert items after the items of a template
+   *
+   * @param offset Number of items before the items converted
+   */
+  public PaymentItemsV2MapConverter(int offset) {
+    this.offset = offset;
+  }
+
   /**
    * Convert attributes of payment items in request map
    *
@@ -44,7 +62,7 @@ public class PaymentItemsV2MapConverter extends
    */
   @Override
   protected void convert(RequestMap requestMap, Iterable<? extends PaymentItem> items) {
-    int i = 1;
+    int i = offset + 1;
     for (PaymentItem item : items) {
       requestMap.putString(String.format("itemId%d", i), item.getId());
       requestMap.putString(String.format("itemDescription%d", i), item.getDescription());
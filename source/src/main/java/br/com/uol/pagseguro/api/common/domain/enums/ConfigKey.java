@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain.enums;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Config enum. Used in payment methods.
  *
@@ -52,6 +54,8 @@ public enum ConfigKey {
 
   private final String value;
 
+  private static final CaseInsensitiveLookup<ConfigKey> BY_VALUE = index();
+
   /**
    * Constructor
    *
@@ -71,11 +75,19 @@ public enum ConfigKey {
   }
 
   public static ConfigKey fromValue(String value) {
-    for (ConfigKey configKey : ConfigKey.values()) {
-      if (configKey.value != null && configKey.value.equalsIgnoreCase(value)) {
-        return configKey;
-      }
+    return BY_VALUE.get(value, UNRECOGNIZED);
+  }
+
+  /**
+   * Index the enums by value
+   *
+   * @return Enums indexed by value
+   */
+  private static CaseInsensitiveLookup<ConfigKey> index() {
+    final CaseInsensitiveLookup<ConfigKey> index = new CaseInsensitiveLookup<ConfigKey>();
+    for (ConfigKey configKey : values()) {
+      index.put(configKey.value, configKey);
     }
-    return UNRECOGNIZED;
+    return index;
   }
 }
@@ -20,6 +20,8 @@
  */
 package br.com.uol.pagseguro.api.common.domain.enums;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Currency enum. Currency used. The default is BRL
  *
@@ -38,6 +40,8 @@ public enum Currency {
 
   private final String stringValue;
 
+  private static final CaseInsensitiveLookup<Currency> BY_STRING_VALUE = index();
+
   /**
    * Constructor
    *
@@ -63,12 +67,20 @@ public enum Currency {
    * @return Currency
    */
   public static Currency fromName(String name) {
-    for (Currency currency : Currency.values()) {
-      if (currency.stringValue != null && currency.stringValue.equalsIgnoreCase(name)) {
-        return currency;
-      }
+    return BY_STRING_VALUE.get(name, OTHER);
+  }
+
+  /**
+   * Index the enums by string value
+   *
+   * @return Enums indexed by string value
+   */
+  private static CaseInsensitiveLookup<Currency> index() {
+    final CaseInsensitiveLookup<Currency> index = new CaseInsensitiveLookup<Currency>();
+    for (Currency currency : values()) {
+      index.put(currency.stringValue, currency);
     }
-    return OTHER;
+    return index;
   }
 
 }
@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain.enums;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Payment method group. Used to define the payment method group.
  *
@@ -60,6 +62,8 @@ public enum PaymentMethodGroup {
 
   private final String value;
 
+  private static final CaseInsensitiveLookup<PaymentMethodGroup> BY_VALUE = index();
+
   /**
    * Constructor
    *
@@ -85,11 +89,20 @@ public enum PaymentMethodGroup {
    * @return Enum
    */
   public static PaymentMethodGroup fromValue(String value) {
-    for (PaymentMethodGroup paymentMethodGroup : PaymentMethodGroup.values()) {
-      if (paymentMethodGroup.value != null && paymentMethodGroup.value.equalsIgnoreCase(value)) {
-        return paymentMethodGroup;
-      }
+    return BY_VALUE.get(value, UNRECOGNIZED);
+  }
+
+  /**
+   * Index the enums by value
+   *
+   * @return Enums indexed by value
+   */
+  private static CaseInsensitiveLookup<PaymentMethodGroup> index() {
+    final CaseInsensitiveLookup<PaymentMethodGroup> index =
+        new CaseInsensitiveLookup<PaymentMethodGroup>();
+    for (PaymentMethodGroup paymentMethodGroup : values()) {
+      index.put(paymentMethodGroup.value, paymentMethodGroup);
     }
-    return UNRECOGNIZED;
+    return index;
   }
 }
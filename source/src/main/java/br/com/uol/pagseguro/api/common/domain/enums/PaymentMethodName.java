@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.common.domain.enums;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Payment method name. Used to define the payment method name.
  *
@@ -176,6 +178,8 @@ public enum PaymentMethodName {
 
   private final String value;
 
+  private static final CaseInsensitiveLookup<PaymentMethodName> BY_VALUE = index();
+
   /**
    * Constructor
    *
@@ -201,11 +205,20 @@ public enum PaymentMethodName {
    * @return Enum
    */
   public static PaymentMethodName fromValue(String value) {
-    for (PaymentMethodName paymentMethodName : PaymentMethodName.values()) {
-      if (paymentMethodName.value != null && paymentMethodName.value.equalsIgnoreCase(value)) {
-        return paymentMethodName;
-      }
+    return BY_VALUE.get(value, UNRECOGNIZED);
+  }
+
+  /**
+   * Index the enums by value
+   *
+   * @return Enums indexed by value
+   */
+  private static CaseInsensitiveLookup<PaymentMethodName> index() {
+    final CaseInsensitiveLookup<PaymentMethodName> index =
+        new CaseInsensitiveLookup<PaymentMethodName>();
+    for (PaymentMethodName paymentMethodName : values()) {
+      index.put(paymentMethodName.value, paymentMethodName);
     }
-    return UNRECOGNIZED;
+    return index;
   }
 }
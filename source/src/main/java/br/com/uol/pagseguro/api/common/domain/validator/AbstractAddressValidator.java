@@ -0,0 +1,76 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import br.com.uol.pagseguro.api.common.domain.Address;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Abstract validator for address. Postal code and state are checked when present; the error
+ * codes depend on where the address is used
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public abstract class AbstractAddressValidator extends AbstractValidator<Address> {
+
+  /**
+   * Validate postal code and state of address
+   *
+   * @param errors  Errors found
+   * @param address The interface of address
+   * @see Address
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, Address address) {
+    if (address.getPostalCode() != null && !Validations.isPostalCode(address.getPostalCode())) {
+      errors.add(getPostalCodeInvalidCode(), String.format("%s postal code invalid value: %s",
+          getName(), address.getPostalCode()));
+    }
+    if (address.getState() != null && !Validations.isState(address.getState())) {
+      errors.add(getStateInvalidCode(), String.format("%s state invalid value: %s", getName(),
+          address.getState()));
+    }
+  }
+
+  /**
+   * Get name of address used on the messages, like {@code shipping address}
+   *
+   * @return Name
+   */
+  protected abstract String getName();
+
+  /**
+   * Get code of invalid postal code
+   *
+   * @return Error code
+   */
+  protected abstract int getPostalCodeInvalidCode();
+
+  /**
+   * Get code of invalid state
+   *
+   * @return Error code
+   */
+  protected abstract int getStateInvalidCode();
+
+}
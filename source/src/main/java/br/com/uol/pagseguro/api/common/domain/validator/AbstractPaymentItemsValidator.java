@@ -0,0 +1,156 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import java.util.List;
+
+import br.com.uol.pagseguro.api.common.domain.PaymentItem;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Abstract validator for payment items. Checks the fields required by the api, the lengths of
+ * id and description, the range of quantity and the range of amount after the rounding to two
+ * decimals done on the conversion. The error codes depend on the api
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public abstract class AbstractPaymentItemsValidator
+    extends AbstractValidator<List<? extends PaymentItem>> {
+
+  private static final int MAX_TEXT_LENGTH = 100;
+
+  private static final int MAX_QUANTITY = 999;
+
+  /**
+   * Validate payment items
+   *
+   * @param errors Errors found
+   * @param items  Payment items
+   * @see PaymentItem
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, List<? extends PaymentItem> items) {
+    if (items.isEmpty()) {
+      errors.add(getItemsQuantityCode(), "items invalid quantity.");
+    }
+    for (PaymentItem item : items) {
+      validateItem(errors, item);
+    }
+  }
+
+  /**
+   * Validate a payment item
+   *
+   * @param errors Errors found
+   * @param item   Payment item
+   */
+  private void validateItem(ValidationErrors errors, PaymentItem item) {
+    if (Validations.isBlank(item.getId())) {
+      errors.add(getIdRequiredCode(), "item id is required.");
+    } else if (Validations.isLongerThan(item.getId(), MAX_TEXT_LENGTH)) {
+      errors.add(getIdLengthCode(), String.format("item id invalid length: %s", item.getId()));
+    }
+    if (Validations.isBlank(item.getDescription())) {
+      errors.add(getDescriptionRequiredCode(), "item description is required.");
+    } else if (Validations.isLongerThan(item.getDescription(), MAX_TEXT_LENGTH)) {
+      errors.add(getDescriptionLengthCode(), String.format("item description invalid length: %s",
+          item.getDescription()));
+    }
+    if (item.getQuantity() == null) {
+      errors.add(getQuantityRequiredCode(), "item quantity is required.");
+    } else if (item.getQuantity() < 1 || item.getQuantity() > MAX_QUANTITY) {
+      errors.add(getQuantityRangeCode(), String.format("item quantity out of range: %d",
+          item.getQuantity()));
+    }
+    if (item.getAmount() == null) {
+      errors.add(getAmountRequiredCode(), "item amount is required.");
+    } else if (!Validations.isAmount(item.getAmount())) {
+      errors.add(getAmountRangeCode(), String.format("item amount out of range: %s",
+          item.getAmount().toPlainString()));
+    }
+  }
+
+  /**
+   * Get code of empty list of items
+   *
+   * @return Error code
+   */
+  protected abstract int getItemsQuantityCode();
+
+  /**
+   * Get code of missing id
+   *
+   * @return Error code
+   */
+  protected abstract int getIdRequiredCode();
+
+  /**
+   * Get code of id too long
+   *
+   * @return Error code
+   */
+  protected abstract int getIdLengthCode();
+
+  /**
+   * Get code of missing description
+   *
+   * @return Error code
+   */
+  protected abstract int getDescriptionRequiredCode();
+
+  /**
+   * Get code of description too long
+   *
+   * @return Error code
+   */
+  protected abstract int getDescriptionLengthCode();
+
+  /**
+   * Get code of missing quantity
+   *
+   * @return Error code
+   */
+  protected abstract int getQuantityRequiredCode();
+
+  /**
+   * Get code of quantity out of range
+   *
+   * @return Error code
+   */
+  protected abstract int getQuantityRangeCode();
+
+  /**
+   * Get code of missing amount
+   *
+   * @return Error code
+   */
+  protected abstract int getAmountRequiredCode();
+
+  /**
+   * Get code of amount out of range
+   *
+   * @return Error code
+   */
+  protected abstract int getAmountRangeCode();
+
+}
@@ -0,0 +1,106 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import br.com.uol.pagseguro.api.common.domain.Phone;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Abstract validator for phone. The error codes depend on where the phone is used
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public abstract class AbstractPhoneValidator extends AbstractValidator<Phone> {
+
+  /**
+   * Validate area code and number of phone
+   *
+   * @param errors Errors found
+   * @param phone  The interface of phone
+   * @see Phone
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, Phone phone) {
+    if (phone.getAreaCode() == null) {
+      addRequired(errors, getAreaCodeRequiredCode(), "area code");
+    } else if (!Validations.isAreaCode(phone.getAreaCode())) {
+      errors.add(getAreaCodeInvalidCode(), String.format("%s area code invalid value: %s",
+          getName(), phone.getAreaCode()));
+    }
+    if (phone.getNumber() == null) {
+      addRequired(errors, getNumberRequiredCode(), "phone");
+    } else if (!Validations.isPhoneNumber(phone.getNumber())) {
+      errors.add(getNumberInvalidCode(), String.format("%s phone invalid value: %s", getName(),
+          phone.getNumber()));
+    }
+  }
+
+  /**
+   * Add the error of a required field
+   *
+   * @param errors Errors found
+   * @param code   Error code, or zero if the field is optional
+   * @param field  Name of field
+   */
+  private void addRequired(ValidationErrors errors, int code, String field) {
+    if (code != 0) {
+      errors.add(code, String.format("%s %s is required.", getName(), field));
+    }
+  }
+
+  /**
+   * Get name of phone owner used on the messages, like {@code sender}
+   *
+   * @return Name
+   */
+  protected abstract String getName();
+
+  /**
+   * Get code of missing area code
+   *
+   * @return Error code, or zero if the area code is optional
+   */
+  protected abstract int getAreaCodeRequiredCode();
+
+  /**
+   * Get code of invalid area code
+   *
+   * @return Error code
+   */
+  protected abstract int getAreaCodeInvalidCode();
+
+  /**
+   * Get code of missing number
+   *
+   * @return Error code, or zero if the number is optional
+   */
+  protected abstract int getNumberRequiredCode();
+
+  /**
+   * Get code of invalid number
+   *
+   * @return Error code
+   */
+  protected abstract int getNumberInvalidCode();
+
+}
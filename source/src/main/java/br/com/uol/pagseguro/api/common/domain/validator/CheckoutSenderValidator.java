@@ -0,0 +1,91 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import br.com.uol.pagseguro.api.common.domain.Sender;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for sender of checkouts and pre approval registrations. The fields of sender are
+ * optional on these requests, so only the fields present are checked
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class CheckoutSenderValidator extends AbstractValidator<Sender> {
+
+  private static final SenderPhoneValidator SENDER_PHONE_V = new SenderPhoneValidator();
+
+  /**
+   * Validate sender
+   *
+   * @param errors Errors found
+   * @param sender The interface of sender
+   * @see Sender
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, Sender sender) {
+    if (Validations.isLongerThan(sender.getEmail(), 60)) {
+      errors.add(11009, String.format("sender email invalid length: %s", sender.getEmail()));
+    } else if (sender.getEmail() != null && !Validations.isEmail(sender.getEmail())) {
+      errors.add(11010, String.format("sender email invalid value: %s", sender.getEmail()));
+    }
+    if (Validations.isLongerThan(sender.getName(), 50)) {
+      errors.add(11011, String.format("sender name invalid length: %s", sender.getName()));
+    }
+    SENDER_PHONE_V.validate(errors, sender.getPhone());
+  }
+
+  /**
+   * Implementation of {@code AbstractPhoneValidator}. Used to set error codes
+   *
+   * @see AbstractPhoneValidator
+   */
+  private static class SenderPhoneValidator extends AbstractPhoneValidator {
+
+    @Override
+    protected String getName() {
+      return "sender";
+    }
+
+    @Override
+    protected int getAreaCodeRequiredCode() {
+      return 0;
+    }
+
+    @Override
+    protected int getAreaCodeInvalidCode() {
+      return 11013;
+    }
+
+    @Override
+    protected int getNumberRequiredCode() {
+      return 0;
+    }
+
+    @Override
+    protected int getNumberInvalidCode() {
+      return 11014;
+    }
+  }
+
+}
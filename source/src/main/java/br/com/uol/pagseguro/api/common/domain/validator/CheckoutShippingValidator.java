@@ -0,0 +1,73 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import br.com.uol.pagseguro.api.common.domain.Shipping;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for shipping of checkouts and pre approval registrations
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class CheckoutShippingValidator extends AbstractValidator<Shipping> {
+
+  private static final ShippingAddressValidator SHIPPING_ADDRESS_V =
+      new ShippingAddressValidator();
+
+  /**
+   * Validate address of shipping
+   *
+   * @param errors   Errors found
+   * @param shipping The interface of shipping
+   * @see Shipping
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, Shipping shipping) {
+    SHIPPING_ADDRESS_V.validate(errors, shipping.getAddress());
+  }
+
+  /**
+   * Implementation of {@code AbstractAddressValidator}. Used to set error codes
+   *
+   * @see AbstractAddressValidator
+   */
+  private static class ShippingAddressValidator extends AbstractAddressValidator {
+
+    @Override
+    protected String getName() {
+      return "shipping address";
+    }
+
+    @Override
+    protected int getPostalCodeInvalidCode() {
+      return 11017;
+    }
+
+    @Override
+    protected int getStateInvalidCode() {
+      return 11023;
+    }
+  }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import br.com.uol.pagseguro.api.common.domain.CreditCard;
+import br.com.uol.pagseguro.api.common.domain.Document;
+import br.com.uol.pagseguro.api.common.domain.Holder;
+import br.com.uol.pagseguro.api.common.domain.Installment;
+import br.com.uol.pagseguro.api.common.domain.enums.DocumentType;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+import br.com.uol.pagseguro.api.utils.Cents;
+
+/**
+ * Validator for credit card of direct payments. Checks token, installment, holder and billing
+ * address. International credit cards do not require the cpf of holder
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class CreditCardValidator extends AbstractValidator<CreditCard> {
+
+  private static final HolderPhoneValidator HOLDER_PHONE_V = new HolderPhoneValidator();
+
+  private static final BillingAddressValidator BILLING_ADDRESS_V = new BillingAddressValidator();
+
+  private final boolean international;
+
+  /**
+   * Constructor
+   *
+   * @param international True to validate international credit cards
+   */
+  public CreditCardValidator(boolean international) {
+    this.international = international;
+  }
+
+  /**
+   * Validate credit card and the value of its installments. With one installment, or with
+   * installments without interest, the installments must pay the total amount, allowing one cent
+   * of rounding by installment. With interest, they can not pay less than the total amount
+   *
+   * @param errors     Errors found
+   * @param creditCard The interface of credit card
+   * @param totalCents Total amount of transaction in cents, or a negative value if it is unknown
+   * @see CreditCard
+   */
+  public void validate(ValidationErrors errors, CreditCard creditCard, long totalCents) {
+    if (creditCard == null) {
+      errors.add(53037, "credit card token is required.");
+      return;
+    }
+    validate(errors, creditCard);
+    final Installment installment = creditCard.getInstallment();
+    if (totalCents < 0 || installment == null || installment.getQuantity() == null
+        || installment.getQuantity() < 1 || installment.getValue() == null
+        || !Validations.isAmount(installment.getValue())) {
+      return;
+    }
+    final int quantity = installment.getQuantity();
+    final long paid = Cents.valueOf(installment.getValue()) * quantity;
+    final Integer noInterest = installment.getNoInterestInstallmentQuantity();
+    final boolean withoutInterest = quantity == 1 || (noInterest != null && quantity <= noInterest);
+    if (paid < totalCents - quantity || (withoutInterest && paid > totalCents + quantity)) {
+      errors.add(53041, String.format("installment value invalid value: %s",
+          installment.getValue().toPlainString()));
+    }
+  }
+
+  /**
+   * Validate credit card
+   *
+   * @param errors     Errors found
+   * @param creditCard The interface of credit card
+   * @see CreditCard
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, CreditCard creditCard) {
+    if (Validations.isBlank(creditCard.getToken())) {
+      errors.add(53037, "credit card token is required.");
+    }
+    validateInstallment(errors, creditCard.getInstallment());
+    if (creditCard.getHolder() == null) {
+      errors.add(53106, "credit card holder is incomplete.");
+    } else {
+      validateHolder(errors, creditCard.getHolder());
+    }
+    BILLING_ADDRESS_V.validate(errors, creditCard.getBillingAddress());
+  }
+
+  /**
+   * Validate quantity and value of installment
+   *
+   * @param errors      Errors found
+   * @param installment Installment
+   */
+  private static void validateInstallment(ValidationErrors errors, Installment installment) {
+    if (installment == null || installment.getQuantity() == null) {
+      errors.add(53038, "installment quantity is required.");
+    } else if (installment.getQuantity() < 1) {
+      errors.add(53140, String.format("installment quantity out of range: %d. The value must be "
+                                      + "greater than zero.", installment.getQuantity()));
+    }
+    if (installment == null || installment.getValue() == null) {
+      errors.add(53040, "installment value is required.");
+    } else if (!Validations.isAmount(installment.getValue())) {
+      errors.add(53041, String.format("installment value invalid value: %s",
+          installment.getValue().toPlainString()));
+    }
+  }
+
+  /**
+   * Validate holder
+   *
+   * @param errors Errors found
+   * @param holder Holder
+   */
+  private void validateHolder(ValidationErrors errors, Holder holder) {
+    if (Validations.isBlank(holder.getName())) {
+      errors.add(53042, "credit card holder name is required.");
+    }
+    boolean document = false;
+    if (holder.getDocuments() != null) {
+      for (Document holderDocument : holder.getDocuments()) {
+        document = true;
+        if (DocumentType.CPF.equals(holderDocument.getType())
+            && !Validations.isCpf(holderDocument.getValue())) {
+          errors.add(53046, String.format("credit card holder cpf invalid value: %s",
+              holderDocument.getValue()));
+        }
+      }
+    }
+    if (!document && !international) {
+      errors.add(53045, "credit card holder cpf is required.");
+    }
+    if (holder.getBirthDate() == null) {
+      errors.add(53047, "credit card holder birthdate is required.");
+    }
+    if (holder.getPhone() == null) {
+      errors.add(53049, "credit card holder area code is required.");
+      errors.add(53051, "credit card holder phone is required.");
+    } else {
+      HOLDER_PHONE_V.validate(errors, holder.getPhone());
+    }
+  }
+
+  /**
+   * Implementation of {@code AbstractPhoneValidator}. Used to set error codes
+   *
+   * @see AbstractPhoneValidator
+   */
+  private static class HolderPhoneValidator extends AbstractPhoneValidator {
+
+    @Override
+    protected String getName() {
+      return "credit card holder";
+    }
+
+    @Override
+    protected int getAreaCodeRequiredCode() {
+      return 53049;
+    }
+
+    @Override
+    protected int getAreaCodeInvalidCode() {
+      return 53050;
+    }
+
+    @Override
+    protected int getNumberRequiredCode() {
+      return 53051;
+    }
+
+    @Override
+    protected int getNumberInvalidCode() {
+      return 53052;
+    }
+  }
+
+  /**
+   * Implementation of {@code AbstractAddressValidator}. Used to set error codes
+   *
+   * @see AbstractAddressValidator
+   */
+  private static class BillingAddressValidator extends AbstractAddressValidator {
+
+    @Override
+    protected String getName() {
+      return "billing address";
+    }
+
+    @Override
+    protected int getPostalCodeInvalidCode() {
+      return 53054;
+    }
+
+    @Override
+    protected int getStateInvalidCode() {
+      return 53065;
+    }
+  }
+
+}
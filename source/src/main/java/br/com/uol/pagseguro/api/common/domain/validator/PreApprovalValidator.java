@@ -0,0 +1,104 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import java.math.BigDecimal;
+
+import br.com.uol.pagseguro.api.common.domain.PreApproval;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for pre approval of checkouts and pre approval registrations
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class PreApprovalValidator extends AbstractValidator<PreApproval> {
+
+  private static final String[] CHARGES = {"auto", "manual"};
+
+  private static final String[] PERIODS = {"weekly", "monthly", "bimonthly", "trimonthly",
+      "semiannually", "yearly"};
+
+  /**
+   * Validate pre approval
+   *
+   * @param errors      Errors found
+   * @param preApproval The interface of pre approval
+   * @see PreApproval
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors, PreApproval preApproval) {
+    if (preApproval.getCharge() != null && !isOneOf(preApproval.getCharge(), CHARGES)) {
+      errors.add(11058, "preApproval.charge invalid value.");
+    }
+    if (Validations.isLongerThan(preApproval.getName(), 100)) {
+      errors.add(11059, String.format("preApproval.name invalid length: %s",
+          preApproval.getName()));
+    }
+    if (Validations.isLongerThan(preApproval.getDetails(), 255)) {
+      errors.add(11060, String.format("preApproval.details invalid length: %s",
+          preApproval.getDetails()));
+    }
+    if (preApproval.getPeriod() != null && !isOneOf(preApproval.getPeriod(), PERIODS)) {
+      errors.add(11061, String.format("preApproval.period invalid value: %s",
+          preApproval.getPeriod()));
+    }
+    validateAmount(errors, 11063, "amountPerPayment", preApproval.getAmountPerPayment());
+    validateAmount(errors, 11065, "maxAmountPerPayment", preApproval.getMaxAmountPerPayment());
+    validateAmount(errors, 11067, "maxTotalAmount", preApproval.getMaxTotalAmount());
+    validateAmount(errors, 11069, "maxAmountPerPeriod", preApproval.getMaxAmountPerPeriod());
+  }
+
+  /**
+   * Validate the range of an amount, when present
+   *
+   * @param errors Errors found
+   * @param code   Error code
+   * @param field  Name of field
+   * @param amount Amount
+   */
+  private static void validateAmount(ValidationErrors errors, int code, String field,
+                                     BigDecimal amount) {
+    if (amount != null && !Validations.isAmount(amount)) {
+      errors.add(code, String.format("preApproval.%s out of range: %s", field,
+          amount.toPlainString()));
+    }
+  }
+
+  /**
+   * Check if a value is one of the values accepted, ignoring case
+   *
+   * @param value  Value
+   * @param values Values accepted
+   * @return True if accepted
+   */
+  private static boolean isOneOf(String value, String[] values) {
+    for (String accepted : values) {
+      if (accepted.equalsIgnoreCase(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
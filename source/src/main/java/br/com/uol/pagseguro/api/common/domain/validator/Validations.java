@@ -0,0 +1,209 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Rules of the api shared by the validators. The checks do not allocate, except to round
+ * amounts with more than two decimals
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class Validations {
+
+  /**
+   * Smallest amount accepted by the api
+   */
+  public static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+
+  /**
+   * Largest amount accepted by the api
+   */
+  public static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999.00");
+
+  private static final Set<String> STATES = new HashSet<String>(Arrays.asList("AC", "AL", "AP",
+      "AM", "BA", "CE", "DF", "ES", "GO", "MA", "MT", "MS", "MG", "PA", "PB", "PR", "PE", "PI",
+      "RJ", "RN", "RS", "RO", "RR", "SC", "SP", "SE", "TO"));
+
+  private Validations() {
+  }
+
+  /**
+   * Check if a text is null or has only white spaces
+   *
+   * @param value Text
+   * @return True if blank
+   */
+  public static boolean isBlank(String value) {
+    if (value == null) {
+      return true;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (!Character.isWhitespace(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check if a text has only digits
+   *
+   * @param value     Text
+   * @param minLength Min number of digits
+   * @param maxLength Max number of digits
+   * @return True if the text has only digits and a valid length
+   */
+  public static boolean isDigits(String value, int minLength, int maxLength) {
+    if (value == null || value.length() < minLength || value.length() > maxLength) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check if a text is a postal code (cep): eight digits, without separator
+   *
+   * @param value Text
+   * @return True if valid
+   */
+  public static boolean isPostalCode(String value) {
+    return isDigits(value, 8, 8);
+  }
+
+  /**
+   * Check if a text is a state (uf) of Brazil, like {@code SP}
+   *
+   * @param value Text
+   * @return True if valid
+   */
+  public static boolean isState(String value) {
+    return value != null && value.length() == 2 && STATES.contains(value);
+  }
+
+  /**
+   * Check if a text is an area code (ddd): two digits, not starting with zero
+   *
+   * @param value Text
+   * @return True if valid
+   */
+  public static boolean isAreaCode(String value) {
+    return isDigits(value, 2, 2) && value.charAt(0) != '0' && value.charAt(1) != '0';
+  }
+
+  /**
+   * Check if a text is a phone number: eight or nine digits
+   *
+   * @param value Text
+   * @return True if valid
+   */
+  public static boolean isPhoneNumber(String value) {
+    return isDigits(value, 8, 9);
+  }
+
+  /**
+   * Check if a text looks like an email: one {@code @} between a local part and a domain, without
+   * white spaces
+   *
+   * @param value Text
+   * @return True if valid
+   */
+  public static boolean isEmail(String value) {
+    if (value == null) {
+      return false;
+    }
+    final int at = value.indexOf('@');
+    if (at < 1 || at == value.length() - 1 || value.indexOf('@', at + 1) >= 0) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (Character.isWhitespace(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check if a text is a cpf: eleven digits with valid check digits
+   *
+   * @param value Text
+   * @return True if valid
+   */
+  public static boolean isCpf(String value) {
+    if (!isDigits(value, 11, 11)) {
+      return false;
+    }
+    return checkDigit(value, 9) == value.charAt(9) - '0'
+           && checkDigit(value, 10) == value.charAt(10) - '0';
+  }
+
+  /**
+   * Check if an amount is in the range accepted by the api, after the rounding to two decimals
+   * done on the conversion
+   *
+   * @param value Amount
+   * @return True if valid
+   */
+  public static boolean isAmount(BigDecimal value) {
+    final BigDecimal rounded = value.scale() > 2 ? value.setScale(2, RoundingMode.HALF_EVEN)
+        : value;
+    return rounded.compareTo(MIN_AMOUNT) >= 0 && rounded.compareTo(MAX_AMOUNT) <= 0;
+  }
+
+  /**
+   * Check if a text is longer than a length
+   *
+   * @param value     Text, may be null
+   * @param maxLength Max length
+   * @return True if the text is not null and longer than the length
+   */
+  public static boolean isLongerThan(String value, int maxLength) {
+    return value != null && value.length() > maxLength;
+  }
+
+  /**
+   * Compute a check digit of cpf
+   *
+   * @param value  Digits of cpf
+   * @param length Number of digits used on the computation
+   * @return Check digit
+   */
+  private static int checkDigit(String value, int length) {
+    int sum = 0;
+    for (int i = 0; i < length; i++) {
+      sum += (value.charAt(i) - '0') * (length + 1 - i);
+    }
+    final int digit = sum * 10 % 11;
+    return digit == 10 ? 0 : digit;
+  }
+}
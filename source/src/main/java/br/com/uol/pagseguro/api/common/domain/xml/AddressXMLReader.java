@@ -0,0 +1,65 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.common.domain.xml;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code AddressXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class AddressXMLReader extends AbstractXMLElementReader<AddressXML> {
+
+  @Override
+  protected AddressXML newInstance() {
+    return new AddressXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, AddressXML target)
+      throws XMLStreamException {
+    if ("country".equals(name)) {
+      target.setCountry(context.readString());
+    } else if ("state".equals(name)) {
+      target.setState(context.readString());
+    } else if ("city".equals(name)) {
+      target.setCity(context.readString());
+    } else if ("postalCode".equals(name)) {
+      target.setPostalCode(context.readString());
+    } else if ("district".equals(name)) {
+      target.setDistrict(context.readString());
+    } else if ("street".equals(name)) {
+      target.setStreet(context.readString());
+    } else if ("number".equals(name)) {
+      target.setNumber(context.readString());
+    } else if ("complement".equals(name)) {
+      target.setComplement(context.readString());
+    } else {
+      context.skipElement();
+    }
+  }
+}
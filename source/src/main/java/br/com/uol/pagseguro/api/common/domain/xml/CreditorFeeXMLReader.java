@@ -0,0 +1,53 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.common.domain.xml;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code CreditorFeeXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class CreditorFeeXMLReader extends AbstractXMLElementReader<CreditorFeeXML> {
+
+  @Override
+  protected CreditorFeeXML newInstance() {
+    return new CreditorFeeXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, CreditorFeeXML target)
+      throws XMLStreamException {
+    if ("intermediationRateAmount".equals(name)) {
+      target.setIntermediationRateAmount(context.readBigDecimal());
+    } else if ("intermediationFeeAmount".equals(name)) {
+      target.setIntermediationFeeAmount(context.readBigDecimal());
+    } else {
+      context.skipElement();
+    }
+  }
+}
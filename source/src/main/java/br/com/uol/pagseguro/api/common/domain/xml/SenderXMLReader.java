@@ -0,0 +1,65 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.common.domain.xml;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code SenderXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class SenderXMLReader extends AbstractXMLElementReader<SenderXML> {
+
+  private static final PhoneXMLReader PHONE_READER = new PhoneXMLReader();
+
+  private static final AddressXMLReader ADDRESS_READER = new AddressXMLReader();
+
+  @Override
+  protected SenderXML newInstance() {
+    return new SenderXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, SenderXML target)
+      throws XMLStreamException {
+    if ("name".equals(name)) {
+      target.setName(context.readString());
+    } else if ("email".equals(name)) {
+      target.setEmail(context.readString());
+    } else if ("phone".equals(name)) {
+      target.setPhone(context.read(PHONE_READER));
+    } else if ("address".equals(name)) {
+      target.setAddress(context.read(ADDRESS_READER));
+    } else if ("cpf".equals(name)) {
+      target.setCpf(context.readString());
+    } else if ("hash".equals(name)) {
+      target.setHash(context.readString());
+    } else {
+      context.skipElement();
+    }
+  }
+}
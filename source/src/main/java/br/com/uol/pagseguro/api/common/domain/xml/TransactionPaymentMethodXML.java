@@ -35,7 +35,7 @@ public class TransactionPaymentMethodXML implements TransactionPaymentMethod {
 
   private Integer codeId;
 
-  TransactionPaymentMethodXML() {
+  public TransactionPaymentMethodXML() {
   }
 
   @Override
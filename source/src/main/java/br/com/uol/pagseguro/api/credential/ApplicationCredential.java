@@ -85,4 +85,11 @@ public class ApplicationCredential extends Credential {
 
   }
 
+  @Override
+  public int hashCode() {
+    int result = appId != null ? appId.hashCode() : 0;
+    result = 31 * result + (appKey != null ? appKey.hashCode() : 0);
+    return result;
+  }
+
 }
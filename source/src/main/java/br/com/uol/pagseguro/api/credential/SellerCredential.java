@@ -85,4 +85,11 @@ public class SellerCredential extends Credential {
 
   }
 
+  @Override
+  public int hashCode() {
+    int result = email != null ? email.hashCode() : 0;
+    result = 31 * result + (token != null ? token.hashCode() : 0);
+    return result;
+  }
+
 }
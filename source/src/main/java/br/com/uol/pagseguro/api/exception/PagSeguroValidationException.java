@@ -0,0 +1,67 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.exception;
+
+/**
+ * The exception is thrown when a request is not valid and so it is not sent. It is a
+ * {@link PagSeguroBadRequestException} with the errors PagSeguro would answer, but without server
+ * response
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see ValidationErrors
+ */
+public class PagSeguroValidationException extends PagSeguroBadRequestException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructor
+   *
+   * @param errors Validation errors
+   * @see ValidationErrors
+   */
+  public PagSeguroValidationException(ValidationErrors errors) {
+    super(null, errors);
+  }
+
+  /**
+   * Get validation errors
+   *
+   * @return Validation errors
+   * @see ValidationErrors
+   */
+  @Override
+  public ValidationErrors getErrors() {
+    return (ValidationErrors) super.getErrors();
+  }
+
+  @Override
+  public String getMessage() {
+    final StringBuilder message = new StringBuilder();
+    for (ServerError error : getErrors().getErrors()) {
+      if (message.length() > 0) {
+        message.append("; ");
+      }
+      message.append(error.getCode()).append(' ').append(error.getMessage());
+    }
+    return message.toString();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.exception;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.exception.ServerErrorsXML.ServerErrorXML;
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code ServerErrorsXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class ServerErrorsXMLReader extends AbstractXMLElementReader<ServerErrorsXML> {
+
+  private static final ServerErrorXMLReader ERROR_READER = new ServerErrorXMLReader();
+
+  @Override
+  protected ServerErrorsXML newInstance() {
+    return new ServerErrorsXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, ServerErrorsXML target)
+      throws XMLStreamException {
+    if ("error".equals(name)) {
+      List<ServerErrorXML> errors = target.getErrors();
+      if (errors == null) {
+        errors = new ArrayList<ServerErrorXML>();
+        target.setErrors(errors);
+      }
+      errors.add(context.read(ERROR_READER));
+    } else {
+      context.skipElement();
+    }
+  }
+
+  /**
+   * StAX reader of {@code ServerErrorXML}
+   */
+  private static class ServerErrorXMLReader extends AbstractXMLElementReader<ServerErrorXML> {
+
+    @Override
+    protected ServerErrorXML newInstance() {
+      return new ServerErrorXML();
+    }
+
+    @Override
+    protected void readChild(XMLReaderContext context, String name, ServerErrorXML target)
+        throws XMLStreamException {
+      if ("code".equals(name)) {
+        target.setCode(context.readInteger());
+      } else if ("message".equals(name)) {
+        target.setMessage(context.readString());
+      } else {
+        context.skipElement();
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Errors found by the validation of a request before it is sent. The errors have the same codes
+ * and messages PagSeguro answers for the same request, so they are handled as server errors.
+ * The list is created only when the first error is added
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see PagSeguroValidationException
+ */
+public class ValidationErrors implements ServerErrors {
+
+  private List<ValidationError> errors;
+
+  /**
+   * Add an error
+   *
+   * @param code    Error code
+   * @param message Error message
+   * @return Validation errors
+   */
+  public ValidationErrors add(int code, String message) {
+    if (errors == null) {
+      errors = new ArrayList<ValidationError>(4);
+    }
+    errors.add(new ValidationError(code, message));
+    return this;
+  }
+
+  /**
+   * Verify if there are no errors
+   *
+   * @return True if the request is valid
+   */
+  public boolean isEmpty() {
+    return errors == null;
+  }
+
+  @Override
+  public int size() {
+    return errors == null ? 0 : errors.size();
+  }
+
+  @Override
+  public ServerError getError(int code) {
+    if (errors != null) {
+      for (ValidationError error : errors) {
+        if (error.code == code) {
+          return error;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public List<ValidationError> getErrors() {
+    return errors == null ? Collections.<ValidationError>emptyList()
+        : Collections.unmodifiableList(errors);
+  }
+
+  @Override
+  public boolean contains(int code) {
+    return getError(code) != null;
+  }
+
+  @Override
+  public String toString() {
+    return "ValidationErrors [errors=" + getErrors() + "]";
+  }
+
+  /**
+   * Error found by the validation
+   */
+  public static class ValidationError implements ServerError {
+
+    private final int code;
+
+    private final String message;
+
+    ValidationError(int code, String message) {
+      this.code = code;
+      this.message = message;
+    }
+
+    @Override
+    public Integer getCode() {
+      return code;
+    }
+
+    @Override
+    public String getMessage() {
+      return message;
+    }
+
+    @Override
+    public String toString() {
+      return "ValidationError [code=" + code + ", message=" + message + "]";
+    }
+  }
+}
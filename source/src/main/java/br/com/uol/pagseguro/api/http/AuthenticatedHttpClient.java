@@ -56,15 +56,45 @@ public class AuthenticatedHttpClient implements HttpClient {
    * @param credential Credential
    */
   public AuthenticatedHttpClient(HttpClient httpClient, Credential credential) {
+    this(httpClient, credentialQuery(credential));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param httpClient      Http client
+   * @param credentialQuery Query of credential, as built by {@link #credentialQuery(Credential)}
+   * @see CredentialQueryCache
+   */
+  public AuthenticatedHttpClient(HttpClient httpClient, String credentialQuery) {
     this.httpClient = httpClient;
+    this.credentialQuery = credentialQuery;
+  }
+
+  /**
+   * Build the query of a credential, appended to the url of the requests
+   *
+   * @param credential Credential
+   * @return Query of credential
+   */
+  public static String credentialQuery(Credential credential) {
     try {
-      this.credentialQuery = URLDecoder.decode(credential.asMap().toUrlEncode(CharSet.ENCODING_UTF),
+      return URLDecoder.decode(credential.asMap().toUrlEncode(CharSet.ENCODING_UTF),
           CharSet.ENCODING_UTF);
     } catch (UnsupportedEncodingException e) {
       throw new PagSeguroLibException(e);
     }
   }
 
+  /**
+   * Get http client that executes the requests, without the credential
+   *
+   * @return Http client
+   */
+  public HttpClient getHttpClient() {
+    return httpClient;
+  }
+
   /**
    * Execute the request
    *
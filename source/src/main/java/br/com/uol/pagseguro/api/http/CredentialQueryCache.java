@@ -0,0 +1,100 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+
+/**
+ * Bounded cache of credential queries. The least recently used credentials are evicted when the
+ * cache is full
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AuthenticatedHttpClient#credentialQuery(Credential)
+ */
+public class CredentialQueryCache {
+
+  private final int maxSize;
+
+  private final Map<Credential, String> queries;
+
+  /**
+   * Constructor
+   *
+   * @param maxSize Max number of credentials cached
+   */
+  public CredentialQueryCache(final int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Max size must be positive");
+    }
+    this.maxSize = maxSize;
+    this.queries = new LinkedHashMap<Credential, String>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Credential, String> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get query of credential, building it when it is not cached
+   *
+   * @param credential Credential
+   * @return Query of credential
+   */
+  public String get(Credential credential) {
+    synchronized (queries) {
+      final String query = queries.get(credential);
+      if (query != null) {
+        return query;
+      }
+    }
+    final String query = AuthenticatedHttpClient.credentialQuery(credential);
+    synchronized (queries) {
+      queries.put(credential, query);
+    }
+    return query;
+  }
+
+  /**
+   * Get number of credentials cached
+   *
+   * @return Size
+   */
+  public int size() {
+    synchronized (queries) {
+      return queries.size();
+    }
+  }
+
+  /**
+   * Get max number of credentials cached
+   *
+   * @return Max size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+}
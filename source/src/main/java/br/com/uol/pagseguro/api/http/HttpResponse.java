@@ -20,17 +20,14 @@
  */
 package br.com.uol.pagseguro.api.http;
 
-import javax.xml.bind.JAXBException;
-
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
 import br.com.uol.pagseguro.api.exception.PagSeguroForbiddenException;
 import br.com.uol.pagseguro.api.exception.PagSeguroInternalServerException;
-import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
 import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
 import br.com.uol.pagseguro.api.exception.PagSeguroUnauthorizedException;
 import br.com.uol.pagseguro.api.exception.ServerErrorsXML;
-import br.com.uol.pagseguro.api.utils.XMLUtils;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
 
 /**
  * Response of http request
@@ -82,7 +79,7 @@ public class HttpResponse {
   }
 
   /**
-   * Parse xml content
+   * Parse xml content with the configured response parser
    *
    * @param pagSeguro   Pagseguro instance
    * @param targetClazz Class to be converted
@@ -92,20 +89,12 @@ public class HttpResponse {
   public <T> T parseXMLContent(PagSeguro pagSeguro, Class<T> targetClazz) {
     switch (getStatusFamily()) {
       case SUCCESSFUL:
-        try {
-          return XMLUtils.unmarshal(pagSeguro, targetClazz, asString());
-        } catch (JAXBException e) {
-          throw new PagSeguroLibException(e);
-        }
+        return ResponseParser.getResponseParser().parse(pagSeguro, targetClazz, asString());
       case CLIENT_ERROR:
         switch (getStatus()) {
           case 400:
-            try {
-              throw new PagSeguroBadRequestException(this, XMLUtils.unmarshal(pagSeguro,
-                  ServerErrorsXML.class, asString()));
-            } catch (JAXBException e) {
-              throw new PagSeguroLibException(e);
-            }
+            throw new PagSeguroBadRequestException(this, ResponseParser.getResponseParser()
+                .parse(pagSeguro, ServerErrorsXML.class, asString()));
           case 401:
             throw new PagSeguroUnauthorizedException(this);
           case 403:
@@ -45,7 +45,7 @@ import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
 public class JSEHttpClient implements HttpClient {
 
   private static Log LOGGER = LoggerFactory.getLogger(JSEHttpClient.class.getName());
-  private static String DEFAULT_RESPONSE_CHARSET = "ISO-8859-1";
+  private static final String DEFAULT_RESPONSE_CHARSET = "ISO-8859-1";
   private final static String LIB_VERSION = "3.1.1";
 
   /**
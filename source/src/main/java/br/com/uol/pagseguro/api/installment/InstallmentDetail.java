@@ -22,6 +22,8 @@ package br.com.uol.pagseguro.api.installment;
 
 import java.math.BigDecimal;
 
+import br.com.uol.pagseguro.api.utils.Cents;
+
 /**
  * Interface for response of installment detail
  *
@@ -63,4 +65,25 @@ public interface InstallmentDetail {
    * @return Interest Free
    */
   Boolean getInterestFree();
+
+  /**
+   * Get amount in cents
+   *
+   * @return Amount in cents or zero if there is no amount
+   * @see #getAmount()
+   */
+  default long getAmountCents() {
+    return Cents.valueOf(getAmount());
+  }
+
+  /**
+   * Get total amount in cents
+   *
+   * @return Total amount in cents or zero if there is no amount
+   * @see #getTotalAmount()
+   */
+  default long getTotalAmountCents() {
+    return Cents.valueOf(getTotalAmount());
+  }
+
 }
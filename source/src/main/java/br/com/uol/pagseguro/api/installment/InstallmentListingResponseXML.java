@@ -43,6 +43,14 @@ public class InstallmentListingResponseXML implements DataList<InstallmentDetail
   InstallmentListingResponseXML() {
   }
 
+  List<InstallmentDetailXML> getInstallments() {
+    return installments;
+  }
+
+  void setInstallments(List<InstallmentDetailXML> installments) {
+    this.installments = installments;
+  }
+
   @Override
   public List<InstallmentDetailXML> getData() {
     return installments != null ? installments : Collections.<InstallmentDetailXML>emptyList();
@@ -0,0 +1,63 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.installment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code InstallmentListingResponseXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class InstallmentListingResponseXMLReader extends
+    AbstractXMLElementReader<InstallmentListingResponseXML> {
+
+  private static final InstallmentDetailXMLReader INSTALLMENT_READER =
+      new InstallmentDetailXMLReader();
+
+  @Override
+  protected InstallmentListingResponseXML newInstance() {
+    return new InstallmentListingResponseXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name,
+                           InstallmentListingResponseXML target) throws XMLStreamException {
+    if ("installment".equals(name)) {
+      List<InstallmentDetailXML> installments = target.getInstallments();
+      if (installments == null) {
+        installments = new ArrayList<InstallmentDetailXML>();
+        target.setInstallments(installments);
+      }
+      installments.add(context.read(INSTALLMENT_READER));
+    } else {
+      context.skipElement();
+    }
+  }
+}
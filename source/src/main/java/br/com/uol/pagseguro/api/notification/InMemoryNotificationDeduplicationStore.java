@@ -0,0 +1,179 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In memory deduplication store with fixed memory. Keys are kept as 64 bit hashes on a ring of
+ * time buckets; the oldest bucket is cleared when the ring turns, so a key is remembered for at
+ * least the window. A bucket that reaches its share of the capacity turns the ring earlier, which
+ * shortens the window instead of growing the memory
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class InMemoryNotificationDeduplicationStore implements NotificationDeduplicationStore {
+
+  private static final int BUCKETS = 4;
+
+  private static final long EMPTY = 0L;
+
+  private static final long REMOVED = 1L;
+
+  private final long[][] buckets = new long[BUCKETS][];
+
+  private final int[] used = new int[BUCKETS];
+
+  private final int maxPerBucket;
+
+  private final long bucketMillis;
+
+  private int current;
+
+  private long currentStart = -1L;
+
+  /**
+   * Constructor. Remembers up to 100000 keys for one hour
+   */
+  public InMemoryNotificationDeduplicationStore() {
+    this(100000, TimeUnit.HOURS.toMillis(1));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param capacity     Max number of keys remembered on a window
+   * @param windowMillis Window in milliseconds
+   */
+  public InMemoryNotificationDeduplicationStore(int capacity, long windowMillis) {
+    if (capacity < 1 || windowMillis < 1) {
+      throw new IllegalArgumentException("Capacity and window must be positive");
+    }
+    this.maxPerBucket = Math.max(1, (capacity + BUCKETS - 2) / (BUCKETS - 1));
+    this.bucketMillis = Math.max(1L, windowMillis / (BUCKETS - 1));
+    final int tableSize = Integer.highestOneBit(maxPerBucket * 2 - 1) << 1;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new long[Math.max(2, tableSize)];
+    }
+  }
+
+  @Override
+  public synchronized boolean markIfAbsent(String key) {
+    final long hash = hash(key);
+    rotate();
+    for (long[] bucket : buckets) {
+      if (indexOf(bucket, hash) >= 0) {
+        return false;
+      }
+    }
+    if (used[current] >= maxPerBucket) {
+      turn();
+    }
+    final long[] bucket = buckets[current];
+    final int mask = bucket.length - 1;
+    int index = (int) (hash ^ (hash >>> 32)) & mask;
+    while (bucket[index] != EMPTY && bucket[index] != REMOVED) {
+      index = (index + 1) & mask;
+    }
+    if (bucket[index] == EMPTY) {
+      used[current]++;
+    }
+    bucket[index] = hash;
+    return true;
+  }
+
+  @Override
+  public synchronized void unmark(String key) {
+    final long hash = hash(key);
+    for (long[] bucket : buckets) {
+      final int index = indexOf(bucket, hash);
+      if (index >= 0) {
+        bucket[index] = REMOVED;
+      }
+    }
+  }
+
+  /**
+   * Current time. Overridden on tests
+   *
+   * @return Time in milliseconds
+   */
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  private void rotate() {
+    final long now = currentTimeMillis();
+    if (currentStart < 0) {
+      currentStart = now;
+      return;
+    }
+    final long elapsed = (now - currentStart) / bucketMillis;
+    if (elapsed <= 0) {
+      return;
+    }
+    for (long i = 0; i < Math.min(elapsed, BUCKETS); i++) {
+      turn();
+    }
+    currentStart = now;
+  }
+
+  private void turn() {
+    current = (current + 1) % BUCKETS;
+    Arrays.fill(buckets[current], EMPTY);
+    used[current] = 0;
+    currentStart = currentTimeMillis();
+  }
+
+  private static int indexOf(long[] bucket, long hash) {
+    final int mask = bucket.length - 1;
+    int index = (int) (hash ^ (hash >>> 32)) & mask;
+    for (int probes = 0; probes < bucket.length; probes++) {
+      final long value = bucket[index];
+      if (value == EMPTY) {
+        return -1;
+      }
+      if (value == hash) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * FNV-1a hash of 64 bits, with the reserved values moved away
+   *
+   * @param key Key
+   * @return Hash
+   */
+  private static long hash(String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 29;
+    return hash == EMPTY || hash == REMOVED ? 2L : hash;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+/**
+ * Notification received from PagSeguro, before being resolved
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class Notification {
+
+  /**
+   * Maximum length of a notification code received from PagSeguro. The codes have 39 characters
+   */
+  public static final int MAX_CODE_LENGTH = 64;
+
+  private final String code;
+
+  private final NotificationType type;
+
+  private final long receivedAt;
+
+  /**
+   * Constructor
+   *
+   * @param code       Notification code
+   * @param type       Notification type
+   * @param receivedAt Time the notification was received, in milliseconds
+   */
+  public Notification(String code, NotificationType type, long receivedAt) {
+    this.code = code;
+    this.type = type;
+    this.receivedAt = receivedAt;
+  }
+
+  /**
+   * Create a notification from the request parameters
+   *
+   * @param code Notification code parameter
+   * @param type Notification type parameter
+   * @return Notification received now
+   * @throws IllegalArgumentException if the code or the type are invalid
+   */
+  public static Notification fromParameters(String code, String type) {
+    if (code == null || code.isEmpty() || type == null || type.isEmpty()) {
+      throw new IllegalArgumentException("Notification code or notification type not exists");
+    }
+    if (code.length() > MAX_CODE_LENGTH) {
+      throw new IllegalArgumentException("Notification code too long");
+    }
+    final NotificationType notificationType = NotificationType.fromName(type);
+    if (notificationType == NotificationType.OTHER) {
+      throw new IllegalArgumentException("Notification not exists");
+    }
+    return new Notification(code, notificationType, System.currentTimeMillis());
+  }
+
+  /**
+   * Get notification code
+   *
+   * @return Notification code
+   */
+  public String getCode() {
+    return code;
+  }
+
+  /**
+   * Get notification type
+   *
+   * @return Notification type
+   */
+  public NotificationType getType() {
+    return type;
+  }
+
+  /**
+   * Get time the notification was received
+   *
+   * @return Time in milliseconds
+   */
+  public long getReceivedAt() {
+    return receivedAt;
+  }
+
+  /**
+   * Get key used to deduplicate the notification
+   *
+   * @return Type and code of notification
+   * @see NotificationDeduplicationStore
+   */
+  public String getKey() {
+    return type.name() + ':' + code;
+  }
+
+  @Override
+  public String toString() {
+    return "Notification{" +
+        "code='" + code + '\'' +
+        ", type=" + type +
+        ", receivedAt=" + receivedAt +
+        '}';
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+/**
+ * Callback used to answer PagSeguro once a notification is accepted or rejected by the
+ * {@link NotificationProcessor}. It can be called by a thread other than the one that submitted
+ * the notification
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public interface NotificationAcknowledgement {
+
+  /**
+   * Notification was accepted and will be processed
+   *
+   * @param notification Notification
+   */
+  void accepted(Notification notification);
+
+  /**
+   * Notification was not accepted. PagSeguro must be answered with an error, so the notification
+   * is sent again later
+   *
+   * @param notification Notification
+   * @param cause        Cause
+   */
+  void rejected(Notification notification, Throwable cause);
+
+}
@@ -0,0 +1,42 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+/**
+ * Handler of notifications the {@link NotificationProcessor} could not process. It is called by
+ * the worker after the last attempt, so it must be thread safe. With a journal, the notification
+ * also stays pending and is replayed when the processor is built again
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see NotificationProcessorBuilder#withDeadLetterHandler(NotificationDeadLetterHandler)
+ */
+public interface NotificationDeadLetterHandler {
+
+  /**
+   * Handle a notification that failed
+   *
+   * @param notification Notification
+   * @param cause        Failure of last attempt
+   */
+  void handleDeadLetter(Notification notification, RuntimeException cause);
+
+}
@@ -0,0 +1,50 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+/**
+ * Store used to suppress notifications delivered more than once by PagSeguro. Each store decides
+ * for how long a key is remembered. Implementations must be thread safe; a store backed by a
+ * shared service can be used to deduplicate between several nodes
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see InMemoryNotificationDeduplicationStore
+ */
+public interface NotificationDeduplicationStore {
+
+  /**
+   * Mark a key as seen
+   *
+   * @param key Notification key
+   * @return True if the key was not seen yet, false if it is a repeated delivery
+   */
+  boolean markIfAbsent(String key);
+
+  /**
+   * Forget a key, so the next delivery is processed. Used when the processing of the notification
+   * fails
+   *
+   * @param key Notification key
+   */
+  void unmark(String key);
+
+}
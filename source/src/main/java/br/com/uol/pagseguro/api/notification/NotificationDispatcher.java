@@ -0,0 +1,77 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Resolves a notification on PagSeguro and dispatches the result to the handler
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class NotificationDispatcher {
+
+  private static Log LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+  private final PagSeguro pagSeguro;
+
+  /**
+   * Constructor
+   *
+   * @param pagSeguro Pagseguro instance
+   */
+  public NotificationDispatcher(PagSeguro pagSeguro) {
+    this.pagSeguro = pagSeguro;
+  }
+
+  /**
+   * Resolve and dispatch the notification
+   *
+   * @param notification Notification
+   * @param handler      Notification handler
+   */
+  public void dispatch(Notification notification, PagSeguroNotificationHandler handler) {
+    switch (notification.getType()) {
+      case TRANSACTION:
+        LOGGER.info("Notificacao de transacao");
+        handler.handleTransactionNotification(pagSeguro.transactions().search()
+            .byNotificationCode(notification.getCode()));
+        break;
+      case APPLICATION_AUTHORIZATION:
+        LOGGER.info("Notificacao de autorizcao");
+        handler.handleAuthorizationNotification(pagSeguro.authorizations().search()
+            .byNotificationCode(notification.getCode()));
+        break;
+      case PRE_APPROVAL:
+        LOGGER.info("Notificacao de assinatura");
+        handler.handlePreApprovalNotification(pagSeguro.preApprovals().search()
+            .byNotificationCode(notification.getCode()));
+        break;
+      default:
+        throw new PagSeguroLibException(new IllegalArgumentException("Notification not exists"));
+    }
+  }
+
+}
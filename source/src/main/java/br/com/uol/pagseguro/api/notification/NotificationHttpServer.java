@@ -0,0 +1,273 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import br.com.uol.pagseguro.api.utils.Threads;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Embedded http endpoint that receives the notifications of PagSeguro without a servlet
+ * container. The form body is parsed directly and the notification is submitted to the
+ * processor, or dispatched on the request thread when there is no processor
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see NotificationHttpServerBuilder
+ * @see NotificationsResource#server(NotificationProcessor)
+ */
+public class NotificationHttpServer {
+
+  private static Log LOGGER = LoggerFactory.getLogger(NotificationHttpServer.class);
+
+  private static final String DEFAULT_CHARSET = "ISO-8859-1";
+
+  private final HttpServer server;
+
+  private final Executor executor;
+
+  private final boolean ownExecutor;
+
+  private final int maxBodySize;
+
+  private final NotificationProcessor processor;
+
+  private final NotificationDispatcher dispatcher;
+
+  private final PagSeguroNotificationHandler handler;
+
+  /**
+   * Constructor
+   *
+   * @param builder Builder with the configuration
+   */
+  NotificationHttpServer(NotificationHttpServerBuilder builder) throws IOException {
+    this.processor = builder.getProcessor();
+    this.dispatcher = builder.getDispatcher();
+    this.handler = builder.getHandler();
+    this.maxBodySize = builder.getMaxBodySize();
+    this.ownExecutor = builder.getExecutor() == null;
+    this.executor = ownExecutor ? Threads.newTaskExecutor("pagseguro-notification-http-")
+        : builder.getExecutor();
+    this.server = HttpServer.create(builder.getAddress(), builder.getBacklog());
+    this.server.createContext(builder.getPath(), new NotificationExchangeHandler());
+    this.server.setExecutor(executor);
+  }
+
+  /**
+   * Start accepting notifications
+   */
+  public void start() {
+    server.start();
+    LOGGER.info(String.format("Recebendo notificacoes em [%s]", server.getAddress()));
+  }
+
+  /**
+   * Stop accepting notifications. The executor is shut down when it was created by the server
+   *
+   * @param delaySeconds Maximum time to wait the exchanges in progress
+   */
+  public void stop(int delaySeconds) {
+    server.stop(delaySeconds);
+    if (ownExecutor && executor instanceof ExecutorService) {
+      ((ExecutorService) executor).shutdown();
+    }
+  }
+
+  /**
+   * Get address the server is bound to
+   *
+   * @return Address
+   */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * Parse an url encoded form
+   *
+   * @param body    Form body
+   * @param charset Encoding
+   * @return Parameters. Repeated parameters keep the first value
+   */
+  static Map<String, String> parseForm(String body, String charset)
+      throws UnsupportedEncodingException {
+    final Map<String, String> parameters = new HashMap<String, String>();
+    if (body == null || body.isEmpty()) {
+      return parameters;
+    }
+    int start = 0;
+    while (start <= body.length()) {
+      int end = body.indexOf('&', start);
+      if (end < 0) {
+        end = body.length();
+      }
+      if (end > start) {
+        final int equals = body.indexOf('=', start);
+        final String name;
+        final String value;
+        if (equals < 0 || equals > end) {
+          name = URLDecoder.decode(body.substring(start, end), charset);
+          value = "";
+        } else {
+          name = URLDecoder.decode(body.substring(start, equals), charset);
+          value = URLDecoder.decode(body.substring(equals + 1, end), charset);
+        }
+        if (!parameters.containsKey(name)) {
+          parameters.put(name, value);
+        }
+      }
+      start = end + 1;
+    }
+    return parameters;
+  }
+
+  /**
+   * Get charset of content type
+   *
+   * @param contentType Content type
+   * @return Charset, ISO-8859-1 when not informed
+   */
+  static String charsetOf(String contentType) {
+    if (contentType != null) {
+      final int index = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+      if (index >= 0) {
+        final String charset = contentType.substring(index + 8).trim();
+        final int end = charset.indexOf(';');
+        return (end < 0 ? charset : charset.substring(0, end)).replace("\"", "").trim();
+      }
+    }
+    return DEFAULT_CHARSET;
+  }
+
+  /**
+   * Read the body, up to the max body size
+   *
+   * @param body Body stream
+   * @return Body or null if it is bigger than the max body size
+   */
+  private byte[] read(InputStream body) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+    final byte[] buffer = new byte[1024];
+    int read;
+    while ((read = body.read(buffer)) != -1) {
+      if (output.size() + read > maxBodySize) {
+        return null;
+      }
+      output.write(buffer, 0, read);
+    }
+    return output.toByteArray();
+  }
+
+  private static void respond(HttpExchange exchange, int status) {
+    try {
+      exchange.sendResponseHeaders(status, -1);
+    } catch (IOException e) {
+      LOGGER.warn(String.format("Erro ao responder notificacao [%d]", status), e);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Handler of the notification exchanges
+   */
+  private class NotificationExchangeHandler implements HttpHandler {
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+      if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+        respond(exchange, HttpURLConnection.HTTP_BAD_METHOD);
+        return;
+      }
+      final byte[] body = read(exchange.getRequestBody());
+      if (body == null) {
+        respond(exchange, HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+        return;
+      }
+      final Notification notification;
+      try {
+        final String charset = charsetOf(exchange.getRequestHeaders().getFirst("Content-Type"));
+        final Map<String, String> parameters = parseForm(new String(body, charset), charset);
+        notification = Notification.fromParameters(parameters.get("notificationCode"),
+            parameters.get("notificationType"));
+      } catch (IllegalArgumentException e) {
+        LOGGER.warn(String.format("Notificacao invalida [%s]", e.getMessage()));
+        respond(exchange, HttpURLConnection.HTTP_BAD_REQUEST);
+        return;
+      } catch (UnsupportedEncodingException e) {
+        respond(exchange, HttpURLConnection.HTTP_BAD_REQUEST);
+        return;
+      }
+      if (processor != null) {
+        processor.submit(notification, new ExchangeAcknowledgement(exchange));
+        return;
+      }
+      try {
+        dispatcher.dispatch(notification, handler);
+        respond(exchange, HttpURLConnection.HTTP_OK);
+      } catch (RuntimeException e) {
+        LOGGER.error(String.format("Erro ao processar notificacao [%s]",
+            notification.getCode()), e);
+        respond(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR);
+      }
+    }
+  }
+
+  /**
+   * Acknowledgement that answers the exchange
+   */
+  private static class ExchangeAcknowledgement implements NotificationAcknowledgement {
+
+    private final HttpExchange exchange;
+
+    ExchangeAcknowledgement(HttpExchange exchange) {
+      this.exchange = exchange;
+    }
+
+    @Override
+    public void accepted(Notification notification) {
+      respond(exchange, HttpURLConnection.HTTP_OK);
+    }
+
+    @Override
+    public void rejected(Notification notification, Throwable cause) {
+      respond(exchange, HttpURLConnection.HTTP_UNAVAILABLE);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.utils.Builder;
+
+/**
+ * Builder for notification http server
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see NotificationsResource#server(NotificationProcessor)
+ * @see NotificationsResource#server(PagSeguroNotificationHandler)
+ */
+public final class NotificationHttpServerBuilder implements Builder<NotificationHttpServer> {
+
+  private final NotificationProcessor processor;
+
+  private final NotificationDispatcher dispatcher;
+
+  private final PagSeguroNotificationHandler handler;
+
+  private InetSocketAddress address = new InetSocketAddress(8080);
+
+  private String path = "/notifications";
+
+  private int backlog;
+
+  private int maxBodySize = 8192;
+
+  private Executor executor;
+
+  /**
+   * Constructor. Notifications are submitted to the processor
+   *
+   * @param processor Notification processor
+   */
+  public NotificationHttpServerBuilder(NotificationProcessor processor) {
+    if (processor == null) {
+      throw new NullPointerException();
+    }
+    this.processor = processor;
+    this.dispatcher = null;
+    this.handler = null;
+  }
+
+  /**
+   * Constructor. Notifications are dispatched on the request thread
+   *
+   * @param dispatcher Notification dispatcher
+   * @param handler    Notification handler
+   */
+  public NotificationHttpServerBuilder(NotificationDispatcher dispatcher,
+                                       PagSeguroNotificationHandler handler) {
+    if (dispatcher == null || handler == null) {
+      throw new NullPointerException();
+    }
+    this.processor = null;
+    this.dispatcher = dispatcher;
+    this.handler = handler;
+  }
+
+  /**
+   * Set address to bind. The default is port 8080 on all interfaces
+   *
+   * @param address Address
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder withAddress(InetSocketAddress address) {
+    if (address == null) {
+      throw new NullPointerException();
+    }
+    this.address = address;
+    return this;
+  }
+
+  /**
+   * Set path of notification endpoint. The default is {@code /notifications}
+   *
+   * @param path Path
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder withPath(String path) {
+    if (path == null || !path.startsWith("/")) {
+      throw new IllegalArgumentException("Path must start with /");
+    }
+    this.path = path;
+    return this;
+  }
+
+  /**
+   * Set backlog of socket. The default is the system default
+   *
+   * @param backlog Backlog
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder withBacklog(int backlog) {
+    this.backlog = backlog;
+    return this;
+  }
+
+  /**
+   * Set max size of request body. Bigger requests are answered with status 413. The default is
+   * 8192 bytes
+   *
+   * @param maxBodySize Max body size, in bytes
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder withMaxBodySize(int maxBodySize) {
+    if (maxBodySize < 1) {
+      throw new IllegalArgumentException("Max body size must be positive");
+    }
+    this.maxBodySize = maxBodySize;
+    return this;
+  }
+
+  /**
+   * Set executor of exchanges. The default runs each exchange on a virtual thread on Java 21 or
+   * later, and on a cached pool of daemon threads otherwise
+   *
+   * @param executor Executor
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder withExecutor(Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  NotificationProcessor getProcessor() {
+    return processor;
+  }
+
+  NotificationDispatcher getDispatcher() {
+    return dispatcher;
+  }
+
+  PagSeguroNotificationHandler getHandler() {
+    return handler;
+  }
+
+  InetSocketAddress getAddress() {
+    return address;
+  }
+
+  String getPath() {
+    return path;
+  }
+
+  int getBacklog() {
+    return backlog;
+  }
+
+  int getMaxBodySize() {
+    return maxBodySize;
+  }
+
+  Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Build the notification http server, bound to the address. Call
+   * {@link NotificationHttpServer#start()} to accept notifications
+   *
+   * @return Notification http server
+   */
+  @Override
+  public NotificationHttpServer build() {
+    try {
+      return new NotificationHttpServer(this);
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    }
+  }
+}
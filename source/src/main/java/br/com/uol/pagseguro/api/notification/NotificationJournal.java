@@ -0,0 +1,491 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Append only journal of accepted notifications, written on memory mapped segment files. Each
+ * accepted notification is appended before being queued and marked as completed after being
+ * processed, so the notifications accepted and not completed before a crash are replayed when the
+ * journal is opened again.
+ * <p>
+ * Writes are made durable by a single flusher thread (group commit): all the notifications
+ * appended while a flush is running are made durable by the next flush, and their
+ * acknowledgements are called only after it. Locks are used instead of monitors, so virtual
+ * threads are not pinned while a segment is created or forced.
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see NotificationProcessorBuilder#withJournal(NotificationJournal)
+ */
+public class NotificationJournal {
+
+  private static Log LOGGER = LoggerFactory.getLogger(NotificationJournal.class);
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final String PREFIX = "notifications-";
+
+  private static final String SUFFIX = ".journal";
+
+  private static final int HEADER_SIZE = 8;
+
+  private static final byte APPENDED = 1;
+
+  private static final byte COMPLETED = 2;
+
+  private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+  private static final int MAX_STRING_LENGTH = Short.MAX_VALUE;
+
+  private final File directory;
+
+  private final int segmentSize;
+
+  private final TreeMap<Long, Segment> segments = new TreeMap<Long, Segment>();
+
+  private final Map<Long, Segment> segmentById = new HashMap<Long, Segment>();
+
+  private final Map<Long, Notification> pending;
+
+  private final Thread flusher;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition flushRequested = lock.newCondition();
+
+  private Segment current;
+
+  private long nextId;
+
+  private List<Runnable> waiting = new ArrayList<Runnable>();
+
+  private boolean closed;
+
+  private NotificationJournal(File directory, int segmentSize) throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.pending = Collections.unmodifiableMap(recover());
+    this.flusher = new Thread(new Flusher(), "pagseguro-notification-journal");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  /**
+   * Open the journal on a directory, with segments of 16 MB
+   *
+   * @param directory Directory of journal
+   * @return Journal
+   */
+  public static NotificationJournal open(File directory) {
+    return open(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Open the journal on a directory
+   *
+   * @param directory   Directory of journal
+   * @param segmentSize Size of each segment file, in bytes
+   * @return Journal
+   */
+  public static NotificationJournal open(File directory, int segmentSize) {
+    if (segmentSize < 1024) {
+      throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new PagSeguroLibException(new IOException("Could not create " + directory));
+    }
+    try {
+      return new NotificationJournal(directory, segmentSize);
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    }
+  }
+
+  /**
+   * Get notifications accepted and not completed when the journal was opened, by id
+   *
+   * @return Pending notifications, in the order they were accepted
+   */
+  public Map<Long, Notification> getPending() {
+    return pending;
+  }
+
+  /**
+   * Append a notification. The notification is durable only after the callback registered with
+   * {@link #sync(Runnable)}
+   *
+   * @param notification Notification
+   * @return Id of notification on journal
+   * @throws IllegalArgumentException if the code is longer than 32767 bytes
+   */
+  public long append(Notification notification) {
+    final byte[] type = notification.getType().name().getBytes(UTF_8);
+    final byte[] code = notification.getCode().getBytes(UTF_8);
+    if (code.length > MAX_STRING_LENGTH) {
+      throw new IllegalArgumentException("Notification code too long");
+    }
+    lock.lock();
+    try {
+      ensureOpen();
+      final long id = nextId++;
+      final ByteBuffer payload = ByteBuffer.allocate(1 + 8 + 8 + 2 + type.length + 2
+                                                     + code.length);
+      payload.put(APPENDED).putLong(id).putLong(notification.getReceivedAt());
+      payload.putShort((short) type.length).put(type);
+      payload.putShort((short) code.length).put(code);
+      write(payload.array());
+      current.pendingCount++;
+      segmentById.put(id, current);
+      return id;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Mark a notification as completed, so it is not replayed
+   *
+   * @param id Id of notification on journal
+   */
+  public void complete(long id) {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      final ByteBuffer payload = ByteBuffer.allocate(1 + 8);
+      payload.put(COMPLETED).putLong(id);
+      write(payload.array());
+      final Segment segment = segmentById.remove(id);
+      if (segment != null) {
+        segment.pendingCount--;
+        deleteCompletedSegments();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Call the callback after all the notifications appended until now are durable
+   *
+   * @param callback Callback, called by the flusher thread
+   */
+  public void sync(Runnable callback) {
+    lock.lock();
+    try {
+      ensureOpen();
+      waiting.add(callback);
+      flushRequested.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Flush and close the journal. Callbacks waiting a flush are called
+   */
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      flushRequested.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    lock.lock();
+    try {
+      for (Segment segment : segments.values()) {
+        segment.buffer.force();
+        segment.close();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new PagSeguroLibException(new IllegalStateException("Journal closed"));
+    }
+  }
+
+  private void write(byte[] payload) {
+    if (current.buffer.remaining() < HEADER_SIZE + payload.length + HEADER_SIZE) {
+      current.buffer.force();
+      try {
+        current = createSegment(current.sequence + 1);
+      } catch (IOException e) {
+        throw new PagSeguroLibException(e);
+      }
+      deleteCompletedSegments();
+      if (current.buffer.remaining() < HEADER_SIZE + payload.length + HEADER_SIZE) {
+        throw new PagSeguroLibException(new IOException("Record bigger than segment"));
+      }
+    }
+    final CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+    current.buffer.putInt(payload.length);
+    current.buffer.putInt((int) crc.getValue());
+    current.buffer.put(payload);
+  }
+
+  /**
+   * Delete the oldest segments without pending notifications. A segment is deleted only after the
+   * segments before it, because its completion records may refer to notifications of them
+   */
+  private void deleteCompletedSegments() {
+    while (segments.size() > 1) {
+      final Segment segment = segments.firstEntry().getValue();
+      if (segment.pendingCount > 0 || segment == current) {
+        return;
+      }
+      segments.remove(segment.sequence);
+      segment.close();
+      if (!segment.file.delete()) {
+        LOGGER.warn(String.format("Nao foi possivel apagar segmento do journal [%s]",
+            segment.file));
+      }
+    }
+  }
+
+  /**
+   * Read the existing segments, keeping the notifications not completed
+   *
+   * @return Pending notifications
+   */
+  private Map<Long, Notification> recover() throws IOException {
+    final Map<Long, Notification> recovered = new LinkedHashMap<Long, Notification>();
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      Arrays.sort(files);
+      for (File file : files) {
+        final String name = file.getName();
+        if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+          final long sequence = Long.parseLong(name.substring(PREFIX.length(),
+              name.length() - SUFFIX.length()));
+          final Segment segment = openSegment(file, sequence);
+          segments.put(sequence, segment);
+          read(segment, recovered);
+        }
+      }
+    }
+    if (segments.isEmpty()) {
+      current = createSegment(0L);
+    } else {
+      current = segments.lastEntry().getValue();
+    }
+    deleteCompletedSegments();
+    if (!recovered.isEmpty()) {
+      LOGGER.info(String.format("Journal com %d notificacoes pendentes", recovered.size()));
+    }
+    return recovered;
+  }
+
+  private void read(Segment segment, Map<Long, Notification> recovered) {
+    final MappedByteBuffer buffer = segment.buffer;
+    while (buffer.remaining() >= HEADER_SIZE) {
+      final int start = buffer.position();
+      final int length = buffer.getInt();
+      final int checksum = buffer.getInt();
+      if (length <= 0 || length > buffer.remaining()) {
+        buffer.position(start);
+        break;
+      }
+      final byte[] payload = new byte[length];
+      buffer.get(payload);
+      final CRC32 crc = new CRC32();
+      crc.update(payload, 0, length);
+      if ((int) crc.getValue() != checksum) {
+        buffer.position(start);
+        break;
+      }
+      final ByteBuffer record = ByteBuffer.wrap(payload);
+      final byte kind = record.get();
+      final long id = record.getLong();
+      nextId = Math.max(nextId, id + 1);
+      if (kind == APPENDED) {
+        final Notification notification = readNotification(record);
+        if (notification == null) {
+          LOGGER.warn(String.format("Registro invalido no journal [%d] ignorado", id));
+          continue;
+        }
+        recovered.put(id, notification);
+        segment.pendingCount++;
+        segmentById.put(id, segment);
+      } else if (kind == COMPLETED) {
+        recovered.remove(id);
+        final Segment appended = segmentById.remove(id);
+        if (appended != null) {
+          appended.pendingCount--;
+        }
+      }
+    }
+    final int end = buffer.position();
+    while (buffer.hasRemaining()) {
+      buffer.put((byte) 0);
+    }
+    buffer.position(end);
+  }
+
+  private static Notification readNotification(ByteBuffer record) {
+    final long receivedAt = record.getLong();
+    final String type = readString(record);
+    final String code = readString(record);
+    if (type == null || code == null) {
+      return null;
+    }
+    try {
+      return new Notification(code, NotificationType.valueOf(type), receivedAt);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String readString(ByteBuffer record) {
+    if (record.remaining() < 2) {
+      return null;
+    }
+    final int length = record.getShort();
+    if (length < 0 || length > record.remaining()) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    record.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private Segment createSegment(long sequence) throws IOException {
+    final File file = new File(directory, String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    final Segment segment = openSegment(file, sequence);
+    segments.put(sequence, segment);
+    return segment;
+  }
+
+  private Segment openSegment(File file, long sequence) throws IOException {
+    final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    final FileChannel channel = randomAccessFile.getChannel();
+    final long size = Math.max(segmentSize, channel.size());
+    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    return new Segment(sequence, file, randomAccessFile, buffer);
+  }
+
+  /**
+   * Segment file of journal
+   */
+  private static class Segment {
+
+    private final long sequence;
+
+    private final File file;
+
+    private final RandomAccessFile randomAccessFile;
+
+    private final MappedByteBuffer buffer;
+
+    private int pendingCount;
+
+    Segment(long sequence, File file, RandomAccessFile randomAccessFile,
+            MappedByteBuffer buffer) {
+      this.sequence = sequence;
+      this.file = file;
+      this.randomAccessFile = randomAccessFile;
+      this.buffer = buffer;
+    }
+
+    void close() {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.warn(String.format("Erro ao fechar segmento do journal [%s]", file), e);
+      }
+    }
+  }
+
+  /**
+   * Flusher thread. Forces the current segment and calls the callbacks waiting for it
+   */
+  private class Flusher implements Runnable {
+
+    @Override
+    public void run() {
+      while (true) {
+        final List<Runnable> callbacks;
+        final MappedByteBuffer buffer;
+        lock.lock();
+        try {
+          while (waiting.isEmpty() && !closed) {
+            flushRequested.await();
+          }
+          if (waiting.isEmpty()) {
+            return;
+          }
+          callbacks = waiting;
+          waiting = new ArrayList<Runnable>();
+          buffer = current.buffer;
+        } catch (InterruptedException e) {
+          return;
+        } finally {
+          lock.unlock();
+        }
+        buffer.force();
+        for (Runnable callback : callbacks) {
+          try {
+            callback.run();
+          } catch (RuntimeException e) {
+            LOGGER.error("Erro ao confirmar notificacao do journal", e);
+          }
+        }
+      }
+    }
+  }
+}
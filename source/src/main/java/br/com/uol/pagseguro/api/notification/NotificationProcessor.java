@@ -0,0 +1,338 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Processes notifications asynchronously. Notifications are queued on a bounded queue and resolved
+ * by a fixed pool of workers. When the queue is full the notification is rejected, so PagSeguro
+ * sends it again later instead of holding a container thread. Notifications failing with service
+ * unavailable or with an input or output error are retried with backoff, and the notifications
+ * that still fail are handed to the dead letter handler. With a journal, a notification is
+ * completed only when it is processed, so the failed ones are replayed when the processor is built
+ * again
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see NotificationProcessorBuilder
+ * @see NotificationsResource#handleAsync
+ */
+public class NotificationProcessor {
+
+  private static Log LOGGER = LoggerFactory.getLogger(NotificationProcessor.class);
+
+  private static final long NO_JOURNAL = -1L;
+
+  private final NotificationDispatcher dispatcher;
+
+  private final PagSeguroNotificationHandler handler;
+
+  private final ThreadPoolExecutor executor;
+
+  private final int queueCapacity;
+
+  private final NotificationDeduplicationStore deduplicationStore;
+
+  private final NotificationJournal journal;
+
+  private final int maxAttempts;
+
+  private final long retryDelayMillis;
+
+  private final NotificationDeadLetterHandler deadLetterHandler;
+
+  private final AtomicLong accepted = new AtomicLong();
+
+  private final AtomicLong rejected = new AtomicLong();
+
+  private final AtomicLong duplicated = new AtomicLong();
+
+  private final AtomicLong processed = new AtomicLong();
+
+  private final AtomicLong failed = new AtomicLong();
+
+  private final AtomicLong started = new AtomicLong();
+
+  private final AtomicLong totalLag = new AtomicLong();
+
+  private final AtomicLong lastLag = new AtomicLong();
+
+  private final AtomicLong maxLag = new AtomicLong();
+
+  /**
+   * Constructor
+   *
+   * @param builder Builder with the configuration
+   */
+  NotificationProcessor(NotificationProcessorBuilder builder) {
+    this.dispatcher = builder.getDispatcher();
+    this.handler = builder.getHandler();
+    this.queueCapacity = builder.getQueueCapacity();
+    this.deduplicationStore = builder.getDeduplicationStore();
+    this.journal = builder.getJournal();
+    this.maxAttempts = builder.getMaxAttempts();
+    this.retryDelayMillis = builder.getRetryDelayMillis();
+    this.deadLetterHandler = builder.getDeadLetterHandler();
+    this.executor = new ThreadPoolExecutor(builder.getWorkers(), builder.getWorkers(), 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity),
+        builder.getThreadFactory());
+    if (journal != null && !journal.getPending().isEmpty()) {
+      builder.getThreadFactory().newThread(new ReplayTask(journal.getPending())).start();
+    }
+  }
+
+  /**
+   * Submit a notification. The acknowledgement is called when the notification is queued or
+   * rejected. Repeated deliveries are acknowledged as accepted without being queued. When there
+   * is a journal, queued notifications are acknowledged by the journal flusher thread after being
+   * durable
+   *
+   * @param notification    Notification
+   * @param acknowledgement Acknowledgement
+   */
+  public void submit(Notification notification, NotificationAcknowledgement acknowledgement) {
+    if (deduplicationStore != null && !deduplicationStore.markIfAbsent(notification.getKey())) {
+      duplicated.incrementAndGet();
+      LOGGER.info(String.format("Notificacao repetida ignorada [%s]", notification.getCode()));
+      acknowledgement.accepted(notification);
+      return;
+    }
+    long id = NO_JOURNAL;
+    if (journal != null) {
+      try {
+        id = journal.append(notification);
+      } catch (RuntimeException e) {
+        unmark(notification);
+        rejected.incrementAndGet();
+        LOGGER.error(String.format("Erro ao gravar notificacao no journal [%s]",
+            notification.getCode()), e);
+        acknowledgement.rejected(notification, e);
+        return;
+      }
+    }
+    try {
+      executor.execute(new NotificationTask(notification, id));
+    } catch (RejectedExecutionException e) {
+      complete(id);
+      unmark(notification);
+      rejected.incrementAndGet();
+      LOGGER.warn(String.format("Notificacao rejeitada, fila cheia [%s]", notification.getCode()));
+      acknowledgement.rejected(notification, e);
+      return;
+    }
+    accepted.incrementAndGet();
+    if (journal != null) {
+      journal.sync(new DurableAcknowledgement(notification, acknowledgement));
+    } else {
+      acknowledgement.accepted(notification);
+    }
+  }
+
+  /**
+   * Get metrics of the processor
+   *
+   * @return Snapshot of metrics
+   */
+  public NotificationProcessorMetrics getMetrics() {
+    final long startedCount = started.get();
+    final long averageLag = startedCount == 0 ? 0L : totalLag.get() / startedCount;
+    return new NotificationProcessorMetrics(executor.getQueue().size(), queueCapacity,
+        executor.getActiveCount(), accepted.get(), rejected.get(), duplicated.get(),
+        processed.get(), failed.get(), lastLag.get(), maxLag.get(), averageLag);
+  }
+
+  /**
+   * Stop accepting notifications. Queued notifications are still processed
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Wait the queued notifications after shutdown
+   *
+   * @param timeout Timeout
+   * @param unit    Unit of timeout
+   * @return True if all notifications were processed
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Resolve and dispatch a notification, retrying the transient failures
+   *
+   * @param notification Notification
+   * @return True if the notification was processed
+   */
+  boolean process(Notification notification) {
+    final long lag = Math.max(0L, System.currentTimeMillis() - notification.getReceivedAt());
+    lastLag.set(lag);
+    totalLag.addAndGet(lag);
+    started.incrementAndGet();
+    long max = maxLag.get();
+    while (lag > max && !maxLag.compareAndSet(max, lag)) {
+      max = maxLag.get();
+    }
+    int attempt = 0;
+    while (true) {
+      attempt++;
+      try {
+        dispatcher.dispatch(notification, handler);
+        processed.incrementAndGet();
+        return true;
+      } catch (RuntimeException e) {
+        if (isTransient(e) && attempt < maxAttempts) {
+          LOGGER.warn(String.format("Falha transitoria na notificacao [%s], tentativa %d",
+              notification.getCode(), attempt));
+          try {
+            TimeUnit.MILLISECONDS.sleep(retryDelayMillis << Math.min(attempt - 1, 16));
+            continue;
+          } catch (InterruptedException interruption) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        unmark(notification);
+        failed.incrementAndGet();
+        LOGGER.error(String.format("Erro ao processar notificacao [%s]", notification.getCode()),
+            e);
+        deadLetter(notification, e);
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Check if a failure is transient. The lookup of a notification is a read, so it is retried
+   * after any input or output error, and not only when the connection was not established
+   *
+   * @param e Failure
+   * @return True if the notification can be retried
+   */
+  static boolean isTransient(RuntimeException e) {
+    return e instanceof PagSeguroServiceUnavailableException
+           || (e instanceof PagSeguroLibException && e.getCause() instanceof IOException);
+  }
+
+  private void deadLetter(Notification notification, RuntimeException e) {
+    if (deadLetterHandler == null) {
+      return;
+    }
+    try {
+      deadLetterHandler.handleDeadLetter(notification, e);
+    } catch (RuntimeException handlerError) {
+      LOGGER.error(String.format("Erro no tratamento de notificacao com falha [%s]",
+          notification.getCode()), handlerError);
+    }
+  }
+
+  private void complete(long id) {
+    if (id != NO_JOURNAL) {
+      journal.complete(id);
+    }
+  }
+
+  private void unmark(Notification notification) {
+    if (deduplicationStore != null) {
+      deduplicationStore.unmark(notification.getKey());
+    }
+  }
+
+  /**
+   * Task of a queued notification
+   */
+  private class NotificationTask implements Runnable {
+
+    private final Notification notification;
+
+    private final long id;
+
+    NotificationTask(Notification notification, long id) {
+      this.notification = notification;
+      this.id = id;
+    }
+
+    @Override
+    public void run() {
+      if (process(notification)) {
+        complete(id);
+      }
+    }
+  }
+
+  /**
+   * Acknowledgement of a notification made durable by the journal
+   */
+  private static class DurableAcknowledgement implements Runnable {
+
+    private final Notification notification;
+
+    private final NotificationAcknowledgement acknowledgement;
+
+    DurableAcknowledgement(Notification notification,
+                           NotificationAcknowledgement acknowledgement) {
+      this.notification = notification;
+      this.acknowledgement = acknowledgement;
+    }
+
+    @Override
+    public void run() {
+      acknowledgement.accepted(notification);
+    }
+  }
+
+  /**
+   * Task that processes the pending notifications of the journal, in the order they were accepted
+   */
+  private class ReplayTask implements Runnable {
+
+    private final Map<Long, Notification> pending;
+
+    ReplayTask(Map<Long, Notification> pending) {
+      this.pending = pending;
+    }
+
+    @Override
+    public void run() {
+      LOGGER.info(String.format("Reprocessando %d notificacoes do journal", pending.size()));
+      for (Map.Entry<Long, Notification> entry : pending.entrySet()) {
+        if (deduplicationStore != null) {
+          deduplicationStore.markIfAbsent(entry.getValue().getKey());
+        }
+        if (process(entry.getValue())) {
+          complete(entry.getKey());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.util.concurrent.ThreadFactory;
+
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.Threads;
+
+/**
+ * Builder for notification processor
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see NotificationsResource#processor(PagSeguroNotificationHandler)
+ */
+public final class NotificationProcessorBuilder implements Builder<NotificationProcessor> {
+
+  private final NotificationDispatcher dispatcher;
+
+  private final PagSeguroNotificationHandler handler;
+
+  private int workers = 4;
+
+  private int queueCapacity = 1000;
+
+  private int maxAttempts = 3;
+
+  private long retryDelayMillis = 1000;
+
+  private ThreadFactory threadFactory = Threads.threadFactory("pagseguro-notification-");
+
+  private NotificationDeduplicationStore deduplicationStore;
+
+  private NotificationJournal journal;
+
+  private NotificationDeadLetterHandler deadLetterHandler;
+
+  /**
+   * Constructor
+   *
+   * @param dispatcher Dispatcher used by the workers
+   * @param handler    Notification handler
+   */
+  public NotificationProcessorBuilder(NotificationDispatcher dispatcher,
+                                      PagSeguroNotificationHandler handler) {
+    this.dispatcher = dispatcher;
+    this.handler = handler;
+  }
+
+  /**
+   * Set number of workers. The default is 4
+   *
+   * @param workers Workers
+   * @return Builder for notification processor
+   */
+  public NotificationProcessorBuilder withWorkers(int workers) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("Workers must be positive");
+    }
+    this.workers = workers;
+    return this;
+  }
+
+  /**
+   * Set capacity of queue. Notifications received when the queue is full are rejected. The
+   * default is 1000
+   *
+   * @param queueCapacity Queue capacity
+   * @return Builder for notification processor
+   */
+  public NotificationProcessorBuilder withQueueCapacity(int queueCapacity) {
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be positive");
+    }
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
+  /**
+   * Set maximum number of attempts of a notification failing with service unavailable or with an
+   * input or output error. Other failures are not retried. The default is 3
+   *
+   * @param maxAttempts Maximum attempts
+   * @return Builder for notification processor
+   */
+  public NotificationProcessorBuilder withMaxAttempts(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Max attempts must be positive");
+    }
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  /**
+   * Set delay before the first retry. The delay doubles on each retry and holds the worker. The
+   * default is 1 second
+   *
+   * @param retryDelayMillis Delay in milliseconds
+   * @return Builder for notification processor
+   */
+  public NotificationProcessorBuilder withRetryDelay(long retryDelayMillis) {
+    if (retryDelayMillis < 0) {
+      throw new IllegalArgumentException("Retry delay must not be negative");
+    }
+    this.retryDelayMillis = retryDelayMillis;
+    return this;
+  }
+
+  /**
+   * Set thread factory of workers. The default creates virtual threads on Java 21 or later and
+   * daemon threads otherwise
+   *
+   * @param threadFactory Thread factory
+   * @return Builder for notification processor
+   */
+  public NotificationProcessorBuilder withThreadFactory(ThreadFactory threadFactory) {
+    if (threadFactory == null) {
+      throw new NullPointerException();
+    }
+    this.threadFactory = threadFactory;
+    return this;
+  }
+
+  /**
+   * Set store used to suppress repeated deliveries of a notification. Repeated deliveries are
+   * acknowledged without being processed. There is no deduplication by default
+   *
+   * @param deduplicationStore Deduplication store
+   * @return Builder for notification processor
+   * @see InMemoryNotificationDeduplicationStore
+   */
+  public NotificationProcessorBuilder withDeduplicationStore(
+      NotificationDeduplicationStore deduplicationStore) {
+    this.deduplicationStore = deduplicationStore;
+    return this;
+  }
+
+  /**
+   * Set journal of accepted notifications. Accepted notifications are acknowledged only after
+   * being durable on the journal, and stay pending until processed. The pending notifications of
+   * the journal, including the ones that failed, are replayed when the processor is built. There
+   * is no journal by default
+   *
+   * @param journal Notification journal
+   * @return Builder for notification processor
+   * @see NotificationJournal#open(java.io.File)
+   */
+  public NotificationProcessorBuilder withJournal(NotificationJournal journal) {
+    this.journal = journal;
+    return this;
+  }
+
+  /**
+   * Set handler of the notifications that failed on the last attempt. There is no dead letter
+   * handler by default
+   *
+   * @param deadLetterHandler Dead letter handler
+   * @return Builder for notification processor
+   */
+  public NotificationProcessorBuilder withDeadLetterHandler(
+      NotificationDeadLetterHandler deadLetterHandler) {
+    this.deadLetterHandler = deadLetterHandler;
+    return this;
+  }
+
+  NotificationDispatcher getDispatcher() {
+    return dispatcher;
+  }
+
+  PagSeguroNotificationHandler getHandler() {
+    return handler;
+  }
+
+  int getWorkers() {
+    return workers;
+  }
+
+  int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  long getRetryDelayMillis() {
+    return retryDelayMillis;
+  }
+
+  ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  NotificationDeduplicationStore getDeduplicationStore() {
+    return deduplicationStore;
+  }
+
+  NotificationJournal getJournal() {
+    return journal;
+  }
+
+  NotificationDeadLetterHandler getDeadLetterHandler() {
+    return deadLetterHandler;
+  }
+
+  /**
+   * Build the notification processor. The workers are started on demand, and the pending
+   * notifications of the journal are replayed on a thread of the thread factory
+   *
+   * @return Notification processor
+   */
+  @Override
+  public NotificationProcessor build() {
+    return new NotificationProcessor(this);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+/**
+ * Snapshot of the metrics of a {@link NotificationProcessor}. Lag is the time between receiving a
+ * notification and starting to process it
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class NotificationProcessorMetrics {
+
+  private final int queueDepth;
+
+  private final int queueCapacity;
+
+  private final int activeWorkers;
+
+  private final long accepted;
+
+  private final long rejected;
+
+  private final long duplicated;
+
+  private final long processed;
+
+  private final long failed;
+
+  private final long lastLagMillis;
+
+  private final long maxLagMillis;
+
+  private final long averageLagMillis;
+
+  NotificationProcessorMetrics(int queueDepth, int queueCapacity, int activeWorkers,
+                               long accepted, long rejected, long duplicated, long processed,
+                               long failed, long lastLagMillis, long maxLagMillis,
+                               long averageLagMillis) {
+    this.queueDepth = queueDepth;
+    this.queueCapacity = queueCapacity;
+    this.activeWorkers = activeWorkers;
+    this.accepted = accepted;
+    this.rejected = rejected;
+    this.duplicated = duplicated;
+    this.processed = processed;
+    this.failed = failed;
+    this.lastLagMillis = lastLagMillis;
+    this.maxLagMillis = maxLagMillis;
+    this.averageLagMillis = averageLagMillis;
+  }
+
+  /**
+   * Get number of notifications waiting on queue
+   *
+   * @return Queue depth
+   */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * Get capacity of queue
+   *
+   * @return Queue capacity
+   */
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * Get number of workers processing a notification
+   *
+   * @return Active workers
+   */
+  public int getActiveWorkers() {
+    return activeWorkers;
+  }
+
+  /**
+   * Get number of notifications accepted
+   *
+   * @return Accepted notifications
+   */
+  public long getAccepted() {
+    return accepted;
+  }
+
+  /**
+   * Get number of notifications rejected because the queue was full
+   *
+   * @return Rejected notifications
+   */
+  public long getRejected() {
+    return rejected;
+  }
+
+  /**
+   * Get number of repeated deliveries ignored
+   *
+   * @return Duplicated notifications
+   */
+  public long getDuplicated() {
+    return duplicated;
+  }
+
+  /**
+   * Get number of notifications dispatched to the handler
+   *
+   * @return Processed notifications
+   */
+  public long getProcessed() {
+    return processed;
+  }
+
+  /**
+   * Get number of notifications that failed on lookup or on the handler
+   *
+   * @return Failed notifications
+   */
+  public long getFailed() {
+    return failed;
+  }
+
+  /**
+   * Get lag of the last notification started
+   *
+   * @return Lag in milliseconds
+   */
+  public long getLastLagMillis() {
+    return lastLagMillis;
+  }
+
+  /**
+   * Get max lag
+   *
+   * @return Lag in milliseconds
+   */
+  public long getMaxLagMillis() {
+    return maxLagMillis;
+  }
+
+  /**
+   * Get average lag of the notifications started
+   *
+   * @return Lag in milliseconds
+   */
+  public long getAverageLagMillis() {
+    return averageLagMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "NotificationProcessorMetrics{" +
+        "queueDepth=" + queueDepth +
+        ", queueCapacity=" + queueCapacity +
+        ", activeWorkers=" + activeWorkers +
+        ", accepted=" + accepted +
+        ", rejected=" + rejected +
+        ", duplicated=" + duplicated +
+        ", processed=" + processed +
+        ", failed=" + failed +
+        ", lastLagMillis=" + lastLagMillis +
+        ", maxLagMillis=" + maxLagMillis +
+        ", averageLagMillis=" + averageLagMillis +
+        '}';
+  }
+}
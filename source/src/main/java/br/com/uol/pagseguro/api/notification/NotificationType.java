@@ -21,6 +21,8 @@
 
 package br.com.uol.pagseguro.api.notification;
 
+import br.com.uol.pagseguro.api.utils.CaseInsensitiveLookup;
+
 /**
  * Notification type enum. This class defines the notification type.
  *
@@ -50,6 +52,8 @@ public enum NotificationType {
 
   private final String name;
 
+  private static final CaseInsensitiveLookup<NotificationType> BY_NAME = index();
+
   /**
    * Constructor
    *
@@ -66,11 +70,20 @@ public enum NotificationType {
    * @return Notification type
    */
   public static NotificationType fromName(String name) {
-    for (NotificationType notificationType : NotificationType.values()) {
-      if (notificationType.name != null && notificationType.name.equalsIgnoreCase(name)) {
-        return notificationType;
-      }
+    return BY_NAME.get(name, OTHER);
+  }
+
+  /**
+   * Index the enums by name
+   *
+   * @return Enums indexed by name
+   */
+  private static CaseInsensitiveLookup<NotificationType> index() {
+    final CaseInsensitiveLookup<NotificationType> index =
+        new CaseInsensitiveLookup<NotificationType>();
+    for (NotificationType notificationType : values()) {
+      index.put(notificationType.name, notificationType);
     }
-    return OTHER;
+    return index;
   }
 }
@@ -21,7 +21,12 @@
 
 package br.com.uol.pagseguro.api.notification;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
@@ -42,9 +47,45 @@ public class NotificationsResource {
 
   private final HttpClient httpClient;
 
+  private final NotificationDispatcher dispatcher;
+
   public NotificationsResource(PagSeguro pagSeguro, HttpClient httpClient) {
     this.pagSeguro = pagSeguro;
     this.httpClient = httpClient;
+    this.dispatcher = new NotificationDispatcher(pagSeguro);
+  }
+
+  /**
+   * Create a builder of processor, used to handle notifications asynchronously
+   *
+   * @param handler Notification handler
+   * @return Builder for notification processor
+   * @see #handleAsync(HttpServletRequest, HttpServletResponse, NotificationProcessor)
+   */
+  public NotificationProcessorBuilder processor(PagSeguroNotificationHandler handler) {
+    return new NotificationProcessorBuilder(dispatcher, handler);
+  }
+
+  /**
+   * Create a builder of embedded http server that submits the notifications to the processor,
+   * used to receive notifications without a servlet container
+   *
+   * @param processor Notification processor
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder server(NotificationProcessor processor) {
+    return new NotificationHttpServerBuilder(processor);
+  }
+
+  /**
+   * Create a builder of embedded http server that dispatches the notifications on the request
+   * thread, used to receive notifications without a servlet container
+   *
+   * @param handler Notification handler
+   * @return Builder for notification http server
+   */
+  public NotificationHttpServerBuilder server(PagSeguroNotificationHandler handler) {
+    return new NotificationHttpServerBuilder(dispatcher, handler);
   }
 
   /**
@@ -54,6 +95,20 @@ public class NotificationsResource {
    * @param handle  Notification handle
    */
   public void handle(HttpServletRequest request, PagSeguroNotificationHandler handle) {
+    handle(request, handle, null);
+  }
+
+  /**
+   * Handle notifications, ignoring repeated deliveries. When the handler fails the notification
+   * is forgotten by the store, so the next delivery is processed
+   *
+   * @param request            Http Servlet Request
+   * @param handle             Notification handle
+   * @param deduplicationStore Deduplication store
+   * @see InMemoryNotificationDeduplicationStore
+   */
+  public void handle(HttpServletRequest request, PagSeguroNotificationHandler handle,
+                     NotificationDeduplicationStore deduplicationStore) {
     LOGGER.info("Iniciando handler de notificacoes");
     if (request.getParameter("notificationCode").isEmpty()
         || request.getParameter("notificationType").isEmpty()) {
@@ -62,26 +117,108 @@ public class NotificationsResource {
     }
     NotificationType notificationType =
         NotificationType.fromName(request.getParameter("notificationType"));
-    switch (notificationType) {
-      case TRANSACTION:
-        LOGGER.info("Notificacao de transacao");
-        handle.handleTransactionNotification(pagSeguro.transactions().search()
-            .byNotificationCode(request.getParameter("notificationCode")));
-        break;
-      case APPLICATION_AUTHORIZATION:
-        LOGGER.info("Notificacao de autorizcao");
-        handle.handleAuthorizationNotification(pagSeguro.authorizations().search()
-            .byNotificationCode(request.getParameter("notificationCode")));
-        break;
-      case PRE_APPROVAL:
-        LOGGER.info("Notificacao de assinatura");
-        handle.handlePreApprovalNotification(pagSeguro.preApprovals().search()
-            .byNotificationCode(request.getParameter("notificationCode")));
-        break;
-      default:
-        throw new PagSeguroLibException(new IllegalArgumentException("Notification not exists"));
+    Notification notification = new Notification(request.getParameter("notificationCode"),
+        notificationType, System.currentTimeMillis());
+    if (deduplicationStore == null) {
+      dispatcher.dispatch(notification, handle);
+    } else if (deduplicationStore.markIfAbsent(notification.getKey())) {
+      try {
+        dispatcher.dispatch(notification, handle);
+      } catch (RuntimeException e) {
+        deduplicationStore.unmark(notification.getKey());
+        throw e;
+      }
+    } else {
+      LOGGER.info("Notificacao repetida ignorada");
     }
     LOGGER.info("Handler de notificacoes finalizado");
   }
 
+  /**
+   * Handle notifications asynchronously. The notification is validated and queued on the
+   * processor, and the request is answered without waiting the lookup on PagSeguro. When the
+   * processor rejects the notification, the request is answered with status 503 so PagSeguro
+   * sends it again later. Uses {@code AsyncContext} when the request supports it. Otherwise the
+   * request thread waits for the acknowledgement, so the response is not committed before the
+   * notification is durable on the journal
+   *
+   * @param request   Http Servlet Request
+   * @param response  Http Servlet Response
+   * @param processor Notification processor
+   */
+  public void handleAsync(HttpServletRequest request, HttpServletResponse response,
+                          NotificationProcessor processor) {
+    final Notification notification;
+    try {
+      notification = Notification.fromParameters(request.getParameter("notificationCode"),
+          request.getParameter("notificationType"));
+    } catch (IllegalArgumentException e) {
+      throw new PagSeguroLibException(e);
+    }
+    AsyncContext asyncContext = null;
+    if (request.isAsyncSupported()) {
+      asyncContext = request.startAsync();
+    }
+    final ServletAcknowledgement acknowledgement =
+        new ServletAcknowledgement(response, asyncContext);
+    processor.submit(notification, acknowledgement);
+    if (asyncContext == null) {
+      acknowledgement.await();
+    }
+  }
+
+  /**
+   * Acknowledgement that answers the servlet response. Without {@code AsyncContext}, the request
+   * thread waits for the answer
+   */
+  private static class ServletAcknowledgement implements NotificationAcknowledgement {
+
+    private final HttpServletResponse response;
+
+    private final AsyncContext asyncContext;
+
+    private final AtomicBoolean answered = new AtomicBoolean();
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    ServletAcknowledgement(HttpServletResponse response, AsyncContext asyncContext) {
+      this.response = response;
+      this.asyncContext = asyncContext;
+    }
+
+    @Override
+    public void accepted(Notification notification) {
+      complete(HttpServletResponse.SC_OK);
+    }
+
+    @Override
+    public void rejected(Notification notification, Throwable cause) {
+      complete(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Wait for the answer. If the request thread is interrupted, the request is answered with
+     * status 503 so PagSeguro sends the notification again later
+     */
+    void await() {
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        complete(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      }
+    }
+
+    private void complete(int status) {
+      if (!answered.compareAndSet(false, true)) {
+        return;
+      }
+      response.setStatus(status);
+      if (asyncContext != null) {
+        asyncContext.complete();
+      }
+      done.countDown();
+    }
+  }
+
 }
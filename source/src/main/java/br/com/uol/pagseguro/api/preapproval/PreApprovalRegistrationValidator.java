@@ -0,0 +1,69 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval;
+
+import br.com.uol.pagseguro.api.common.domain.validator.CheckoutSenderValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.CheckoutShippingValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.PreApprovalValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.Validations;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for Pre Approval Registration. Uses the error codes of checkouts
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class PreApprovalRegistrationValidator extends AbstractValidator<PreApprovalRegistration> {
+
+  private static final CheckoutSenderValidator SENDER_V = new CheckoutSenderValidator();
+
+  private static final CheckoutShippingValidator SHIPPING_V = new CheckoutShippingValidator();
+
+  private static final PreApprovalValidator PRE_APPROVAL_V = new PreApprovalValidator();
+
+  PreApprovalRegistrationValidator() {
+  }
+
+  /**
+   * Validate Pre Approval Registration
+   *
+   * @param errors                  Errors found
+   * @param preApprovalRegistration Pre Approval Registration
+   * @see PreApprovalRegistration
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors,
+                            PreApprovalRegistration preApprovalRegistration) {
+    if (preApprovalRegistration.getCurrency() == null) {
+      errors.add(11004, "currency is required.");
+    }
+    if (Validations.isLongerThan(preApprovalRegistration.getReference(), 200)) {
+      errors.add(11008, String.format("reference invalid length: %s",
+          preApprovalRegistration.getReference()));
+    }
+    SENDER_V.validate(errors, preApprovalRegistration.getSender());
+    SHIPPING_V.validate(errors, preApprovalRegistration.getShipping());
+    PRE_APPROVAL_V.validate(errors, preApprovalRegistration.getPreApproval());
+  }
+
+}
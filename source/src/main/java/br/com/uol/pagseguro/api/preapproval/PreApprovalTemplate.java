@@ -0,0 +1,298 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.common.domain.Parameter;
+import br.com.uol.pagseguro.api.common.domain.PreApproval;
+import br.com.uol.pagseguro.api.common.domain.Sender;
+import br.com.uol.pagseguro.api.common.domain.Shipping;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.utils.AbstractRequestTemplate;
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.CharSet;
+import br.com.uol.pagseguro.api.utils.RequestMap;
+
+/**
+ * Template of pre approval registrations. The fields shared by the registrations, like the pre
+ * approval plan, redirect and notification urls, are encoded once. A field set by a registration
+ * replaces the field of template
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see PreApprovalsResource#register(PreApprovalTemplate, PreApprovalRegistration)
+ */
+public class PreApprovalTemplate extends AbstractRequestTemplate<PreApprovalRegistration> {
+
+  private static final PreApprovalRegistrationV2MapConverter PRE_APPROVAL_REGISTRATION_MC =
+      new PreApprovalRegistrationV2MapConverter();
+
+  private static final String REDIRECT_URL = "redirectURL";
+
+  private static final String NOTIFICATION_URL = "notificationURL";
+
+  private static final String EXTRA_AMOUNT = "extraAmount";
+
+  private static final String REFERENCE = "reference";
+
+  private static final String CURRENCY = "currency";
+
+  private static final String SHIPPING = "shipping";
+
+  private static final String SENDER = "sender";
+
+  private static final String PRE_APPROVAL = "preApproval";
+
+  private static final String PARAMETERS = "parameters";
+
+  private static final String[] FIELDS = {REDIRECT_URL, NOTIFICATION_URL, EXTRA_AMOUNT,
+      REFERENCE, CURRENCY, SHIPPING, SENDER, PRE_APPROVAL, PARAMETERS};
+
+  /**
+   * Constructor
+   *
+   * @param preApprovalRegistrationBuilder Builder for the fields shared by the registrations
+   */
+  public PreApprovalTemplate(Builder<PreApprovalRegistration> preApprovalRegistrationBuilder) {
+    this(preApprovalRegistrationBuilder.build());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param preApprovalRegistration Fields shared by the registrations
+   */
+  public PreApprovalTemplate(PreApprovalRegistration preApprovalRegistration) {
+    super(preApprovalRegistration, convertFields(preApprovalRegistration), CharSet.ENCODING_ISO);
+  }
+
+  /**
+   * Merge a pre approval registration with the template
+   *
+   * @param preApprovalRegistration Pre Approval Registration
+   * @return Pre approval registration sent
+   * @see AbstractRequestTemplate#merge(Object)
+   */
+  @Override
+  public PreApprovalRegistration merge(PreApprovalRegistration preApprovalRegistration) {
+    return new TemplatePreApprovalRegistration(getRegistration(), preApprovalRegistration);
+  }
+
+  /**
+   * Convert a pre approval registration
+   *
+   * @param preApprovalRegistration Pre Approval Registration
+   * @return Request map of pre approval registration
+   * @see AbstractRequestTemplate#convert(Object)
+   */
+  @Override
+  public RequestMap convert(PreApprovalRegistration preApprovalRegistration) {
+    return PRE_APPROVAL_REGISTRATION_MC.convert(preApprovalRegistration);
+  }
+
+  /**
+   * Check if a pre approval registration replaces a field of template
+   *
+   * @param preApprovalRegistration Pre Approval Registration
+   * @param field                   Field name
+   * @return True if the field of template is not sent
+   * @see AbstractRequestTemplate#isReplaced(Object, String)
+   */
+  @Override
+  protected boolean isReplaced(PreApprovalRegistration preApprovalRegistration, String field) {
+    return isSet(fieldOf(preApprovalRegistration, field));
+  }
+
+  /**
+   * Get a field of a pre approval registration
+   *
+   * @param preApprovalRegistration Pre Approval Registration
+   * @param field                   Field name
+   * @return Value of field
+   */
+  private static Object fieldOf(PreApprovalRegistration preApprovalRegistration, String field) {
+    if (REDIRECT_URL.equals(field)) {
+      return preApprovalRegistration.getRedirectURL();
+    } else if (NOTIFICATION_URL.equals(field)) {
+      return preApprovalRegistration.getNotificationURL();
+    } else if (EXTRA_AMOUNT.equals(field)) {
+      return preApprovalRegistration.getExtraAmount();
+    } else if (REFERENCE.equals(field)) {
+      return preApprovalRegistration.getReference();
+    } else if (CURRENCY.equals(field)) {
+      return preApprovalRegistration.getCurrency();
+    } else if (SHIPPING.equals(field)) {
+      return preApprovalRegistration.getShipping();
+    } else if (SENDER.equals(field)) {
+      return preApprovalRegistration.getSender();
+    } else if (PRE_APPROVAL.equals(field)) {
+      return preApprovalRegistration.getPreApproval();
+    }
+    return preApprovalRegistration.getParameters();
+  }
+
+  /**
+   * Convert each field of template
+   *
+   * @param preApprovalRegistration Pre Approval Registration
+   * @return Request map of each field, by field name
+   */
+  private static Map<String, RequestMap> convertFields(
+      PreApprovalRegistration preApprovalRegistration) {
+    final Map<String, RequestMap> fields = new LinkedHashMap<String, RequestMap>();
+    for (String field : FIELDS) {
+      fields.put(field, PRE_APPROVAL_REGISTRATION_MC.convert(
+          new FieldPreApprovalRegistration(preApprovalRegistration, field)));
+    }
+    return fields;
+  }
+
+  /**
+   * Implementation of {@code PreApprovalRegistration}. Used to convert a single field of
+   * registration
+   *
+   * @see PreApprovalRegistration
+   */
+  private static class FieldPreApprovalRegistration implements PreApprovalRegistration {
+
+    private final PreApprovalRegistration registration;
+
+    private final String field;
+
+    FieldPreApprovalRegistration(PreApprovalRegistration registration, String field) {
+      this.registration = registration;
+      this.field = field;
+    }
+
+    @Override
+    public String getRedirectURL() {
+      return REDIRECT_URL.equals(field) ? registration.getRedirectURL() : null;
+    }
+
+    @Override
+    public String getNotificationURL() {
+      return NOTIFICATION_URL.equals(field) ? registration.getNotificationURL() : null;
+    }
+
+    @Override
+    public BigDecimal getExtraAmount() {
+      return EXTRA_AMOUNT.equals(field) ? registration.getExtraAmount() : null;
+    }
+
+    @Override
+    public String getReference() {
+      return REFERENCE.equals(field) ? registration.getReference() : null;
+    }
+
+    @Override
+    public Currency getCurrency() {
+      return CURRENCY.equals(field) ? registration.getCurrency() : null;
+    }
+
+    @Override
+    public Shipping getShipping() {
+      return SHIPPING.equals(field) ? registration.getShipping() : null;
+    }
+
+    @Override
+    public Sender getSender() {
+      return SENDER.equals(field) ? registration.getSender() : null;
+    }
+
+    @Override
+    public PreApproval getPreApproval() {
+      return PRE_APPROVAL.equals(field) ? registration.getPreApproval() : null;
+    }
+
+    @Override
+    public List<? extends Parameter> getParameters() {
+      return PARAMETERS.equals(field) ? registration.getParameters() : null;
+    }
+  }
+
+  /**
+   * Implementation of {@code PreApprovalRegistration}. Used to merge a registration with the
+   * template
+   *
+   * @see PreApprovalRegistration
+   */
+  private static class TemplatePreApprovalRegistration implements PreApprovalRegistration {
+
+    private final PreApprovalRegistration template;
+
+    private final PreApprovalRegistration registration;
+
+    TemplatePreApprovalRegistration(PreApprovalRegistration template,
+                                    PreApprovalRegistration registration) {
+      this.template = template;
+      this.registration = registration;
+    }
+
+    @Override
+    public String getRedirectURL() {
+      return valueOf(registration.getRedirectURL(), template.getRedirectURL());
+    }
+
+    @Override
+    public String getNotificationURL() {
+      return valueOf(registration.getNotificationURL(), template.getNotificationURL());
+    }
+
+    @Override
+    public BigDecimal getExtraAmount() {
+      return valueOf(registration.getExtraAmount(), template.getExtraAmount());
+    }
+
+    @Override
+    public String getReference() {
+      return valueOf(registration.getReference(), template.getReference());
+    }
+
+    @Override
+    public Currency getCurrency() {
+      return valueOf(registration.getCurrency(), template.getCurrency());
+    }
+
+    @Override
+    public Shipping getShipping() {
+      return valueOf(registration.getShipping(), template.getShipping());
+    }
+
+    @Override
+    public Sender getSender() {
+      return valueOf(registration.getSender(), template.getSender());
+    }
+
+    @Override
+    public PreApproval getPreApproval() {
+      return valueOf(registration.getPreApproval(), template.getPreApproval());
+    }
+
+    @Override
+    public List<? extends Parameter> getParameters() {
+      return valueOf(registration.getParameters(), template.getParameters());
+    }
+  }
+
+}
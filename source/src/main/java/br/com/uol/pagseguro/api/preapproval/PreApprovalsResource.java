@@ -26,14 +26,19 @@ import java.io.IOException;
 import br.com.uol.pagseguro.api.Endpoints;
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroValidationException;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
 import br.com.uol.pagseguro.api.http.HttpClient;
 import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
 import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.preapproval.billing.RecurringBillingRunnerBuilder;
 import br.com.uol.pagseguro.api.preapproval.cancel.CancelPreApprovalResponseXML;
 import br.com.uol.pagseguro.api.preapproval.cancel.CancelledPreApproval;
 import br.com.uol.pagseguro.api.preapproval.cancel.PreApprovalCancellation;
 import br.com.uol.pagseguro.api.preapproval.cancel.PreApprovalCancellationV2MapConverter;
 import br.com.uol.pagseguro.api.preapproval.search.PreApprovalSearchResource;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
 import br.com.uol.pagseguro.api.utils.Builder;
 import br.com.uol.pagseguro.api.utils.CharSet;
 import br.com.uol.pagseguro.api.utils.RequestMap;
@@ -53,6 +58,9 @@ public class PreApprovalsResource {
   private static final PreApprovalRegistrationV2MapConverter PRE_APPROVAL_REGISTRATION_MC =
       new PreApprovalRegistrationV2MapConverter();
 
+  private static final PreApprovalRegistrationValidator PRE_APPROVAL_REGISTRATION_V =
+      new PreApprovalRegistrationValidator();
+
   private static final PreApprovalChargingV2MapConverter PRE_APPROVAL_CHARGING_MC =
       new PreApprovalChargingV2MapConverter();
 
@@ -90,14 +98,88 @@ public class PreApprovalsResource {
    */
   public RegisteredPreApproval register(PreApprovalRegistration preApprovalRegistration) {
     LOGGER.info("Iniciando registro pre approval");
+    validate(preApprovalRegistration);
     LOGGER.info("Convertendo valores");
     final RequestMap map = PRE_APPROVAL_REGISTRATION_MC.convert(preApprovalRegistration);
     LOGGER.info("Valores convertidos");
+    return send(null, preApprovalRegistration, map);
+  }
+
+  /**
+   * Pre Approval Registration with a template
+   *
+   * @param preApprovalTemplate            Template with the fields shared by the registrations
+   * @param preApprovalRegistrationBuilder Builder for the fields of this registration
+   * @return Response of pre approval registration
+   * @see PreApprovalTemplate
+   * @see RegisteredPreApproval
+   */
+  public RegisteredPreApproval register(PreApprovalTemplate preApprovalTemplate,
+      Builder<PreApprovalRegistration> preApprovalRegistrationBuilder) {
+    return register(preApprovalTemplate, preApprovalRegistrationBuilder.build());
+  }
+
+  /**
+   * Pre Approval Registration with a template. Only the fields of registration are converted,
+   * the fields of template were encoded on its creation
+   *
+   * @param preApprovalTemplate     Template with the fields shared by the registrations
+   * @param preApprovalRegistration Fields of this registration
+   * @return Response of pre approval registration
+   * @see PreApprovalTemplate
+   * @see RegisteredPreApproval
+   */
+  public RegisteredPreApproval register(PreApprovalTemplate preApprovalTemplate,
+                                        PreApprovalRegistration preApprovalRegistration) {
+    if (preApprovalTemplate == null || preApprovalRegistration == null) {
+      throw new NullPointerException();
+    }
+    LOGGER.info("Iniciando registro pre approval com template");
+    validate(preApprovalTemplate.merge(preApprovalRegistration));
+    LOGGER.info("Convertendo valores");
+    final RequestMap map = preApprovalTemplate.convert(preApprovalRegistration);
+    LOGGER.info("Valores convertidos");
+    return send(preApprovalTemplate, preApprovalRegistration, map);
+  }
+
+  /**
+   * Validate a pre approval registration before the conversion
+   *
+   * @param preApprovalRegistration Pre Approval Registration
+   * @throws PagSeguroValidationException if the registration is not valid
+   */
+  private void validate(PreApprovalRegistration preApprovalRegistration) {
+    if (!AbstractValidator.isEnabled()) {
+      return;
+    }
+    LOGGER.info("Validando valores");
+    final ValidationErrors errors = PRE_APPROVAL_REGISTRATION_V.validate(preApprovalRegistration);
+    if (!errors.isEmpty()) {
+      LOGGER.error(String.format("Valores invalidos: %s", errors));
+      throw new PagSeguroValidationException(errors);
+    }
+    LOGGER.info("Valores validados");
+  }
+
+  /**
+   * Send a pre approval registration
+   *
+   * @param preApprovalTemplate     Template of registration, or null if it has no template
+   * @param preApprovalRegistration Pre Approval Registration
+   * @param map                     Pre approval registration converted
+   * @return Response of pre approval registration
+   */
+  private RegisteredPreApproval send(PreApprovalTemplate preApprovalTemplate,
+                                     PreApprovalRegistration preApprovalRegistration,
+                                     RequestMap map) {
     final HttpResponse response;
     try {
       LOGGER.debug(String.format("Parametros: %s", map));
+      final HttpRequestBody body = preApprovalTemplate == null
+          ? map.toHttpRequestBody(CharSet.ENCODING_ISO)
+          : preApprovalTemplate.toHttpRequestBody(preApprovalRegistration, map);
       response = httpClient.execute(HttpMethod.POST, String.format(Endpoints.PRE_APPROVAL_REQUEST,
-          pagSeguro.getHost()), null, map.toHttpRequestBody(CharSet.ENCODING_ISO));
+          pagSeguro.getHost()), null, body);
       LOGGER.debug(String.format("Resposta: %s", response.toString()));
     } catch (IOException e) {
       LOGGER.error("Erro ao executar registro pre approval");
@@ -167,6 +249,16 @@ public class PreApprovalsResource {
     return new PreApprovalSearchResource(pagSeguro, httpClient);
   }
 
+  /**
+   * Factory to run the charges of a recurring billing
+   *
+   * @return Builder for recurring billing runner
+   * @see RecurringBillingRunnerBuilder
+   */
+  public RecurringBillingRunnerBuilder recurringBilling() {
+    return new RecurringBillingRunnerBuilder(pagSeguro);
+  }
+
   /**
    * Pre Approval Charging
    *
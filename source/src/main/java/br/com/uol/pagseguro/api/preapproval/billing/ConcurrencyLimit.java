@@ -0,0 +1,125 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit with additive increase and multiplicative decrease. The limit grows by one
+ * after a full limit of successful calls and halves when a call signals that the server is
+ * overloaded. Callers wait on a lock condition, not on a monitor, so a virtual thread waiting for
+ * a call releases its carrier
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class ConcurrencyLimit {
+
+  private final int min;
+
+  private final int max;
+
+  private int limit;
+
+  private int inFlight;
+
+  private int successes;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition released = lock.newCondition();
+
+  /**
+   * Constructor
+   *
+   * @param initial Initial limit
+   * @param min     Minimum limit
+   * @param max     Maximum limit
+   */
+  ConcurrencyLimit(int initial, int min, int max) {
+    this.min = min;
+    this.max = max;
+    this.limit = Math.max(min, Math.min(initial, max));
+  }
+
+  /**
+   * Wait until a call is allowed
+   */
+  void acquire() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (inFlight >= limit) {
+        released.await();
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Release a call without changing the limit
+   */
+  void release() {
+    lock.lock();
+    try {
+      inFlight--;
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Release a call and adapt the limit
+   *
+   * @param overloaded True if the server signaled overload
+   */
+  void release(boolean overloaded) {
+    lock.lock();
+    try {
+      if (overloaded) {
+        limit = Math.max(min, limit / 2);
+        successes = 0;
+      } else if (++successes >= limit) {
+        limit = Math.min(max, limit + 1);
+        successes = 0;
+      }
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Get current limit
+   *
+   * @return Limit
+   */
+  int getLimit() {
+    lock.lock();
+    try {
+      return limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+/**
+ * Histogram of latencies with log linear buckets. Values below 64 are exact and bigger values
+ * are recorded with 5 bits of precision, so the percentiles have an error below 3.2%
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 32;
+
+  private final long[] counts = new long[64 + 58 * SUB_BUCKETS];
+
+  private long total;
+
+  private long max;
+
+  /**
+   * Record a value
+   *
+   * @param value Value, negative values are recorded as zero
+   */
+  synchronized void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts[index(value)]++;
+    total++;
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  /**
+   * Get number of values recorded
+   *
+   * @return Number of values
+   */
+  synchronized long getTotal() {
+    return total;
+  }
+
+  /**
+   * Get biggest value recorded
+   *
+   * @return Biggest value or zero if there is no value
+   */
+  synchronized long getMax() {
+    return max;
+  }
+
+  /**
+   * Get percentile
+   *
+   * @param percentile Percentile, between 0 and 100
+   * @return Lowest value of the bucket of percentile or zero if there is no value
+   */
+  synchronized long getPercentile(double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int index = 0; index < counts.length; index++) {
+      seen += counts[index];
+      if (seen >= rank) {
+        return Math.min(lowest(index), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Bucket of value
+   *
+   * @param value Value
+   * @return Index of bucket
+   */
+  static int index(long value) {
+    if (value < 64) {
+      return (int) value;
+    }
+    final int shift = 58 - Long.numberOfLeadingZeros(value);
+    return 64 + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * Lowest value of bucket
+   *
+   * @param index Index of bucket
+   * @return Lowest value
+   */
+  static long lowest(int index) {
+    if (index < 64) {
+      return index;
+    }
+    final int shift = (index - 64) / SUB_BUCKETS + 1;
+    return (long) ((index - 64) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.ReentrantLock;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+
+/**
+ * Resumable cursor of a recurring billing run. Keeps, for each shard of the charge set, the index
+ * of the next charge. Before a charge is sent, its shard is marked in flight on the disk, and the
+ * next position is written when the charge ends. A resumed run never sends again a charge that
+ * was in flight: it is reported as unknown, to be reconciled, and skipped. The positions are
+ * guarded by a lock instead of a monitor, so a virtual thread forcing a position to the disk
+ * does not pin its carrier
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see RecurringBillingRunnerBuilder#withCursor(RecurringBillingCursor)
+ */
+public class RecurringBillingCursor implements Closeable {
+
+  private static final int HEADER_SIZE = 16;
+
+  private static final long IN_FLIGHT = 1L << 62;
+
+  private final FileChannel channel;
+
+  private final int size;
+
+  private final long[] positions;
+
+  private final boolean[] inFlight;
+
+  private final ByteBuffer buffer = ByteBuffer.allocate(8);
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private RecurringBillingCursor(int size, int shards) {
+    this.channel = null;
+    this.size = size;
+    this.positions = new long[shards];
+    this.inFlight = new boolean[shards];
+    for (int shard = 0; shard < shards; shard++) {
+      positions[shard] = getStart(shard);
+    }
+  }
+
+  private RecurringBillingCursor(File file, int size, int shards) throws IOException {
+    this.channel = new RandomAccessFile(file, "rw").getChannel();
+    this.size = size;
+    this.positions = new long[shards];
+    this.inFlight = new boolean[shards];
+    try {
+      if (channel.size() == 0) {
+        create();
+      } else {
+        load();
+      }
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Open cursor of a charge set, creating the file if it does not exist. A cursor may be resumed
+   * only by a run with the same charge set size and shards
+   *
+   * @param file   Cursor file
+   * @param size   Number of charges
+   * @param shards Number of shards
+   * @return Cursor
+   */
+  public static RecurringBillingCursor open(File file, int size, int shards) {
+    if (size < 0 || shards < 1) {
+      throw new IllegalArgumentException("Invalid size or shards");
+    }
+    try {
+      return new RecurringBillingCursor(file, size, shards);
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    }
+  }
+
+  /**
+   * Create cursor that is not persisted
+   *
+   * @param size   Number of charges
+   * @param shards Number of shards
+   * @return Cursor
+   */
+  static RecurringBillingCursor inMemory(int size, int shards) {
+    return new RecurringBillingCursor(size, shards);
+  }
+
+  /**
+   * Get number of charges
+   *
+   * @return Number of charges
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Get number of shards
+   *
+   * @return Number of shards
+   */
+  public int getShards() {
+    return positions.length;
+  }
+
+  /**
+   * Get index of the first charge of a shard
+   *
+   * @param shard Shard
+   * @return Index of first charge
+   */
+  public int getStart(int shard) {
+    return (int) ((long) shard * size / positions.length);
+  }
+
+  /**
+   * Get index after the last charge of a shard
+   *
+   * @param shard Shard
+   * @return Index after last charge
+   */
+  public int getEnd(int shard) {
+    return getStart(shard + 1);
+  }
+
+  /**
+   * Get index of the next charge of a shard
+   *
+   * @param shard Shard
+   * @return Index of next charge
+   */
+  public int getPosition(int shard) {
+    lock.lock();
+    try {
+      return (int) positions[shard];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Check if the charge at the position of a shard was in flight. A charge in flight may have
+   * been applied, so it must not be sent again
+   *
+   * @param shard Shard
+   * @return True if the charge at the position was started and not finished
+   */
+  public boolean isInFlight(int shard) {
+    lock.lock();
+    try {
+      return inFlight[shard];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Get number of charges not executed yet
+   *
+   * @return Remaining charges
+   */
+  public int getRemaining() {
+    lock.lock();
+    try {
+      int remaining = 0;
+      for (int shard = 0; shard < positions.length; shard++) {
+        remaining += getEnd(shard) - positions[shard];
+      }
+      return remaining;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Mark the charge at the position of a shard in flight and force it to the disk. Must be called
+   * before the charge is sent
+   *
+   * @param shard Shard
+   */
+  public void start(int shard) {
+    lock.lock();
+    try {
+      if (inFlight[shard] || positions[shard] >= getEnd(shard)) {
+        throw new IllegalStateException("Shard " + shard + " can not start a charge");
+      }
+      if (channel != null) {
+        write(shard, positions[shard] | IN_FLIGHT);
+        channel.force(false);
+      }
+      inFlight[shard] = true;
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Move the position of a shard, ending the charge in flight, and force it to the disk
+   *
+   * @param shard    Shard
+   * @param position Index of next charge
+   */
+  public void advance(int shard, int position) {
+    lock.lock();
+    try {
+      if (position < positions[shard] || position > getEnd(shard)) {
+        throw new IllegalArgumentException("Invalid position " + position);
+      }
+      if (channel != null) {
+        write(shard, position);
+        channel.force(false);
+      }
+      positions[shard] = position;
+      inFlight[shard] = false;
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Close the file
+   */
+  @Override
+  public void close() {
+    if (channel == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Write header and initial positions
+   */
+  private void create() throws IOException {
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putLong(size).putInt(positions.length).flip();
+    channel.write(header, 0);
+    for (int shard = 0; shard < positions.length; shard++) {
+      positions[shard] = getStart(shard);
+      write(shard, positions[shard]);
+    }
+    channel.force(true);
+  }
+
+  /**
+   * Read and validate header and positions
+   */
+  private void load() throws IOException {
+    final ByteBuffer content = ByteBuffer.allocate(HEADER_SIZE + positions.length * 8);
+    while (content.hasRemaining() && channel.read(content, content.position()) >= 0) {
+      continue;
+    }
+    content.flip();
+    if (content.limit() != content.capacity() || content.getLong() != size
+        || content.getInt() != positions.length) {
+      throw new IOException("Cursor belongs to another charge set");
+    }
+    content.position(HEADER_SIZE);
+    for (int shard = 0; shard < positions.length; shard++) {
+      final long position = content.getLong();
+      inFlight[shard] = (position & IN_FLIGHT) != 0;
+      positions[shard] = position & ~IN_FLIGHT;
+      if (inFlight[shard] && positions[shard] == getEnd(shard)) {
+        throw new IOException("Corrupted cursor");
+      }
+      if (positions[shard] < getStart(shard) || positions[shard] > getEnd(shard)) {
+        throw new IOException("Corrupted cursor");
+      }
+    }
+  }
+
+  /**
+   * Write position of shard
+   *
+   * @param shard    Shard
+   * @param position Index of next charge
+   */
+  private void write(int shard, long position) throws IOException {
+    buffer.clear();
+    buffer.putLong(position).flip();
+    channel.write(buffer, HEADER_SIZE + shard * 8L);
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import br.com.uol.pagseguro.api.preapproval.ChargedPreApproval;
+
+/**
+ * Listener of a recurring billing run. The charge callbacks are called by the workers, so they
+ * must be thread safe
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see RecurringBillingRunnerBuilder#withListener(RecurringBillingListener)
+ */
+public interface RecurringBillingListener {
+
+  /**
+   * Called when a charge succeeds
+   *
+   * @param charge  Charge
+   * @param charged Charged pre approval
+   */
+  void onCharged(RecurringCharge charge, ChargedPreApproval charged);
+
+  /**
+   * Called when a charge fails. Failed charges are not executed again by a resumed run
+   *
+   * @param charge Charge
+   * @param e      Failure of last attempt
+   */
+  void onFailed(RecurringCharge charge, RuntimeException e);
+
+  /**
+   * Called when a run starts, for each charge in flight when the previous run stopped. The charge
+   * may have been applied, so it is not executed again and must be reconciled
+   *
+   * @param charge Charge
+   */
+  void onUnknown(RecurringCharge charge);
+
+  /**
+   * Called periodically by the thread running the charges, and once when the run ends
+   *
+   * @param statistics Statistics of the run
+   */
+  void onProgress(RecurringBillingStatistics statistics);
+
+}
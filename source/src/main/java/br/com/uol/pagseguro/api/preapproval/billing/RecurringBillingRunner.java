@@ -0,0 +1,458 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.uol.pagseguro.api.MultiTenantPagSeguro;
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
+import br.com.uol.pagseguro.api.exception.ServerError;
+import br.com.uol.pagseguro.api.preapproval.ChargedPreApproval;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalsResource;
+import br.com.uol.pagseguro.api.utils.RateLimiter;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Runs the charges of a recurring billing.
+ *
+ * The charge set is split in contiguous shards. The charges of a shard are executed in order,
+ * one at a time, and the shards are executed concurrently up to a limit that adapts to the
+ * server: it grows while the charges succeed and halves when the server is unavailable or the
+ * connection fails. The attempts of each credential are limited to a rate.
+ *
+ * Charges are not idempotent, so only charges refused with service unavailable are retried. The
+ * position of each shard is kept by the cursor, so a resumed run starts after the charges
+ * already executed. A charge in flight when the previous run stopped may have been applied, so
+ * it is not sent again: it is reported to the listener as unknown, to be reconciled
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see PreApprovalsResource#recurringBilling()
+ * @see RecurringBillingRunnerBuilder#RecurringBillingRunnerBuilder(MultiTenantPagSeguro)
+ */
+public class RecurringBillingRunner {
+
+  private static Log LOGGER = LoggerFactory.getLogger(RecurringBillingRunner.class);
+
+  private final PagSeguro pagSeguro;
+
+  private final MultiTenantPagSeguro multiTenant;
+
+  private final int shards;
+
+  private final int maxConcurrency;
+
+  private final int initialConcurrency;
+
+  private final int ratePerSecond;
+
+  private final int maxAttempts;
+
+  private final long retryDelayMillis;
+
+  private final long reportIntervalMillis;
+
+  private final RecurringBillingCursor cursor;
+
+  private final RecurringBillingListener listener;
+
+  private final ThreadFactory threadFactory;
+
+  private final ConcurrentMap<Credential, Lane> lanes = new ConcurrentHashMap<Credential, Lane>();
+
+  private final Lane defaultLane;
+
+  /**
+   * Constructor
+   *
+   * @param builder Builder for recurring billing runner
+   */
+  RecurringBillingRunner(RecurringBillingRunnerBuilder builder) {
+    this.pagSeguro = builder.getPagSeguro();
+    this.multiTenant = builder.getMultiTenant();
+    this.shards = builder.getShards();
+    this.maxConcurrency = builder.getMaxConcurrency();
+    this.initialConcurrency = builder.getInitialConcurrency();
+    this.ratePerSecond = builder.getRatePerSecond();
+    this.maxAttempts = builder.getMaxAttempts();
+    this.retryDelayMillis = builder.getRetryDelayMillis();
+    this.reportIntervalMillis = builder.getReportIntervalMillis();
+    this.cursor = builder.getCursor();
+    this.listener = builder.getListener();
+    this.threadFactory = builder.getThreadFactory();
+    this.defaultLane = pagSeguro != null ? new Lane(pagSeguro) : null;
+  }
+
+  /**
+   * Execute the charges and wait for all of them. If the calling thread is interrupted, the
+   * workers are interrupted and the statistics are returned when they stop
+   *
+   * @param charges Charge set. Must be the same charge set, in the same order, when a run is
+   *                resumed with a cursor
+   * @return Statistics of the run
+   */
+  public RecurringBillingStatistics run(List<RecurringCharge> charges) {
+    final RecurringBillingCursor runCursor;
+    if (cursor != null) {
+      if (cursor.getSize() != charges.size()) {
+        throw new IllegalArgumentException("Cursor belongs to another charge set");
+      }
+      runCursor = cursor;
+    } else {
+      runCursor = RecurringBillingCursor.inMemory(charges.size(), shards);
+    }
+    final Run run = new Run(charges, runCursor);
+    LOGGER.info(String.format("Iniciando cobranca recorrente de %d pre-aprovacoes, %d restantes",
+        charges.size(), runCursor.getRemaining()));
+    final List<Thread> workers = new ArrayList<Thread>();
+    for (int i = 0; i < Math.min(maxConcurrency, runCursor.getShards()); i++) {
+      final Thread worker = threadFactory.newThread(new Worker(run));
+      workers.add(worker);
+      worker.start();
+    }
+    boolean interrupted = false;
+    long nextReport = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reportIntervalMillis);
+    for (Thread worker : workers) {
+      while (worker.isAlive()) {
+        final long wait = TimeUnit.NANOSECONDS.toMillis(nextReport - System.nanoTime());
+        try {
+          if (!interrupted && wait > 0) {
+            worker.join(wait);
+          } else {
+            worker.join(interrupted ? 0 : 1);
+          }
+        } catch (InterruptedException e) {
+          interrupted = true;
+          LOGGER.warn("Cobranca recorrente interrompida");
+          for (Thread other : workers) {
+            other.interrupt();
+          }
+        }
+        if (!interrupted && nextReport - System.nanoTime() <= 0) {
+          progress(run.statistics());
+          nextReport += TimeUnit.MILLISECONDS.toNanos(reportIntervalMillis);
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (run.fatal != null) {
+      throw run.fatal;
+    }
+    final RecurringBillingStatistics statistics = run.statistics();
+    progress(statistics);
+    LOGGER.info(String.format("Cobranca recorrente finalizada %s", statistics));
+    return statistics;
+  }
+
+  /**
+   * Notify progress to listener
+   *
+   * @param statistics Statistics of the run
+   */
+  private void progress(RecurringBillingStatistics statistics) {
+    LOGGER.debug(String.format("Progresso da cobranca recorrente %s", statistics));
+    if (listener == null) {
+      return;
+    }
+    try {
+      listener.onProgress(statistics);
+    } catch (RuntimeException e) {
+      LOGGER.error("Erro no listener de cobranca recorrente", e);
+    }
+  }
+
+  /**
+   * Get lane of credential
+   *
+   * @param credential Credential or null to the credential of the runner
+   * @return Lane
+   */
+  private Lane lane(Credential credential) {
+    if (credential == null) {
+      if (defaultLane == null) {
+        throw new IllegalArgumentException("Charge without credential");
+      }
+      return defaultLane;
+    }
+    if (multiTenant == null) {
+      throw new IllegalArgumentException("Runner without multi tenant client");
+    }
+    Lane lane = lanes.get(credential);
+    if (lane == null) {
+      final Lane created = new Lane(multiTenant.tenant(credential));
+      lane = lanes.putIfAbsent(credential, created);
+      if (lane == null) {
+        lane = created;
+      }
+    }
+    return lane;
+  }
+
+  /**
+   * Resource and rate limit of a credential
+   */
+  private class Lane {
+
+    private final PreApprovalsResource preApprovals;
+
+    private final RateLimiter rateLimiter;
+
+    Lane(PagSeguro pagSeguro) {
+      this.preApprovals = pagSeguro.preApprovals();
+      this.rateLimiter = ratePerSecond > 0 ? new RateLimiter(ratePerSecond) : null;
+    }
+  }
+
+  /**
+   * State of a run
+   */
+  private class Run {
+
+    private final List<RecurringCharge> charges;
+
+    private final RecurringBillingCursor cursor;
+
+    private final int skipped;
+
+    private final int unknown;
+
+    private final long startNanos = System.nanoTime();
+
+    private final ConcurrencyLimit limit;
+
+    private final Queue<Integer> idleShards = new ConcurrentLinkedQueue<Integer>();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private final AtomicLong charged = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final ConcurrentMap<String, AtomicLong> failures =
+        new ConcurrentHashMap<String, AtomicLong>();
+
+    private volatile RuntimeException fatal;
+
+    Run(List<RecurringCharge> charges, RecurringBillingCursor cursor) {
+      this.charges = charges;
+      this.cursor = cursor;
+      int inFlight = 0;
+      for (int shard = 0; shard < cursor.getShards(); shard++) {
+        if (cursor.isInFlight(shard)) {
+          final int position = cursor.getPosition(shard);
+          unknown(charges.get(position));
+          cursor.advance(shard, position + 1);
+          inFlight++;
+        }
+      }
+      this.unknown = inFlight;
+      this.skipped = charges.size() - cursor.getRemaining() - inFlight;
+      this.limit = new ConcurrencyLimit(initialConcurrency, 1, maxConcurrency);
+      for (int shard = 0; shard < cursor.getShards(); shard++) {
+        if (cursor.getPosition(shard) < cursor.getEnd(shard)) {
+          idleShards.add(shard);
+        }
+      }
+    }
+
+    /**
+     * Report a charge in flight when the previous run stopped
+     *
+     * @param charge Charge
+     */
+    private void unknown(RecurringCharge charge) {
+      LOGGER.error(String.format("Cobranca [%s] em andamento na interrupcao, resultado "
+                                 + "desconhecido", charge.getCharging().getCode()));
+      if (listener != null) {
+        try {
+          listener.onUnknown(charge);
+        } catch (RuntimeException e) {
+          LOGGER.error("Erro no listener de cobranca recorrente", e);
+        }
+      }
+    }
+
+    /**
+     * Count a failure
+     *
+     * @param e Failure
+     */
+    void fail(RuntimeException e) {
+      failed.incrementAndGet();
+      final List<String> causes = new ArrayList<String>();
+      if (e instanceof PagSeguroBadRequestException
+          && ((PagSeguroBadRequestException) e).getErrors() != null) {
+        for (ServerError error : ((PagSeguroBadRequestException) e).getErrors().getErrors()) {
+          causes.add("400:" + error.getCode());
+        }
+      }
+      if (causes.isEmpty()) {
+        causes.add(e.getClass().getSimpleName());
+      }
+      for (String cause : causes) {
+        AtomicLong count = failures.get(cause);
+        if (count == null) {
+          final AtomicLong created = new AtomicLong();
+          count = failures.putIfAbsent(cause, created);
+          if (count == null) {
+            count = created;
+          }
+        }
+        count.incrementAndGet();
+      }
+    }
+
+    /**
+     * Take snapshot of statistics
+     *
+     * @return Statistics
+     */
+    RecurringBillingStatistics statistics() {
+      final Map<String, Long> failureCounts = new HashMap<String, Long>();
+      for (Map.Entry<String, AtomicLong> entry : failures.entrySet()) {
+        failureCounts.put(entry.getKey(), entry.getValue().get());
+      }
+      return new RecurringBillingStatistics(charges.size(), skipped, unknown, charged.get(),
+          failed.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+          limit.getLimit(), toMillis(latencies.getPercentile(50)),
+          toMillis(latencies.getPercentile(90)), toMillis(latencies.getPercentile(99)),
+          toMillis(latencies.getMax()), failureCounts);
+    }
+
+    private long toMillis(long micros) {
+      return TimeUnit.MICROSECONDS.toMillis(micros);
+    }
+  }
+
+  /**
+   * Worker executing the charges of the idle shards
+   */
+  private class Worker implements Runnable {
+
+    private final Run run;
+
+    Worker(Run run) {
+      this.run = run;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (run.fatal == null) {
+          run.limit.acquire();
+          Boolean overloaded = null;
+          try {
+            final Integer shard = run.fatal == null ? run.idleShards.poll() : null;
+            if (shard == null) {
+              return;
+            }
+            final int position = run.cursor.getPosition(shard);
+            run.cursor.start(shard);
+            overloaded = charge(run.charges.get(position));
+            run.cursor.advance(shard, position + 1);
+            if (position + 1 < run.cursor.getEnd(shard)) {
+              run.idleShards.add(shard);
+            }
+          } finally {
+            if (overloaded == null) {
+              run.limit.release();
+            } else {
+              run.limit.release(overloaded);
+            }
+          }
+        }
+      } catch (InterruptedException e) {
+        // execucao interrompida
+      } catch (RuntimeException e) {
+        LOGGER.fatal("Erro ao gravar cursor da cobranca recorrente", e);
+        run.fatal = e;
+      }
+    }
+
+    /**
+     * Execute a charge, retrying while the service is unavailable
+     *
+     * @param charge Charge
+     * @return True if the server signaled overload
+     */
+    private boolean charge(RecurringCharge charge) throws InterruptedException {
+      final long start = System.nanoTime();
+      boolean overloaded = false;
+      int attempt = 0;
+      while (true) {
+        attempt++;
+        try {
+          final Lane lane = lane(charge.getCredential());
+          if (lane.rateLimiter != null) {
+            lane.rateLimiter.acquire();
+          }
+          final ChargedPreApproval charged = lane.preApprovals.charge(charge.getCharging());
+          run.latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+          run.charged.incrementAndGet();
+          if (listener != null) {
+            try {
+              listener.onCharged(charge, charged);
+            } catch (RuntimeException e) {
+              LOGGER.error("Erro no listener de cobranca recorrente", e);
+            }
+          }
+          return overloaded;
+        } catch (RuntimeException e) {
+          overloaded |= e instanceof PagSeguroServiceUnavailableException
+                        || e instanceof PagSeguroLibException;
+          if (e instanceof PagSeguroServiceUnavailableException && attempt < maxAttempts) {
+            LOGGER.warn(String.format("Servico indisponivel na cobranca [%s], tentativa %d",
+                charge.getCharging().getCode(), attempt));
+            TimeUnit.MILLISECONDS.sleep(retryDelayMillis << Math.min(attempt - 1, 16));
+            continue;
+          }
+          LOGGER.error(String.format("Erro na cobranca [%s]", charge.getCharging().getCode()), e);
+          run.latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+          run.fail(e);
+          if (listener != null) {
+            try {
+              listener.onFailed(charge, e);
+            } catch (RuntimeException listenerError) {
+              LOGGER.error("Erro no listener de cobranca recorrente", listenerError);
+            }
+          }
+          return overloaded;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import java.util.concurrent.ThreadFactory;
+
+import br.com.uol.pagseguro.api.MultiTenantPagSeguro;
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalsResource;
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.Threads;
+
+/**
+ * Builder for recurring billing runner
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see PreApprovalsResource#recurringBilling()
+ */
+public final class RecurringBillingRunnerBuilder implements Builder<RecurringBillingRunner> {
+
+  private final PagSeguro pagSeguro;
+
+  private final MultiTenantPagSeguro multiTenant;
+
+  private int shards = 64;
+
+  private int maxConcurrency = 32;
+
+  private int initialConcurrency = 4;
+
+  private int ratePerSecond;
+
+  private int maxAttempts = 3;
+
+  private long retryDelayMillis = 1000;
+
+  private long reportIntervalMillis = 10000;
+
+  private RecurringBillingCursor cursor;
+
+  private RecurringBillingListener listener;
+
+  private ThreadFactory threadFactory = Threads.threadFactory("pagseguro-billing-");
+
+  /**
+   * Constructor. Charges without credential are executed with the credential of the instance
+   *
+   * @param pagSeguro Pagseguro instance
+   */
+  public RecurringBillingRunnerBuilder(PagSeguro pagSeguro) {
+    this.pagSeguro = pagSeguro;
+    this.multiTenant = null;
+  }
+
+  /**
+   * Constructor. Charges are executed with their own credentials, through the shared transport
+   *
+   * @param multiTenant Multi tenant client
+   */
+  public RecurringBillingRunnerBuilder(MultiTenantPagSeguro multiTenant) {
+    this.pagSeguro = null;
+    this.multiTenant = multiTenant;
+  }
+
+  /**
+   * Set number of shards of the charge set. Ignored when there is a cursor, which has its own
+   * number of shards. The default is 64
+   *
+   * @param shards Shards
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withShards(int shards) {
+    if (shards < 1) {
+      throw new IllegalArgumentException("Shards must be positive");
+    }
+    this.shards = shards;
+    return this;
+  }
+
+  /**
+   * Set maximum number of charges in flight. The default is 32
+   *
+   * @param maxConcurrency Maximum concurrency
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withMaxConcurrency(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be positive");
+    }
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  /**
+   * Set number of charges in flight when the run starts. The default is 4
+   *
+   * @param initialConcurrency Initial concurrency
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withInitialConcurrency(int initialConcurrency) {
+    if (initialConcurrency < 1) {
+      throw new IllegalArgumentException("Initial concurrency must be positive");
+    }
+    this.initialConcurrency = initialConcurrency;
+    return this;
+  }
+
+  /**
+   * Set maximum number of attempts per second of each credential, retries included. There is no
+   * limit by default
+   *
+   * @param ratePerSecond Attempts per second
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withRatePerSecond(int ratePerSecond) {
+    if (ratePerSecond < 1) {
+      throw new IllegalArgumentException("Rate must be positive");
+    }
+    this.ratePerSecond = ratePerSecond;
+    return this;
+  }
+
+  /**
+   * Set maximum number of attempts of a charge refused with service unavailable. The default is 3
+   *
+   * @param maxAttempts Maximum attempts
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withMaxAttempts(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Max attempts must be positive");
+    }
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  /**
+   * Set delay before the first retry. The delay doubles on each retry. The default is 1 second
+   *
+   * @param retryDelayMillis Delay in milliseconds
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withRetryDelay(long retryDelayMillis) {
+    if (retryDelayMillis < 0) {
+      throw new IllegalArgumentException("Retry delay must not be negative");
+    }
+    this.retryDelayMillis = retryDelayMillis;
+    return this;
+  }
+
+  /**
+   * Set interval between progress reports. The default is 10 seconds
+   *
+   * @param reportIntervalMillis Interval in milliseconds
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withReportInterval(long reportIntervalMillis) {
+    if (reportIntervalMillis < 1) {
+      throw new IllegalArgumentException("Report interval must be positive");
+    }
+    this.reportIntervalMillis = reportIntervalMillis;
+    return this;
+  }
+
+  /**
+   * Set resumable cursor. Without cursor the run starts from the first charge
+   *
+   * @param cursor Cursor
+   * @return Builder for recurring billing runner
+   * @see RecurringBillingCursor#open(java.io.File, int, int)
+   */
+  public RecurringBillingRunnerBuilder withCursor(RecurringBillingCursor cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
+  /**
+   * Set listener of charges and progress
+   *
+   * @param listener Listener
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withListener(RecurringBillingListener listener) {
+    this.listener = listener;
+    return this;
+  }
+
+  /**
+   * Set thread factory of workers. The default creates virtual threads on Java 21 or later and
+   * daemon threads otherwise
+   *
+   * @param threadFactory Thread factory
+   * @return Builder for recurring billing runner
+   */
+  public RecurringBillingRunnerBuilder withThreadFactory(ThreadFactory threadFactory) {
+    if (threadFactory == null) {
+      throw new NullPointerException();
+    }
+    this.threadFactory = threadFactory;
+    return this;
+  }
+
+  PagSeguro getPagSeguro() {
+    return pagSeguro;
+  }
+
+  MultiTenantPagSeguro getMultiTenant() {
+    return multiTenant;
+  }
+
+  int getShards() {
+    return shards;
+  }
+
+  int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  int getInitialConcurrency() {
+    return initialConcurrency;
+  }
+
+  int getRatePerSecond() {
+    return ratePerSecond;
+  }
+
+  int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  long getRetryDelayMillis() {
+    return retryDelayMillis;
+  }
+
+  long getReportIntervalMillis() {
+    return reportIntervalMillis;
+  }
+
+  RecurringBillingCursor getCursor() {
+    return cursor;
+  }
+
+  RecurringBillingListener getListener() {
+    return listener;
+  }
+
+  ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  /**
+   * Build the recurring billing runner
+   *
+   * @return Recurring billing runner
+   */
+  @Override
+  public RecurringBillingRunner build() {
+    return new RecurringBillingRunner(this);
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of the statistics of a recurring billing run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see RecurringBillingListener#onProgress(RecurringBillingStatistics)
+ */
+public class RecurringBillingStatistics {
+
+  private final int total;
+
+  private final int skipped;
+
+  private final int unknown;
+
+  private final long charged;
+
+  private final long failed;
+
+  private final long elapsedMillis;
+
+  private final int concurrencyLimit;
+
+  private final long p50Millis;
+
+  private final long p90Millis;
+
+  private final long p99Millis;
+
+  private final long maxMillis;
+
+  private final Map<String, Long> failures;
+
+  RecurringBillingStatistics(int total, int skipped, int unknown, long charged, long failed,
+                             long elapsedMillis, int concurrencyLimit, long p50Millis,
+                             long p90Millis, long p99Millis, long maxMillis,
+                             Map<String, Long> failures) {
+    this.total = total;
+    this.skipped = skipped;
+    this.unknown = unknown;
+    this.charged = charged;
+    this.failed = failed;
+    this.elapsedMillis = elapsedMillis;
+    this.concurrencyLimit = concurrencyLimit;
+    this.p50Millis = p50Millis;
+    this.p90Millis = p90Millis;
+    this.p99Millis = p99Millis;
+    this.maxMillis = maxMillis;
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  /**
+   * Get number of charges of the charge set
+   *
+   * @return Number of charges
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * Get number of charges executed by previous runs, according to the cursor
+   *
+   * @return Charges skipped
+   */
+  public int getSkipped() {
+    return skipped;
+  }
+
+  /**
+   * Get number of charges in flight when the previous run stopped. They are not executed again
+   *
+   * @return Charges with unknown result
+   * @see RecurringBillingListener#onUnknown(RecurringCharge)
+   */
+  public int getUnknown() {
+    return unknown;
+  }
+
+  /**
+   * Get number of successful charges of this run
+   *
+   * @return Successful charges
+   */
+  public long getCharged() {
+    return charged;
+  }
+
+  /**
+   * Get number of failed charges of this run
+   *
+   * @return Failed charges
+   */
+  public long getFailed() {
+    return failed;
+  }
+
+  /**
+   * Get number of charges not executed yet
+   *
+   * @return Remaining charges
+   */
+  public long getRemaining() {
+    return total - skipped - unknown - charged - failed;
+  }
+
+  /**
+   * Get time since the run started
+   *
+   * @return Elapsed time in milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Get charges completed per second by this run
+   *
+   * @return Throughput
+   */
+  public double getThroughput() {
+    return elapsedMillis == 0 ? 0 : (charged + failed) * 1000.0 / elapsedMillis;
+  }
+
+  /**
+   * Get current concurrency limit
+   *
+   * @return Concurrency limit
+   */
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * Get median latency of the charges, retries included
+   *
+   * @return Latency in milliseconds
+   */
+  public long getP50Millis() {
+    return p50Millis;
+  }
+
+  /**
+   * Get 90th percentile of latency of the charges, retries included
+   *
+   * @return Latency in milliseconds
+   */
+  public long getP90Millis() {
+    return p90Millis;
+  }
+
+  /**
+   * Get 99th percentile of latency of the charges, retries included
+   *
+   * @return Latency in milliseconds
+   */
+  public long getP99Millis() {
+    return p99Millis;
+  }
+
+  /**
+   * Get maximum latency of the charges, retries included
+   *
+   * @return Latency in milliseconds
+   */
+  public long getMaxMillis() {
+    return maxMillis;
+  }
+
+  /**
+   * Get failures by cause. Bad requests are counted by error code, as {@code 400:<code>}, and the
+   * other failures by exception class
+   *
+   * @return Failures by cause
+   */
+  public Map<String, Long> getFailures() {
+    return failures;
+  }
+
+  @Override
+  public String toString() {
+    return "RecurringBillingStatistics{" +
+           "total=" + total +
+           ", skipped=" + skipped +
+           ", unknown=" + unknown +
+           ", charged=" + charged +
+           ", failed=" + failed +
+           ", elapsedMillis=" + elapsedMillis +
+           ", concurrencyLimit=" + concurrencyLimit +
+           ", p50Millis=" + p50Millis +
+           ", p90Millis=" + p90Millis +
+           ", p99Millis=" + p99Millis +
+           ", maxMillis=" + maxMillis +
+           ", failures=" + failures +
+           '}';
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalCharging;
+
+/**
+ * Charge of a recurring billing run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see RecurringBillingRunner
+ */
+public final class RecurringCharge {
+
+  private final Credential credential;
+
+  private final PreApprovalCharging charging;
+
+  /**
+   * Constructor. The charge is executed with the credential of the runner
+   *
+   * @param charging Pre approval charging
+   */
+  public RecurringCharge(PreApprovalCharging charging) {
+    this(null, charging);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param credential Credential of the seller or application that owns the pre approval
+   * @param charging   Pre approval charging
+   */
+  public RecurringCharge(Credential credential, PreApprovalCharging charging) {
+    if (charging == null) {
+      throw new NullPointerException();
+    }
+    this.credential = credential;
+    this.charging = charging;
+  }
+
+  /**
+   * Get credential
+   *
+   * @return Credential or null to use the credential of the runner
+   */
+  public Credential getCredential() {
+    return credential;
+  }
+
+  /**
+   * Get pre approval charging
+   *
+   * @return Pre approval charging
+   */
+  public PreApprovalCharging getCharging() {
+    return charging;
+  }
+
+  @Override
+  public String toString() {
+    return "RecurringCharge{" +
+           "code='" + charging.getCode() + '\'' +
+           ", reference='" + charging.getReference() + '\'' +
+           '}';
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.preapproval.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.common.domain.xml.SenderXMLReader;
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code PreApprovalDetailXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class PreApprovalDetailXMLReader extends AbstractXMLElementReader<PreApprovalDetailXML> {
+
+  private static final SenderXMLReader SENDER_READER = new SenderXMLReader();
+
+  @Override
+  protected PreApprovalDetailXML newInstance() {
+    return new PreApprovalDetailXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, PreApprovalDetailXML target)
+      throws XMLStreamException {
+    if ("name".equals(name)) {
+      target.setName(context.readString());
+    } else if ("code".equals(name)) {
+      target.setCode(context.readString());
+    } else if ("date".equals(name)) {
+      target.setDate(context.readDate());
+    } else if ("tracker".equals(name)) {
+      target.setTracker(context.readString());
+    } else if ("status".equals(name)) {
+      target.setStatusId(context.readString());
+    } else if ("reference".equals(name)) {
+      target.setReference(context.readString());
+    } else if ("lastEventDate".equals(name)) {
+      target.setLastEvent(context.readDate());
+    } else if ("charge".equals(name)) {
+      target.setCharge(context.readString());
+    } else if ("sender".equals(name)) {
+      target.setSender(context.read(SENDER_READER));
+    } else {
+      context.skipElement();
+    }
+  }
+}
@@ -21,7 +21,9 @@
 
 package br.com.uol.pagseguro.api.preapproval.search;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.common.domain.DataList;
@@ -29,6 +31,8 @@ import br.com.uol.pagseguro.api.common.domain.Parameter;
 import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
 import br.com.uol.pagseguro.api.http.HttpClient;
 import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.PageFetcher;
+import br.com.uol.pagseguro.api.utils.PagedPublisher;
 
 /**
  * Factory to search pre approval
@@ -158,4 +162,52 @@ public class PreApprovalSearchResource {
     return byDateRange(new PreApprovalSearchBuilder().withReference(reference).build());
   }
 
+  /**
+   * Publish pre approvals by date range. The pages are requested from PagSeguro as the subscriber
+   * demands the results, starting at the first page. The page of search is ignored
+   *
+   * @param search   Search
+   * @param prefetch Pages fetched ahead of demand
+   * @return Publisher of results
+   * @see PagedPublisher
+   */
+  public PagedPublisher<PreApprovalSummary> publishByDateRange(PreApprovalSearch search,
+                                                               int prefetch) {
+    return new PagedPublisher<PreApprovalSummary>(pagesByDateRange(search), prefetch);
+  }
+
+  /**
+   * Publish pre approvals by date range. The pages are requested from PagSeguro as the subscriber
+   * demands the results, starting at the first page. The page of search is ignored
+   *
+   * @param search   Search
+   * @param prefetch Pages fetched ahead of demand
+   * @param executor Executor of the page fetches
+   * @return Publisher of results
+   * @see PagedPublisher
+   */
+  public PagedPublisher<PreApprovalSummary> publishByDateRange(PreApprovalSearch search,
+                                                               int prefetch, Executor executor) {
+    return new PagedPublisher<PreApprovalSummary>(pagesByDateRange(search), prefetch, executor);
+  }
+
+  /**
+   * Create fetcher of the pages of a search by date range
+   *
+   * @param search Search
+   * @return Page fetcher
+   */
+  private PageFetcher<PreApprovalSummary> pagesByDateRange(final PreApprovalSearch search) {
+    return new PageFetcher<PreApprovalSummary>() {
+
+      @Override
+      public DataList<? extends PreApprovalSummary> fetch(int page) {
+        return byDateRange(new PreApprovalSearchBuilder().withDateRange(search.getDateRange())
+            .withReference(search.getReference()).withPage(page)
+            .withMaxResults(search.getMaxResults())
+            .addParameters(search.getParameters() == null
+                ? Collections.<Parameter>emptyList() : search.getParameters()).build());
+      }
+    };
+  }
 }
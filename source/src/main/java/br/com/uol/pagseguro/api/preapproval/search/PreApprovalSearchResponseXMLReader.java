@@ -0,0 +1,62 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.preapproval.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code PreApprovalSearchResponseXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class PreApprovalSearchResponseXMLReader extends
+    AbstractXMLElementReader<PreApprovalSearchResponseXML> {
+
+  private static final PreApprovalSummaryXMLReader PRE_APPROVAL_READER =
+      new PreApprovalSummaryXMLReader();
+
+  @Override
+  protected PreApprovalSearchResponseXML newInstance() {
+    return new PreApprovalSearchResponseXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name,
+                           PreApprovalSearchResponseXML target) throws XMLStreamException {
+    if ("preApprovals".equals(name)) {
+      target.setPreApprovals(context.<PreApprovalSummaryXML>readList("preApproval",
+          PRE_APPROVAL_READER));
+    } else if ("totalPages".equals(name)) {
+      target.setTotalPages(context.readInteger());
+    } else if ("resultsInThisPage".equals(name)) {
+      target.setResultsInThisPage(context.readInteger());
+    } else if ("date".equals(name)) {
+      target.setDate(context.readDate());
+    } else {
+      context.skipElement();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.XMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code RefundResponseXMLTransaction}. The result is the text of the root element
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see XMLElementReader
+ */
+public class RefundResponseXMLTransactionReader implements
+    XMLElementReader<RefundResponseXMLTransaction> {
+
+  @Override
+  public RefundResponseXMLTransaction read(XMLReaderContext context) throws XMLStreamException {
+    final RefundResponseXMLTransaction target = new RefundResponseXMLTransaction();
+    target.setResult(context.readString());
+    context.afterRead(target);
+    return target;
+  }
+}
@@ -29,9 +29,12 @@ import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
 import br.com.uol.pagseguro.api.http.HttpClient;
 import br.com.uol.pagseguro.api.http.HttpMethod;
 import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.transaction.bulk.BulkOperation;
+import br.com.uol.pagseguro.api.transaction.bulk.BulkTransactionProcessorBuilder;
 import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegisterResource;
 import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistration;
 import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistrationBuilder;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentTemplate;
 import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegisterResource;
 import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistration;
 import br.com.uol.pagseguro.api.transaction.register.SplitPaymentRegistrationBuilder;
@@ -206,6 +209,26 @@ public class TransactionsResource {
     refund(new TransactionIdentifyBuilder().withCode(code).build(), amount);
   }
 
+  /**
+   * Factory to cancel many transactions
+   *
+   * @return Builder for bulk transaction processor
+   * @see BulkTransactionProcessorBuilder
+   */
+  public BulkTransactionProcessorBuilder bulkCancel() {
+    return new BulkTransactionProcessorBuilder(this, BulkOperation.CANCEL);
+  }
+
+  /**
+   * Factory to refund many transactions
+   *
+   * @return Builder for bulk transaction processor
+   * @see BulkTransactionProcessorBuilder
+   */
+  public BulkTransactionProcessorBuilder bulkRefund() {
+    return new BulkTransactionProcessorBuilder(this, BulkOperation.REFUND);
+  }
+
   /**
    * Factory to execute split payment registration
    *
@@ -257,4 +280,37 @@ public class TransactionsResource {
       DirectPaymentRegistration directPaymentRegistration) {
     return new DirectPaymentRegisterResource(pagSeguro, httpClient, directPaymentRegistration);
   }
+
+  /**
+   * Factory to execute direct payment registration with a template
+   *
+   * @param directPaymentTemplate            Template with the fields shared by the payments
+   * @param directPaymentRegistrationBuilder Builder for the fields of this payment
+   * @return Factory to execute direct payment registration
+   * @see DirectPaymentTemplate
+   * @see DirectPaymentRegisterResource
+   */
+  public DirectPaymentRegisterResource register(DirectPaymentTemplate directPaymentTemplate,
+      DirectPaymentRegistrationBuilder directPaymentRegistrationBuilder) {
+    return register(directPaymentTemplate, directPaymentRegistrationBuilder.build());
+  }
+
+  /**
+   * Factory to execute direct payment registration with a template. Only the fields of
+   * registration are converted, the fields of template were encoded on its creation
+   *
+   * @param directPaymentTemplate     Template with the fields shared by the payments
+   * @param directPaymentRegistration Fields of this payment
+   * @return Factory to execute direct payment registration
+   * @see DirectPaymentTemplate
+   * @see DirectPaymentRegisterResource
+   */
+  public DirectPaymentRegisterResource register(DirectPaymentTemplate directPaymentTemplate,
+      DirectPaymentRegistration directPaymentRegistration) {
+    if (directPaymentTemplate == null || directPaymentRegistration == null) {
+      throw new NullPointerException();
+    }
+    return new DirectPaymentRegisterResource(pagSeguro, httpClient, directPaymentTemplate,
+        directPaymentRegistration);
+  }
 }
@@ -0,0 +1,61 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import br.com.uol.pagseguro.api.transaction.TransactionsResource;
+
+/**
+ * Operation executed on each transaction of a bulk run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see BulkTransactionProcessor
+ */
+public enum BulkOperation {
+
+  /**
+   * CANCEL
+   */
+  CANCEL {
+    @Override
+    void execute(TransactionsResource transactions, BulkTransactionItem item) {
+      transactions.cancel(item.getTransaction());
+    }
+  },
+
+  /**
+   * REFUND. Items without refund amount are refunded in full
+   */
+  REFUND {
+    @Override
+    void execute(TransactionsResource transactions, BulkTransactionItem item) {
+      transactions.refund(item.getTransaction(), item.getRefundAmount());
+    }
+  };
+
+  /**
+   * Execute the operation on the transaction of item
+   *
+   * @param transactions Transactions resource
+   * @param item         Item
+   */
+  abstract void execute(TransactionsResource transactions, BulkTransactionItem item);
+
+}
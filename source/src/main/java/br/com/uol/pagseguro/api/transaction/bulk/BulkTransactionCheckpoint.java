@@ -0,0 +1,272 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.utils.CharSet;
+
+/**
+ * Append only file with the transactions whose operation reached a final status. A run that
+ * uses the checkpoint of an interrupted run skips the transactions already completed.
+ *
+ * Each line of the file has the status and the code of a transaction. A started line is written
+ * before the operation is sent, so an operation in flight when the process died is loaded as
+ * {@link BulkTransactionStatus#UNKNOWN} and not executed again. A line torn by a crash is
+ * discarded when the checkpoint is opened. Writes are guarded by a lock instead of a monitor, so
+ * a virtual thread writing a line does not pin its carrier
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see BulkTransactionProcessorBuilder#withCheckpoint(BulkTransactionCheckpoint)
+ */
+public class BulkTransactionCheckpoint implements Closeable {
+
+  private static final String STARTED = "STARTED";
+
+  private static final String RELEASED = "RELEASED";
+
+  private final Map<String, BulkTransactionStatus> completed;
+
+  private final OutputStream out;
+
+  private boolean closed;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private BulkTransactionCheckpoint(File file) throws IOException {
+    final byte[] content = file.exists() ? read(file) : new byte[0];
+    int length = content.length;
+    while (length > 0 && content[length - 1] != '\n') {
+      length--;
+    }
+    completed = new HashMap<String, BulkTransactionStatus>();
+    final Set<String> started = new HashSet<String>();
+    parse(new String(content, 0, length, CharSet.ENCODING_UTF), completed, started);
+    for (String code : started) {
+      completed.put(code, BulkTransactionStatus.UNKNOWN);
+    }
+    final FileOutputStream stream = new FileOutputStream(file, true);
+    if (length < content.length) {
+      stream.getChannel().truncate(length);
+    }
+    out = stream;
+  }
+
+  /**
+   * Open checkpoint, creating the file if it does not exist
+   *
+   * @param file Checkpoint file
+   * @return Checkpoint
+   */
+  public static BulkTransactionCheckpoint open(File file) {
+    try {
+      return new BulkTransactionCheckpoint(file);
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    }
+  }
+
+  /**
+   * Get final status recorded to transaction
+   *
+   * @param code Transaction code
+   * @return Status or null if the transaction was not completed
+   */
+  public BulkTransactionStatus getStatus(String code) {
+    lock.lock();
+    try {
+      return completed.get(code);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Get transactions completed
+   *
+   * @return Final status by transaction code
+   */
+  public Map<String, BulkTransactionStatus> getCompleted() {
+    lock.lock();
+    try {
+      return Collections.unmodifiableMap(new HashMap<String, BulkTransactionStatus>(completed));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Record that the operation of a transaction is about to be sent. If the process dies before
+   * the operation is recorded or released, the next runs load the transaction as unknown
+   *
+   * @param code Transaction code
+   */
+  void start(String code) {
+    write(STARTED, code);
+  }
+
+  /**
+   * Record that the started operation of a transaction was not applied, so the next run executes
+   * it again
+   *
+   * @param code Transaction code
+   */
+  void release(String code) {
+    write(RELEASED, code);
+  }
+
+  /**
+   * Record the final status of a transaction. The line is written to the file before this
+   * method returns
+   *
+   * @param code   Transaction code
+   * @param status Final status
+   */
+  public void record(String code, BulkTransactionStatus status) {
+    if (!status.isFinal()) {
+      throw new IllegalArgumentException("Status is not final: " + status);
+    }
+    lock.lock();
+    try {
+      write(status.name(), code);
+      completed.put(code, status);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Write a line to the file
+   *
+   * @param status Status of line
+   * @param code   Transaction code
+   */
+  private void write(String status, String code) {
+    final byte[] line;
+    try {
+      line = (status + ' ' + code + '\n').getBytes(CharSet.ENCODING_UTF);
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    }
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Checkpoint is closed");
+      }
+      out.write(line);
+      out.flush();
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Close the file
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      out.close();
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Parse the complete lines of the file
+   *
+   * @param content   Content of file
+   * @param completed Final status by transaction code
+   * @param started   Transactions started and not completed
+   */
+  private static void parse(String content, Map<String, BulkTransactionStatus> completed,
+                            Set<String> started) {
+    int start = 0;
+    int end;
+    while ((end = content.indexOf('\n', start)) >= 0) {
+      final String line = content.substring(start, end);
+      start = end + 1;
+      final int separator = line.indexOf(' ');
+      if (separator < 0) {
+        continue;
+      }
+      final String status = line.substring(0, separator);
+      final String code = line.substring(separator + 1);
+      if (STARTED.equals(status)) {
+        started.add(code);
+        continue;
+      }
+      started.remove(code);
+      if (RELEASED.equals(status)) {
+        continue;
+      }
+      try {
+        completed.put(code, BulkTransactionStatus.valueOf(status));
+      } catch (IllegalArgumentException e) {
+        // linha invalida
+      }
+    }
+  }
+
+  /**
+   * Read the whole file
+   *
+   * @param file File
+   * @return Content
+   */
+  private static byte[] read(File file) throws IOException {
+    final InputStream in = new FileInputStream(file);
+    try {
+      final ByteArrayOutputStream content = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) >= 0) {
+        content.write(buffer, 0, read);
+      }
+      return content.toByteArray();
+    } finally {
+      in.close();
+    }
+  }
+}
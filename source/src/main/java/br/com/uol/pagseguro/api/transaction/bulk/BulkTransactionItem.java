@@ -0,0 +1,96 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import java.math.BigDecimal;
+
+import br.com.uol.pagseguro.api.transaction.TransactionIdentify;
+
+/**
+ * Transaction of a bulk run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see BulkTransactionProcessor
+ */
+public final class BulkTransactionItem {
+
+  private final TransactionIdentify transaction;
+
+  private final BigDecimal refundAmount;
+
+  /**
+   * Constructor
+   *
+   * @param transaction Transaction identify
+   */
+  public BulkTransactionItem(TransactionIdentify transaction) {
+    this(transaction, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param transaction  Transaction identify
+   * @param refundAmount Amount of refund or null to refund in full. Ignored by cancellations
+   */
+  public BulkTransactionItem(TransactionIdentify transaction, BigDecimal refundAmount) {
+    if (transaction == null || transaction.getCode() == null) {
+      throw new NullPointerException("Transaction code is required");
+    }
+    this.transaction = transaction;
+    this.refundAmount = refundAmount;
+  }
+
+  /**
+   * Get transaction identify
+   *
+   * @return Transaction identify
+   */
+  public TransactionIdentify getTransaction() {
+    return transaction;
+  }
+
+  /**
+   * Get transaction code
+   *
+   * @return Transaction code
+   */
+  public String getCode() {
+    return transaction.getCode();
+  }
+
+  /**
+   * Get amount of refund
+   *
+   * @return Amount of refund or null to refund in full
+   */
+  public BigDecimal getRefundAmount() {
+    return refundAmount;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkTransactionItem{" +
+           "code='" + getCode() + '\'' +
+           ", refundAmount=" + refundAmount +
+           '}';
+  }
+}
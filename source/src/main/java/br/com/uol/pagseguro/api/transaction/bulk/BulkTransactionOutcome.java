@@ -0,0 +1,108 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.exception.ServerErrors;
+
+/**
+ * Outcome of a transaction of a bulk run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see BulkTransactionReport
+ */
+public class BulkTransactionOutcome {
+
+  private final BulkTransactionItem item;
+
+  private final BulkTransactionStatus status;
+
+  private final int attempts;
+
+  private final RuntimeException cause;
+
+  BulkTransactionOutcome(BulkTransactionItem item, BulkTransactionStatus status, int attempts,
+                         RuntimeException cause) {
+    this.item = item;
+    this.status = status;
+    this.attempts = attempts;
+    this.cause = cause;
+  }
+
+  /**
+   * Get item
+   *
+   * @return Item
+   */
+  public BulkTransactionItem getItem() {
+    return item;
+  }
+
+  /**
+   * Get status
+   *
+   * @return Status
+   */
+  public BulkTransactionStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Get number of attempts. Skipped items have no attempts
+   *
+   * @return Attempts
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Get exception of last attempt
+   *
+   * @return Exception or null if the operation succeeded
+   */
+  public RuntimeException getCause() {
+    return cause;
+  }
+
+  /**
+   * Get errors returned by PagSeguro to a rejected operation
+   *
+   * @return Server errors or null if the operation was not rejected
+   * @see ServerErrors
+   */
+  public ServerErrors getErrors() {
+    if (cause instanceof PagSeguroBadRequestException) {
+      return ((PagSeguroBadRequestException) cause).getErrors();
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkTransactionOutcome{" +
+           "item=" + item +
+           ", status=" + status +
+           ", attempts=" + attempts +
+           ", cause=" + cause +
+           '}';
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.exception.PagSeguroForbiddenException;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
+import br.com.uol.pagseguro.api.exception.PagSeguroUnauthorizedException;
+import br.com.uol.pagseguro.api.transaction.TransactionsResource;
+import br.com.uol.pagseguro.api.utils.RateLimiter;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Executes a cancellation or refund on many transactions, with bounded concurrency and
+ * optional rate limiting.
+ *
+ * Bad requests are final and reported with the errors returned by PagSeguro. Cancellations and
+ * refunds are not idempotent, so only the failures before the request reaches PagSeguro, service
+ * unavailable and failures to connect, are retried with exponential backoff. Failures after the
+ * request was sent, like read timeouts and internal server errors, are reported as
+ * {@link BulkTransactionStatus#UNKNOWN} and never executed again automatically.
+ *
+ * With a checkpoint, the transactions that reached a final status are recorded and skipped by the
+ * next runs. A transaction is executed once per run, and an operation in flight when the process
+ * dies is recorded as unknown by the next run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionsResource#bulkCancel()
+ * @see TransactionsResource#bulkRefund()
+ */
+public class BulkTransactionProcessor {
+
+  private static Log LOGGER = LoggerFactory.getLogger(BulkTransactionProcessor.class);
+
+  private final TransactionsResource transactions;
+
+  private final BulkOperation operation;
+
+  private final int concurrency;
+
+  private final int maxAttempts;
+
+  private final long retryDelayMillis;
+
+  private final RateLimiter rateLimiter;
+
+  private final BulkTransactionCheckpoint checkpoint;
+
+  private final Executor executor;
+
+  /**
+   * Constructor
+   *
+   * @param builder Builder for bulk transaction processor
+   */
+  BulkTransactionProcessor(BulkTransactionProcessorBuilder builder) {
+    this.transactions = builder.getTransactions();
+    this.operation = builder.getOperation();
+    this.concurrency = builder.getConcurrency();
+    this.maxAttempts = builder.getMaxAttempts();
+    this.retryDelayMillis = builder.getRetryDelayMillis();
+    this.rateLimiter = builder.getRatePerSecond() > 0
+        ? new RateLimiter(builder.getRatePerSecond()) : null;
+    this.checkpoint = builder.getCheckpoint();
+    this.executor = builder.getExecutor();
+  }
+
+  /**
+   * Execute the operation on the items and wait for all of them
+   *
+   * @param items Items
+   * @return Report of the run
+   * @see #run(Iterator)
+   */
+  public BulkTransactionReport run(Iterable<BulkTransactionItem> items) {
+    return run(items.iterator());
+  }
+
+  /**
+   * Execute the operation on the items and wait for all of them. Items are read as workers become
+   * available, so the iterator may be backed by a stream. If the calling thread is interrupted,
+   * no more items are read and the report is returned when the operations in flight finish
+   *
+   * @param items Items
+   * @return Report of the run
+   */
+  public BulkTransactionReport run(Iterator<BulkTransactionItem> items) {
+    LOGGER.info(String.format("Iniciando execucao em lote [%s]", operation));
+    final List<BulkTransactionOutcome> outcomes =
+        Collections.synchronizedList(new ArrayList<BulkTransactionOutcome>());
+    final Set<String> seen = new HashSet<String>();
+    final Semaphore permits = new Semaphore(concurrency);
+    boolean interrupted = false;
+    while (items.hasNext()) {
+      final BulkTransactionItem item = items.next();
+      if (!seen.add(item.getCode())
+          || (checkpoint != null && checkpoint.getStatus(item.getCode()) != null)) {
+        LOGGER.debug(String.format("Transacao ignorada [%s]", item.getCode()));
+        outcomes.add(new BulkTransactionOutcome(item, BulkTransactionStatus.SKIPPED, 0, null));
+        continue;
+      }
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        interrupted = true;
+        break;
+      }
+      try {
+        executor.execute(new ItemTask(item, outcomes, permits));
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        LOGGER.error(String.format("Execucao rejeitada [%s]", item.getCode()), e);
+        outcomes.add(new BulkTransactionOutcome(item, BulkTransactionStatus.FAILED, 0, e));
+      }
+    }
+    permits.acquireUninterruptibly(concurrency);
+    if (interrupted) {
+      LOGGER.warn("Execucao em lote interrompida");
+      Thread.currentThread().interrupt();
+    }
+    final BulkTransactionReport report;
+    synchronized (outcomes) {
+      report = new BulkTransactionReport(new ArrayList<BulkTransactionOutcome>(outcomes),
+          interrupted);
+    }
+    LOGGER.info(String.format("Execucao em lote finalizada %s", report));
+    return report;
+  }
+
+  /**
+   * Execute the operation on an item, retrying the transient failures
+   *
+   * @param item Item
+   * @return Outcome
+   */
+  BulkTransactionOutcome execute(BulkTransactionItem item) {
+    int attempt = 0;
+    while (true) {
+      attempt++;
+      try {
+        if (rateLimiter != null) {
+          rateLimiter.acquire();
+        }
+        operation.execute(transactions, item);
+        return new BulkTransactionOutcome(item, BulkTransactionStatus.SUCCEEDED, attempt, null);
+      } catch (PagSeguroBadRequestException e) {
+        return new BulkTransactionOutcome(item, BulkTransactionStatus.REJECTED, attempt, e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new BulkTransactionOutcome(item, BulkTransactionStatus.FAILED, attempt,
+            new PagSeguroLibException(e));
+      } catch (RuntimeException e) {
+        if (!isTransient(e)) {
+          final BulkTransactionStatus status = isNotApplied(e)
+              ? BulkTransactionStatus.FAILED : BulkTransactionStatus.UNKNOWN;
+          LOGGER.error(String.format("Erro na transacao [%s] %s", item.getCode(), status), e);
+          return new BulkTransactionOutcome(item, status, attempt, e);
+        }
+        if (attempt >= maxAttempts) {
+          LOGGER.error(String.format("Erro na transacao [%s]", item.getCode()), e);
+          return new BulkTransactionOutcome(item, BulkTransactionStatus.FAILED, attempt, e);
+        }
+        LOGGER.warn(String.format("Falha transitoria na transacao [%s], tentativa %d",
+            item.getCode(), attempt));
+        try {
+          TimeUnit.MILLISECONDS.sleep(retryDelayMillis << Math.min(attempt - 1, 16));
+        } catch (InterruptedException interruption) {
+          Thread.currentThread().interrupt();
+          return new BulkTransactionOutcome(item, BulkTransactionStatus.FAILED, attempt, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Check if a failure may succeed on a new attempt. Only failures before the request reaches
+   * PagSeguro are transient: service unavailable and failures to connect. A timeout is not
+   * transient, since the request may have been applied
+   *
+   * @param e Failure
+   * @return True if the failure is transient
+   */
+  static boolean isTransient(RuntimeException e) {
+    return e instanceof PagSeguroServiceUnavailableException || isConnectFailure(e);
+  }
+
+  /**
+   * Check if a failure certainly did not apply the operation
+   *
+   * @param e Failure
+   * @return True if PagSeguro did not apply the operation
+   */
+  static boolean isNotApplied(RuntimeException e) {
+    return isTransient(e)
+           || e instanceof PagSeguroUnauthorizedException
+           || e instanceof PagSeguroForbiddenException;
+  }
+
+  /**
+   * Check if a failure happened while connecting, before the request was sent
+   *
+   * @param e Failure
+   * @return True if the connection was not established
+   */
+  private static boolean isConnectFailure(RuntimeException e) {
+    if (!(e instanceof PagSeguroLibException)) {
+      return false;
+    }
+    final Throwable cause = e.getCause();
+    return cause instanceof ConnectException
+           || cause instanceof NoRouteToHostException
+           || cause instanceof UnknownHostException;
+  }
+
+  /**
+   * Task executing the operation on an item
+   */
+  private class ItemTask implements Runnable {
+
+    private final BulkTransactionItem item;
+
+    private final List<BulkTransactionOutcome> outcomes;
+
+    private final Semaphore permits;
+
+    ItemTask(BulkTransactionItem item, List<BulkTransactionOutcome> outcomes,
+             Semaphore permits) {
+      this.item = item;
+      this.outcomes = outcomes;
+      this.permits = permits;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (checkpoint != null) {
+          try {
+            checkpoint.start(item.getCode());
+          } catch (RuntimeException e) {
+            LOGGER.error(String.format("Erro ao gravar checkpoint [%s]", item.getCode()), e);
+            outcomes.add(new BulkTransactionOutcome(item, BulkTransactionStatus.FAILED, 0, e));
+            return;
+          }
+        }
+        final BulkTransactionOutcome outcome = execute(item);
+        if (checkpoint != null) {
+          try {
+            if (outcome.getStatus().isFinal()) {
+              checkpoint.record(item.getCode(), outcome.getStatus());
+            } else {
+              checkpoint.release(item.getCode());
+            }
+          } catch (RuntimeException e) {
+            LOGGER.error(String.format("Erro ao gravar checkpoint [%s]", item.getCode()), e);
+          }
+        }
+        outcomes.add(outcome);
+      } finally {
+        permits.release();
+      }
+    }
+  }
+}
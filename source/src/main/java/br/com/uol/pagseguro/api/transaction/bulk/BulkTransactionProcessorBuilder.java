@@ -0,0 +1,190 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import java.util.concurrent.Executor;
+
+import br.com.uol.pagseguro.api.transaction.TransactionsResource;
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.Threads;
+
+/**
+ * Builder for bulk transaction processor
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionsResource#bulkCancel()
+ * @see TransactionsResource#bulkRefund()
+ */
+public final class BulkTransactionProcessorBuilder implements Builder<BulkTransactionProcessor> {
+
+  private final TransactionsResource transactions;
+
+  private final BulkOperation operation;
+
+  private int concurrency = 4;
+
+  private int ratePerSecond;
+
+  private int maxAttempts = 3;
+
+  private long retryDelayMillis = 1000;
+
+  private BulkTransactionCheckpoint checkpoint;
+
+  private Executor executor;
+
+  /**
+   * Constructor
+   *
+   * @param transactions Transactions resource
+   * @param operation    Operation executed on each transaction
+   */
+  public BulkTransactionProcessorBuilder(TransactionsResource transactions,
+                                         BulkOperation operation) {
+    this.transactions = transactions;
+    this.operation = operation;
+  }
+
+  /**
+   * Set maximum number of operations in flight. The default is 4
+   *
+   * @param concurrency Concurrency
+   * @return Builder for bulk transaction processor
+   */
+  public BulkTransactionProcessorBuilder withConcurrency(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive");
+    }
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * Set maximum number of attempts per second, retries included. There is no limit by default
+   *
+   * @param ratePerSecond Attempts per second
+   * @return Builder for bulk transaction processor
+   */
+  public BulkTransactionProcessorBuilder withRatePerSecond(int ratePerSecond) {
+    if (ratePerSecond < 1) {
+      throw new IllegalArgumentException("Rate must be positive");
+    }
+    this.ratePerSecond = ratePerSecond;
+    return this;
+  }
+
+  /**
+   * Set maximum number of attempts of an operation with transient failures. The default is 3
+   *
+   * @param maxAttempts Maximum attempts
+   * @return Builder for bulk transaction processor
+   */
+  public BulkTransactionProcessorBuilder withMaxAttempts(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Max attempts must be positive");
+    }
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  /**
+   * Set delay before the first retry. The delay doubles on each retry. The default is 1 second
+   *
+   * @param retryDelayMillis Delay in milliseconds
+   * @return Builder for bulk transaction processor
+   */
+  public BulkTransactionProcessorBuilder withRetryDelay(long retryDelayMillis) {
+    if (retryDelayMillis < 0) {
+      throw new IllegalArgumentException("Retry delay must not be negative");
+    }
+    this.retryDelayMillis = retryDelayMillis;
+    return this;
+  }
+
+  /**
+   * Set checkpoint of the run. There is no checkpoint by default
+   *
+   * @param checkpoint Checkpoint
+   * @return Builder for bulk transaction processor
+   * @see BulkTransactionCheckpoint#open(java.io.File)
+   */
+  public BulkTransactionProcessorBuilder withCheckpoint(BulkTransactionCheckpoint checkpoint) {
+    this.checkpoint = checkpoint;
+    return this;
+  }
+
+  /**
+   * Set executor of the operations. The default creates virtual threads on Java 21 or later and
+   * daemon threads otherwise
+   *
+   * @param executor Executor
+   * @return Builder for bulk transaction processor
+   */
+  public BulkTransactionProcessorBuilder withExecutor(Executor executor) {
+    if (executor == null) {
+      throw new NullPointerException();
+    }
+    this.executor = executor;
+    return this;
+  }
+
+  TransactionsResource getTransactions() {
+    return transactions;
+  }
+
+  BulkOperation getOperation() {
+    return operation;
+  }
+
+  int getConcurrency() {
+    return concurrency;
+  }
+
+  int getRatePerSecond() {
+    return ratePerSecond;
+  }
+
+  int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  long getRetryDelayMillis() {
+    return retryDelayMillis;
+  }
+
+  BulkTransactionCheckpoint getCheckpoint() {
+    return checkpoint;
+  }
+
+  Executor getExecutor() {
+    return executor != null ? executor : Threads.newTaskExecutor("pagseguro-bulk-");
+  }
+
+  /**
+   * Build the bulk transaction processor
+   *
+   * @return Bulk transaction processor
+   */
+  @Override
+  public BulkTransactionProcessor build() {
+    return new BulkTransactionProcessor(this);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated outcomes of a bulk run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see BulkTransactionProcessor#run(Iterable)
+ */
+public class BulkTransactionReport {
+
+  private final List<BulkTransactionOutcome> outcomes;
+
+  private final Map<BulkTransactionStatus, Integer> counts =
+      new EnumMap<BulkTransactionStatus, Integer>(BulkTransactionStatus.class);
+
+  private final boolean interrupted;
+
+  BulkTransactionReport(List<BulkTransactionOutcome> outcomes, boolean interrupted) {
+    this.outcomes = Collections.unmodifiableList(outcomes);
+    this.interrupted = interrupted;
+    for (BulkTransactionStatus status : BulkTransactionStatus.values()) {
+      counts.put(status, 0);
+    }
+    for (BulkTransactionOutcome outcome : outcomes) {
+      counts.put(outcome.getStatus(), counts.get(outcome.getStatus()) + 1);
+    }
+  }
+
+  /**
+   * Get outcomes, in completion order
+   *
+   * @return Outcomes
+   */
+  public List<BulkTransactionOutcome> getOutcomes() {
+    return outcomes;
+  }
+
+  /**
+   * Get outcomes with a status
+   *
+   * @param status Status
+   * @return Outcomes, in completion order
+   */
+  public List<BulkTransactionOutcome> getOutcomes(BulkTransactionStatus status) {
+    final List<BulkTransactionOutcome> filtered = new ArrayList<BulkTransactionOutcome>();
+    for (BulkTransactionOutcome outcome : outcomes) {
+      if (outcome.getStatus() == status) {
+        filtered.add(outcome);
+      }
+    }
+    return filtered;
+  }
+
+  /**
+   * Get number of outcomes with a status
+   *
+   * @param status Status
+   * @return Number of outcomes
+   */
+  public int count(BulkTransactionStatus status) {
+    return counts.get(status);
+  }
+
+  /**
+   * Check if the run was interrupted before all items were read
+   *
+   * @return True if the run was interrupted
+   */
+  public boolean isInterrupted() {
+    return interrupted;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkTransactionReport{" +
+           "counts=" + counts +
+           ", interrupted=" + interrupted +
+           '}';
+  }
+}
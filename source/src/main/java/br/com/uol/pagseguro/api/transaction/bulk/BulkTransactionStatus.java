@@ -0,0 +1,69 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+/**
+ * Outcome status of a transaction of a bulk run
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see BulkTransactionOutcome
+ */
+public enum BulkTransactionStatus {
+
+  /**
+   * Operation accepted by PagSeguro
+   */
+  SUCCEEDED,
+
+  /**
+   * Operation refused by PagSeguro with a bad request. Rejected operations are not retried
+   */
+  REJECTED,
+
+  /**
+   * Operation not applied by PagSeguro: the connection was not established, the service was
+   * unavailable or the request was not authorized. Failed operations are executed again on the
+   * next run
+   */
+  FAILED,
+
+  /**
+   * Operation possibly applied by PagSeguro: the request was sent, but the response was not read
+   * or was an internal server error. Cancellations and refunds are not idempotent, so these
+   * operations are neither retried nor executed again on the next runs. The transaction must be
+   * checked before a new operation
+   */
+  UNKNOWN,
+
+  /**
+   * Operation completed by a previous run, according to the checkpoint
+   */
+  SKIPPED;
+
+  /**
+   * Check if the status is final, so the operation is not executed again on the next run
+   *
+   * @return True if the status is final
+   */
+  public boolean isFinal() {
+    return this == SUCCEEDED || this == REJECTED || this == UNKNOWN;
+  }
+}
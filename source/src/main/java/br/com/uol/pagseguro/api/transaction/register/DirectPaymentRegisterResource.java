@@ -22,6 +22,7 @@
 package br.com.uol.pagseguro.api.transaction.register;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 
 import br.com.uol.pagseguro.api.Endpoints;
 import br.com.uol.pagseguro.api.PagSeguro;
@@ -30,12 +31,17 @@ import br.com.uol.pagseguro.api.common.domain.CreditCard;
 import br.com.uol.pagseguro.api.common.domain.TransactionMethod;
 import br.com.uol.pagseguro.api.common.domain.converter.BankV2MapConverter;
 import br.com.uol.pagseguro.api.common.domain.converter.CreditCardV2MapConverter;
+import br.com.uol.pagseguro.api.common.domain.validator.CreditCardValidator;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroValidationException;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
 import br.com.uol.pagseguro.api.http.HttpClient;
 import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
 import br.com.uol.pagseguro.api.http.HttpResponse;
 import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
 import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
 import br.com.uol.pagseguro.api.utils.Builder;
 import br.com.uol.pagseguro.api.utils.CharSet;
 import br.com.uol.pagseguro.api.utils.RequestMap;
@@ -64,12 +70,22 @@ public class DirectPaymentRegisterResource {
 
   private static final BankV2MapConverter BANK_MC = new BankV2MapConverter();
 
+  private static final DirectPaymentRegistrationValidator DIRECT_PAYMENT_REGISTRATION_V =
+      new DirectPaymentRegistrationValidator();
+
+  private static final CreditCardValidator CREDIT_CARD_V = new CreditCardValidator(false);
+
+  private static final CreditCardValidator INTERNATIONAL_CREDIT_CARD_V =
+      new CreditCardValidator(true);
+
   private final PagSeguro pagSeguro;
 
   private final HttpClient httpClient;
 
   private final DirectPaymentRegistration directPaymentRegistration;
 
+  private final DirectPaymentTemplate directPaymentTemplate;
+
   /**
    * Constructor
    *
@@ -80,8 +96,25 @@ public class DirectPaymentRegisterResource {
   public DirectPaymentRegisterResource(PagSeguro pagSeguro,
                                        HttpClient httpClient,
                                        DirectPaymentRegistration directPaymentRegistration) {
+    this(pagSeguro, httpClient, null, directPaymentRegistration);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param pagSeguro                 Pagseguro
+   * @param httpClient                Http Client
+   * @param directPaymentTemplate     Template with the attributes shared by the payments, or null
+   * @param directPaymentRegistration Interface with the attributes of this payment
+   * @see DirectPaymentTemplate
+   */
+  public DirectPaymentRegisterResource(PagSeguro pagSeguro,
+                                       HttpClient httpClient,
+                                       DirectPaymentTemplate directPaymentTemplate,
+                                       DirectPaymentRegistration directPaymentRegistration) {
     this.pagSeguro = pagSeguro;
     this.httpClient = httpClient;
+    this.directPaymentTemplate = directPaymentTemplate;
     this.directPaymentRegistration = directPaymentRegistration;
   }
 
@@ -93,8 +126,9 @@ public class DirectPaymentRegisterResource {
    */
   public TransactionDetail withBankSlip() {
     LOGGER.info("Iniciando pagamento direto com boleto");
+    validate(null, null);
     LOGGER.info("Convertendo valores");
-    final RequestMap map = DIRECT_PAYMENT_REGISTRATION_MC.convert(directPaymentRegistration);
+    final RequestMap map = convert();
     map.putString("paymentMethod", TransactionMethod.PaymentMethod.BANK_SLIP.getName());
     LOGGER.info("Valores convertidos");
     final HttpResponse response;
@@ -102,7 +136,7 @@ public class DirectPaymentRegisterResource {
       LOGGER.debug(String.format("Parametros: %s", map));
       response = httpClient.execute(HttpMethod.POST,
           String.format(Endpoints.DIRECT_PAYMENT, pagSeguro.getHost()), null,
-          map.toHttpRequestBody(CharSet.ENCODING_ISO));
+          toHttpRequestBody(map));
       LOGGER.debug(String.format("Resposta: %s", response.toString()));
     } catch (IOException e) {
       LOGGER.error("Erro ao executar pagamento direto com boleto");
@@ -125,8 +159,9 @@ public class DirectPaymentRegisterResource {
    */
   public TransactionDetail withCreditCard(CreditCard creditCard) {
     LOGGER.info("Iniciando pagamento direto com cartao de credito");
+    validate(CREDIT_CARD_V, creditCard);
     LOGGER.info("Convertendo valores");
-    final RequestMap map = DIRECT_PAYMENT_REGISTRATION_MC.convert(directPaymentRegistration);
+    final RequestMap map = convert();
     map.putString("paymentMethod", TransactionMethod.PaymentMethod.CREDIT_CARD.getName());
     map.putMap(CREDIT_CARD_MC.convert(creditCard));
     LOGGER.info("Valores convertidos");
@@ -135,7 +170,7 @@ public class DirectPaymentRegisterResource {
       LOGGER.debug(String.format("Parametros: %s", map));
       response = httpClient.execute(HttpMethod.POST,
           String.format(Endpoints.DIRECT_PAYMENT, pagSeguro.getHost()), null,
-          map.toHttpRequestBody(CharSet.ENCODING_ISO));
+          toHttpRequestBody(map));
       LOGGER.debug(String.format("Resposta: %s", response.toString()));
     } catch (IOException e) {
       LOGGER.error("Erro ao executar pagamento direto com cartao de credito");
@@ -170,8 +205,9 @@ public class DirectPaymentRegisterResource {
    */
   public TransactionDetail withInternationalCreditCard(CreditCard internationalCreditCard) {
     LOGGER.info("Iniciando pagamento direto com cartao de credito internacional");
+    validate(INTERNATIONAL_CREDIT_CARD_V, internationalCreditCard);
     LOGGER.info("Convertendo valores");
-    final RequestMap map = DIRECT_PAYMENT_REGISTRATION_MC.convert(directPaymentRegistration);
+    final RequestMap map = convert();
     map.putString("paymentMethod", TransactionMethod.PaymentMethod.CREDIT_CARD.getName());
     map.putMap(CREDIT_CARD_MC.convert(internationalCreditCard));
     LOGGER.info("Valores convertidos");
@@ -180,7 +216,7 @@ public class DirectPaymentRegisterResource {
       LOGGER.debug(String.format("Parametros: %s", map));
       response = httpClient.execute(HttpMethod.POST,
           String.format(Endpoints.DIRECT_PAYMENT, pagSeguro.getHost()), null,
-          map.toHttpRequestBody(CharSet.ENCODING_ISO));
+          toHttpRequestBody(map));
       LOGGER.debug(String.format("Resposta: %s", response.toString()));
     } catch (IOException e) {
       LOGGER.error("Erro ao executar pagamento direto com cartao de credito internacional");
@@ -228,8 +264,9 @@ public class DirectPaymentRegisterResource {
    */
   public TransactionDetail withOnlineDebit(Bank bank) {
     LOGGER.info("Iniciando pagamento direto com debito online");
+    validate(null, null);
     LOGGER.info("Convertendo valores");
-    final RequestMap map = DIRECT_PAYMENT_REGISTRATION_MC.convert(directPaymentRegistration);
+    final RequestMap map = convert();
     map.putString("paymentMethod", TransactionMethod.PaymentMethod.ONLINE_DEBIT.getName());
     map.putMap(BANK_MC.convert(bank));
     LOGGER.info("Valores convertidos");
@@ -238,7 +275,7 @@ public class DirectPaymentRegisterResource {
       LOGGER.debug(String.format("Parametros: %s", map));
       response = httpClient.execute(HttpMethod.POST,
           String.format(Endpoints.DIRECT_PAYMENT, pagSeguro.getHost()), null,
-          map.toHttpRequestBody(CharSet.ENCODING_ISO));
+          toHttpRequestBody(map));
       LOGGER.debug(String.format("Resposta: %s", response.toString()));
     } catch (IOException e) {
       LOGGER.error("Erro ao executar pagamento direto com debito online");
@@ -251,4 +288,56 @@ public class DirectPaymentRegisterResource {
     return transaction;
   }
 
+  /**
+   * Validate the registration and the credit card before the conversion
+   *
+   * @param creditCardValidator Validator of credit card, or null if the payment is not made with
+   *                            credit card
+   * @param creditCard          Credit card
+   * @throws PagSeguroValidationException if the registration is not valid
+   */
+  private void validate(CreditCardValidator creditCardValidator, CreditCard creditCard) {
+    if (!AbstractValidator.isEnabled()) {
+      return;
+    }
+    LOGGER.info("Validando valores");
+    final DirectPaymentRegistration registration = directPaymentTemplate == null
+        ? directPaymentRegistration : directPaymentTemplate.merge(directPaymentRegistration);
+    final ValidationErrors errors = DIRECT_PAYMENT_REGISTRATION_V.validate(registration);
+    if (creditCardValidator != null) {
+      creditCardValidator.validate(errors, creditCard,
+          TransactionRegistrationValidator.getTotalCents(registration));
+    }
+    if (!errors.isEmpty()) {
+      LOGGER.error(String.format("Valores invalidos: %s", errors));
+      throw new PagSeguroValidationException(errors);
+    }
+    LOGGER.info("Valores validados");
+  }
+
+  /**
+   * Convert the registration. With a template, only the attributes of this payment are converted
+   *
+   * @return Request map of registration
+   */
+  private RequestMap convert() {
+    if (directPaymentTemplate == null) {
+      return DIRECT_PAYMENT_REGISTRATION_MC.convert(directPaymentRegistration);
+    }
+    return directPaymentTemplate.convert(directPaymentRegistration);
+  }
+
+  /**
+   * Convert to http request body, appending the request map to the template, if any
+   *
+   * @param map Request map of registration
+   * @return Http Request Body
+   */
+  private HttpRequestBody toHttpRequestBody(RequestMap map) throws UnsupportedEncodingException {
+    if (directPaymentTemplate == null) {
+      return map.toHttpRequestBody(CharSet.ENCODING_ISO);
+    }
+    return directPaymentTemplate.toHttpRequestBody(directPaymentRegistration, map);
+  }
+
 }
@@ -35,7 +35,20 @@ public class DirectPaymentRegistrationV2MapConverter extends
   private static final TransactionRegistrationV2MapConverter TRANSACTION_REGISTRATION_MC =
       new TransactionRegistrationV2MapConverter();
 
+  private final TransactionRegistrationV2MapConverter transactionRegistrationMC;
+
   DirectPaymentRegistrationV2MapConverter() {
+    this.transactionRegistrationMC = TRANSACTION_REGISTRATION_MC;
+  }
+
+  /**
+   * Constructor. Used to convert registrations of a template
+   *
+   * @param itemsOffset Number of items of template
+   * @see DirectPaymentTemplate
+   */
+  DirectPaymentRegistrationV2MapConverter(int itemsOffset) {
+    this.transactionRegistrationMC = new TransactionRegistrationV2MapConverter(itemsOffset);
   }
 
   /**
@@ -50,7 +63,7 @@ public class DirectPaymentRegistrationV2MapConverter extends
   @Override
   protected void convert(RequestMap requestMap,
                          DirectPaymentRegistration directPaymentRegistration) {
-    requestMap.putMap(TRANSACTION_REGISTRATION_MC.convert(directPaymentRegistration));
+    requestMap.putMap(transactionRegistrationMC.convert(directPaymentRegistration));
     requestMap.putCurrency("extraAmount", directPaymentRegistration.getExtraAmount());
     requestMap.putString("receiverEmail", directPaymentRegistration.getReceiverEmail());
   }
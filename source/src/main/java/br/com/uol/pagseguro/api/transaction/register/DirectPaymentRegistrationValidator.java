@@ -0,0 +1,61 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.register;
+
+import br.com.uol.pagseguro.api.common.domain.validator.Validations;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for Direct Payment Register
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class DirectPaymentRegistrationValidator extends
+    AbstractValidator<DirectPaymentRegistration> {
+
+  private static final TransactionRegistrationValidator TRANSACTION_REGISTRATION_V =
+      new TransactionRegistrationValidator();
+
+  DirectPaymentRegistrationValidator() {
+  }
+
+  /**
+   * Validate Interface for Direct Payment Registration
+   *
+   * @param errors                    Errors found
+   * @param directPaymentRegistration Interface for Direct Payment Registration
+   * @see DirectPaymentRegistration
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors,
+                            DirectPaymentRegistration directPaymentRegistration) {
+    TRANSACTION_REGISTRATION_V.validate(errors, directPaymentRegistration);
+    final String receiverEmail = directPaymentRegistration.getReceiverEmail();
+    if (Validations.isLongerThan(receiverEmail, 60)) {
+      errors.add(53068, String.format("receiver email invalid length: %s", receiverEmail));
+    } else if (receiverEmail != null && !Validations.isEmail(receiverEmail)) {
+      errors.add(53069, String.format("receiver email invalid value: %s", receiverEmail));
+    }
+  }
+
+}
@@ -0,0 +1,322 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.register;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.common.domain.Parameter;
+import br.com.uol.pagseguro.api.common.domain.PaymentItem;
+import br.com.uol.pagseguro.api.common.domain.Sender;
+import br.com.uol.pagseguro.api.common.domain.Shipping;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.utils.AbstractRequestTemplate;
+import br.com.uol.pagseguro.api.utils.Builder;
+import br.com.uol.pagseguro.api.utils.CharSet;
+import br.com.uol.pagseguro.api.utils.RequestMap;
+
+/**
+ * Template of direct payment registrations. The fields shared by the payments, like payment
+ * mode, notification url, receiver email and catalog items, are encoded once. A field set by a
+ * payment replaces the field of template, and the items of each payment are sent after the items
+ * of template
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see DirectPaymentRegisterResource
+ */
+public class DirectPaymentTemplate extends AbstractRequestTemplate<DirectPaymentRegistration> {
+
+  private static final DirectPaymentRegistrationV2MapConverter DIRECT_PAYMENT_REGISTRATION_MC =
+      new DirectPaymentRegistrationV2MapConverter();
+
+  private static final String PAYMENT_MODE = "paymentMode";
+
+  private static final String CURRENCY = "currency";
+
+  private static final String ITEMS = "items";
+
+  private static final String NOTIFICATION_URL = "notificationURL";
+
+  private static final String REFERENCE = "reference";
+
+  private static final String SENDER = "sender";
+
+  private static final String SHIPPING = "shipping";
+
+  private static final String PARAMETERS = "parameters";
+
+  private static final String EXTRA_AMOUNT = "extraAmount";
+
+  private static final String RECEIVER_EMAIL = "receiverEmail";
+
+  private static final String[] FIELDS = {PAYMENT_MODE, CURRENCY, ITEMS, NOTIFICATION_URL,
+      REFERENCE, SENDER, SHIPPING, PARAMETERS, EXTRA_AMOUNT, RECEIVER_EMAIL};
+
+  private final DirectPaymentRegistrationV2MapConverter directPaymentRegistrationMC;
+
+  /**
+   * Constructor
+   *
+   * @param directPaymentRegistrationBuilder Builder for the fields shared by the payments
+   */
+  public DirectPaymentTemplate(
+      Builder<DirectPaymentRegistration> directPaymentRegistrationBuilder) {
+    this(directPaymentRegistrationBuilder.build());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param directPaymentRegistration Fields shared by the payments
+   */
+  public DirectPaymentTemplate(DirectPaymentRegistration directPaymentRegistration) {
+    super(directPaymentRegistration, convertFields(directPaymentRegistration),
+        CharSet.ENCODING_ISO);
+    directPaymentRegistrationMC = new DirectPaymentRegistrationV2MapConverter(
+        sizeOf(directPaymentRegistration.getItems()));
+  }
+
+  /**
+   * Merge a direct payment registration with the template
+   *
+   * @param directPaymentRegistration Interface for Direct Payment Registration
+   * @return Direct payment registration sent
+   * @see AbstractRequestTemplate#merge(Object)
+   */
+  @Override
+  public DirectPaymentRegistration merge(DirectPaymentRegistration directPaymentRegistration) {
+    return new TemplateDirectPaymentRegistration(getRegistration(), directPaymentRegistration);
+  }
+
+  /**
+   * Convert a direct payment registration, numbering its items after the items of template
+   *
+   * @param directPaymentRegistration Interface for Direct Payment Registration
+   * @return Request map of direct payment registration
+   * @see AbstractRequestTemplate#convert(Object)
+   */
+  @Override
+  public RequestMap convert(DirectPaymentRegistration directPaymentRegistration) {
+    return directPaymentRegistrationMC.convert(directPaymentRegistration);
+  }
+
+  /**
+   * Check if a direct payment registration replaces a field of template. Items are never
+   * replaced
+   *
+   * @param directPaymentRegistration Interface for Direct Payment Registration
+   * @param field                     Field name
+   * @return True if the field of template is not sent
+   * @see AbstractRequestTemplate#isReplaced(Object, String)
+   */
+  @Override
+  protected boolean isReplaced(DirectPaymentRegistration directPaymentRegistration,
+                               String field) {
+    return !ITEMS.equals(field) && isSet(fieldOf(directPaymentRegistration, field));
+  }
+
+  /**
+   * Get a field of a direct payment registration
+   *
+   * @param directPaymentRegistration Interface for Direct Payment Registration
+   * @param field                     Field name
+   * @return Value of field
+   */
+  private static Object fieldOf(DirectPaymentRegistration directPaymentRegistration,
+                                String field) {
+    if (PAYMENT_MODE.equals(field)) {
+      return directPaymentRegistration.getPaymentMode();
+    } else if (CURRENCY.equals(field)) {
+      return directPaymentRegistration.getCurrency();
+    } else if (ITEMS.equals(field)) {
+      return directPaymentRegistration.getItems();
+    } else if (NOTIFICATION_URL.equals(field)) {
+      return directPaymentRegistration.getNotificationURL();
+    } else if (REFERENCE.equals(field)) {
+      return directPaymentRegistration.getReference();
+    } else if (SENDER.equals(field)) {
+      return directPaymentRegistration.getSender();
+    } else if (SHIPPING.equals(field)) {
+      return directPaymentRegistration.getShipping();
+    } else if (PARAMETERS.equals(field)) {
+      return directPaymentRegistration.getParameters();
+    } else if (EXTRA_AMOUNT.equals(field)) {
+      return directPaymentRegistration.getExtraAmount();
+    }
+    return directPaymentRegistration.getReceiverEmail();
+  }
+
+  /**
+   * Convert each field of template
+   *
+   * @param directPaymentRegistration Interface for Direct Payment Registration
+   * @return Request map of each field, by field name
+   */
+  private static Map<String, RequestMap> convertFields(
+      DirectPaymentRegistration directPaymentRegistration) {
+    final Map<String, RequestMap> fields = new LinkedHashMap<String, RequestMap>();
+    for (String field : FIELDS) {
+      fields.put(field, DIRECT_PAYMENT_REGISTRATION_MC.convert(
+          new FieldDirectPaymentRegistration(directPaymentRegistration, field)));
+    }
+    return fields;
+  }
+
+  /**
+   * Implementation of {@code DirectPaymentRegistration}. Used to convert a single field of
+   * registration
+   *
+   * @see DirectPaymentRegistration
+   */
+  private static class FieldDirectPaymentRegistration implements DirectPaymentRegistration {
+
+    private final DirectPaymentRegistration registration;
+
+    private final String field;
+
+    FieldDirectPaymentRegistration(DirectPaymentRegistration registration, String field) {
+      this.registration = registration;
+      this.field = field;
+    }
+
+    @Override
+    public String getPaymentMode() {
+      return PAYMENT_MODE.equals(field) ? registration.getPaymentMode() : null;
+    }
+
+    @Override
+    public Currency getCurrency() {
+      return CURRENCY.equals(field) ? registration.getCurrency() : null;
+    }
+
+    @Override
+    public List<? extends PaymentItem> getItems() {
+      return ITEMS.equals(field) ? registration.getItems() : null;
+    }
+
+    @Override
+    public String getNotificationURL() {
+      return NOTIFICATION_URL.equals(field) ? registration.getNotificationURL() : null;
+    }
+
+    @Override
+    public String getReference() {
+      return REFERENCE.equals(field) ? registration.getReference() : null;
+    }
+
+    @Override
+    public Sender getSender() {
+      return SENDER.equals(field) ? registration.getSender() : null;
+    }
+
+    @Override
+    public Shipping getShipping() {
+      return SHIPPING.equals(field) ? registration.getShipping() : null;
+    }
+
+    @Override
+    public List<? extends Parameter> getParameters() {
+      return PARAMETERS.equals(field) ? registration.getParameters() : null;
+    }
+
+    @Override
+    public BigDecimal getExtraAmount() {
+      return EXTRA_AMOUNT.equals(field) ? registration.getExtraAmount() : null;
+    }
+
+    @Override
+    public String getReceiverEmail() {
+      return RECEIVER_EMAIL.equals(field) ? registration.getReceiverEmail() : null;
+    }
+  }
+
+  /**
+   * Implementation of {@code DirectPaymentRegistration}. Used to merge a registration with the
+   * template
+   *
+   * @see DirectPaymentRegistration
+   */
+  private static class TemplateDirectPaymentRegistration implements DirectPaymentRegistration {
+
+    private final DirectPaymentRegistration template;
+
+    private final DirectPaymentRegistration registration;
+
+    TemplateDirectPaymentRegistration(DirectPaymentRegistration template,
+                                      DirectPaymentRegistration registration) {
+      this.template = template;
+      this.registration = registration;
+    }
+
+    @Override
+    public String getPaymentMode() {
+      return valueOf(registration.getPaymentMode(), template.getPaymentMode());
+    }
+
+    @Override
+    public Currency getCurrency() {
+      return valueOf(registration.getCurrency(), template.getCurrency());
+    }
+
+    @Override
+    public List<? extends PaymentItem> getItems() {
+      return valuesOf(registration.getItems(), template.getItems());
+    }
+
+    @Override
+    public String getNotificationURL() {
+      return valueOf(registration.getNotificationURL(), template.getNotificationURL());
+    }
+
+    @Override
+    public String getReference() {
+      return valueOf(registration.getReference(), template.getReference());
+    }
+
+    @Override
+    public Sender getSender() {
+      return valueOf(registration.getSender(), template.getSender());
+    }
+
+    @Override
+    public Shipping getShipping() {
+      return valueOf(registration.getShipping(), template.getShipping());
+    }
+
+    @Override
+    public List<? extends Parameter> getParameters() {
+      return valueOf(registration.getParameters(), template.getParameters());
+    }
+
+    @Override
+    public BigDecimal getExtraAmount() {
+      return valueOf(registration.getExtraAmount(), template.getExtraAmount());
+    }
+
+    @Override
+    public String getReceiverEmail() {
+      return valueOf(registration.getReceiverEmail(), template.getReceiverEmail());
+    }
+  }
+
+}
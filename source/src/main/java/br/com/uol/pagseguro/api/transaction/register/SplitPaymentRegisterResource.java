@@ -30,12 +30,16 @@ import br.com.uol.pagseguro.api.common.domain.CreditCard;
 import br.com.uol.pagseguro.api.common.domain.TransactionMethod;
 import br.com.uol.pagseguro.api.common.domain.converter.BankV3MapConverter;
 import br.com.uol.pagseguro.api.common.domain.converter.CreditCardV3MapConverter;
+import br.com.uol.pagseguro.api.common.domain.validator.CreditCardValidator;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroValidationException;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
 import br.com.uol.pagseguro.api.http.HttpClient;
 import br.com.uol.pagseguro.api.http.HttpMethod;
 import br.com.uol.pagseguro.api.http.HttpResponse;
 import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
 import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
 import br.com.uol.pagseguro.api.utils.Builder;
 import br.com.uol.pagseguro.api.utils.CharSet;
 import br.com.uol.pagseguro.api.utils.RequestMap;
@@ -66,6 +70,11 @@ public class SplitPaymentRegisterResource {
 
   private static final BankV3MapConverter BANK_MC = new BankV3MapConverter();
 
+  private static final SplitPaymentRegistrationValidator SPLIT_PAYMENT_REGISTRATION_V =
+      new SplitPaymentRegistrationValidator();
+
+  private static final CreditCardValidator CREDIT_CARD_V = new CreditCardValidator(false);
+
   /**
    * Constructor
    *
@@ -89,6 +98,7 @@ public class SplitPaymentRegisterResource {
    */
   public TransactionDetail withBankSlip() {
     LOGGER.info("Iniciando split de pagamento com boleto");
+    validate(null, null);
     LOGGER.info("Convertendo valores");
 
     final RequestMap map = SPLIT_PAYMENT_REGISTRATION_MC.convert(splitPaymentRegistration);
@@ -123,6 +133,7 @@ public class SplitPaymentRegisterResource {
    */
   public TransactionDetail withCreditCard(CreditCard creditCard) {
     LOGGER.info("Iniciando split de pagamento com cartao de credito");
+    validate(CREDIT_CARD_V, creditCard);
     LOGGER.info("Convertendo valores");
     final RequestMap map = SPLIT_PAYMENT_REGISTRATION_MC.convert(splitPaymentRegistration);
     map.putString("payment.method", TransactionMethod.PaymentMethod.CREDIT_CARD.getName());
@@ -168,6 +179,7 @@ public class SplitPaymentRegisterResource {
    */
   public TransactionDetail withOnlineDebit(Bank bank) {
     LOGGER.info("Iniciando split de pagamento com debito online");
+    validate(null, null);
     LOGGER.info("Convertendo valores");
     final RequestMap map = SPLIT_PAYMENT_REGISTRATION_MC.convert(splitPaymentRegistration);
     map.putString("payment.method", TransactionMethod.PaymentMethod.ONLINE_DEBIT.getName());
@@ -206,4 +218,29 @@ public class SplitPaymentRegisterResource {
     return withOnlineDebit(bankBuilder.build());
   }
 
+  /**
+   * Validate the registration and the credit card before the conversion
+   *
+   * @param creditCardValidator Validator of credit card, or null if the payment is not made with
+   *                            credit card
+   * @param creditCard          Credit card
+   * @throws PagSeguroValidationException if the registration is not valid
+   */
+  private void validate(CreditCardValidator creditCardValidator, CreditCard creditCard) {
+    if (!AbstractValidator.isEnabled()) {
+      return;
+    }
+    LOGGER.info("Validando valores");
+    final ValidationErrors errors = SPLIT_PAYMENT_REGISTRATION_V.validate(splitPaymentRegistration);
+    if (creditCardValidator != null) {
+      creditCardValidator.validate(errors, creditCard,
+          TransactionRegistrationValidator.getTotalCents(splitPaymentRegistration));
+    }
+    if (!errors.isEmpty()) {
+      LOGGER.error(String.format("Valores invalidos: %s", errors));
+      throw new PagSeguroValidationException(errors);
+    }
+    LOGGER.info("Valores validados");
+  }
+
 }
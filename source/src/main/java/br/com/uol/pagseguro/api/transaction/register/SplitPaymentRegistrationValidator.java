@@ -0,0 +1,138 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.register;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import br.com.uol.pagseguro.api.common.domain.Receiver;
+import br.com.uol.pagseguro.api.common.domain.Split;
+import br.com.uol.pagseguro.api.common.domain.validator.Validations;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+
+/**
+ * Validator for Split Payment Register. PagSeguro does not document codes for the errors of
+ * receivers, so those errors use the codes of the lib declared in this class
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class SplitPaymentRegistrationValidator extends
+    AbstractValidator<SplitPaymentRegistration> {
+
+  /**
+   * Code of missing public key of primary receiver or of a receiver
+   */
+  public static final int RECEIVER_PUBLIC_KEY_REQUIRED = 99001;
+
+  /**
+   * Code of split amount out of range
+   */
+  public static final int SPLIT_AMOUNT_OUT_OF_RANGE = 99002;
+
+  /**
+   * Code of split percent out of range (0 to 100)
+   */
+  public static final int SPLIT_PERCENT_OUT_OF_RANGE = 99003;
+
+  /**
+   * Code of split amounts greater than the total amount of transaction
+   */
+  public static final int SPLIT_AMOUNTS_OUT_OF_RANGE = 99004;
+
+  private static final BigDecimal MAX_PERCENT = new BigDecimal(100);
+
+  private static final TransactionRegistrationValidator TRANSACTION_REGISTRATION_V =
+      new TransactionRegistrationValidator();
+
+  SplitPaymentRegistrationValidator() {
+  }
+
+  /**
+   * Validate Interface for Split Payment Registration
+   *
+   * @param errors                   Errors found
+   * @param splitPaymentRegistration Interface for Split Payment Registration
+   * @see SplitPaymentRegistration
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors,
+                            SplitPaymentRegistration splitPaymentRegistration) {
+    TRANSACTION_REGISTRATION_V.validate(errors, splitPaymentRegistration);
+    final Receiver primaryReceiver = splitPaymentRegistration.getPrimaryReceiver();
+    if (primaryReceiver == null || Validations.isBlank(primaryReceiver.getPublicKey())) {
+      errors.add(RECEIVER_PUBLIC_KEY_REQUIRED, "primaryReceiver.publicKey is required.");
+    }
+    final List<? extends Receiver> receivers = splitPaymentRegistration.getReceivers();
+    if (receivers == null) {
+      return;
+    }
+    long splitCents = 0;
+    int i = 0;
+    for (Receiver receiver : receivers) {
+      i++;
+      if (Validations.isBlank(receiver.getPublicKey())) {
+        errors.add(RECEIVER_PUBLIC_KEY_REQUIRED, String.format(
+            "receiver[%d].publicKey is required.", i));
+      }
+      final Split split = receiver.getSplit();
+      if (split == null) {
+        continue;
+      }
+      if (split.getAmount() != null) {
+        if (Validations.isAmount(split.getAmount())) {
+          splitCents += split.getAmountCents();
+        } else {
+          errors.add(SPLIT_AMOUNT_OUT_OF_RANGE, String.format(
+              "receiver[%d].split.amount out of range: %s", i,
+              split.getAmount().toPlainString()));
+        }
+      }
+      validatePercent(errors, i, "ratePercent", split.getRatePercent());
+      validatePercent(errors, i, "feePercent", split.getFeePercent());
+    }
+    final long totalCents = TransactionRegistrationValidator.getTotalCents(
+        splitPaymentRegistration);
+    if (totalCents >= 0 && splitCents > totalCents) {
+      errors.add(SPLIT_AMOUNTS_OUT_OF_RANGE, String.format(
+          "receivers split amounts out of range: %d cents, transaction total is %d cents",
+          splitCents, totalCents));
+    }
+  }
+
+  /**
+   * Validate the range of a percent, when present
+   *
+   * @param errors  Errors found
+   * @param index   Index of receiver, starting at one
+   * @param field   Name of field
+   * @param percent Percent
+   */
+  private static void validatePercent(ValidationErrors errors, int index, String field,
+                                      BigDecimal percent) {
+    if (percent != null && (percent.signum() < 0 || percent.compareTo(MAX_PERCENT) > 0)) {
+      errors.add(SPLIT_PERCENT_OUT_OF_RANGE, String.format(
+          "receiver[%d].split.%s out of range: %s", index, field, percent.toPlainString()));
+    }
+  }
+
+}
@@ -45,7 +45,20 @@ public class TransactionRegistrationV2MapConverter extends
 
   private static final ParameterV2MapConverter PARAMETER_MC = new ParameterV2MapConverter();
 
+  private final PaymentItemsV2MapConverter paymentItemsMC;
+
   TransactionRegistrationV2MapConverter() {
+    this.paymentItemsMC = PAYMENT_ITEMS_MC;
+  }
+
+  /**
+   * Constructor. Used to convert registrations of a template
+   *
+   * @param itemsOffset Number of items of template
+   * @see DirectPaymentTemplate
+   */
+  TransactionRegistrationV2MapConverter(int itemsOffset) {
+    this.paymentItemsMC = new PaymentItemsV2MapConverter(itemsOffset);
   }
 
   /**
@@ -61,7 +74,7 @@ public class TransactionRegistrationV2MapConverter extends
   protected void convert(RequestMap requestMap, TransactionRegistration transactionRegistration) {
     requestMap.putString("paymentMode", transactionRegistration.getPaymentMode());
     requestMap.putCurrency("currency", transactionRegistration.getCurrency());
-    requestMap.putMap(PAYMENT_ITEMS_MC.convert(transactionRegistration.getItems()));
+    requestMap.putMap(paymentItemsMC.convert(transactionRegistration.getItems()));
     requestMap.putString("notificationURL", transactionRegistration.getNotificationURL());
     requestMap.putString("reference", transactionRegistration.getReference());
     requestMap.putMap(SENDER_MC.convert(transactionRegistration.getSender()));
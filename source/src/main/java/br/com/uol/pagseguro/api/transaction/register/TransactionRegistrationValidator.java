@@ -0,0 +1,273 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.register;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import br.com.uol.pagseguro.api.common.domain.PaymentItem;
+import br.com.uol.pagseguro.api.common.domain.Sender;
+import br.com.uol.pagseguro.api.common.domain.validator.AbstractAddressValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.AbstractPaymentItemsValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.AbstractPhoneValidator;
+import br.com.uol.pagseguro.api.common.domain.validator.Validations;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+import br.com.uol.pagseguro.api.utils.AbstractValidator;
+import br.com.uol.pagseguro.api.utils.Cents;
+
+/**
+ * Validator for Transaction Register. Uses the error codes of direct payments
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class TransactionRegistrationValidator extends
+    AbstractValidator<TransactionRegistration> {
+
+  private static final TransactionItemsValidator ITEMS_V = new TransactionItemsValidator();
+
+  private static final SenderPhoneValidator SENDER_PHONE_V = new SenderPhoneValidator();
+
+  private static final ShippingAddressValidator SHIPPING_ADDRESS_V =
+      new ShippingAddressValidator();
+
+  TransactionRegistrationValidator() {
+  }
+
+  /**
+   * Validate Interface for Transaction Registration
+   *
+   * @param errors                  Errors found
+   * @param transactionRegistration Interface for Transaction Registration
+   * @see TransactionRegistration
+   * @see AbstractValidator#validate(Object)
+   */
+  @Override
+  protected void doValidate(ValidationErrors errors,
+                            TransactionRegistration transactionRegistration) {
+    if (transactionRegistration.getCurrency() == null) {
+      errors.add(53005, "currency is required.");
+    }
+    if (transactionRegistration.getItems() == null) {
+      errors.add(53004, "items invalid quantity.");
+    } else {
+      ITEMS_V.validate(errors, transactionRegistration.getItems());
+    }
+    if (Validations.isLongerThan(transactionRegistration.getReference(), 200)) {
+      errors.add(53007, String.format("reference invalid length: %s",
+          transactionRegistration.getReference()));
+    }
+    validateSender(errors, transactionRegistration.getSender());
+    if (transactionRegistration.getShipping() != null) {
+      SHIPPING_ADDRESS_V.validate(errors, transactionRegistration.getShipping().getAddress());
+    }
+  }
+
+  /**
+   * Validate sender. Email, name, phone and hash are required on direct payments
+   *
+   * @param errors Errors found
+   * @param sender Sender
+   */
+  private static void validateSender(ValidationErrors errors, Sender sender) {
+    if (sender == null) {
+      errors.add(53010, "sender email is required.");
+      errors.add(53013, "sender name is required.");
+      errors.add(53091, "sender hash invalid.");
+      return;
+    }
+    if (sender.getEmail() == null) {
+      errors.add(53010, "sender email is required.");
+    } else if (Validations.isLongerThan(sender.getEmail(), 60)) {
+      errors.add(53011, String.format("sender email invalid length: %s", sender.getEmail()));
+    } else if (!Validations.isEmail(sender.getEmail())) {
+      errors.add(53012, String.format("sender email invalid value: %s", sender.getEmail()));
+    }
+    if (Validations.isBlank(sender.getName())) {
+      errors.add(53013, "sender name is required.");
+    } else if (Validations.isLongerThan(sender.getName(), 50)) {
+      errors.add(53014, String.format("sender name invalid length: %s", sender.getName()));
+    }
+    if (sender.getCpf() != null && !Validations.isCpf(sender.getCpf())) {
+      errors.add(53017, String.format("sender cpf invalid value: %s", sender.getCpf()));
+    }
+    if (sender.getPhone() == null) {
+      errors.add(53018, "sender area code is required.");
+      errors.add(53020, "sender phone is required.");
+    } else {
+      SENDER_PHONE_V.validate(errors, sender.getPhone());
+    }
+    if (Validations.isBlank(sender.getHash())) {
+      errors.add(53091, "sender hash invalid.");
+    }
+  }
+
+  /**
+   * Total amount of a transaction registration: items, shipping cost and extra amount, in cents.
+   * The total is unknown when an item has its own shipping cost or has invalid values
+   *
+   * @param transactionRegistration Interface for Transaction Registration
+   * @return Total in cents, or -1 if unknown
+   */
+  static long getTotalCents(TransactionRegistration transactionRegistration) {
+    final List<? extends PaymentItem> items = transactionRegistration.getItems();
+    if (items == null) {
+      return -1;
+    }
+    long total = 0;
+    for (PaymentItem item : items) {
+      if (item.getShippingCost() != null || item.getAmount() == null
+          || item.getQuantity() == null || !Validations.isAmount(item.getAmount())) {
+        return -1;
+      }
+      total += item.getAmountCents() * item.getQuantity();
+    }
+    if (transactionRegistration.getShipping() != null) {
+      if (!isCents(transactionRegistration.getShipping().getCost())) {
+        return -1;
+      }
+      total += Cents.valueOf(transactionRegistration.getShipping().getCost());
+    }
+    if (!isCents(transactionRegistration.getExtraAmount())) {
+      return -1;
+    }
+    return total + Cents.valueOf(transactionRegistration.getExtraAmount());
+  }
+
+  /**
+   * Check if an optional amount can be converted to cents
+   *
+   * @param amount Amount, may be null
+   * @return True if null or in the range of amounts
+   */
+  private static boolean isCents(BigDecimal amount) {
+    return amount == null || amount.abs().compareTo(Validations.MAX_AMOUNT) <= 0;
+  }
+
+  /**
+   * Implementation of {@code AbstractPaymentItemsValidator}. Used to set error codes
+   *
+   * @see AbstractPaymentItemsValidator
+   */
+  private static class TransactionItemsValidator extends AbstractPaymentItemsValidator {
+
+    @Override
+    protected int getItemsQuantityCode() {
+      return 53004;
+    }
+
+    @Override
+    protected int getIdRequiredCode() {
+      return 53070;
+    }
+
+    @Override
+    protected int getIdLengthCode() {
+      return 53071;
+    }
+
+    @Override
+    protected int getDescriptionRequiredCode() {
+      return 53072;
+    }
+
+    @Override
+    protected int getDescriptionLengthCode() {
+      return 53073;
+    }
+
+    @Override
+    protected int getQuantityRequiredCode() {
+      return 53074;
+    }
+
+    @Override
+    protected int getQuantityRangeCode() {
+      return 53075;
+    }
+
+    @Override
+    protected int getAmountRequiredCode() {
+      return 53077;
+    }
+
+    @Override
+    protected int getAmountRangeCode() {
+      return 53079;
+    }
+  }
+
+  /**
+   * Implementation of {@code AbstractPhoneValidator}. Used to set error codes
+   *
+   * @see AbstractPhoneValidator
+   */
+  private static class SenderPhoneValidator extends AbstractPhoneValidator {
+
+    @Override
+    protected String getName() {
+      return "sender";
+    }
+
+    @Override
+    protected int getAreaCodeRequiredCode() {
+      return 53018;
+    }
+
+    @Override
+    protected int getAreaCodeInvalidCode() {
+      return 53019;
+    }
+
+    @Override
+    protected int getNumberRequiredCode() {
+      return 53020;
+    }
+
+    @Override
+    protected int getNumberInvalidCode() {
+      return 53021;
+    }
+  }
+
+  /**
+   * Implementation of {@code AbstractAddressValidator}. Used to set error codes
+   *
+   * @see AbstractAddressValidator
+   */
+  private static class ShippingAddressValidator extends AbstractAddressValidator {
+
+    @Override
+    protected String getName() {
+      return "shipping address";
+    }
+
+    @Override
+    protected int getPostalCodeInvalidCode() {
+      return 53023;
+    }
+
+    @Override
+    protected int getStateInvalidCode() {
+      return 53034;
+    }
+  }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import br.com.uol.pagseguro.api.common.domain.xml.TransactionPaymentMethodXML;
+import br.com.uol.pagseguro.api.utils.Cents;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * Transaction summary that keeps the raw text of each element and decodes a field only when its
+ * getter is first called. Used on search pages, where most of the fields are never read. The
+ * cents getters read the raw text directly, without decoding the amount.
+ *
+ * <p>Concurrent reads are safe: the raw texts are volatile and a decoded value is written before
+ * its text is cleared, so a thread that sees the text cleared also sees the value. Two threads
+ * may decode the same field at the same time, both writing an equal value</p>
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionSummaryXMLReader
+ */
+public class LazyTransactionSummaryXML extends TransactionSummaryXML {
+
+  private volatile String dateText;
+
+  private volatile String typeIdText;
+
+  private volatile String statusIdText;
+
+  private volatile boolean paymentMethodRead;
+
+  private String paymentMethodTypeText;
+
+  private String paymentMethodCodeText;
+
+  private volatile String grossAmountText;
+
+  private volatile String discountAmountText;
+
+  private volatile String feeAmountText;
+
+  private volatile String netAmountText;
+
+  private volatile String extraAmountText;
+
+  private volatile String lastEventText;
+
+  LazyTransactionSummaryXML() {
+  }
+
+  void setDateText(String dateText) {
+    this.dateText = dateText;
+  }
+
+  void setTypeIdText(String typeIdText) {
+    this.typeIdText = typeIdText;
+  }
+
+  void setStatusIdText(String statusIdText) {
+    this.statusIdText = statusIdText;
+  }
+
+  void setPaymentMethodText(String typeText, String codeText) {
+    this.paymentMethodTypeText = typeText;
+    this.paymentMethodCodeText = codeText;
+    this.paymentMethodRead = true;
+  }
+
+  void setGrossAmountText(String grossAmountText) {
+    this.grossAmountText = grossAmountText;
+  }
+
+  void setDiscountAmountText(String discountAmountText) {
+    this.discountAmountText = discountAmountText;
+  }
+
+  void setFeeAmountText(String feeAmountText) {
+    this.feeAmountText = feeAmountText;
+  }
+
+  void setNetAmountText(String netAmountText) {
+    this.netAmountText = netAmountText;
+  }
+
+  void setExtraAmountText(String extraAmountText) {
+    this.extraAmountText = extraAmountText;
+  }
+
+  void setLastEventText(String lastEventText) {
+    this.lastEventText = lastEventText;
+  }
+
+  @Override
+  public Date getDate() {
+    final String text = dateText;
+    if (text == null) {
+      return super.getDate();
+    }
+    final Date date = XMLReaderContext.parseDate(text);
+    super.setDate(date);
+    dateText = null;
+    return date;
+  }
+
+  @Override
+  public void setDate(Date date) {
+    super.setDate(date);
+    dateText = null;
+  }
+
+  @Override
+  public Integer getTypeId() {
+    final String text = typeIdText;
+    if (text == null) {
+      return super.getTypeId();
+    }
+    final Integer typeId = XMLReaderContext.parseInteger(text);
+    super.setTypeId(typeId);
+    typeIdText = null;
+    return typeId;
+  }
+
+  @Override
+  public void setTypeId(Integer typeId) {
+    super.setTypeId(typeId);
+    typeIdText = null;
+  }
+
+  @Override
+  public Integer getStatusId() {
+    final String text = statusIdText;
+    if (text == null) {
+      return super.getStatusId();
+    }
+    final Integer statusId = XMLReaderContext.parseInteger(text);
+    super.setStatusId(statusId);
+    statusIdText = null;
+    return statusId;
+  }
+
+  @Override
+  public void setStatusId(Integer statusId) {
+    super.setStatusId(statusId);
+    statusIdText = null;
+  }
+
+  @Override
+  public TransactionPaymentMethodXML getPaymentMethod() {
+    if (!paymentMethodRead) {
+      return super.getPaymentMethod();
+    }
+    // the texts are kept, a concurrent read may still be decoding them
+    final TransactionPaymentMethodXML paymentMethod = new TransactionPaymentMethodXML();
+    paymentMethod.setTypeId(XMLReaderContext.parseInteger(paymentMethodTypeText));
+    paymentMethod.setCodeId(XMLReaderContext.parseInteger(paymentMethodCodeText));
+    super.setPaymentMethod(paymentMethod);
+    paymentMethodRead = false;
+    return paymentMethod;
+  }
+
+  @Override
+  public void setPaymentMethod(TransactionPaymentMethodXML paymentMethod) {
+    super.setPaymentMethod(paymentMethod);
+    paymentMethodRead = false;
+  }
+
+  @Override
+  public BigDecimal getGrossAmount() {
+    final String text = grossAmountText;
+    if (text == null) {
+      return super.getGrossAmount();
+    }
+    final BigDecimal grossAmount = XMLReaderContext.parseBigDecimal(text);
+    super.setGrossAmount(grossAmount);
+    grossAmountText = null;
+    return grossAmount;
+  }
+
+  @Override
+  public void setGrossAmount(BigDecimal grossAmount) {
+    super.setGrossAmount(grossAmount);
+    grossAmountText = null;
+  }
+
+  @Override
+  public long getGrossAmountCents() {
+    final String text = grossAmountText;
+    if (text != null) {
+      return Cents.parse(text);
+    }
+    return super.getGrossAmountCents();
+  }
+
+  @Override
+  public BigDecimal getDiscountAmount() {
+    final String text = discountAmountText;
+    if (text == null) {
+      return super.getDiscountAmount();
+    }
+    final BigDecimal discountAmount = XMLReaderContext.parseBigDecimal(text);
+    super.setDiscountAmount(discountAmount);
+    discountAmountText = null;
+    return discountAmount;
+  }
+
+  @Override
+  public void setDiscountAmount(BigDecimal discountAmount) {
+    super.setDiscountAmount(discountAmount);
+    discountAmountText = null;
+  }
+
+  @Override
+  public long getDiscountAmountCents() {
+    final String text = discountAmountText;
+    if (text != null) {
+      return Cents.parse(text);
+    }
+    return super.getDiscountAmountCents();
+  }
+
+  @Override
+  public BigDecimal getFeeAmount() {
+    final String text = feeAmountText;
+    if (text == null) {
+      return super.getFeeAmount();
+    }
+    final BigDecimal feeAmount = XMLReaderContext.parseBigDecimal(text);
+    super.setFeeAmount(feeAmount);
+    feeAmountText = null;
+    return feeAmount;
+  }
+
+  @Override
+  public void setFeeAmount(BigDecimal feeAmount) {
+    super.setFeeAmount(feeAmount);
+    feeAmountText = null;
+  }
+
+  @Override
+  public long getFeeAmountCents() {
+    final String text = feeAmountText;
+    if (text != null) {
+      return Cents.parse(text);
+    }
+    return super.getFeeAmountCents();
+  }
+
+  @Override
+  public BigDecimal getNetAmount() {
+    final String text = netAmountText;
+    if (text == null) {
+      return super.getNetAmount();
+    }
+    final BigDecimal netAmount = XMLReaderContext.parseBigDecimal(text);
+    super.setNetAmount(netAmount);
+    netAmountText = null;
+    return netAmount;
+  }
+
+  @Override
+  public void setNetAmount(BigDecimal netAmount) {
+    super.setNetAmount(netAmount);
+    netAmountText = null;
+  }
+
+  @Override
+  public long getNetAmountCents() {
+    final String text = netAmountText;
+    if (text != null) {
+      return Cents.parse(text);
+    }
+    return super.getNetAmountCents();
+  }
+
+  @Override
+  public BigDecimal getExtraAmount() {
+    final String text = extraAmountText;
+    if (text == null) {
+      return super.getExtraAmount();
+    }
+    final BigDecimal extraAmount = XMLReaderContext.parseBigDecimal(text);
+    super.setExtraAmount(extraAmount);
+    extraAmountText = null;
+    return extraAmount;
+  }
+
+  @Override
+  public void setExtraAmount(BigDecimal extraAmount) {
+    super.setExtraAmount(extraAmount);
+    extraAmountText = null;
+  }
+
+  @Override
+  public long getExtraAmountCents() {
+    final String text = extraAmountText;
+    if (text != null) {
+      return Cents.parse(text);
+    }
+    return super.getExtraAmountCents();
+  }
+
+  @Override
+  public Date getLastEvent() {
+    final String text = lastEventText;
+    if (text == null) {
+      return super.getLastEvent();
+    }
+    final Date lastEvent = XMLReaderContext.parseDate(text);
+    super.setLastEvent(lastEvent);
+    lastEventText = null;
+    return lastEvent;
+  }
+
+  @Override
+  public void setLastEvent(Date lastEvent) {
+    super.setLastEvent(lastEvent);
+    lastEventText = null;
+  }
+}
@@ -148,7 +148,7 @@ public class TransactionDetailXML implements TransactionDetail {
 
   @Override
   public TransactionStatus getStatus() {
-    return new TransactionStatus(getStatusId());
+    return TransactionStatus.valueOf(getStatusId());
   }
 
   public Integer getTypeId() {
@@ -162,7 +162,7 @@ public class TransactionDetailXML implements TransactionDetail {
 
   @Override
   public TransactionType getType() {
-    return new TransactionType(getTypeId());
+    return TransactionType.valueOf(getTypeId());
   }
 
   @XmlElement
@@ -0,0 +1,109 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.common.domain.xml.CreditorFeeXMLReader;
+import br.com.uol.pagseguro.api.common.domain.xml.PaymentItemXMLReader;
+import br.com.uol.pagseguro.api.common.domain.xml.SenderXMLReader;
+import br.com.uol.pagseguro.api.common.domain.xml.ShippingXMLReader;
+import br.com.uol.pagseguro.api.common.domain.xml.TransactionPaymentMethodXMLReader;
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code TransactionDetailXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class TransactionDetailXMLReader extends AbstractXMLElementReader<TransactionDetailXML> {
+
+  private static final SenderXMLReader SENDER_READER = new SenderXMLReader();
+
+  private static final PaymentItemXMLReader ITEM_READER = new PaymentItemXMLReader();
+
+  private static final ShippingXMLReader SHIPPING_READER = new ShippingXMLReader();
+
+  private static final TransactionPaymentMethodXMLReader PAYMENT_METHOD_READER =
+      new TransactionPaymentMethodXMLReader();
+
+  private static final CreditorFeeXMLReader CREDITOR_FEE_READER = new CreditorFeeXMLReader();
+
+  @Override
+  protected TransactionDetailXML newInstance() {
+    return new TransactionDetailXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name, TransactionDetailXML target)
+      throws XMLStreamException {
+    if ("code".equals(name)) {
+      target.setCode(context.readString());
+    } else if ("reference".equals(name)) {
+      target.setReference(context.readString());
+    } else if ("date".equals(name)) {
+      target.setDate(context.readDate());
+    } else if ("lastEventDate".equals(name)) {
+      target.setLastEvent(context.readDate());
+    } else if ("status".equals(name)) {
+      target.setStatusId(context.readInteger());
+    } else if ("type".equals(name)) {
+      target.setTypeId(context.readInteger());
+    } else if ("sender".equals(name)) {
+      target.setSender(context.read(SENDER_READER));
+    } else if ("items".equals(name)) {
+      target.setItems(context.readList("item", ITEM_READER));
+    } else if ("shipping".equals(name)) {
+      target.setShipping(context.read(SHIPPING_READER));
+    } else if ("paymentMethod".equals(name)) {
+      target.setPaymentMethod(context.read(PAYMENT_METHOD_READER));
+    } else if ("extraAmount".equals(name)) {
+      target.setExtraAmount(context.readBigDecimal());
+    } else if ("netAmount".equals(name)) {
+      target.setNetAmount(context.readBigDecimal());
+    } else if ("grossAmount".equals(name)) {
+      target.setGrossAmount(context.readBigDecimal());
+    } else if ("discountAmount".equals(name)) {
+      target.setDiscountAmount(context.readBigDecimal());
+    } else if ("paymentLink".equals(name)) {
+      target.setPaymentLink(context.readString());
+    } else if ("feeAmount".equals(name)) {
+      target.setFeeAmount(context.readBigDecimal());
+    } else if ("mode".equals(name)) {
+      target.setMode(context.readString());
+    } else if ("method".equals(name)) {
+      target.setMethodDescription(context.readString());
+    } else if ("escrowEndDate".equals(name)) {
+      target.setEscrowEndDate(context.readDate());
+    } else if ("cancellationSource".equals(name)) {
+      target.setCancellationSource(context.readString());
+    } else if ("creditorFees".equals(name)) {
+      target.setCreditorFees(context.read(CREDITOR_FEE_READER));
+    } else if ("installmentCount".equals(name)) {
+      target.setInstallmentCount(context.readInteger());
+    } else {
+      context.skipElement();
+    }
+  }
+}
@@ -1,9 +1,15 @@
 package br.com.uol.pagseguro.api.transaction.search;
 
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.common.domain.DataList;
+import br.com.uol.pagseguro.api.common.domain.Parameter;
 import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
 import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.utils.PageFetcher;
+import br.com.uol.pagseguro.api.utils.PagedPublisher;
 
 /**
  * Factory to transactions search
@@ -153,4 +159,53 @@ public class TransactionSearchResource {
   public TransactionDetail byNotificationCode(String notificationCode) {
     return new TransactionSearchByNotification(notificationCode).execute(pagSeguro, httpClient);
   }
+
+  /**
+   * Publish transactions by date range. The pages are requested from PagSeguro as the subscriber
+   * demands the results, starting at the first page. The page of search is ignored
+   *
+   * @param search   Search
+   * @param prefetch Pages fetched ahead of demand
+   * @return Publisher of results
+   * @see PagedPublisher
+   */
+  public PagedPublisher<TransactionSummary> publishByDateRange(TransactionSearch search,
+                                                               int prefetch) {
+    return new PagedPublisher<TransactionSummary>(pagesByDateRange(search), prefetch);
+  }
+
+  /**
+   * Publish transactions by date range. The pages are requested from PagSeguro as the subscriber
+   * demands the results, starting at the first page. The page of search is ignored
+   *
+   * @param search   Search
+   * @param prefetch Pages fetched ahead of demand
+   * @param executor Executor of the page fetches
+   * @return Publisher of results
+   * @see PagedPublisher
+   */
+  public PagedPublisher<TransactionSummary> publishByDateRange(TransactionSearch search,
+                                                               int prefetch, Executor executor) {
+    return new PagedPublisher<TransactionSummary>(pagesByDateRange(search), prefetch, executor);
+  }
+
+  /**
+   * Create fetcher of the pages of a search by date range
+   *
+   * @param search Search
+   * @return Page fetcher
+   */
+  private PageFetcher<TransactionSummary> pagesByDateRange(final TransactionSearch search) {
+    return new PageFetcher<TransactionSummary>() {
+
+      @Override
+      public DataList<? extends TransactionSummary> fetch(int page) {
+        return byDateRange(new TransactionSearchBuilder().withDateRange(search.getDateRange())
+            .withReference(search.getReference()).withPage(page)
+            .withMaxResults(search.getMaxResults())
+            .addParameters(search.getParameters() == null
+                ? Collections.<Parameter>emptyList() : search.getParameters()).build());
+      }
+    };
+  }
 }
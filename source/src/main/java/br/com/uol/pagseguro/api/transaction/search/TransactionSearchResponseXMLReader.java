@@ -0,0 +1,66 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code TransactionSearchResponseXML}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ */
+public class TransactionSearchResponseXMLReader extends
+    AbstractXMLElementReader<TransactionSearchResponseXML> {
+
+  private static final TransactionSummaryXMLReader TRANSACTION_READER =
+      new TransactionSummaryXMLReader();
+
+  @Override
+  protected TransactionSearchResponseXML newInstance() {
+    return new TransactionSearchResponseXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name,
+                           TransactionSearchResponseXML target) throws XMLStreamException {
+    if ("transactions".equals(name)) {
+      target.setTransactions(context.<TransactionSummaryXML>readList("transaction",
+          TRANSACTION_READER));
+    } else if ("resultsInThisPage".equals(name)) {
+      final Integer resultsInThisPage = context.readInteger();
+      if (resultsInThisPage != null) {
+        target.setResultsInThisPage(resultsInThisPage);
+      }
+    } else if ("totalPages".equals(name)) {
+      final Integer totalPages = context.readInteger();
+      if (totalPages != null) {
+        target.setTotalPages(totalPages);
+      }
+    } else {
+      context.skipElement();
+    }
+  }
+}
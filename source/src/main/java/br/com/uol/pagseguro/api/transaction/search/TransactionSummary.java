@@ -27,6 +27,7 @@ import br.com.uol.pagseguro.api.common.domain.TransactionPaymentMethod;
 import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
 import br.com.uol.pagseguro.api.common.domain.TransactionType;
 import br.com.uol.pagseguro.api.transaction.TransactionIdentify;
+import br.com.uol.pagseguro.api.utils.Cents;
 
 /**
  * Interface for transaction summary response
@@ -121,4 +122,54 @@ public interface TransactionSummary extends TransactionIdentify {
    */
   TransactionDetail getDetail();
 
+  /**
+   * Get gross amount in cents
+   *
+   * @return Gross amount in cents or zero if there is no amount
+   * @see #getGrossAmount()
+   */
+  default long getGrossAmountCents() {
+    return Cents.valueOf(getGrossAmount());
+  }
+
+  /**
+   * Get discount amount in cents
+   *
+   * @return Discount amount in cents or zero if there is no amount
+   * @see #getDiscountAmount()
+   */
+  default long getDiscountAmountCents() {
+    return Cents.valueOf(getDiscountAmount());
+  }
+
+  /**
+   * Get fee amount in cents
+   *
+   * @return Fee amount in cents or zero if there is no amount
+   * @see #getFeeAmount()
+   */
+  default long getFeeAmountCents() {
+    return Cents.valueOf(getFeeAmount());
+  }
+
+  /**
+   * Get net amount in cents
+   *
+   * @return Net amount in cents or zero if there is no amount
+   * @see #getNetAmount()
+   */
+  default long getNetAmountCents() {
+    return Cents.valueOf(getNetAmount());
+  }
+
+  /**
+   * Get extra amount in cents
+   *
+   * @return Extra amount in cents or zero if there is no amount
+   * @see #getExtraAmount()
+   */
+  default long getExtraAmountCents() {
+    return Cents.valueOf(getExtraAmount());
+  }
+
 }
@@ -0,0 +1,165 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+/**
+ * Totals in cents of transaction summaries. Can be fed page by page, so reports over many
+ * search pages are summed without creating a {@code BigDecimal} per amount.
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionSummary#getGrossAmountCents()
+ */
+public class TransactionSummaryTotals {
+
+  private long count;
+
+  private long grossAmountCents;
+
+  private long discountAmountCents;
+
+  private long feeAmountCents;
+
+  private long netAmountCents;
+
+  private long extraAmountCents;
+
+  /**
+   * Sum transaction summaries
+   *
+   * @param transactions Transaction summaries
+   * @return Totals
+   */
+  public static TransactionSummaryTotals of(Iterable<? extends TransactionSummary> transactions) {
+    return new TransactionSummaryTotals().addAll(transactions);
+  }
+
+  /**
+   * Add a transaction summary to totals
+   *
+   * @param transaction Transaction summary
+   * @return Totals
+   */
+  public TransactionSummaryTotals add(TransactionSummary transaction) {
+    count++;
+    grossAmountCents += transaction.getGrossAmountCents();
+    discountAmountCents += transaction.getDiscountAmountCents();
+    feeAmountCents += transaction.getFeeAmountCents();
+    netAmountCents += transaction.getNetAmountCents();
+    extraAmountCents += transaction.getExtraAmountCents();
+    return this;
+  }
+
+  /**
+   * Add transaction summaries to totals
+   *
+   * @param transactions Transaction summaries, like a page of search results
+   * @return Totals
+   */
+  public TransactionSummaryTotals addAll(Iterable<? extends TransactionSummary> transactions) {
+    for (TransactionSummary transaction : transactions) {
+      add(transaction);
+    }
+    return this;
+  }
+
+  /**
+   * Add other totals to these totals
+   *
+   * @param totals Other totals
+   * @return Totals
+   */
+  public TransactionSummaryTotals add(TransactionSummaryTotals totals) {
+    count += totals.count;
+    grossAmountCents += totals.grossAmountCents;
+    discountAmountCents += totals.discountAmountCents;
+    feeAmountCents += totals.feeAmountCents;
+    netAmountCents += totals.netAmountCents;
+    extraAmountCents += totals.extraAmountCents;
+    return this;
+  }
+
+  /**
+   * Get number of transactions summed
+   *
+   * @return Count
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get sum of gross amounts
+   *
+   * @return Gross amount in cents
+   */
+  public long getGrossAmountCents() {
+    return grossAmountCents;
+  }
+
+  /**
+   * Get sum of discount amounts
+   *
+   * @return Discount amount in cents
+   */
+  public long getDiscountAmountCents() {
+    return discountAmountCents;
+  }
+
+  /**
+   * Get sum of fee amounts
+   *
+   * @return Fee amount in cents
+   */
+  public long getFeeAmountCents() {
+    return feeAmountCents;
+  }
+
+  /**
+   * Get sum of net amounts
+   *
+   * @return Net amount in cents
+   */
+  public long getNetAmountCents() {
+    return netAmountCents;
+  }
+
+  /**
+   * Get sum of extra amounts
+   *
+   * @return Extra amount in cents
+   */
+  public long getExtraAmountCents() {
+    return extraAmountCents;
+  }
+
+  @Override
+  public String toString() {
+    return "TransactionSummaryTotals{" +
+        "count=" + count +
+        ", grossAmountCents=" + grossAmountCents +
+        ", discountAmountCents=" + discountAmountCents +
+        ", feeAmountCents=" + feeAmountCents +
+        ", netAmountCents=" + netAmountCents +
+        ", extraAmountCents=" + extraAmountCents +
+        '}';
+  }
+}
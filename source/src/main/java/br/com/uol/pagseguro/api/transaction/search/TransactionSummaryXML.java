@@ -128,7 +128,7 @@ public class TransactionSummaryXML implements TransactionSummary, XMLUnmarshallL
 
   @Override
   public TransactionType getType() {
-    return new TransactionType(getTypeId());
+    return TransactionType.valueOf(getTypeId());
   }
 
   @XmlElement(name = "status")
@@ -138,7 +138,7 @@ public class TransactionSummaryXML implements TransactionSummary, XMLUnmarshallL
 
   @Override
   public TransactionStatus getStatus() {
-    return new TransactionStatus(getStatusId());
+    return TransactionStatus.valueOf(getStatusId());
   }
 
   public BigDecimal getGrossAmount() {
@@ -208,18 +208,18 @@ public class TransactionSummaryXML implements TransactionSummary, XMLUnmarshallL
   @Override
   public String toString() {
     return "TransactionSummaryXML{" +
-        "date=" + date +
-        ", reference='" + reference + '\'' +
-        ", code='" + code + '\'' +
-        ", typeId=" + typeId +
-        ", statusId=" + statusId +
-        ", paymentMethod=" + paymentMethod +
-        ", grossAmount=" + grossAmount +
-        ", discountAmount=" + discountAmount +
-        ", feeAmount=" + feeAmount +
-        ", netAmount=" + netAmount +
-        ", extraAmount=" + extraAmount +
-        ", lastEvent=" + lastEvent +
+        "date=" + getDate() +
+        ", reference='" + getReference() + '\'' +
+        ", code='" + getCode() + '\'' +
+        ", typeId=" + getTypeId() +
+        ", statusId=" + getStatusId() +
+        ", paymentMethod=" + getPaymentMethod() +
+        ", grossAmount=" + getGrossAmount() +
+        ", discountAmount=" + getDiscountAmount() +
+        ", feeAmount=" + getFeeAmount() +
+        ", netAmount=" + getNetAmount() +
+        ", extraAmount=" + getExtraAmount() +
+        ", lastEvent=" + getLastEvent() +
         ", pagseguro=" + pagseguro +
         '}';
   }
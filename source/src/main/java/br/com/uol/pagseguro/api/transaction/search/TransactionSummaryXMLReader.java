@@ -0,0 +1,100 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+import javax.xml.stream.XMLStreamException;
+
+import br.com.uol.pagseguro.api.utils.xml.AbstractXMLElementReader;
+import br.com.uol.pagseguro.api.utils.xml.XMLReaderContext;
+
+/**
+ * StAX reader of {@code TransactionSummaryXML}. Only the raw text of the elements is kept, the
+ * values are decoded by {@code LazyTransactionSummaryXML} when they are read
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see AbstractXMLElementReader
+ * @see LazyTransactionSummaryXML
+ */
+public class TransactionSummaryXMLReader extends
+    AbstractXMLElementReader<LazyTransactionSummaryXML> {
+
+  @Override
+  protected LazyTransactionSummaryXML newInstance() {
+    return new LazyTransactionSummaryXML();
+  }
+
+  @Override
+  protected void readChild(XMLReaderContext context, String name,
+                           LazyTransactionSummaryXML target) throws XMLStreamException {
+    if ("date".equals(name)) {
+      target.setDateText(context.readString());
+    } else if ("reference".equals(name)) {
+      target.setReference(context.readString());
+    } else if ("code".equals(name)) {
+      target.setCode(context.readString());
+    } else if ("type".equals(name)) {
+      target.setTypeIdText(context.readString());
+    } else if ("status".equals(name)) {
+      target.setStatusIdText(context.readString());
+    } else if ("paymentMethod".equals(name)) {
+      readPaymentMethod(context, target);
+    } else if ("grossAmount".equals(name)) {
+      target.setGrossAmountText(context.readString());
+    } else if ("discountAmount".equals(name)) {
+      target.setDiscountAmountText(context.readString());
+    } else if ("feeAmount".equals(name)) {
+      target.setFeeAmountText(context.readString());
+    } else if ("netAmount".equals(name)) {
+      target.setNetAmountText(context.readString());
+    } else if ("extraAmount".equals(name)) {
+      target.setExtraAmountText(context.readString());
+    } else if ("lastEventDate".equals(name)) {
+      target.setLastEventText(context.readString());
+    } else {
+      context.skipElement();
+    }
+  }
+
+  /**
+   * Read raw text of payment method
+   *
+   * @param context Reader context
+   * @param target  Transaction summary
+   */
+  private static void readPaymentMethod(XMLReaderContext context,
+                                        LazyTransactionSummaryXML target)
+      throws XMLStreamException {
+    String typeText = null;
+    String codeText = null;
+    while (context.nextChild()) {
+      final String name = context.getLocalName();
+      if ("type".equals(name)) {
+        typeText = context.readString();
+      } else if ("code".equals(name)) {
+        codeText = context.readString();
+      } else {
+        context.skipElement();
+      }
+    }
+    target.setPaymentMethodText(typeText, codeText);
+  }
+}
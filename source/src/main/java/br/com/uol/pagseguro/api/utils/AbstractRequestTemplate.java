@@ -0,0 +1,218 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.utils;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+
+/**
+ * Abstract request template. The fields shared by many requests are converted and url encoded
+ * once, when the template is created, each field on its own. Each request converts only its own
+ * fields, which are appended to the encoded fields of template.
+ * All request templates must implement this class.
+ *
+ * <p>A field set by the request replaces the whole field of template: for example, a sender of
+ * the request replaces the sender of template, even if it has only some of its attributes. The
+ * items of the request are appended to the items of template. The registration returned by
+ * {@link #merge(Object)} follows the same rules, so it is the registration sent</p>
+ *
+ * @param <T> Class of registration
+ * @author PagSeguro Internet Ltda.
+ */
+public abstract class AbstractRequestTemplate<T> {
+
+  private final T registration;
+
+  private final Map<String, String> encodedFields;
+
+  private final int encodedLength;
+
+  private final String contentType;
+
+  private final String charset;
+
+  /**
+   * Constructor
+   *
+   * @param registration Registration with the fields shared by the requests
+   * @param fields       Each field of registration converted, by field name
+   * @param charset      Encoding
+   */
+  protected AbstractRequestTemplate(T registration, Map<String, RequestMap> fields,
+                                    String charset) {
+    if (registration == null || fields == null || charset == null) {
+      throw new NullPointerException();
+    }
+    this.registration = registration;
+    this.charset = charset;
+    this.contentType = String.format("application/x-www-form-urlencoded; charset=%s", charset);
+    final Map<String, String> encoded = new LinkedHashMap<String, String>();
+    int length = 0;
+    try {
+      for (Map.Entry<String, RequestMap> field : fields.entrySet()) {
+        final String value = field.getValue().toUrlEncode(charset);
+        if (!value.isEmpty()) {
+          encoded.put(field.getKey(), value);
+          length += value.length() + 1;
+        }
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new PagSeguroLibException(e);
+    }
+    this.encodedFields = Collections.unmodifiableMap(encoded);
+    this.encodedLength = length;
+  }
+
+  /**
+   * Get registration of template
+   *
+   * @return Registration with the fields shared by the requests
+   */
+  public T getRegistration() {
+    return registration;
+  }
+
+  /**
+   * Get charset
+   *
+   * @return Encoding of fields
+   */
+  public String getCharset() {
+    return charset;
+  }
+
+  /**
+   * Merge a registration with the registration of template. The fields set by the registration
+   * replace the fields of template. Used to validate the request
+   *
+   * @param registration Registration of request
+   * @return Registration sent
+   */
+  public abstract T merge(T registration);
+
+  /**
+   * Convert the fields of a registration, without the fields of template
+   *
+   * @param registration Registration of request
+   * @return Request map of registration
+   */
+  public abstract RequestMap convert(T registration);
+
+  /**
+   * Check if a registration sets a field, replacing the field of template
+   *
+   * @param registration Registration of request
+   * @param field        Field name
+   * @return True if the field of template is not sent
+   */
+  protected abstract boolean isReplaced(T registration, String field);
+
+  /**
+   * Convert to http request body, appending the request map to the encoded fields of template
+   * not replaced by the registration
+   *
+   * @param registration Registration of request
+   * @param requestMap   Request map of request
+   * @return Http Request Body
+   * @see HttpRequestBody
+   */
+  public HttpRequestBody toHttpRequestBody(T registration, RequestMap requestMap)
+      throws UnsupportedEncodingException {
+    final Map<String, String> map = requestMap.getMap();
+    final StringBuilder content = new StringBuilder(encodedLength + map.size() * 32);
+    for (Map.Entry<String, String> field : encodedFields.entrySet()) {
+      if (!isReplaced(registration, field.getKey())) {
+        if (content.length() > 0) {
+          content.append('&');
+        }
+        content.append(field.getValue());
+      }
+    }
+    for (Map.Entry<String, String> entry : map.entrySet()) {
+      RequestMap.appendUrlEncoded(content, entry.getKey(), entry.getValue(), charset);
+    }
+    return new HttpRequestBody(contentType, content.toString(), charset);
+  }
+
+  /**
+   * Check if a field is set. Empty lists are not set
+   *
+   * @param value Value of field
+   * @return True if the value is not null nor an empty list
+   */
+  protected static boolean isSet(Object value) {
+    return value != null && !(value instanceof Collection && ((Collection<?>) value).isEmpty());
+  }
+
+  /**
+   * Get a value of registration or of template
+   *
+   * @param value         Value of registration
+   * @param templateValue Value of template
+   * @param <V>           Class of value
+   * @return Value of registration, or value of template if not set
+   * @see #isSet(Object)
+   */
+  protected static <V> V valueOf(V value, V templateValue) {
+    return isSet(value) ? value : templateValue;
+  }
+
+  /**
+   * Get the items of template followed by the items of registration
+   *
+   * @param values         Items of registration
+   * @param templateValues Items of template
+   * @param <V>            Class of items
+   * @return Items of template and of registration
+   */
+  protected static <V> List<? extends V> valuesOf(List<? extends V> values,
+                                                  List<? extends V> templateValues) {
+    if (!isSet(values)) {
+      return templateValues;
+    }
+    if (!isSet(templateValues)) {
+      return values;
+    }
+    final List<V> merged = new ArrayList<V>(templateValues.size() + values.size());
+    merged.addAll(templateValues);
+    merged.addAll(values);
+    return merged;
+  }
+
+  /**
+   * Get size of a list
+   *
+   * @param values List
+   * @return Size, or zero if null
+   */
+  protected static int sizeOf(List<?> values) {
+    return values == null ? 0 : values.size();
+  }
+
+}
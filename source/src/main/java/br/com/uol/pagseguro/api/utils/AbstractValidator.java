@@ -0,0 +1,87 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.utils;
+
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+
+/**
+ * Abstract validator. Used to validate requests before they are converted and sent, so the
+ * errors the api would answer are found without a round trip. Validators only check rules of
+ * the api and do not allocate while the object is valid.
+ * All validators must implement this class.
+ *
+ * <p>The validation of the resources may be disabled with the JVM property
+ * {@code pagseguro.validation=false}</p>
+ *
+ * @param <T> Class to be validated
+ * @author PagSeguro Internet Ltda.
+ */
+public abstract class AbstractValidator<T> implements Validator<T> {
+
+  private static final boolean ENABLED =
+      !"false".equalsIgnoreCase(System.getProperty("pagseguro.validation"));
+
+  public AbstractValidator() {
+  }
+
+  /**
+   * Validate an object
+   *
+   * @param object Object to be validated
+   * @return Errors found, empty if the object is valid
+   */
+  @Override
+  public final ValidationErrors validate(T object) {
+    final ValidationErrors errors = new ValidationErrors();
+    validate(errors, object);
+    return errors;
+  }
+
+  /**
+   * Validate an object, adding the errors found. Null objects are not validated
+   *
+   * @param errors Errors found
+   * @param object Object to be validated
+   */
+  public final void validate(ValidationErrors errors, T object) {
+    if (object != null) {
+      doValidate(errors, object);
+    }
+  }
+
+  /**
+   * Validate an object. This method must be implemented
+   *
+   * @param errors Errors found
+   * @param object Object to be validated, never null
+   */
+  abstract protected void doValidate(ValidationErrors errors, T object);
+
+  /**
+   * Check if the resources validate the requests before sending them
+   *
+   * @return False if the property {@code pagseguro.validation} is {@code false}
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lookup table of values by a case insensitive key. Used by the enums to find a constant by its
+ * code without scanning {@code values()}. Keys in the same case of the registered ones are found
+ * without creating a new string
+ *
+ * @param <T> Value class
+ * @author PagSeguro Internet Ltda.
+ */
+public final class CaseInsensitiveLookup<T> {
+
+  private final Map<String, T> values = new HashMap<String, T>();
+
+  /**
+   * Register a value. When two values have the same key, the first one is kept
+   *
+   * @param key   Key. Null keys are ignored
+   * @param value Value
+   * @return Lookup table
+   */
+  public CaseInsensitiveLookup<T> put(String key, T value) {
+    if (key == null) {
+      return this;
+    }
+    putIfAbsent(key, value);
+    putIfAbsent(key.toUpperCase(Locale.ROOT), value);
+    return this;
+  }
+
+  /**
+   * Get value by key
+   *
+   * @param key          Key
+   * @param defaultValue Value returned when the key is not registered
+   * @return Value
+   */
+  public T get(String key, T defaultValue) {
+    if (key == null) {
+      return defaultValue;
+    }
+    T value = values.get(key);
+    if (value == null) {
+      value = values.get(key.toUpperCase(Locale.ROOT));
+    }
+    return value != null ? value : defaultValue;
+  }
+
+  private void putIfAbsent(String key, T value) {
+    if (!values.containsKey(key)) {
+      values.put(key, value);
+    }
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between amounts and {@code long} cents. Amounts are rounded to two decimals with
+ * {@link RoundingMode#HALF_EVEN}, the same rounding used by {@link RequestMap#putCurrency}
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class Cents {
+
+  private static final int MAX_FAST_DIGITS = 16;
+
+  private Cents() {
+  }
+
+  /**
+   * Convert amount to cents
+   *
+   * @param amount Amount
+   * @return Cents or zero if there is no amount
+   * @throws ArithmeticException if the amount does not fit on a long
+   */
+  public static long valueOf(BigDecimal amount) {
+    if (amount == null) {
+      return 0L;
+    }
+    return amount.setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValueExact();
+  }
+
+  /**
+   * Convert cents to amount
+   *
+   * @param cents Cents
+   * @return Amount with two decimals
+   */
+  public static BigDecimal toBigDecimal(long cents) {
+    return BigDecimal.valueOf(cents, 2);
+  }
+
+  /**
+   * Parse a decimal text to cents without creating a {@code BigDecimal} on the common formats
+   * ({@code 10}, {@code 10.5}, {@code 10.50}). Other formats are parsed by {@code BigDecimal}
+   *
+   * @param text Decimal text
+   * @return Cents or zero if the text is not a decimal
+   */
+  public static long parse(String text) {
+    if (text == null) {
+      return 0L;
+    }
+    int start = 0;
+    int end = text.length();
+    while (start < end && text.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && text.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (start == end) {
+      return 0L;
+    }
+    int pos = start;
+    boolean negative = false;
+    if (text.charAt(pos) == '-' || text.charAt(pos) == '+') {
+      negative = text.charAt(pos) == '-';
+      pos++;
+    }
+    long units = 0;
+    int digits = 0;
+    while (pos < end && isAsciiDigit(text.charAt(pos))) {
+      units = units * 10 + (text.charAt(pos) - '0');
+      digits++;
+      pos++;
+    }
+    long fraction = 0;
+    int fractionDigits = 0;
+    if (pos < end && text.charAt(pos) == '.') {
+      pos++;
+      while (pos < end && fractionDigits < 2 && isAsciiDigit(text.charAt(pos))) {
+        fraction = fraction * 10 + (text.charAt(pos) - '0');
+        fractionDigits++;
+        pos++;
+      }
+      while (pos < end && text.charAt(pos) == '0') {
+        pos++;
+      }
+    }
+    if (pos != end || digits > MAX_FAST_DIGITS || digits + fractionDigits == 0) {
+      return parseSlow(text.substring(start, end));
+    }
+    if (fractionDigits == 1) {
+      fraction *= 10;
+    }
+    final long cents = units * 100 + fraction;
+    return negative ? -cents : cents;
+  }
+
+  /**
+   * Format cents as a decimal text with two decimals, as sent to the api
+   *
+   * @param cents Cents
+   * @return Decimal text
+   */
+  public static String toString(long cents) {
+    if (cents == Long.MIN_VALUE) {
+      return toBigDecimal(cents).toString();
+    }
+    final long abs = Math.abs(cents);
+    final long fraction = abs % 100;
+    final StringBuilder sb = new StringBuilder(24);
+    if (cents < 0) {
+      sb.append('-');
+    }
+    sb.append(abs / 100).append('.');
+    if (fraction < 10) {
+      sb.append('0');
+    }
+    return sb.append(fraction).toString();
+  }
+
+  private static long parseSlow(String text) {
+    try {
+      return valueOf(new BigDecimal(text));
+    } catch (NumberFormatException e) {
+      return 0L;
+    }
+  }
+
+  private static boolean isAsciiDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+}
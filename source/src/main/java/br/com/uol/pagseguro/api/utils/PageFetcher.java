@@ -0,0 +1,43 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import br.com.uol.pagseguro.api.common.domain.DataList;
+
+/**
+ * Fetches one page of a search
+ *
+ * @param <T> Class of the results
+ * @author PagSeguro Internet Ltda.
+ * @see PagedPublisher
+ */
+public interface PageFetcher<T> {
+
+  /**
+   * Fetch a page
+   *
+   * @param page Page, starting at 1
+   * @return Results of page
+   */
+  DataList<? extends T> fetch(int page);
+
+}
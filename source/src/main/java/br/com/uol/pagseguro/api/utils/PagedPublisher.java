@@ -0,0 +1,260 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import br.com.uol.pagseguro.api.common.domain.DataList;
+
+/**
+ * Publisher of the results of a paged search. Pages are fetched one at a time, in order, only
+ * when there is downstream demand or while fewer than {@code prefetch} pages are buffered. Each
+ * subscriber runs its own search
+ *
+ * @param <T> Class of the results
+ * @author PagSeguro Internet Ltda.
+ * @see PageFetcher
+ */
+public class PagedPublisher<T> implements Publisher<T> {
+
+  private static final ExecutorService DEFAULT_EXECUTOR =
+      Threads.newTaskExecutor("pagseguro-search-");
+
+  private final PageFetcher<T> fetcher;
+
+  private final int prefetch;
+
+  private final Executor executor;
+
+  /**
+   * Constructor. Pages are fetched on threads of the lib
+   *
+   * @param fetcher  Page fetcher
+   * @param prefetch Pages fetched ahead of demand
+   */
+  public PagedPublisher(PageFetcher<T> fetcher, int prefetch) {
+    this(fetcher, prefetch, DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param fetcher  Page fetcher
+   * @param prefetch Pages fetched ahead of demand
+   * @param executor Executor of the page fetches
+   */
+  public PagedPublisher(PageFetcher<T> fetcher, int prefetch, Executor executor) {
+    if (fetcher == null || executor == null) {
+      throw new NullPointerException();
+    }
+    if (prefetch < 0) {
+      throw new IllegalArgumentException("Prefetch must not be negative");
+    }
+    this.fetcher = fetcher;
+    this.prefetch = prefetch;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException();
+    }
+    final PageSubscription subscription = new PageSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+  }
+
+  /**
+   * Subscription of one subscriber. Signals are serialized by the drain loop
+   */
+  private class PageSubscription implements Subscription, Runnable {
+
+    private final Subscriber<? super T> subscriber;
+
+    private final Queue<List<? extends T>> pages = new ConcurrentLinkedQueue<List<? extends T>>();
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicLong buffered = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private int index;
+
+    private int nextPage = 1;
+
+    private volatile boolean started;
+
+    private volatile boolean fetching;
+
+    private volatile boolean exhausted;
+
+    private volatile boolean cancelled;
+
+    private volatile Throwable error;
+
+    private volatile Throwable violation;
+
+    PageSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        violation = new IllegalArgumentException("Request must be positive (rule 3.9)");
+      } else {
+        started = true;
+        long current;
+        long next;
+        do {
+          current = requested.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    /**
+     * Fetch the next page
+     */
+    @Override
+    public void run() {
+      try {
+        final DataList<? extends T> page = fetcher.fetch(nextPage);
+        final List<? extends T> data = page == null ? null : page.getData();
+        final Integer totalPages = page == null ? null : page.getTotalPages();
+        if (data != null && !data.isEmpty()) {
+          pages.offer(data);
+          buffered.addAndGet(data.size());
+        }
+        nextPage++;
+        if (data == null || data.isEmpty() || totalPages == null || nextPage > totalPages) {
+          exhausted = true;
+        }
+      } catch (RuntimeException e) {
+        error = e;
+        exhausted = true;
+      } finally {
+        fetching = false;
+      }
+      drain();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        if (cancelled) {
+          pages.clear();
+          return;
+        }
+        if (violation != null) {
+          cancelled = true;
+          pages.clear();
+          subscriber.onError(violation);
+          return;
+        }
+        final long demand = requested.get();
+        long emitted = 0;
+        while (emitted != demand && !cancelled) {
+          final T item = poll();
+          if (item == null) {
+            break;
+          }
+          subscriber.onNext(item);
+          emitted++;
+        }
+        if (emitted > 0 && demand != Long.MAX_VALUE) {
+          requested.addAndGet(-emitted);
+        }
+        if (cancelled) {
+          pages.clear();
+          return;
+        }
+        if (buffered.get() == 0 && exhausted && !fetching) {
+          cancelled = true;
+          if (error != null) {
+            subscriber.onError(error);
+          } else {
+            subscriber.onComplete();
+          }
+          return;
+        }
+        fetchIfNeeded();
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private T poll() {
+      while (true) {
+        final List<? extends T> head = pages.peek();
+        if (head == null) {
+          return null;
+        }
+        if (index < head.size()) {
+          buffered.decrementAndGet();
+          return head.get(index++);
+        }
+        pages.poll();
+        index = 0;
+      }
+    }
+
+    private void fetchIfNeeded() {
+      if (fetching || exhausted || !started) {
+        return;
+      }
+      if (buffered.get() >= requested.get() && pages.size() >= prefetch) {
+        return;
+      }
+      fetching = true;
+      try {
+        executor.execute(this);
+      } catch (RejectedExecutionException e) {
+        error = e;
+        exhausted = true;
+        fetching = false;
+        wip.incrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces the calls evenly at a maximum rate. Calls that exceed the rate wait for their slot
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class RateLimiter {
+
+  private final long intervalNanos;
+
+  private long next = System.nanoTime();
+
+  /**
+   * Constructor
+   *
+   * @param ratePerSecond Maximum calls per second
+   */
+  public RateLimiter(int ratePerSecond) {
+    if (ratePerSecond < 1) {
+      throw new IllegalArgumentException("Rate must be positive");
+    }
+    this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+  }
+
+  /**
+   * Wait for the slot of a call
+   */
+  public void acquire() throws InterruptedException {
+    final long wait;
+    synchronized (this) {
+      final long now = System.nanoTime();
+      if (next - now < 0) {
+        next = now;
+      }
+      wait = next - now;
+      next += intervalNanos;
+    }
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+  }
+}
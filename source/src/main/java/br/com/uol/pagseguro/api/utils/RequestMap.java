@@ -198,15 +198,28 @@ public final class RequestMap {
   public String toUrlEncode(String charset) throws UnsupportedEncodingException {
     StringBuilder sb = new StringBuilder();
     for (Map.Entry<String, String> entry : map.entrySet()) {
-      if (sb.length() > 0) {
-        sb.append("&");
-      }
-      sb.append(String.format("%s=%s", URLEncoder.encode(entry.getKey(), charset),
-          URLEncoder.encode(entry.getValue(), charset)));
+      appendUrlEncoded(sb, entry.getKey(), entry.getValue(), charset);
     }
     return sb.toString();
   }
 
+  /**
+   * Append an url encoded parameter
+   *
+   * @param sb      Url encoded parameters
+   * @param key     Key
+   * @param value   Value
+   * @param charset Encoding
+   */
+  static void appendUrlEncoded(StringBuilder sb, String key, String value, String charset)
+      throws UnsupportedEncodingException {
+    if (sb.length() > 0) {
+      sb.append("&");
+    }
+    sb.append(URLEncoder.encode(key, charset)).append('=').append(URLEncoder.encode(value,
+        charset));
+  }
+
   /**
    * Convert to http request body
    *
@@ -221,6 +234,15 @@ public final class RequestMap {
         charset);
   }
 
+  /**
+   * Get the parameters
+   *
+   * @return Map of parameters
+   */
+  Map<String, String> getMap() {
+    return map;
+  }
+
   @Override
   public String toString() {
     return "RequestMap{" +
@@ -0,0 +1,77 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads used by the asynchronous apis of the lib. This version creates daemon platform threads.
+ * On Java 21 or later the multi release jar replaces it by a version that creates virtual threads
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class Threads {
+
+  private Threads() {
+  }
+
+  /**
+   * Check if the threads created are virtual
+   *
+   * @return False, virtual threads require Java 21
+   */
+  public static boolean isVirtual() {
+    return false;
+  }
+
+  /**
+   * Create a thread factory
+   *
+   * @param prefix Prefix of thread names, followed by a counter
+   * @return Thread factory of daemon threads
+   */
+  public static ThreadFactory threadFactory(final String prefix) {
+    final AtomicInteger counter = new AtomicInteger();
+    return new ThreadFactory() {
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  /**
+   * Create an executor that runs each task on its own thread, reusing idle threads
+   *
+   * @param prefix Prefix of thread names, followed by a counter
+   * @return Executor
+   */
+  public static ExecutorService newTaskExecutor(String prefix) {
+    return Executors.newCachedThreadPool(threadFactory(prefix));
+  }
+}
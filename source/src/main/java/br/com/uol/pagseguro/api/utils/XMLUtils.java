@@ -21,6 +21,8 @@
 package br.com.uol.pagseguro.api.utils;
 
 import java.io.StringReader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -36,6 +38,9 @@ import br.com.uol.pagseguro.api.PagSeguro;
  */
 public class XMLUtils {
 
+  private static final ConcurrentMap<Class<?>, JAXBContext> CONTEXTS =
+      new ConcurrentHashMap<Class<?>, JAXBContext>();
+
   /**
    * Unmarshal xml
    *
@@ -46,12 +51,31 @@ public class XMLUtils {
    * @return Object parsed
    */
   public static <T> T unmarshal(PagSeguro pagSeguro, Class<T> clazz, String rawXml) throws JAXBException {
-    final JAXBContext jaxbContext = JAXBContext.newInstance(clazz);
+    final JAXBContext jaxbContext = getContext(clazz);
     final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
     unmarshaller.setListener(new JaxBUnmarshalListener(pagSeguro, rawXml));
     return (T) unmarshaller.unmarshal(new StringReader(rawXml));
   }
 
+  /**
+   * Get jaxb context of class. Contexts are thread safe and expensive to build, so they are
+   * created once per class
+   *
+   * @param clazz Class to be parsed
+   * @return Jaxb context
+   */
+  private static JAXBContext getContext(Class<?> clazz) throws JAXBException {
+    JAXBContext jaxbContext = CONTEXTS.get(clazz);
+    if (jaxbContext == null) {
+      jaxbContext = JAXBContext.newInstance(clazz);
+      final JAXBContext existing = CONTEXTS.putIfAbsent(clazz, jaxbContext);
+      if (existing != null) {
+        jaxbContext = existing;
+      }
+    }
+    return jaxbContext;
+  }
+
   /**
    * Listener
    */
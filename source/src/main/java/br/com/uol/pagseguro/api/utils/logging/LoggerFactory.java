@@ -22,13 +22,14 @@
 package br.com.uol.pagseguro.api.utils.logging;
 
 /**
- * Factory to logger
+ * Factory to logger. The factory is global and may be replaced by any thread; loggers already
+ * created keep the factory that was configured when they were created
  *
  * @author PagSeguro Internet Ltda.
  */
 public abstract class LoggerFactory {
 
-  private static LoggerFactory loggerFactory;
+  private static volatile LoggerFactory loggerFactory;
 
   /**
    * Configure logger factory
@@ -46,10 +47,11 @@ public abstract class LoggerFactory {
    * @return Logger
    */
   public static Log getLogger(String name) {
-    if (loggerFactory == null) {
-      configureLoggerFactory(new SimpleLoggerFactory());
+    LoggerFactory factory = loggerFactory;
+    if (factory == null) {
+      factory = new SimpleLoggerFactory();
     }
-    return loggerFactory.doGetLog(name);
+    return factory.doGetLog(name);
   }
 
   /**
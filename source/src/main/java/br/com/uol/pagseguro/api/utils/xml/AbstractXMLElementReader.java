@@ -0,0 +1,69 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Abstract element reader. Creates the target and reads each child element of it.
+ * Unknown children are skipped.
+ *
+ * @param <T> Class to be read
+ * @author PagSeguro Internet Ltda.
+ */
+public abstract class AbstractXMLElementReader<T> implements XMLElementReader<T> {
+
+  /**
+   * Read the element where the context is positioned
+   *
+   * @param context Reader context
+   * @return Object read
+   */
+  @Override
+  public final T read(XMLReaderContext context) throws XMLStreamException {
+    final T target = newInstance();
+    while (context.nextChild()) {
+      readChild(context, context.getLocalName(), target);
+    }
+    context.afterRead(target);
+    return target;
+  }
+
+  /**
+   * Create the object to be read
+   *
+   * @return New instance
+   */
+  protected abstract T newInstance();
+
+  /**
+   * Read a child element of target. This method must consume the whole child, using
+   * {@link XMLReaderContext#skipElement()} for children that are not mapped
+   *
+   * @param context Reader context
+   * @param name    Local name of child
+   * @param target  Object being read
+   */
+  protected abstract void readChild(XMLReaderContext context, String name, T target)
+      throws XMLStreamException;
+
+}
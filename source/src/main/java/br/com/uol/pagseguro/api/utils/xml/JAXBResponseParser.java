@@ -0,0 +1,56 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import javax.xml.bind.JAXBException;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.utils.XMLUtils;
+
+/**
+ * Response parser based on JAXB. Works with any class annotated for JAXB
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see XMLUtils
+ */
+public class JAXBResponseParser extends ResponseParser {
+
+  /**
+   * Parse raw xml with JAXB
+   *
+   * @param pagSeguro Pagseguro instance
+   * @param clazz     Class to be parsed
+   * @param rawXml    Raw xml
+   * @param <T>       Object to be returned
+   * @return Object parsed
+   */
+  @Override
+  public <T> T parse(PagSeguro pagSeguro, Class<T> clazz, String rawXml) {
+    try {
+      return XMLUtils.unmarshal(pagSeguro, clazz, rawXml);
+    } catch (JAXBException e) {
+      throw new PagSeguroLibException(e);
+    }
+  }
+
+}
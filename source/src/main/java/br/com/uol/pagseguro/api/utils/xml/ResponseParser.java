@@ -0,0 +1,94 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+
+/**
+ * Parser of the xml responses of api. The parser used by {@code HttpResponse} can be replaced
+ * with {@link #configureResponseParser(ResponseParser)}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see StAXResponseParser
+ * @see JAXBResponseParser
+ */
+public abstract class ResponseParser {
+
+  private static volatile ResponseParser responseParser;
+
+  /**
+   * Configure response parser
+   *
+   * @param responseParser Response parser
+   */
+  public static void configureResponseParser(ResponseParser responseParser) {
+    ResponseParser.responseParser = responseParser;
+  }
+
+  /**
+   * Get configured response parser. If none was configured, the StAX parser is used
+   *
+   * @return Response parser
+   */
+  public static ResponseParser getResponseParser() {
+    ResponseParser parser = responseParser;
+    if (parser == null) {
+      parser = new StAXResponseParser();
+      responseParser = parser;
+    }
+    return parser;
+  }
+
+  /**
+   * Parse raw xml
+   *
+   * @param pagSeguro Pagseguro instance
+   * @param clazz     Class to be parsed
+   * @param rawXml    Raw xml
+   * @param <T>       Object to be returned
+   * @return Object parsed
+   * @throws br.com.uol.pagseguro.api.exception.PagSeguroLibException when the xml can not be
+   *                                                                  parsed
+   */
+  public abstract <T> T parse(PagSeguro pagSeguro, Class<T> clazz, String rawXml);
+
+  /**
+   * Prepare the parser to a class, parsing its empty root element. Used on warm up, to move the
+   * initialization of the parser out of the first request
+   *
+   * @param pagSeguro Pagseguro instance
+   * @param clazz     Class to be parsed, annotated with {@link XmlRootElement}
+   * @throws br.com.uol.pagseguro.api.exception.PagSeguroLibException when the xml can not be
+   *                                                                  parsed
+   * @see br.com.uol.pagseguro.api.WarmUp
+   */
+  public void prepare(PagSeguro pagSeguro, Class<?> clazz) {
+    final XmlRootElement root = clazz.getAnnotation(XmlRootElement.class);
+    if (root == null) {
+      return;
+    }
+    parse(pagSeguro, clazz, "<" + root.name() + "/>");
+  }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import java.io.StringReader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.application.authorization.RegisteredAuthorizationResponseXML;
+import br.com.uol.pagseguro.api.application.authorization.RegisteredAuthorizationResponseXMLReader;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationDetailXML;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationDetailXMLReader;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationSearchResponseXML;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationSearchResponseXMLReader;
+import br.com.uol.pagseguro.api.checkout.RegisterCheckoutResponseXML;
+import br.com.uol.pagseguro.api.checkout.RegisterCheckoutResponseXMLReader;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.ServerErrorsXML;
+import br.com.uol.pagseguro.api.exception.ServerErrorsXMLReader;
+import br.com.uol.pagseguro.api.installment.InstallmentListingResponseXML;
+import br.com.uol.pagseguro.api.installment.InstallmentListingResponseXMLReader;
+import br.com.uol.pagseguro.api.preapproval.ChargePreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.ChargePreApprovalResponseXMLReader;
+import br.com.uol.pagseguro.api.preapproval.RegisterPreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.RegisterPreApprovalResponseXMLReader;
+import br.com.uol.pagseguro.api.preapproval.cancel.CancelPreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.cancel.CancelPreApprovalResponseXMLReader;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalDetailXML;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalDetailXMLReader;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalSearchResponseXML;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalSearchResponseXMLReader;
+import br.com.uol.pagseguro.api.session.CreatedSessionXML;
+import br.com.uol.pagseguro.api.session.CreatedSessionXMLReader;
+import br.com.uol.pagseguro.api.transaction.CancelResponseXMLTransaction;
+import br.com.uol.pagseguro.api.transaction.CancelResponseXMLTransactionReader;
+import br.com.uol.pagseguro.api.transaction.RefundResponseXMLTransaction;
+import br.com.uol.pagseguro.api.transaction.RefundResponseXMLTransactionReader;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXMLReader;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXMLReader;
+
+/**
+ * Response parser based on hand written StAX readers. Every response of the api has a registered
+ * reader, so the parsing does not depend on reflection. Classes without a registered reader are
+ * parsed by the fallback parser
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see XMLElementReader
+ */
+public class StAXResponseParser extends ResponseParser {
+
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+  private final ConcurrentMap<Class<?>, RootReader<?>> readers =
+      new ConcurrentHashMap<Class<?>, RootReader<?>>();
+
+  private final ResponseParser fallback;
+
+  /**
+   * Constructor. Uses JAXB as fallback, when JAXB is on the classpath
+   */
+  public StAXResponseParser() {
+    this(createFallback());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param fallback Parser used for classes without a registered reader. When null, those classes
+   *                 are not parsed and no reflection is used at all, as required by native images
+   */
+  public StAXResponseParser(ResponseParser fallback) {
+    this.fallback = fallback;
+    register(TransactionDetailXML.class, "transaction", new TransactionDetailXMLReader());
+    register(TransactionSearchResponseXML.class, "transactionSearchResult",
+        new TransactionSearchResponseXMLReader());
+    register(CreatedSessionXML.class, "session", new CreatedSessionXMLReader());
+    register(InstallmentListingResponseXML.class, "installments",
+        new InstallmentListingResponseXMLReader());
+    register(ServerErrorsXML.class, "errors", new ServerErrorsXMLReader());
+    register(CancelResponseXMLTransaction.class, "result",
+        new CancelResponseXMLTransactionReader());
+    register(RefundResponseXMLTransaction.class, "result",
+        new RefundResponseXMLTransactionReader());
+    register(RegisterCheckoutResponseXML.class, "checkout",
+        new RegisterCheckoutResponseXMLReader());
+    register(RegisteredAuthorizationResponseXML.class, "authorizationRequest",
+        new RegisteredAuthorizationResponseXMLReader());
+    register(AuthorizationDetailXML.class, "authorization", new AuthorizationDetailXMLReader());
+    register(AuthorizationSearchResponseXML.class, "authorizationSearchResult",
+        new AuthorizationSearchResponseXMLReader());
+    register(ChargePreApprovalResponseXML.class, "result",
+        new ChargePreApprovalResponseXMLReader());
+    register(RegisterPreApprovalResponseXML.class, "preApprovalRequest",
+        new RegisterPreApprovalResponseXMLReader());
+    register(CancelPreApprovalResponseXML.class, "result",
+        new CancelPreApprovalResponseXMLReader());
+    register(PreApprovalDetailXML.class, "preApproval", new PreApprovalDetailXMLReader());
+    register(PreApprovalSearchResponseXML.class, "preApprovalSearchResult",
+        new PreApprovalSearchResponseXMLReader());
+  }
+
+  /**
+   * Register a reader
+   *
+   * @param clazz    Class read
+   * @param rootName Local name of root element
+   * @param reader   Element reader
+   * @param <T>      Class read
+   */
+  public <T> void register(Class<T> clazz, String rootName, XMLElementReader<? extends T> reader) {
+    readers.put(clazz, new RootReader<T>(rootName, reader));
+  }
+
+  /**
+   * Check if there is a reader registered to class
+   *
+   * @param clazz Class
+   * @return True if the class is parsed without fallback
+   */
+  public boolean supports(Class<?> clazz) {
+    return readers.containsKey(clazz);
+  }
+
+  /**
+   * Parse raw xml
+   *
+   * @param pagSeguro Pagseguro instance
+   * @param clazz     Class to be parsed
+   * @param rawXml    Raw xml
+   * @param <T>       Object to be returned
+   * @return Object parsed
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T parse(PagSeguro pagSeguro, Class<T> clazz, String rawXml) {
+    final RootReader<T> rootReader = (RootReader<T>) readers.get(clazz);
+    if (rootReader == null) {
+      if (fallback == null) {
+        throw new PagSeguroLibException(new XMLStreamException(
+            String.format("No reader registered to [%s]", clazz.getName())));
+      }
+      return fallback.parse(pagSeguro, clazz, rawXml);
+    }
+    XMLStreamReader streamReader = null;
+    try {
+      streamReader = INPUT_FACTORY.createXMLStreamReader(new StringReader(rawXml));
+      final XMLReaderContext context = new XMLReaderContext(streamReader, pagSeguro, rawXml);
+      final String rootName = context.nextRoot();
+      if (!rootReader.rootName.equals(rootName)) {
+        throw new XMLStreamException(String.format("Unexpected element [%s], expected [%s]",
+            rootName, rootReader.rootName));
+      }
+      return rootReader.reader.read(context);
+    } catch (XMLStreamException e) {
+      throw new PagSeguroLibException(e);
+    } finally {
+      close(streamReader);
+    }
+  }
+
+  /**
+   * Prepare the parser to a class, parsing the empty root element of its reader. Classes without
+   * a registered reader are prepared by the fallback parser
+   *
+   * @param pagSeguro Pagseguro instance
+   * @param clazz     Class to be parsed
+   */
+  @Override
+  public void prepare(PagSeguro pagSeguro, Class<?> clazz) {
+    final RootReader<?> rootReader = readers.get(clazz);
+    if (rootReader != null) {
+      parse(pagSeguro, clazz, "<" + rootReader.rootName + "/>");
+    } else if (fallback != null) {
+      fallback.prepare(pagSeguro, clazz);
+    }
+  }
+
+  /**
+   * Close stream reader
+   *
+   * @param streamReader Stream reader
+   */
+  private static void close(XMLStreamReader streamReader) {
+    if (streamReader == null) {
+      return;
+    }
+    try {
+      streamReader.close();
+    } catch (XMLStreamException e) {
+      // nada a fazer
+    }
+  }
+
+  /**
+   * Create the JAXB fallback. Java 11+ and native images may run without JAXB
+   *
+   * @return JAXB parser or null if JAXB is not available
+   */
+  private static ResponseParser createFallback() {
+    try {
+      return new JAXBResponseParser();
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+
+  /**
+   * Create input factory. Dtds and external entities are not supported
+   *
+   * @return Input factory
+   */
+  private static XMLInputFactory createInputFactory() {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    return factory;
+  }
+
+  /**
+   * Reader of root element
+   *
+   * @param <T> Class read
+   */
+  private static class RootReader<T> {
+
+    private final String rootName;
+
+    private final XMLElementReader<? extends T> reader;
+
+    RootReader(String rootName, XMLElementReader<? extends T> reader) {
+      this.rootName = rootName;
+      this.reader = reader;
+    }
+  }
+}
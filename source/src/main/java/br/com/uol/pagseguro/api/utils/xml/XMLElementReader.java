@@ -0,0 +1,43 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Interface used to read an object from a xml element
+ *
+ * @param <T> Class to be read
+ * @author PagSeguro Internet Ltda.
+ */
+public interface XMLElementReader<T> {
+
+  /**
+   * Read the element where the context is positioned. When the method returns, the context must
+   * be positioned on the end of the same element
+   *
+   * @param context Reader context
+   * @return Object read
+   */
+  T read(XMLReaderContext context) throws XMLStreamException;
+
+}
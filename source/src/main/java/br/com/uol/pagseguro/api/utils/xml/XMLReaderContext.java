@@ -0,0 +1,421 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.utils.XMLUnmarshallListener;
+
+/**
+ * Context of a StAX read. Wraps the stream reader and converts the element values the same way
+ * JAXB does: values that can not be converted are read as {@code null}
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see XMLElementReader
+ */
+public class XMLReaderContext {
+
+  private static final long MILLIS_PER_DAY = 86400000L;
+
+  private final XMLStreamReader reader;
+
+  private final PagSeguro pagSeguro;
+
+  private final String rawData;
+
+  /**
+   * Constructor
+   *
+   * @param reader    Stream reader
+   * @param pagSeguro Pagseguro instance
+   * @param rawData   Raw xml
+   */
+  public XMLReaderContext(XMLStreamReader reader, PagSeguro pagSeguro, String rawData) {
+    this.reader = reader;
+    this.pagSeguro = pagSeguro;
+    this.rawData = rawData;
+  }
+
+  /**
+   * Get pagseguro instance
+   *
+   * @return Pagseguro instance
+   */
+  public PagSeguro getPagSeguro() {
+    return pagSeguro;
+  }
+
+  /**
+   * Get local name of current element
+   *
+   * @return Local name
+   */
+  public String getLocalName() {
+    return reader.getLocalName();
+  }
+
+  /**
+   * Move to root element
+   *
+   * @return Local name of root element
+   */
+  public String nextRoot() throws XMLStreamException {
+    while (reader.hasNext()) {
+      if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+        return reader.getLocalName();
+      }
+    }
+    throw new XMLStreamException("Root element not found");
+  }
+
+  /**
+   * Move to next child of current element
+   *
+   * @return True if positioned on a child, false if positioned on the end of current element
+   */
+  public boolean nextChild() throws XMLStreamException {
+    while (reader.hasNext()) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        return true;
+      }
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Skip current element and all of its children
+   */
+  public void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /**
+   * Read text of current element
+   *
+   * @return Text
+   */
+  public String readString() throws XMLStreamException {
+    String text = null;
+    StringBuilder builder = null;
+    int depth = 1;
+    while (depth > 0) {
+      final int event = reader.next();
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT:
+          depth++;
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          depth--;
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          if (depth > 1) {
+            break;
+          }
+          if (text == null) {
+            text = reader.getText();
+          } else {
+            if (builder == null) {
+              builder = new StringBuilder(text);
+            }
+            builder.append(reader.getText());
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    if (builder != null) {
+      return builder.toString();
+    }
+    return text != null ? text : "";
+  }
+
+  /**
+   * Read integer of current element
+   *
+   * @return Integer or null if the text is not an integer
+   */
+  public Integer readInteger() throws XMLStreamException {
+    return parseInteger(readString());
+  }
+
+  /**
+   * Read decimal of current element
+   *
+   * @return Decimal or null if the text is not a decimal
+   */
+  public BigDecimal readBigDecimal() throws XMLStreamException {
+    return parseBigDecimal(readString());
+  }
+
+  /**
+   * Read boolean of current element
+   *
+   * @return Boolean or null if the text is not a boolean
+   */
+  public Boolean readBoolean() throws XMLStreamException {
+    return parseBoolean(readString());
+  }
+
+  /**
+   * Read date time of current element
+   *
+   * @return Date or null if the text is not a date time
+   */
+  public Date readDate() throws XMLStreamException {
+    return parseDate(readString());
+  }
+
+  /**
+   * Read current element with a element reader
+   *
+   * @param elementReader Element reader
+   * @param <T>           Class to be read
+   * @return Object read
+   */
+  public <T> T read(XMLElementReader<T> elementReader) throws XMLStreamException {
+    return elementReader.read(this);
+  }
+
+  /**
+   * Read the items of a wrapper element. Children with other names are skipped
+   *
+   * @param itemName      Local name of items
+   * @param elementReader Element reader of items
+   * @param <T>           Class to be read
+   * @return Items read
+   */
+  public <T> List<T> readList(String itemName, XMLElementReader<? extends T> elementReader)
+      throws XMLStreamException {
+    final List<T> items = new ArrayList<T>();
+    while (nextChild()) {
+      if (itemName.equals(reader.getLocalName())) {
+        items.add(elementReader.read(this));
+      } else {
+        skipElement();
+      }
+    }
+    return items;
+  }
+
+  /**
+   * Callback called after an object is read
+   *
+   * @param target Object read
+   * @see XMLUnmarshallListener
+   */
+  public void afterRead(Object target) {
+    if (target instanceof XMLUnmarshallListener) {
+      ((XMLUnmarshallListener) target).onUnmarshal(pagSeguro, rawData);
+    }
+  }
+
+  /**
+   * Parse integer
+   *
+   * @param text Text
+   * @return Integer or null if the text is not an integer
+   */
+  public static Integer parseInteger(String text) {
+    if (text == null) {
+      return null;
+    }
+    final String trimmed = text.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(trimmed);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parse decimal
+   *
+   * @param text Text
+   * @return Decimal or null if the text is not a decimal
+   */
+  public static BigDecimal parseBigDecimal(String text) {
+    if (text == null) {
+      return null;
+    }
+    final String trimmed = text.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(trimmed);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parse boolean
+   *
+   * @param text Text
+   * @return Boolean or null if the text is not a boolean
+   */
+  public static Boolean parseBoolean(String text) {
+    if (text == null) {
+      return null;
+    }
+    final String trimmed = text.trim();
+    if ("true".equals(trimmed) || "1".equals(trimmed)) {
+      return Boolean.TRUE;
+    }
+    if ("false".equals(trimmed) || "0".equals(trimmed)) {
+      return Boolean.FALSE;
+    }
+    return null;
+  }
+
+  /**
+   * Parse xml date time ({@code yyyy-MM-dd'T'HH:mm:ss[.SSS][Z|+hh:mm|-hh:mm]}). Date times
+   * without time zone are read in the default time zone
+   *
+   * @param text Text
+   * @return Date or null if the text is not a date time
+   */
+  public static Date parseDate(String text) {
+    if (text == null) {
+      return null;
+    }
+    final String value = text.trim();
+    final int length = value.length();
+    int yearEnd = value.indexOf('-', 1);
+    if (yearEnd < 4 || length < yearEnd + 15) {
+      return null;
+    }
+    try {
+      final int year = Integer.parseInt(value.substring(0, yearEnd));
+      final int month = digits(value, yearEnd + 1, '-');
+      final int day = digits(value, yearEnd + 4, 'T');
+      final int hour = digits(value, yearEnd + 7, ':');
+      final int minute = digits(value, yearEnd + 10, ':');
+      final int second = digits(value, yearEnd + 13, (char) 0);
+      int pos = yearEnd + 15;
+      int millis = 0;
+      if (pos < length && value.charAt(pos) == '.') {
+        int scale = 100;
+        pos++;
+        while (pos < length && Character.isDigit(value.charAt(pos))) {
+          millis += (value.charAt(pos) - '0') * scale;
+          scale /= 10;
+          pos++;
+        }
+      }
+      if (month < 1 || month > 12 || day < 1 || day > 31 || hour > 24 || minute > 59
+          || second > 60) {
+        return null;
+      }
+      if (pos == length) {
+        final Calendar calendar = new GregorianCalendar(TimeZone.getDefault());
+        ((GregorianCalendar) calendar).setGregorianChange(new Date(Long.MIN_VALUE));
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+        calendar.set(Calendar.MILLISECOND, millis);
+        return calendar.getTime();
+      }
+      final long offset;
+      final char sign = value.charAt(pos);
+      if (sign == 'Z' && pos + 1 == length) {
+        offset = 0;
+      } else if ((sign == '+' || sign == '-') && pos + 6 == length) {
+        final long zone = digits(value, pos + 1, ':') * 3600000L + digits(value, pos + 4,
+            (char) 0) * 60000L;
+        offset = sign == '+' ? zone : -zone;
+      } else {
+        return null;
+      }
+      final long local = daysFromCivil(year, month, day) * MILLIS_PER_DAY + hour * 3600000L
+                         + minute * 60000L + second * 1000L + millis;
+      return new Date(local - offset);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Read two digits followed by a separator
+   *
+   * @param value     Text
+   * @param pos       Position of first digit
+   * @param separator Expected separator or zero when there is no separator
+   * @return Number read
+   */
+  private static int digits(String value, int pos, char separator) {
+    final char first = value.charAt(pos);
+    final char second = value.charAt(pos + 1);
+    if (!Character.isDigit(first) || !Character.isDigit(second)
+        || (separator != 0 && value.charAt(pos + 2) != separator)) {
+      throw new NumberFormatException(value);
+    }
+    return (first - '0') * 10 + (second - '0');
+  }
+
+  /**
+   * Days since epoch of a proleptic gregorian date
+   *
+   * @param year  Year
+   * @param month Month (1-12)
+   * @param day   Day of month
+   * @return Days since 1970-01-01
+   */
+  private static long daysFromCivil(long year, int month, int day) {
+    year -= month <= 2 ? 1 : 0;
+    final long era = (year >= 0 ? year : year - 399) / 400;
+    final long yearOfEra = year - era * 400;
+    final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+}
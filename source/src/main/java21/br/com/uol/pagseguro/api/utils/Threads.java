@@ -0,0 +1,80 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads used by the asynchronous apis of the lib. This version, loaded from the multi release
+ * jar on Java 21 or later, creates virtual threads. Set the system property
+ * {@code pagseguro.virtualThreads} to {@code false} to use daemon platform threads
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class Threads {
+
+  private static final boolean VIRTUAL =
+      !"false".equalsIgnoreCase(System.getProperty("pagseguro.virtualThreads"));
+
+  private Threads() {
+  }
+
+  /**
+   * Check if the threads created are virtual
+   *
+   * @return True unless disabled by system property
+   */
+  public static boolean isVirtual() {
+    return VIRTUAL;
+  }
+
+  /**
+   * Create a thread factory
+   *
+   * @param prefix Prefix of thread names, followed by a counter
+   * @return Thread factory of virtual threads, or of daemon threads when disabled
+   */
+  public static ThreadFactory threadFactory(String prefix) {
+    if (VIRTUAL) {
+      return Thread.ofVirtual().name(prefix, 1).factory();
+    }
+    final AtomicInteger counter = new AtomicInteger();
+    return runnable -> Thread.ofPlatform().name(prefix + counter.incrementAndGet()).daemon(true)
+        .unstarted(runnable);
+  }
+
+  /**
+   * Create an executor that runs each task on its own thread
+   *
+   * @param prefix Prefix of thread names, followed by a counter
+   * @return Executor
+   */
+  public static ExecutorService newTaskExecutor(String prefix) {
+    if (VIRTUAL) {
+      return Executors.newThreadPerTaskExecutor(threadFactory(prefix));
+    }
+    return Executors.newCachedThreadPool(threadFactory(prefix));
+  }
+}
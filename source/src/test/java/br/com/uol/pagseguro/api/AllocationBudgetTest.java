@@ -0,0 +1,475 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistration;
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistrationBuilder;
+import br.com.uol.pagseguro.api.common.domain.CreditCard;
+import br.com.uol.pagseguro.api.common.domain.builder.AddressBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.CreditCardBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.DocumentBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.HolderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.InstallmentBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.common.domain.enums.DocumentType;
+import br.com.uol.pagseguro.api.common.domain.enums.State;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.installment.InstallmentRequest;
+import br.com.uol.pagseguro.api.installment.InstallmentRequestBuilder;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalCharging;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalChargingBuilder;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistration;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistrationBuilder;
+import br.com.uol.pagseguro.api.utils.logging.SimpleLoggerFactory;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.StAXResponseParser;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocation gate of the api operations. Each operation runs against an in memory http client
+ * and the bytes allocated per call, read from the allocation counter of the thread, must stay
+ * within the budget checked in at {@code allocation-budgets.properties}. The loggers of the
+ * library are turned off while warming up and measuring, so log records are not counted.
+ *
+ * Each operation is measured in isolation from the tests run before it: the heap is collected
+ * after the warm up and the bytes per call are the median of a few batches, so a batch that
+ * allocates more, like one that triggers a compilation or a class load, does not fail the gate.
+ *
+ * To print the measures in the format of the budgets file, run with
+ * {@code -Dpagseguro.allocation.report=true}
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class AllocationBudgetTest {
+
+  private static final String BUDGETS_FILE = "allocation-budgets.properties";
+
+  private static final int WARM_UP_CALLS = 20000;
+
+  private static final int MEASURED_CALLS = 1000;
+
+  private static final int BATCHES = 9;
+
+  private static final String CODE = "9E884542-81B3-4419-9A75-BCC6FB495EF1";
+
+  private static final String TRANSACTION = "<transaction>" +
+      "<date>2016-11-09T00:00:00.000-02:00</date>" +
+      "<code>" + CODE + "</code>" +
+      "<reference>REF1234</reference>" +
+      "<type>1</type>" +
+      "<status>3</status>" +
+      "<lastEventDate>2016-11-10T10:25:55.000-02:00</lastEventDate>" +
+      "<paymentMethod><type>1</type><code>101</code></paymentMethod>" +
+      "<grossAmount>249.90</grossAmount>" +
+      "<discountAmount>0.00</discountAmount>" +
+      "<creditorFees><intermediationRateAmount>0.40</intermediationRateAmount>" +
+      "<intermediationFeeAmount>12.47</intermediationFeeAmount></creditorFees>" +
+      "<netAmount>237.03</netAmount>" +
+      "<extraAmount>0.00</extraAmount>" +
+      "<installmentCount>2</installmentCount>" +
+      "<itemCount>2</itemCount>" +
+      "<items>" +
+      "<item><id>1</id><description>Notebook Prata</description>" +
+      "<quantity>1</quantity><amount>200.00</amount></item>" +
+      "<item><id>2</id><description>Capa</description>" +
+      "<quantity>1</quantity><amount>49.90</amount></item>" +
+      "</items>" +
+      "<sender><name>Jose Comprador</name><email>comprador@uol.com.br</email>" +
+      "<phone><areaCode>11</areaCode><number>56273440</number></phone></sender>" +
+      "<shipping><address><street>Av. PagSeguro</street><number>9999</number>" +
+      "<district>Jardim</district><city>Sao Paulo</city><state>SP</state>" +
+      "<country>BRA</country><postalCode>01452002</postalCode></address>" +
+      "<type>1</type><cost>0.00</cost></shipping>" +
+      "</transaction>";
+
+  private static final String SEARCH_PAGE = searchPage(10);
+
+  private static final Map<String, Level> LEVELS = new HashMap<String, Level>();
+
+  private static Properties budgets;
+
+  private static com.sun.management.ThreadMXBean threadBean;
+
+  private final InMemoryHttpClient httpClient = new InMemoryHttpClient();
+
+  private PagSeguro pagSeguro;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    threadBean = (com.sun.management.ThreadMXBean) bean;
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+    budgets = new Properties();
+    final InputStream inputStream = AllocationBudgetTest.class.getClassLoader()
+        .getResourceAsStream(BUDGETS_FILE);
+    try {
+      budgets.load(inputStream);
+    } finally {
+      inputStream.close();
+    }
+    for (Handler handler : Logger.getLogger("").getHandlers()) {
+      LEVELS.put(handler.toString(), handler.getLevel());
+      handler.setLevel(Level.OFF);
+    }
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    for (Handler handler : Logger.getLogger("").getHandlers()) {
+      final Level level = LEVELS.get(handler.toString());
+      if (level != null) {
+        handler.setLevel(level);
+      }
+    }
+    ResponseParser.configureResponseParser(null);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    ResponseParser.configureResponseParser(new StAXResponseParser());
+    pagSeguro = PagSeguro.instance(new SimpleLoggerFactory(), httpClient,
+        Credential.sellerCredential("vendedor@loja.com.br", "4C3B2A1E0D9C8B7A6F5E4D3C2B1A0F9E"),
+        PagSeguroEnv.SANDBOX);
+  }
+
+  @Test
+  public void directPaymentWithCreditCard() throws Exception {
+    final DirectPaymentRegistration registration = new DirectPaymentRegistrationBuilder()
+        .withPaymentMode("default")
+        .withCurrency(Currency.BRL)
+        .withReference("REF1234")
+        .withSender(new SenderBuilder()
+            .withName("Jose Comprador")
+            .withEmail("comprador@sandbox.pagseguro.com.br")
+            .withPhone(new PhoneBuilder().withAreaCode("11").withNumber("56273440"))
+            .withCPF("22111944785")
+            .withHash("abc123def456"))
+        .addItem(item("1", "200.00"))
+        .addItem(item("2", "49.90"))
+        .build();
+    final CreditCard creditCard = new CreditCardBuilder()
+        .withToken("4C3B2A1E0D9C8B7A6F5E4D3C2B1A0F9E")
+        .withHolder(new HolderBuilder()
+            .addDocument(new DocumentBuilder()
+                .withType(DocumentType.CPF)
+                .withValue("22111944785"))
+            .withName("Jose Comprador")
+            .withBithDate(new SimpleDateFormat("dd/MM/yyyy").parse("01/01/1980"))
+            .withPhone(new PhoneBuilder().withAreaCode("11").withNumber("56273440")))
+        .withBillingAddress(new AddressBuilder()
+            .withPostalCode("01452002")
+            .withCountry("BRA")
+            .withState(State.SP)
+            .withCity("Sao Paulo")
+            .withDistrict("Jardim")
+            .withNumber("9999")
+            .withStreet("Av. PagSeguro"))
+        .withInstallment(new InstallmentBuilder()
+            .withQuantity(2)
+            .withValue(new BigDecimal("124.95")))
+        .build();
+    httpClient.respond(TRANSACTION);
+
+    assertWithinBudget("transactions.register.withCreditCard", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.transactions().register(registration).withCreditCard(creditCard);
+      }
+    });
+  }
+
+  @Test
+  public void searchByCode() throws Exception {
+    httpClient.respond(TRANSACTION);
+
+    assertWithinBudget("transactions.search.byCode", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.transactions().search().byCode(CODE);
+      }
+    });
+  }
+
+  @Test
+  public void searchByDateRange() throws Exception {
+    final DateRangeBuilder dateRange = new DateRangeBuilder().between(
+        new SimpleDateFormat("dd/MM/yyyy").parse("01/11/2016"),
+        new SimpleDateFormat("dd/MM/yyyy").parse("30/11/2016"));
+    httpClient.respond(SEARCH_PAGE);
+
+    assertWithinBudget("transactions.search.byDateRange", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.transactions().search().byDateRange(dateRange, 1, 10);
+      }
+    });
+  }
+
+  @Test
+  public void registerCheckout() throws Exception {
+    final CheckoutRegistration registration = new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withReference("REF1234")
+        .addItem(item("1", "200.00"))
+        .addItem(item("2", "49.90"))
+        .build();
+    httpClient.respond("<checkout><code>8CF4BE7DCECEF0F004A6DFA0A8243412</code>" +
+                       "<date>2016-11-09T00:00:00.000-02:00</date></checkout>");
+
+    assertWithinBudget("checkouts.register", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.checkouts().register(registration);
+      }
+    });
+  }
+
+  @Test
+  public void chargePreApproval() throws Exception {
+    final PreApprovalCharging charging = new PreApprovalChargingBuilder()
+        .withCode(CODE)
+        .withReference("REF1234")
+        .addItem(item("1", "49.90"))
+        .build();
+    httpClient.respond("<result><transactionCode>" + CODE + "</transactionCode>" +
+                       "<date>2016-11-09T00:00:00.000-02:00</date></result>");
+
+    assertWithinBudget("preApprovals.charge", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.preApprovals().charge(charging);
+      }
+    });
+  }
+
+  @Test
+  public void createSession() throws Exception {
+    httpClient.respond("<session><id>620f99e348c24f07877c927b353e49d3</id></session>");
+
+    assertWithinBudget("sessions.create", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.sessions().create();
+      }
+    });
+  }
+
+  @Test
+  public void listInstallments() throws Exception {
+    final InstallmentRequest request = new InstallmentRequestBuilder()
+        .withCardBrand("visa")
+        .withAmount(new BigDecimal("249.90"))
+        .withMaxInstallmentNoInterest(3)
+        .build();
+    final StringBuilder installments = new StringBuilder("<installments>");
+    for (int i = 1; i <= 12; i++) {
+      installments.append("<installment><cardBrand>visa</cardBrand><quantity>").append(i)
+          .append("</quantity><amount>20.83</amount><totalAmount>249.90</totalAmount>")
+          .append("<interestFree>true</interestFree></installment>");
+    }
+    httpClient.respond(installments.append("</installments>").toString());
+
+    assertWithinBudget("installments.list", new Operation() {
+      @Override
+      public Object call() {
+        return pagSeguro.installments().list(request);
+      }
+    });
+  }
+
+  @Test
+  public void refundByCode() throws Exception {
+    httpClient.respond("<result>OK</result>");
+
+    assertWithinBudget("transactions.refundByCode", new Operation() {
+      @Override
+      public Object call() {
+        pagSeguro.transactions().refundByCode(CODE);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Warm up the operation, then measure the bytes allocated per call and check the budget
+   *
+   * @param name      Name of the budget
+   * @param operation Operation
+   */
+  private static void assertWithinBudget(String name, Operation operation) {
+    final long bytes;
+    final Map<String, Level> levels = silenceLibraryLoggers();
+    try {
+      for (int i = 0; i < WARM_UP_CALLS; i++) {
+        operation.call();
+      }
+      System.gc();
+      final long[] batches = new long[BATCHES];
+      for (int batch = 0; batch < BATCHES; batch++) {
+        batches[batch] = measure(operation);
+      }
+      Arrays.sort(batches);
+      bytes = batches[BATCHES / 2];
+    } finally {
+      restoreLibraryLoggers(levels);
+    }
+    if (Boolean.getBoolean("pagseguro.allocation.report")) {
+      System.out.println(name + "=" + bytes);
+    }
+    final String budget = budgets.getProperty(name);
+    assertTrue("No budget to " + name, budget != null);
+    assertTrue(String.format("%s allocated %d bytes per call, budget is %s", name, bytes, budget),
+        bytes <= Long.parseLong(budget.trim()));
+  }
+
+  /**
+   * Measure the bytes allocated per call in a batch of calls
+   *
+   * @param operation Operation
+   * @return Bytes per call
+   */
+  private static long measure(Operation operation) {
+    final long threadId = Thread.currentThread().getId();
+    final long start = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_CALLS; i++) {
+      operation.call();
+    }
+    return (threadBean.getThreadAllocatedBytes(threadId) - start) / MEASURED_CALLS;
+  }
+
+  /**
+   * Turn off the loggers of the library
+   *
+   * @return Previous levels
+   */
+  private static Map<String, Level> silenceLibraryLoggers() {
+    final Map<String, Level> levels = new HashMap<String, Level>();
+    final LogManager logManager = LogManager.getLogManager();
+    for (String loggerName : Collections.list(logManager.getLoggerNames())) {
+      final Logger logger = logManager.getLogger(loggerName);
+      if (logger != null && loggerName.startsWith("br.com.uol.pagseguro")) {
+        levels.put(loggerName, logger.getLevel());
+        logger.setLevel(Level.OFF);
+      }
+    }
+    return levels;
+  }
+
+  /**
+   * Restore the levels of the loggers of the library
+   *
+   * @param levels Previous levels
+   */
+  private static void restoreLibraryLoggers(Map<String, Level> levels) {
+    for (Map.Entry<String, Level> entry : levels.entrySet()) {
+      final Logger logger = LogManager.getLogManager().getLogger(entry.getKey());
+      if (logger != null) {
+        logger.setLevel(entry.getValue());
+      }
+    }
+  }
+
+  private static PaymentItemBuilder item(String id, String amount) {
+    return new PaymentItemBuilder()
+        .withId(id)
+        .withDescription("Item " + id)
+        .withAmount(new BigDecimal(amount))
+        .withQuantity(1);
+  }
+
+  private static String searchPage(int transactions) {
+    final StringBuilder page = new StringBuilder("<transactionSearchResult>" +
+        "<date>2016-11-30T00:00:00.000-02:00</date><currentPage>1</currentPage>" +
+        "<resultsInThisPage>" + transactions + "</resultsInThisPage>" +
+        "<totalPages>3</totalPages><transactions>");
+    for (int i = 0; i < transactions; i++) {
+      page.append("<transaction><date>2016-11-09T01:01:01.000-02:00</date>")
+          .append("<lastEventDate>2016-11-09T02:02:02.000-02:00</lastEventDate>")
+          .append("<code>").append(CODE.substring(0, 30)).append(100000 + i).append("</code>")
+          .append("<reference>REF").append(i).append("</reference>")
+          .append("<type>1</type><status>3</status>")
+          .append("<paymentMethod><type>1</type></paymentMethod>")
+          .append("<grossAmount>249.90</grossAmount><discountAmount>0.00</discountAmount>")
+          .append("<feeAmount>12.87</feeAmount><netAmount>237.03</netAmount>")
+          .append("<extraAmount>0.00</extraAmount></transaction>");
+    }
+    return page.append("</transactions></transactionSearchResult>").toString();
+  }
+
+  /**
+   * Operation measured
+   */
+  private interface Operation {
+
+    Object call();
+  }
+
+  /**
+   * Http client answering every request with the same response, without io
+   */
+  private static class InMemoryHttpClient implements HttpClient {
+
+    private HttpResponse response;
+
+    void respond(String xml) {
+      response = new HttpResponse(200, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" + xml);
+    }
+
+    @Override
+    public HttpResponse execute(HttpMethod method, String targetURL, Map<String, String> headers,
+                                HttpRequestBody body) throws IOException {
+      return response;
+    }
+  }
+}
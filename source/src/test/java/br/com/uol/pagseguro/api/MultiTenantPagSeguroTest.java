@@ -0,0 +1,95 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class MultiTenantPagSeguroTest extends Resource4Test {
+
+  private MultiTenantPagSeguro multiTenant;
+
+  @Before
+  public void setUp() throws Exception {
+    multiTenant = new MultiTenantPagSeguro(httpClient, PagSeguroEnv.SANDBOX, 2);
+    HttpResponse response = new HttpResponse(200, "<session><id>id</id></session>");
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class))).thenReturn(response);
+  }
+
+  @Test
+  public void shouldShareHttpClientWithCredentialOfEachTenant() throws IOException {
+    multiTenant.tenant(Credential.sellerCredential("seller1", "token1")).sessions().create();
+    multiTenant.tenant(Credential.sellerCredential("seller2", "token2")).sessions().create();
+
+    ArgumentCaptor<String> url = ArgumentCaptor.forClass(String.class);
+    verify(httpClient, times(2)).execute(any(HttpMethod.class), url.capture(), anyMap(),
+        any(HttpRequestBody.class));
+    List<String> urls = url.getAllValues();
+    assertTrue(urls.get(0).startsWith(pagSeguro.getHost()));
+    assertTrue(urls.get(0).contains("email=seller1&token=token1"));
+    assertTrue(urls.get(1).contains("email=seller2&token=token2"));
+  }
+
+  @Test
+  public void shouldUseHostOfEnvironment() throws Exception {
+    PagSeguro tenant = new MultiTenantPagSeguro(httpClient, PagSeguroEnv.PRODUCTION)
+        .tenant(Credential.applicationCredential("appId", "appKey"));
+
+    assertEquals("https://ws.pagseguro.uol.com.br", tenant.getHost());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedCredentials() throws Exception {
+    multiTenant.tenant(Credential.sellerCredential("seller1", "token1"));
+    multiTenant.tenant(Credential.sellerCredential("seller2", "token2"));
+    multiTenant.tenant(Credential.sellerCredential("seller1", "token1"));
+    multiTenant.tenant(Credential.sellerCredential("seller3", "token3"));
+
+    assertEquals(2, multiTenant.getCredentialQueries().size());
+    assertEquals(2, multiTenant.getCredentialQueries().getMaxSize());
+  }
+}
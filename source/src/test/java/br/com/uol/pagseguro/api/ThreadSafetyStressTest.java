@@ -0,0 +1,293 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.AuthenticatedHttpClient;
+import br.com.uol.pagseguro.api.http.CredentialQueryCache;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.session.CreatedSessionXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSummary;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+import br.com.uol.pagseguro.api.utils.logging.SimpleLoggerFactory;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress tests of the state shared between threads. Each test starts a few actors that run the
+ * same round many times, all of them released together by a barrier to maximize the
+ * interleavings. Any exception or failed assertion of an actor fails the test
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class ThreadSafetyStressTest {
+
+  private static final int ROUNDS = 5000;
+
+  private static final Map<Handler, Level> LEVELS = new HashMap<Handler, Level>();
+
+  private PagSeguro pagSeguro;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    for (Handler handler : Logger.getLogger("").getHandlers()) {
+      LEVELS.put(handler, handler.getLevel());
+      handler.setLevel(Level.OFF);
+    }
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    for (Map.Entry<Handler, Level> entry : LEVELS.entrySet()) {
+      entry.getKey().setLevel(entry.getValue());
+    }
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    pagSeguro = PagSeguro.instance(new SimpleLoggerFactory(), new ThreadNameHttpClient(),
+        Credential.sellerCredential("vendedor@loja.com.br", "token"), PagSeguroEnv.SANDBOX);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    LoggerFactory.configureLoggerFactory(new SimpleLoggerFactory());
+    ResponseParser.configureResponseParser(null);
+  }
+
+  @Test
+  public void shouldGetLoggerWhileFactoryIsReplaced() throws Exception {
+    final LoggerFactory factory = new SimpleLoggerFactory();
+    final Runnable reader = new Runnable() {
+      @Override
+      public void run() {
+        assertNotNull(LoggerFactory.getLogger(ThreadSafetyStressTest.class));
+      }
+    };
+
+    stress(new Runnable() {
+      @Override
+      public void run() {
+        LoggerFactory.configureLoggerFactory(null);
+        LoggerFactory.configureLoggerFactory(factory);
+      }
+    }, reader, reader);
+  }
+
+  @Test
+  public void shouldBoundCredentialCacheUnderContention() throws Exception {
+    final CredentialQueryCache cache = new CredentialQueryCache(8);
+    final Credential[] credentials = new Credential[32];
+    for (int i = 0; i < credentials.length; i++) {
+      credentials[i] = Credential.sellerCredential("vendedor" + i + "@loja.com.br", "token" + i);
+    }
+    final Runnable actor = new Runnable() {
+      private int next;
+
+      @Override
+      public void run() {
+        final Credential credential = credentials[(next++ * 7 + hash()) % credentials.length];
+        assertEquals(AuthenticatedHttpClient.credentialQuery(credential), cache.get(credential));
+        assertTrue(cache.size() <= cache.getMaxSize());
+      }
+
+      private int hash() {
+        return (int) (Thread.currentThread().getId() % credentials.length);
+      }
+    };
+
+    stress(actor, actor, actor, actor);
+  }
+
+  @Test
+  public void shouldCreateParserOnceVisibleToAllThreads() throws Exception {
+    final Runnable actor = new Runnable() {
+      @Override
+      public void run() {
+        final String id = Thread.currentThread().getName();
+        final CreatedSessionXML session = ResponseParser.getResponseParser().parse(pagSeguro,
+            CreatedSessionXML.class, "<session><id>" + id + "</id></session>");
+        assertEquals(id, session.getId());
+      }
+    };
+
+    stress(new Runnable() {
+      @Override
+      public void run() {
+        ResponseParser.configureResponseParser(null);
+      }
+    }, actor, actor, actor);
+  }
+
+  @Test
+  public void shouldShareInstanceBetweenThreads() throws Exception {
+    final Runnable actor = new Runnable() {
+      @Override
+      public void run() {
+        assertEquals(Thread.currentThread().getName(), pagSeguro.sessions().create().getId());
+      }
+    };
+
+    stress(actor, actor, actor, actor);
+  }
+
+  @Test
+  public void shouldDecodeLazySummaryOnConcurrentReads() throws Exception {
+    final String xml = "<transactionSearchResult><transactions><transaction>"
+                       + "<date>2016-11-09T01:01:01.000-02:00</date><code>code</code>"
+                       + "<type>1</type><status>3</status>"
+                       + "<paymentMethod><type>1</type><code>101</code></paymentMethod>"
+                       + "<grossAmount>9.99</grossAmount><feeAmount>0.50</feeAmount>"
+                       + "<lastEventDate>2016-11-09T02:02:02.000-02:00</lastEventDate>"
+                       + "</transaction></transactions></transactionSearchResult>";
+    final Date date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssZ")
+        .parse("2016-11-09 01:01:01-0200");
+    final AtomicReference<TransactionSummary> summary = new AtomicReference<TransactionSummary>();
+    final Runnable parse = new Runnable() {
+      @Override
+      public void run() {
+        summary.set(ResponseParser.getResponseParser().parse(pagSeguro,
+            TransactionSearchResponseXML.class, xml).getTransactions().get(0));
+      }
+    };
+    final Runnable reader = new Runnable() {
+      @Override
+      public void run() {
+        final TransactionSummary transaction = summary.get();
+        assertEquals(date, transaction.getDate());
+        assertEquals(999, transaction.getGrossAmountCents());
+        assertEquals(new BigDecimal("9.99"), transaction.getGrossAmount());
+        assertEquals(Integer.valueOf(101), transaction.getPaymentMethod().getCodeId());
+        assertEquals(TransactionStatus.Status.APPROVED, transaction.getStatus().getStatus());
+        assertEquals(new BigDecimal("0.50"), transaction.getFeeAmount());
+        assertEquals(50, transaction.getFeeAmountCents());
+      }
+    };
+    final Runnable reverseReader = new Runnable() {
+      @Override
+      public void run() {
+        final TransactionSummary transaction = summary.get();
+        assertEquals(50, transaction.getFeeAmountCents());
+        assertEquals(new BigDecimal("0.50"), transaction.getFeeAmount());
+        assertEquals(TransactionStatus.Status.APPROVED, transaction.getStatus().getStatus());
+        assertEquals(Integer.valueOf(1), transaction.getPaymentMethod().getTypeId());
+        assertEquals(new BigDecimal("9.99"), transaction.getGrossAmount());
+        assertEquals(999, transaction.getGrossAmountCents());
+        assertEquals(date, transaction.getDate());
+      }
+    };
+
+    stressEachRound(parse, reader, reverseReader, reader, reverseReader);
+  }
+
+  /**
+   * Run the actors, each one on its own thread, for {@link #ROUNDS} rounds
+   *
+   * @param actors Actors
+   */
+  private static void stress(Runnable... actors) throws Exception {
+    stressEachRound(null, actors);
+  }
+
+  /**
+   * Run the actors, each one on its own thread, for {@link #ROUNDS} rounds
+   *
+   * @param round  Run before each round, when all actors are waiting, or null
+   * @param actors Actors
+   */
+  private static void stressEachRound(Runnable round, Runnable... actors) throws Exception {
+    final CyclicBarrier barrier = new CyclicBarrier(actors.length, round);
+    final List<Throwable> failures = new ArrayList<Throwable>();
+    final List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < actors.length; i++) {
+      final Runnable actor = actors[i];
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int round = 0; round < ROUNDS; round++) {
+              barrier.await();
+              actor.run();
+            }
+          } catch (Throwable e) {
+            synchronized (failures) {
+              failures.add(e);
+            }
+            barrier.reset();
+          }
+        }
+      }, "actor-" + i));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (!failures.isEmpty()) {
+      final AssertionError error = new AssertionError(failures.size() + " actors failed");
+      error.initCause(failures.get(0));
+      throw error;
+    }
+  }
+
+  /**
+   * Http client answering sessions with the name of the calling thread as id
+   */
+  private static class ThreadNameHttpClient implements HttpClient {
+
+    @Override
+    public HttpResponse execute(HttpMethod method, String targetURL, Map<String, String> headers,
+                                HttpRequestBody body) throws IOException {
+      return new HttpResponse(200, "<session><id>" + Thread.currentThread().getName()
+                                   + "</id></session>");
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class WarmUpTest extends Resource4Test {
+
+  @After
+  public void tearDown() throws Exception {
+    ResponseParser.configureResponseParser(null);
+  }
+
+  @Test
+  public void shouldNotOpenConnectionsByDefault() throws Exception {
+    assertSame(pagSeguro, pagSeguro.warmUp());
+
+    verify(httpClient, never()).execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class));
+  }
+
+  @Test
+  public void shouldPrepareConfiguredParser() throws Exception {
+    ResponseParser parser = Mockito.mock(ResponseParser.class);
+    ResponseParser.configureResponseParser(parser);
+
+    pagSeguro.warmUp(new WarmUpBuilder().withEncoders(false).withCredential(false));
+
+    verify(parser).prepare(pagSeguro, TransactionDetailXML.class);
+  }
+
+  @Test
+  public void shouldOpenConnectionsWithoutCredential() throws Exception {
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class))).thenReturn(new HttpResponse(404, ""));
+
+    pagSeguro.warmUp(new WarmUpBuilder().withParsers(false).withConnections(3));
+
+    verify(httpClient, times(3)).execute(eq(HttpMethod.GET), eq(pagSeguro.getHost()), anyMap(),
+        any(HttpRequestBody.class));
+  }
+
+  @Test
+  public void shouldIgnoreConnectionFailures() throws Exception {
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class))).thenThrow(new IOException());
+
+    pagSeguro.warmUp(new WarmUpBuilder().withParsers(false).withConnections(2)
+        .withConnectionTimeout(1, TimeUnit.SECONDS));
+
+    verify(httpClient, times(2)).execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowsErrorOnNegativeConnections() throws Exception {
+    new WarmUpBuilder().withConnections(-1);
+  }
+}
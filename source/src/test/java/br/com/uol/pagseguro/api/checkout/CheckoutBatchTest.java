@@ -0,0 +1,152 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.checkout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import br.com.uol.pagseguro.api.Resource4Test;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class CheckoutBatchTest extends Resource4Test {
+
+  private CheckoutsResource checkoutsResource;
+
+  @Before
+  public void setUp() throws Exception {
+    checkoutsResource = new CheckoutsResource(pagSeguro, httpClient);
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class))).thenAnswer(new Answer<HttpResponse>() {
+      @Override
+      public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+        final String content = ((HttpRequestBody) invocation.getArguments()[3]).getContent();
+        final String reference = content.replaceAll(".*reference=(r[0-9]+).*", "$1");
+        if ("r3".equals(reference)) {
+          return new HttpResponse(400, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                                       "<errors><error><code>11004</code>" +
+                                       "<message>Currency is required.</message>" +
+                                       "</error></errors>");
+        }
+        return new HttpResponse(200, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                                     "<checkout><code>C" + reference + "</code>" +
+                                     "<date>2016-11-09T00:00:00.000-03:00</date></checkout>");
+      }
+    });
+  }
+
+  @Test
+  public void shouldRegisterAllCheckouts() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      CheckoutBatch batch = checkoutsResource.registerBatch(registrations(10).iterator(), 3,
+          executor);
+      Set<Integer> indexes = new HashSet<Integer>();
+      while (batch.hasNext()) {
+        CheckoutBatchResult result = batch.next();
+        assertTrue(indexes.add(result.getIndex()));
+        assertEquals("r" + result.getIndex(), result.getRegistration().getReference());
+        if (result.getIndex() == 3) {
+          assertFalse(result.isSuccessful());
+          assertTrue(result.getError() instanceof PagSeguroBadRequestException);
+          assertNull(result.getRegisteredCheckout());
+        } else {
+          assertTrue(result.isSuccessful());
+          assertEquals("Cr" + result.getIndex(),
+              result.getRegisteredCheckout().getCheckoutCode());
+        }
+      }
+      assertEquals(10, indexes.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldBoundRegistrationsInFlight() throws Exception {
+    final List<Runnable> tasks = new ArrayList<Runnable>();
+    Executor executor = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        tasks.add(command);
+      }
+    };
+    Iterator<CheckoutRegistration> registrations = registrations(5).iterator();
+
+    CheckoutBatch batch = checkoutsResource.registerBatch(registrations, 2, executor);
+    assertEquals(2, tasks.size());
+
+    tasks.get(1).run();
+    assertEquals(1, batch.next().getIndex());
+    assertEquals(3, tasks.size());
+
+    batch.close();
+    assertFalse(batch.hasNext());
+    assertTrue(registrations.hasNext());
+  }
+
+  private static List<CheckoutRegistration> registrations(int size) {
+    List<CheckoutRegistration> registrations = new ArrayList<CheckoutRegistration>();
+    for (int i = 0; i < size; i++) {
+      registrations.add(new CheckoutRegistrationBuilder()
+          .withCurrency(Currency.BRL)
+          .withReference("r" + i)
+          .addItem(new PaymentItemBuilder()
+              .withId("1")
+              .withDescription("description")
+              .withAmount(new BigDecimal("9.99"))
+              .withQuantity(1))
+          .build());
+    }
+    return registrations;
+  }
+}
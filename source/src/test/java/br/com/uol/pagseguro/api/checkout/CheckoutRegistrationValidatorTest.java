@@ -0,0 +1,139 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.checkout;
+
+import java.math.BigDecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.builder.AddressBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PreApprovalBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ShippingBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.common.domain.enums.State;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class CheckoutRegistrationValidatorTest {
+
+  private CheckoutRegistrationValidator validator;
+
+  @Before
+  public void setUp() throws Exception {
+    validator = new CheckoutRegistrationValidator();
+  }
+
+  @Test
+  public void shouldAcceptOptionalFields() throws Exception {
+    final ValidationErrors errors = validator.validate(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .addItem(new PaymentItemBuilder()
+            .withId("0001")
+            .withDescription("Produto PagSeguroI")
+            .withAmount(new BigDecimal("99.99"))
+            .withQuantity(1))
+        .withSender(new SenderBuilder())
+        .withShipping(new ShippingBuilder())
+        .build());
+
+    assertTrue(errors.toString(), errors.isEmpty());
+  }
+
+  @Test
+  public void shouldAcceptPreApprovalWithoutItems() throws Exception {
+    final ValidationErrors errors = validator.validate(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withPreApproval(new PreApprovalBuilder()
+            .withCharge("AUTO")
+            .withPeriod("Monthly")
+            .withAmountPerPayment(new BigDecimal("99.99")))
+        .build());
+
+    assertTrue(errors.toString(), errors.isEmpty());
+  }
+
+  @Test
+  public void shouldFindAllErrors() throws Exception {
+    final ValidationErrors errors = validator.validate(new CheckoutRegistrationBuilder()
+        .withCurrency(null)
+        .withReference(repeat('r', 201))
+        .addItem(new PaymentItemBuilder()
+            .withId("0001")
+            .withDescription(repeat('d', 101))
+            .withAmount(new BigDecimal("10000000"))
+            .withQuantity(0))
+        .withSender(new SenderBuilder()
+            .withEmail("comprador@")
+            .withName(repeat('n', 51))
+            .withPhone(new PhoneBuilder()
+                .withAreaCode("1")
+                .withNumber("1234")))
+        .withShipping(new ShippingBuilder()
+            .withAddress(new AddressBuilder()
+                .withPostalCode("1234567")
+                .withState(State.XX)))
+        .withPreApproval(new PreApprovalBuilder()
+            .withCharge("charge")
+            .withName(repeat('n', 101))
+            .withDetails(repeat('d', 256))
+            .withPeriod("daily")
+            .withAmountPerPayment(BigDecimal.ZERO)
+            .withMaxAmountPerPayment(BigDecimal.ZERO)
+            .withMaxTotalAmount(BigDecimal.ZERO)
+            .withMaxAmountPerPeriod(BigDecimal.ZERO))
+        .build());
+
+    final int[] codes = {11004, 11034, 11027, 11030, 11008, 11010, 11011, 11013, 11014, 11017,
+        11023, 11058, 11059, 11060, 11061, 11063, 11065, 11067, 11069};
+    for (int code : codes) {
+      assertTrue(code + " " + errors, errors.contains(code));
+    }
+    assertEquals(errors.toString(), codes.length, errors.size());
+  }
+
+  @Test
+  public void shouldRequireItemsWithoutPreApproval() throws Exception {
+    final ValidationErrors errors = validator.validate(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .build());
+
+    assertEquals(1, errors.size());
+    assertTrue(errors.contains(11024));
+  }
+
+  private static String repeat(char c, int length) {
+    final StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(c);
+    }
+    return builder.toString();
+  }
+}
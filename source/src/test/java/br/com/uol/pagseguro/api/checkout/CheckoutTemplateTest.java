@@ -0,0 +1,203 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.checkout;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+
+import br.com.uol.pagseguro.api.common.domain.ShippingType;
+import br.com.uol.pagseguro.api.common.domain.builder.AddressBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ShippingBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.utils.CharSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CheckoutTemplateTest {
+
+  private CheckoutTemplate checkoutTemplate;
+
+  @Before
+  public void setUp() throws Exception {
+    checkoutTemplate = new CheckoutTemplate(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withShipping(new ShippingBuilder()
+            .withType(ShippingType.Type.SEDEX)
+            .withCost(new BigDecimal("9.99"))
+            .withAddress(address()))
+        .addItem(item("1", 1))
+        .addItem(item("2", 2)));
+  }
+
+  @Test
+  public void shouldSendSameParametersOfRegistration() throws Exception {
+    CheckoutRegistration registration = new CheckoutRegistrationBuilder()
+        .withCurrency(null)
+        .withReference("reference \u00e7\u00e3o")
+        .withSender(new SenderBuilder()
+            .withEmail("email@email.com")
+            .withName("name"))
+        .addItem(item("3", 5))
+        .build();
+
+    HttpRequestBody body = toHttpRequestBody(registration);
+
+    CheckoutRegistration expected = new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withReference("reference \u00e7\u00e3o")
+        .withSender(new SenderBuilder()
+            .withEmail("email@email.com")
+            .withName("name"))
+        .withShipping(new ShippingBuilder()
+            .withType(ShippingType.Type.SEDEX)
+            .withCost(new BigDecimal("9.99"))
+            .withAddress(address()))
+        .addItem(item("1", 1))
+        .addItem(item("2", 2))
+        .addItem(item("3", 5))
+        .build();
+    HttpRequestBody expectedBody = new CheckoutRegistrationV2MapConverter().convert(expected)
+        .toHttpRequestBody(CharSet.ENCODING_ISO);
+
+    assertEquals(decode(expectedBody), decode(body));
+    assertEquals(expectedBody.getContentType(), body.getContentType());
+    assertEquals(expectedBody.getCharset(), body.getCharset());
+    assertEquals("3", decode(body).get("itemId3"));
+    assertEquals("5", decode(body).get("itemQuantity3"));
+  }
+
+  @Test
+  public void shouldSendEqualParameterOnce() throws Exception {
+    HttpRequestBody body = toHttpRequestBody(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withReference("reference")
+        .build());
+
+    String content = body.getContent();
+    assertEquals(content.indexOf("currency=BRL"), content.lastIndexOf("currency=BRL"));
+    assertTrue(content.contains("reference=reference"));
+  }
+
+  @Test
+  public void shouldReplaceFieldOfTemplate() throws Exception {
+    CheckoutRegistration registration = new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withShipping(new ShippingBuilder()
+            .withType(ShippingType.Type.PAC)
+            .withCost(new BigDecimal("19.99")))
+        .build();
+    HttpRequestBody body = toHttpRequestBody(registration);
+
+    Map<String, String> parameters = decode(body);
+    assertEquals("19.99", parameters.get("shippingCost"));
+    assertEquals("1", parameters.get("shippingType"));
+    assertNull(parameters.get("shippingAddressCity"));
+    assertFalse(body.getContent().contains("shippingCost=9.99"));
+    assertEquals(decode(merged(registration)), parameters);
+  }
+
+  @Test
+  public void shouldSendMergedRegistrationOnPartialOverride() throws Exception {
+    CheckoutRegistration registration = new CheckoutRegistrationBuilder()
+        .withCurrency(null)
+        .withShipping(new ShippingBuilder()
+            .withAddress(address().withCity("other city")))
+        .addItem(item("3", 1))
+        .build();
+
+    Map<String, String> parameters = decode(toHttpRequestBody(registration));
+    CheckoutRegistration merged = checkoutTemplate.merge(registration);
+
+    assertNull(merged.getShipping().getCost());
+    assertNull(parameters.get("shippingCost"));
+    assertNull(parameters.get("shippingType"));
+    assertEquals("other city", parameters.get("shippingAddressCity"));
+    assertEquals(decode(merged(registration)), parameters);
+  }
+
+  @Test
+  public void shouldMergeRegistration() throws Exception {
+    CheckoutRegistration merged = checkoutTemplate.merge(new CheckoutRegistrationBuilder()
+        .withCurrency(null)
+        .withReference("reference")
+        .addItem(item("3", 5))
+        .build());
+
+    assertEquals(Currency.BRL, merged.getCurrency());
+    assertEquals("reference", merged.getReference());
+    assertEquals(3, merged.getItems().size());
+    assertEquals("1", merged.getItems().get(0).getId());
+    assertEquals("3", merged.getItems().get(2).getId());
+    assertEquals(new BigDecimal("9.99"), merged.getShipping().getCost());
+  }
+
+  private HttpRequestBody toHttpRequestBody(CheckoutRegistration registration) throws Exception {
+    return checkoutTemplate.toHttpRequestBody(registration, checkoutTemplate.convert(registration));
+  }
+
+  private HttpRequestBody merged(CheckoutRegistration registration) throws Exception {
+    return new CheckoutRegistrationV2MapConverter().convert(checkoutTemplate.merge(registration))
+        .toHttpRequestBody(CharSet.ENCODING_ISO);
+  }
+
+  private static AddressBuilder address() {
+    return new AddressBuilder()
+        .withCountry("BRA")
+        .withState("SP")
+        .withPostalCode("99999999")
+        .withCity("city")
+        .withDistrict("district")
+        .withStreet("street")
+        .withNumber("999");
+  }
+
+  private static PaymentItemBuilder item(String id, int quantity) {
+    return new PaymentItemBuilder()
+        .withId(id)
+        .withDescription("description" + id)
+        .withAmount(new BigDecimal("99.99"))
+        .withQuantity(quantity);
+  }
+
+  private static Map<String, String> decode(HttpRequestBody body) throws Exception {
+    Map<String, String> parameters = new HashMap<String, String>();
+    for (String parameter : body.getContent().split("&")) {
+      String[] pair = parameter.split("=", 2);
+      // cada parametro e enviado uma unica vez
+      assertNull(parameters.put(URLDecoder.decode(pair[0], body.getCharset()),
+          URLDecoder.decode(pair[1], body.getCharset())));
+    }
+    return parameters;
+  }
+
+}
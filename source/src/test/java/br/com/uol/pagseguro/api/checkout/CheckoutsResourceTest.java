@@ -3,6 +3,7 @@ package br.com.uol.pagseguro.api.checkout;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
@@ -28,6 +29,7 @@ import br.com.uol.pagseguro.api.common.domain.enums.Currency;
 import br.com.uol.pagseguro.api.common.domain.enums.PaymentMethodGroup;
 import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroValidationException;
 import br.com.uol.pagseguro.api.exception.ServerError;
 import br.com.uol.pagseguro.api.exception.ServerErrors;
 import br.com.uol.pagseguro.api.http.HttpMethod;
@@ -35,9 +37,14 @@ import br.com.uol.pagseguro.api.http.HttpRequestBody;
 import br.com.uol.pagseguro.api.http.HttpResponse;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -108,7 +115,7 @@ public class CheckoutsResourceTest extends Resource4Test {
             .withShippingCost(new BigDecimal(99.99))
         )
         .withPreApproval(new PreApprovalBuilder()
-            .withCharge("charge")
+            .withCharge("auto")
             .withName("name")
             .withDetails("details")
             .withAmountPerPayment(new BigDecimal(99.99))
@@ -116,7 +123,7 @@ public class CheckoutsResourceTest extends Resource4Test {
             .withMaxTotalAmount(new BigDecimal(99.99))
             .withMaxAmountPerPeriod(new BigDecimal(99.99))
             .withMaxPaymentsPerPeriod(4)
-            .withPeriod("period")
+            .withPeriod("monthly")
             .withDateRange(new DateRangeBuilder()
                 .between(dateFormat.parse("2016/11/09 00:00:00"),
                     dateFormat.parse("2016/11/09 23:59:59"))
@@ -193,6 +200,75 @@ public class CheckoutsResourceTest extends Resource4Test {
     }
   }
 
+  @Test
+  public void shouldNotSendInvalidRegistration() throws Exception {
+    try {
+      checkoutsResource.register(new CheckoutRegistrationBuilder()
+          .withCurrency(null)
+          .withReference("reference")
+          .withPreApproval(new PreApprovalBuilder()
+              .withCharge("charge")));
+      fail();
+    } catch (PagSeguroValidationException e) {
+      assertTrue(e.getErrors().contains(11004));
+      assertTrue(e.getErrors().contains(11058));
+    }
+    verify(httpClient, never()).execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class));
+  }
+
+  @Test
+  public void shouldRegisterWithTemplate() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<checkout>" +
+                              "<code>8CF4BE7DCECEF0F004A6DFA0A8243412</code>" +
+                              "<date>2016-11-09T00:00:00.000-03:00</date>" +
+                              "</checkout>";
+    HttpResponse response = new HttpResponse(200, responseAsString);
+    ArgumentCaptor<HttpRequestBody> body = ArgumentCaptor.forClass(HttpRequestBody.class);
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        body.capture())).thenReturn(response);
+    CheckoutTemplate checkoutTemplate = new CheckoutTemplate(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .addItem(new PaymentItemBuilder()
+            .withId("1")
+            .withDescription("description1")
+            .withAmount(new BigDecimal("99.99"))
+            .withQuantity(1)));
+
+    RegisteredCheckout registeredCheckout = checkoutsResource.register(checkoutTemplate,
+        new CheckoutRegistrationBuilder()
+            .withCurrency(null)
+            .withReference("reference")
+            .addItem(new PaymentItemBuilder()
+                .withId("2")
+                .withDescription("description2")
+                .withAmount(new BigDecimal("9.99"))
+                .withQuantity(3)));
+
+    assertEquals("8CF4BE7DCECEF0F004A6DFA0A8243412", registeredCheckout.getCheckoutCode());
+    String content = body.getValue().getContent();
+    assertTrue(content.contains("itemId1=1"));
+    assertTrue(content.contains("itemId2=2"));
+    assertTrue(content.contains("itemQuantity2=3"));
+    assertTrue(content.contains("reference=reference"));
+  }
+
+  @Test
+  public void shouldNotSendInvalidRegistrationWithTemplate() throws Exception {
+    try {
+      checkoutsResource.register(new CheckoutTemplate(new CheckoutRegistrationBuilder()
+          .withCurrency(Currency.BRL)), new CheckoutRegistrationBuilder()
+          .withCurrency(null)
+          .withReference("reference"));
+      fail();
+    } catch (PagSeguroValidationException e) {
+      assertFalse(e.getErrors().contains(11004));
+    }
+    verify(httpClient, never()).execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class));
+  }
+
   @Test(expected = PagSeguroLibException.class)
   public void shouldThrowsErrorLibOnRegister() throws Exception {
     when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
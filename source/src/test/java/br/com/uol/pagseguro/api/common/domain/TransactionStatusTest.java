@@ -0,0 +1,61 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.common.domain;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class TransactionStatusTest {
+
+  @Test
+  public void shouldFindStatusById() throws Exception {
+    assertEquals(TransactionStatus.Status.WAITING_PAYMENT,
+        TransactionStatus.Status.fromStatusId(1));
+    assertEquals(TransactionStatus.Status.CANCELLED, TransactionStatus.Status.fromStatusId(7));
+    assertEquals(TransactionStatus.Status.CANCELLED,
+        TransactionStatus.Status.fromStatusId(new Integer(7)));
+    assertEquals(TransactionStatus.Status.UNRECOGNIZED, TransactionStatus.Status.fromStatusId(0));
+    assertEquals(TransactionStatus.Status.UNRECOGNIZED, TransactionStatus.Status.fromStatusId(-1));
+    assertEquals(TransactionStatus.Status.UNRECOGNIZED,
+        TransactionStatus.Status.fromStatusId(1000));
+    assertEquals(TransactionStatus.Status.UNRECOGNIZED,
+        TransactionStatus.Status.fromStatusId(null));
+  }
+
+  @Test
+  public void shouldShareInstancesOfCommonIds() throws Exception {
+    assertSame(TransactionStatus.valueOf(3), TransactionStatus.valueOf(new Integer(3)));
+    assertSame(TransactionStatus.valueOf(null), TransactionStatus.valueOf(null));
+    assertNotSame(TransactionStatus.valueOf(1000), TransactionStatus.valueOf(1000));
+    assertEquals(1000, TransactionStatus.valueOf(1000).getStatusId());
+    assertEquals(TransactionStatus.Status.APPROVED, TransactionStatus.valueOf(3).getStatus());
+    assertEquals(TransactionType.Type.VALIDATOR, TransactionType.valueOf(14).getType());
+    assertEquals(TransactionPaymentMethod.Code.BRADESCO,
+        TransactionPaymentMethod.Code.fromCodeId(201));
+  }
+}
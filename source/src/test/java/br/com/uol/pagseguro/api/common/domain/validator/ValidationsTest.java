@@ -0,0 +1,111 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.common.domain.validator;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class ValidationsTest {
+
+  @Test
+  public void shouldCheckBlank() throws Exception {
+    assertTrue(Validations.isBlank(null));
+    assertTrue(Validations.isBlank(""));
+    assertTrue(Validations.isBlank(" \t"));
+    assertFalse(Validations.isBlank(" a "));
+  }
+
+  @Test
+  public void shouldCheckPostalCode() throws Exception {
+    assertTrue(Validations.isPostalCode("01452002"));
+    assertFalse(Validations.isPostalCode(null));
+    assertFalse(Validations.isPostalCode("1452002"));
+    assertFalse(Validations.isPostalCode("01452-002"));
+    assertFalse(Validations.isPostalCode("014520021"));
+  }
+
+  @Test
+  public void shouldCheckState() throws Exception {
+    assertTrue(Validations.isState("SP"));
+    assertTrue(Validations.isState("AC"));
+    assertFalse(Validations.isState("XX"));
+    assertFalse(Validations.isState("sp"));
+    assertFalse(Validations.isState(null));
+  }
+
+  @Test
+  public void shouldCheckPhone() throws Exception {
+    assertTrue(Validations.isAreaCode("11"));
+    assertFalse(Validations.isAreaCode("01"));
+    assertFalse(Validations.isAreaCode("10"));
+    assertFalse(Validations.isAreaCode("111"));
+    assertTrue(Validations.isPhoneNumber("56273440"));
+    assertTrue(Validations.isPhoneNumber("956273440"));
+    assertFalse(Validations.isPhoneNumber("5627344"));
+    assertFalse(Validations.isPhoneNumber("5627-3440"));
+  }
+
+  @Test
+  public void shouldCheckEmail() throws Exception {
+    assertTrue(Validations.isEmail("comprador@uol.com.br"));
+    assertFalse(Validations.isEmail("comprador"));
+    assertFalse(Validations.isEmail("@uol.com.br"));
+    assertFalse(Validations.isEmail("comprador@"));
+    assertFalse(Validations.isEmail("comp@rador@uol.com.br"));
+    assertFalse(Validations.isEmail("comp rador@uol.com.br"));
+  }
+
+  @Test
+  public void shouldCheckCpf() throws Exception {
+    assertTrue(Validations.isCpf("22111944785"));
+    assertTrue(Validations.isCpf("99999999999"));
+    assertFalse(Validations.isCpf("22111944786"));
+    assertFalse(Validations.isCpf("2211194478"));
+    assertFalse(Validations.isCpf("221.119.447-85"));
+  }
+
+  @Test
+  public void shouldCheckAmountAfterRounding() throws Exception {
+    assertTrue(Validations.isAmount(new BigDecimal("0.01")));
+    assertTrue(Validations.isAmount(new BigDecimal("9999999.00")));
+    assertTrue(Validations.isAmount(new BigDecimal("9999999.004")));
+    assertTrue(Validations.isAmount(new BigDecimal("0.006")));
+    assertFalse(Validations.isAmount(new BigDecimal("0.005")));
+    assertFalse(Validations.isAmount(BigDecimal.ZERO));
+    assertFalse(Validations.isAmount(new BigDecimal("-1")));
+    assertFalse(Validations.isAmount(new BigDecimal("9999999.01")));
+  }
+
+  @Test
+  public void shouldCheckLength() throws Exception {
+    assertFalse(Validations.isLongerThan(null, 1));
+    assertFalse(Validations.isLongerThan("a", 1));
+    assertTrue(Validations.isLongerThan("ab", 1));
+  }
+}
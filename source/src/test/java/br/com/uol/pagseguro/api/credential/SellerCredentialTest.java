@@ -34,4 +34,12 @@ public class SellerCredentialTest {
     assertEquals(expectedMap, map);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldHaveSameHashCodeWhenEquals() throws Exception {
+    Credential other = Credential.sellerCredential("email", "token");
+
+    assertEquals(sellerCredential, other);
+    assertEquals(sellerCredential.hashCode(), other.hashCode());
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class InMemoryNotificationDeduplicationStoreTest {
+
+  private final AtomicLong now = new AtomicLong(1000000L);
+
+  private InMemoryNotificationDeduplicationStore store;
+
+  @Before
+  public void setUp() throws Exception {
+    store = newStore(1000, 3000L);
+  }
+
+  @Test
+  public void shouldSuppressRepeatedKey() throws Exception {
+    assertTrue(store.markIfAbsent("TRANSACTION:code"));
+    assertFalse(store.markIfAbsent("TRANSACTION:code"));
+    assertTrue(store.markIfAbsent("PRE_APPROVAL:code"));
+  }
+
+  @Test
+  public void shouldForgetUnmarkedKey() throws Exception {
+    assertTrue(store.markIfAbsent("TRANSACTION:code"));
+    store.unmark("TRANSACTION:code");
+    assertTrue(store.markIfAbsent("TRANSACTION:code"));
+    assertFalse(store.markIfAbsent("TRANSACTION:code"));
+  }
+
+  @Test
+  public void shouldRememberKeyDuringWindow() throws Exception {
+    assertTrue(store.markIfAbsent("TRANSACTION:code"));
+    for (int i = 0; i < 3; i++) {
+      now.addAndGet(999L);
+      assertFalse(store.markIfAbsent("TRANSACTION:code"));
+    }
+    now.addAndGet(4000L);
+    assertTrue(store.markIfAbsent("TRANSACTION:code"));
+  }
+
+  @Test
+  public void shouldKeepMemoryBounded() throws Exception {
+    store = newStore(30, 3000L);
+    for (int i = 0; i < 10000; i++) {
+      assertTrue(store.markIfAbsent("TRANSACTION:" + i));
+    }
+    assertFalse(store.markIfAbsent("TRANSACTION:9999"));
+    assertTrue(store.markIfAbsent("TRANSACTION:0"));
+  }
+
+  private InMemoryNotificationDeduplicationStore newStore(int capacity, long windowMillis) {
+    return new InMemoryNotificationDeduplicationStore(capacity, windowMillis) {
+      @Override
+      protected long currentTimeMillis() {
+        return now.get();
+      }
+    };
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Map;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class NotificationHttpServerTest {
+
+  private NotificationDispatcher dispatcher;
+
+  private PagSeguroNotificationHandler handler;
+
+  private NotificationHttpServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    dispatcher = mock(NotificationDispatcher.class);
+    handler = mock(PagSeguroNotificationHandler.class);
+    server = new NotificationHttpServerBuilder(dispatcher, handler)
+        .withAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+        .withMaxBodySize(256)
+        .build();
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.stop(0);
+  }
+
+  @Test
+  public void shouldDispatchPostedNotification() throws Exception {
+    int status = post("notificationCode=ABC%2D123&notificationType=transaction");
+
+    assertEquals(200, status);
+    verify(dispatcher).dispatch(argThat(new BaseMatcher<Notification>() {
+      @Override
+      public boolean matches(Object item) {
+        Notification notification = (Notification) item;
+        return "ABC-123".equals(notification.getCode())
+               && notification.getType() == NotificationType.TRANSACTION;
+      }
+
+      @Override
+      public void describeTo(Description description) {
+        description.appendText("transaction notification ABC-123");
+      }
+    }), eq(handler));
+  }
+
+  @Test
+  public void shouldRejectInvalidNotification() throws Exception {
+    assertEquals(400, post("notificationCode=ABC"));
+    assertEquals(400, post("notificationCode=ABC&notificationType=unknown"));
+    verify(dispatcher, never()).dispatch(any(Notification.class), eq(handler));
+  }
+
+  @Test
+  public void shouldRejectLargeBody() throws Exception {
+    StringBuilder body = new StringBuilder("notificationType=transaction&notificationCode=");
+    for (int i = 0; i < 300; i++) {
+      body.append('A');
+    }
+    assertEquals(413, post(body.toString()));
+  }
+
+  @Test
+  public void shouldRejectOtherMethods() throws Exception {
+    HttpURLConnection connection = (HttpURLConnection) url().openConnection();
+    assertEquals(405, connection.getResponseCode());
+  }
+
+  @Test
+  public void shouldAnswerErrorWhenDispatchFails() throws Exception {
+    doThrow(new IllegalStateException()).when(dispatcher)
+        .dispatch(any(Notification.class), eq(handler));
+    assertEquals(500, post("notificationCode=ABC&notificationType=transaction"));
+  }
+
+  @Test
+  public void shouldParseForm() throws Exception {
+    Map<String, String> parameters = NotificationHttpServer.parseForm(
+        "a=1&b=%E7%E3o+x&&c&a=2&d=", "ISO-8859-1");
+
+    assertEquals(4, parameters.size());
+    assertEquals("1", parameters.get("a"));
+    assertEquals("ção x", parameters.get("b"));
+    assertEquals("", parameters.get("c"));
+    assertEquals("", parameters.get("d"));
+  }
+
+  @Test
+  public void shouldReadCharsetOfContentType() throws Exception {
+    assertEquals("ISO-8859-1", NotificationHttpServer.charsetOf(null));
+    assertEquals("ISO-8859-1",
+        NotificationHttpServer.charsetOf("application/x-www-form-urlencoded"));
+    assertEquals("UTF-8",
+        NotificationHttpServer.charsetOf("application/x-www-form-urlencoded; charset=UTF-8"));
+  }
+
+  private URL url() throws Exception {
+    return new URL("http", "127.0.0.1", server.getAddress().getPort(), "/notifications");
+  }
+
+  private int post(String body) throws Exception {
+    HttpURLConnection connection = (HttpURLConnection) url().openConnection();
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    connection.setRequestProperty("Content-Type",
+        "application/x-www-form-urlencoded; charset=ISO-8859-1");
+    OutputStream output = connection.getOutputStream();
+    output.write(body.getBytes("ISO-8859-1"));
+    output.close();
+    return connection.getResponseCode();
+  }
+}
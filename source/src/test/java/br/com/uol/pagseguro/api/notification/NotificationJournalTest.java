@@ -0,0 +1,214 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class NotificationJournalTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File directory;
+
+  private NotificationJournal journal;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = folder.newFolder("journal");
+    journal = NotificationJournal.open(directory, 1024);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    journal.close();
+  }
+
+  @Test
+  public void shouldReplayNotificationsNotCompleted() throws Exception {
+    long first = journal.append(new Notification("code1", NotificationType.TRANSACTION, 10L));
+    long second = journal.append(new Notification("código2", NotificationType.PRE_APPROVAL, 20L));
+    journal.complete(first);
+    journal.close();
+
+    journal = NotificationJournal.open(directory, 1024);
+
+    Map<Long, Notification> pending = journal.getPending();
+    assertEquals(1, pending.size());
+    Notification notification = pending.get(second);
+    assertEquals("código2", notification.getCode());
+    assertEquals(NotificationType.PRE_APPROVAL, notification.getType());
+    assertEquals(20L, notification.getReceivedAt());
+  }
+
+  @Test
+  public void shouldContinueIdsAfterReopen() throws Exception {
+    long first = journal.append(new Notification("code1", NotificationType.TRANSACTION, 10L));
+    journal.close();
+
+    journal = NotificationJournal.open(directory, 1024);
+    long second = journal.append(new Notification("code2", NotificationType.TRANSACTION, 10L));
+    journal.complete(first);
+    journal.close();
+
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(1, journal.getPending().size());
+    assertTrue(journal.getPending().containsKey(second));
+  }
+
+  @Test
+  public void shouldCallCallbackAfterFlush() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    Runnable callback = new Runnable() {
+      @Override
+      public void run() {
+        latch.countDown();
+      }
+    };
+    journal.append(new Notification("code1", NotificationType.TRANSACTION, 10L));
+    journal.sync(callback);
+    journal.append(new Notification("code2", NotificationType.TRANSACTION, 10L));
+    journal.sync(callback);
+
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldDeleteCompletedSegments() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      long id = journal.append(new Notification("code" + i, NotificationType.TRANSACTION, 10L));
+      journal.complete(id);
+    }
+    long last = journal.append(new Notification("last", NotificationType.TRANSACTION, 10L));
+
+    assertEquals(1, directory.listFiles().length);
+    journal.close();
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(1, journal.getPending().size());
+    assertEquals("last", journal.getPending().get(last).getCode());
+  }
+
+  @Test
+  public void shouldIgnoreTornRecord() throws Exception {
+    journal.append(new Notification("code1", NotificationType.TRANSACTION, 10L));
+    journal.append(new Notification("code2", NotificationType.TRANSACTION, 10L));
+    journal.close();
+    RandomAccessFile file = new RandomAccessFile(directory.listFiles()[0], "rw");
+    try {
+      long second = 8 + file.readInt();
+      file.seek(second + 12);
+      file.write(0xFF);
+    } finally {
+      file.close();
+    }
+
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(1, journal.getPending().size());
+    long third = journal.append(new Notification("code3", NotificationType.TRANSACTION, 10L));
+    journal.close();
+
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(2, journal.getPending().size());
+    assertEquals("code3", journal.getPending().get(third).getCode());
+  }
+
+  @Test
+  public void shouldNotAppendOversizedCode() throws Exception {
+    char[] code = new char[40000];
+    Arrays.fill(code, 'a');
+    try {
+      journal.append(new Notification(new String(code), NotificationType.TRANSACTION, 10L));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // esperado
+    }
+    try {
+      Notification.fromParameters(new String(code), "transaction");
+      fail();
+    } catch (IllegalArgumentException e) {
+      // esperado
+    }
+    long first = journal.append(new Notification("code1", NotificationType.TRANSACTION, 10L));
+    journal.close();
+
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(1, journal.getPending().size());
+    assertEquals("code1", journal.getPending().get(first).getCode());
+  }
+
+  @Test
+  public void shouldRecoverWithOversizedCode() throws Exception {
+    journal.append(new Notification("code1", NotificationType.TRANSACTION, 10L));
+    journal.close();
+    byte[] type = "TRANSACTION".getBytes("UTF-8");
+    ByteBuffer payload = ByteBuffer.allocate(1 + 8 + 8 + 2 + type.length + 2 + 16);
+    payload.put((byte) 1).putLong(7L).putLong(10L);
+    payload.putShort((short) type.length).put(type);
+    payload.putShort((short) 40000).put(new byte[16]);
+    CRC32 crc = new CRC32();
+    crc.update(payload.array(), 0, payload.capacity());
+    RandomAccessFile file = new RandomAccessFile(directory.listFiles()[0], "rw");
+    try {
+      file.seek(8 + file.readInt());
+      file.writeInt(payload.capacity());
+      file.writeInt((int) crc.getValue());
+      file.write(payload.array());
+    } finally {
+      file.close();
+    }
+
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(1, journal.getPending().size());
+    long next = journal.append(new Notification("code2", NotificationType.TRANSACTION, 10L));
+    assertEquals(8L, next);
+    journal.close();
+
+    journal = NotificationJournal.open(directory, 1024);
+    assertEquals(2, journal.getPending().size());
+    assertEquals("code2", journal.getPending().get(next).getCode());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotAcceptSmallSegments() throws Exception {
+    NotificationJournal.open(directory, 16);
+  }
+}
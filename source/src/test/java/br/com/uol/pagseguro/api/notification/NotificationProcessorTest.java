@@ -0,0 +1,314 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.notification;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import br.com.uol.pagseguro.api.Resource4Test;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class NotificationProcessorTest extends Resource4Test {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private PagSeguroNotificationHandler handler;
+
+  @Mock
+  private NotificationAcknowledgement acknowledgement;
+
+  @Mock
+  private NotificationDeadLetterHandler deadLetterHandler;
+
+  private NotificationDispatcher dispatcher;
+
+  private Notification notification;
+
+  @Before
+  public void setUp() throws Exception {
+    dispatcher = mock(NotificationDispatcher.class);
+    notification = new Notification("code", NotificationType.TRANSACTION,
+        System.currentTimeMillis());
+  }
+
+  @Test
+  public void shouldProcessQueuedNotification() throws Exception {
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withWorkers(2)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    verify(acknowledgement).accepted(notification);
+    verify(dispatcher).dispatch(notification, handler);
+    NotificationProcessorMetrics metrics = processor.getMetrics();
+    assertEquals(1L, metrics.getAccepted());
+    assertEquals(1L, metrics.getProcessed());
+    assertEquals(0L, metrics.getFailed());
+    assertEquals(0, metrics.getQueueDepth());
+  }
+
+  @Test
+  public void shouldRejectWhenQueueIsFull() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        release.await();
+        return null;
+      }
+    }).when(dispatcher).dispatch(any(Notification.class), eq(handler));
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withWorkers(1)
+        .withQueueCapacity(1)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.submit(notification, acknowledgement);
+    processor.submit(notification, acknowledgement);
+
+    verify(acknowledgement, times(2)).accepted(notification);
+    verify(acknowledgement, times(1)).rejected(eq(notification), any(Throwable.class));
+    NotificationProcessorMetrics metrics = processor.getMetrics();
+    assertEquals(1, metrics.getQueueDepth());
+    assertEquals(1, metrics.getQueueCapacity());
+    assertEquals(1L, metrics.getRejected());
+
+    release.countDown();
+    processor.shutdown();
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(2L, processor.getMetrics().getProcessed());
+  }
+
+  @Test
+  public void shouldCountFailedNotifications() throws Exception {
+    doThrow(new IllegalStateException()).when(dispatcher).dispatch(notification, handler);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler).build();
+
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(1L, processor.getMetrics().getFailed());
+    assertEquals(0L, processor.getMetrics().getProcessed());
+  }
+
+  @Test
+  public void shouldRetryTransientFailures() throws Exception {
+    doThrow(new PagSeguroServiceUnavailableException(new HttpResponse(503, "")))
+        .doThrow(new PagSeguroLibException(new IOException()))
+        .doNothing()
+        .when(dispatcher).dispatch(notification, handler);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withRetryDelay(0)
+        .withDeadLetterHandler(deadLetterHandler)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    verify(dispatcher, times(3)).dispatch(notification, handler);
+    verify(deadLetterHandler, never()).handleDeadLetter(any(Notification.class),
+        any(RuntimeException.class));
+    assertEquals(1L, processor.getMetrics().getProcessed());
+    assertEquals(0L, processor.getMetrics().getFailed());
+  }
+
+  @Test
+  public void shouldHandDeadLetterWhenAttemptsRunOut() throws Exception {
+    PagSeguroServiceUnavailableException unavailable =
+        new PagSeguroServiceUnavailableException(new HttpResponse(503, ""));
+    doThrow(unavailable).when(dispatcher).dispatch(notification, handler);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withMaxAttempts(2)
+        .withRetryDelay(0)
+        .withDeadLetterHandler(deadLetterHandler)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    verify(dispatcher, times(2)).dispatch(notification, handler);
+    verify(deadLetterHandler).handleDeadLetter(notification, unavailable);
+    assertEquals(1L, processor.getMetrics().getFailed());
+  }
+
+  @Test
+  public void shouldNotRetryFailureOfHandler() throws Exception {
+    IllegalStateException failure = new IllegalStateException();
+    doThrow(failure).when(dispatcher).dispatch(notification, handler);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withRetryDelay(0)
+        .withDeadLetterHandler(deadLetterHandler)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    verify(dispatcher, times(1)).dispatch(notification, handler);
+    verify(deadLetterHandler).handleDeadLetter(notification, failure);
+  }
+
+  @Test
+  public void shouldIgnoreRepeatedNotification() throws Exception {
+    doThrow(new IllegalStateException()).doNothing().when(dispatcher)
+        .dispatch(notification, handler);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withWorkers(1)
+        .withDeduplicationStore(new InMemoryNotificationDeduplicationStore())
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.submit(notification, acknowledgement);
+    Thread.sleep(100L);
+    processor.submit(notification, acknowledgement);
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    verify(dispatcher, times(2)).dispatch(notification, handler);
+    verify(acknowledgement, times(4)).accepted(notification);
+    NotificationProcessorMetrics metrics = processor.getMetrics();
+    assertEquals(2L, metrics.getDuplicated());
+    assertEquals(1L, metrics.getFailed());
+    assertEquals(1L, metrics.getProcessed());
+  }
+
+  @Test
+  public void shouldAcknowledgeAfterJournalAndReplayPending() throws Exception {
+    File directory = folder.newFolder("journal");
+    NotificationJournal journal = NotificationJournal.open(directory);
+    journal.append(notification);
+    final CountDownLatch acknowledged = new CountDownLatch(1);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        acknowledged.countDown();
+        return null;
+      }
+    }).when(acknowledgement).accepted(notification);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withJournal(journal)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+
+    assertTrue(acknowledged.await(10, TimeUnit.SECONDS));
+    processor.shutdown();
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    journal.close();
+    journal = NotificationJournal.open(directory);
+    assertEquals(1, journal.getPending().size());
+
+    processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withJournal(journal)
+        .build();
+
+    verify(dispatcher, timeout(10000).times(2)).dispatch(any(Notification.class), eq(handler));
+    journal.close();
+  }
+
+  @Test
+  public void shouldReplayFailedNotificationFromJournal() throws Exception {
+    doThrow(new IllegalStateException()).doNothing().when(dispatcher)
+        .dispatch(notification, handler);
+    File directory = folder.newFolder("journal");
+    NotificationJournal journal = NotificationJournal.open(directory);
+    NotificationProcessor processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withJournal(journal)
+        .build();
+
+    processor.submit(notification, acknowledgement);
+    processor.shutdown();
+
+    assertTrue(processor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(1L, processor.getMetrics().getFailed());
+    journal.close();
+    journal = NotificationJournal.open(directory);
+    assertEquals(1, journal.getPending().size());
+    assertEquals("code", journal.getPending().values().iterator().next().getCode());
+
+    final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+    processor = new NotificationProcessorBuilder(dispatcher, handler)
+        .withJournal(journal)
+        .withThreadFactory(new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+          }
+        })
+        .build();
+    processor.shutdown();
+    for (Thread thread : threads) {
+      thread.join(10000L);
+    }
+
+    verify(dispatcher, times(2)).dispatch(any(Notification.class), eq(handler));
+    assertEquals(1L, processor.getMetrics().getProcessed());
+    journal.close();
+    journal = NotificationJournal.open(directory);
+    assertTrue(journal.getPending().isEmpty());
+    journal.close();
+  }
+}
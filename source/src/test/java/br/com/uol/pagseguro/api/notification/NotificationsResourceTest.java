@@ -3,11 +3,16 @@ package br.com.uol.pagseguro.api.notification;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import br.com.uol.pagseguro.api.PagSeguro;
 import br.com.uol.pagseguro.api.Resource4Test;
@@ -22,11 +27,15 @@ import br.com.uol.pagseguro.api.transaction.TransactionsResource;
 import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
 import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResource;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -38,6 +47,15 @@ public class NotificationsResourceTest extends Resource4Test {
   @Mock
   private HttpServletRequest httpServletRequest;
 
+  @Mock
+  private HttpServletResponse httpServletResponse;
+
+  @Mock
+  private AsyncContext asyncContext;
+
+  @Mock
+  private NotificationProcessor processor;
+
   @Mock
   private PagSeguroNotificationHandler handler;
 
@@ -139,4 +157,93 @@ public class NotificationsResourceTest extends Resource4Test {
     when(httpServletRequest.getParameter("notificationType")).thenReturn("type");
     notificationsResource.handle(httpServletRequest, handler);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldAcknowledgeAsyncNotificationWhenQueued() throws Exception {
+    when(httpServletRequest.getParameter("notificationCode")).thenReturn("code");
+    when(httpServletRequest.getParameter("notificationType")).thenReturn("transaction");
+    when(httpServletRequest.isAsyncSupported()).thenReturn(true);
+    when(httpServletRequest.startAsync()).thenReturn(asyncContext);
+    notificationsResource.handleAsync(httpServletRequest, httpServletResponse, processor);
+
+    ArgumentCaptor<Notification> notification = ArgumentCaptor.forClass(Notification.class);
+    ArgumentCaptor<NotificationAcknowledgement> acknowledgement =
+        ArgumentCaptor.forClass(NotificationAcknowledgement.class);
+    verify(processor).submit(notification.capture(), acknowledgement.capture());
+    assertEquals("code", notification.getValue().getCode());
+    assertEquals(NotificationType.TRANSACTION, notification.getValue().getType());
+    verify(asyncContext, never()).complete();
+
+    acknowledgement.getValue().accepted(notification.getValue());
+    verify(httpServletResponse).setStatus(HttpServletResponse.SC_OK);
+    verify(asyncContext).complete();
+    verify(handler, never()).handleTransactionNotification(any(TransactionDetail.class));
+  }
+
+  @Test
+  public void shouldAnswerUnavailableWhenAsyncNotificationIsRejected() throws Exception {
+    when(httpServletRequest.getParameter("notificationCode")).thenReturn("code");
+    when(httpServletRequest.getParameter("notificationType")).thenReturn("preApproval");
+    when(httpServletRequest.isAsyncSupported()).thenReturn(false);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        ((NotificationAcknowledgement) invocation.getArguments()[1]).rejected(
+            (Notification) invocation.getArguments()[0], new IllegalStateException());
+        return null;
+      }
+    }).when(processor).submit(any(Notification.class), any(NotificationAcknowledgement.class));
+    notificationsResource.handleAsync(httpServletRequest, httpServletResponse, processor);
+
+    verify(processor).submit(any(Notification.class), any(NotificationAcknowledgement.class));
+    verify(httpServletResponse).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    verify(httpServletRequest, never()).startAsync();
+  }
+
+  @Test
+  public void shouldWaitAcknowledgementWithoutAsyncSupport() throws Exception {
+    when(httpServletRequest.getParameter("notificationCode")).thenReturn("code");
+    when(httpServletRequest.getParameter("notificationType")).thenReturn("transaction");
+    when(httpServletRequest.isAsyncSupported()).thenReturn(false);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(final InvocationOnMock invocation) throws Throwable {
+        new Thread(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              Thread.sleep(100);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            ((NotificationAcknowledgement) invocation.getArguments()[1]).accepted(
+                (Notification) invocation.getArguments()[0]);
+          }
+        }).start();
+        return null;
+      }
+    }).when(processor).submit(any(Notification.class), any(NotificationAcknowledgement.class));
+
+    notificationsResource.handleAsync(httpServletRequest, httpServletResponse, processor);
+
+    verify(httpServletResponse).setStatus(HttpServletResponse.SC_OK);
+    verify(httpServletRequest, never()).startAsync();
+  }
+
+  @Test(expected = PagSeguroLibException.class)
+  public void shouldThrowsErrorLibOnInvalidAsyncNotification() throws Exception {
+    when(httpServletRequest.getParameter("notificationCode")).thenReturn("code");
+    when(httpServletRequest.getParameter("notificationType")).thenReturn("type");
+    notificationsResource.handleAsync(httpServletRequest, httpServletResponse, processor);
+  }
+
+  @Test
+  public void shouldIgnoreRepeatedNotification() throws Exception {
+    when(httpServletRequest.getParameter("notificationCode")).thenReturn("code");
+    when(httpServletRequest.getParameter("notificationType")).thenReturn("transaction");
+    NotificationDeduplicationStore store = new InMemoryNotificationDeduplicationStore();
+    notificationsResource.handle(httpServletRequest, handler, store);
+    notificationsResource.handle(httpServletRequest, handler, store);
+    verify(handler, times(1)).handleTransactionNotification(any(TransactionDetail.class));
+  }
+}
@@ -3,6 +3,7 @@ package br.com.uol.pagseguro.api.preapproval;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
@@ -23,6 +24,7 @@ import br.com.uol.pagseguro.api.common.domain.builder.ShippingBuilder;
 import br.com.uol.pagseguro.api.common.domain.enums.Currency;
 import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
 import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroValidationException;
 import br.com.uol.pagseguro.api.exception.ServerError;
 import br.com.uol.pagseguro.api.exception.ServerErrors;
 import br.com.uol.pagseguro.api.http.HttpMethod;
@@ -36,6 +38,8 @@ import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -98,7 +102,7 @@ public class PreApprovalsResourceTest extends Resource4Test {
             .withHash("hash")
         )
         .withPreApproval(new PreApprovalBuilder()
-            .withCharge("charge")
+            .withCharge("auto")
             .withName("name")
             .withDetails("details")
             .withAmountPerPayment(new BigDecimal(99.99))
@@ -106,7 +110,7 @@ public class PreApprovalsResourceTest extends Resource4Test {
             .withMaxTotalAmount(new BigDecimal(99.99))
             .withMaxAmountPerPeriod(new BigDecimal(99.99))
             .withMaxPaymentsPerPeriod(4)
-            .withPeriod("period")
+            .withPeriod("monthly")
             .withDateRange(new DateRangeBuilder()
                 .between(dateFormat.parse("2016/11/09 00:00:00"),
                     dateFormat.parse("2016/11/09 23:59:59"))
@@ -164,6 +168,37 @@ public class PreApprovalsResourceTest extends Resource4Test {
 
   }
 
+  @Test
+  public void shouldRegisterWithTemplate() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<preApprovalRequest>" +
+                              "<code>code</code>" +
+                              "<date>2016-11-09T00:00:00.000-03:00</date>" +
+                              "</preApprovalRequest>";
+    HttpResponse response = new HttpResponse(200, responseAsString);
+    ArgumentCaptor<HttpRequestBody> body = ArgumentCaptor.forClass(HttpRequestBody.class);
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        body.capture())).thenReturn(response);
+    PreApprovalTemplate preApprovalTemplate = new PreApprovalTemplate(
+        new PreApprovalRegistrationBuilder()
+            .withRedirectURL("redirectUrl")
+            .withNotificationURL("notificationUrl")
+            .withCurrency(Currency.BRL)
+            .withPreApproval(preApprovalRegistration.getPreApproval()));
+
+    RegisteredPreApproval registeredPreApproval = preApprovalsResource.register(
+        preApprovalTemplate, new PreApprovalRegistrationBuilder()
+            .withCurrency(Currency.BRL)
+            .withReference("reference")
+            .withSender(preApprovalRegistration.getSender()));
+
+    assertEquals("code", registeredPreApproval.getPreApprovalCode());
+    String content = body.getValue().getContent();
+    assertEquals(content.indexOf("currency=BRL"), content.lastIndexOf("currency=BRL"));
+    assertTrue(content.contains("preApprovalCharge=auto"));
+    assertTrue(content.contains("reference=reference"));
+  }
+
   @Test
   public void shouldThrowsBadRequestOnRegister() {
     try {
@@ -188,6 +223,21 @@ public class PreApprovalsResourceTest extends Resource4Test {
     }
   }
 
+  @Test
+  public void shouldNotSendInvalidRegistration() throws Exception {
+    try {
+      preApprovalsResource.register(new PreApprovalRegistrationBuilder()
+          .withCurrency(Currency.BRL)
+          .withPreApproval(new PreApprovalBuilder()
+              .withPeriod("period")));
+      fail();
+    } catch (PagSeguroValidationException e) {
+      assertTrue(e.getErrors().contains(11061));
+    }
+    verify(httpClient, never()).execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class));
+  }
+
   @Test(expected = PagSeguroLibException.class)
   public void shouldThrowsErrorLibOnRegister() throws Exception {
     when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
@@ -0,0 +1,66 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void shouldComputePercentiles() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int value = 1; value <= 1000; value++) {
+      histogram.record(value * 1000L);
+    }
+
+    assertEquals(1000, histogram.getTotal());
+    assertEquals(1000000, histogram.getMax());
+    assertWithin(500000, histogram.getPercentile(50));
+    assertWithin(990000, histogram.getPercentile(99));
+    assertWithin(1000, histogram.getPercentile(0));
+  }
+
+  @Test
+  public void shouldKeepLowestValueOfBuckets() throws Exception {
+    long[] values = {0, 1, 63, 64, 65, 127, 128, 1000, 123456789L, Long.MAX_VALUE};
+    for (long value : values) {
+      long lowest = LatencyHistogram.lowest(LatencyHistogram.index(value));
+      assertTrue(lowest <= value);
+      assertTrue(value - lowest <= value / 32);
+    }
+  }
+
+  @Test
+  public void shouldReturnZeroWithoutValues() throws Exception {
+    assertEquals(0, new LatencyHistogram().getPercentile(99));
+  }
+
+  private static void assertWithin(long expected, long actual) {
+    assertTrue(actual + " is not close to " + expected,
+        Math.abs(expected - actual) <= expected / 32);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class RecurringBillingCursorTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldSplitShards() throws Exception {
+    RecurringBillingCursor cursor = RecurringBillingCursor.inMemory(10, 3);
+
+    assertEquals(0, cursor.getStart(0));
+    assertEquals(3, cursor.getEnd(0));
+    assertEquals(6, cursor.getEnd(1));
+    assertEquals(10, cursor.getEnd(2));
+    assertEquals(3, cursor.getPosition(1));
+    assertEquals(10, cursor.getRemaining());
+  }
+
+  @Test
+  public void shouldPersistPositions() throws Exception {
+    File file = new File(folder.getRoot(), "cursor");
+    RecurringBillingCursor cursor = RecurringBillingCursor.open(file, 10, 3);
+    cursor.advance(1, 5);
+    cursor.advance(2, 10);
+    cursor.close();
+
+    cursor = RecurringBillingCursor.open(file, 10, 3);
+    assertEquals(0, cursor.getPosition(0));
+    assertEquals(5, cursor.getPosition(1));
+    assertEquals(10, cursor.getPosition(2));
+    assertEquals(4, cursor.getRemaining());
+    cursor.close();
+  }
+
+  @Test
+  public void shouldPersistChargeInFlight() throws Exception {
+    File file = new File(folder.getRoot(), "cursor");
+    RecurringBillingCursor cursor = RecurringBillingCursor.open(file, 10, 2);
+    cursor.advance(0, 2);
+    cursor.start(0);
+    cursor.start(1);
+    cursor.advance(1, 6);
+    cursor.close();
+
+    cursor = RecurringBillingCursor.open(file, 10, 2);
+    assertTrue(cursor.isInFlight(0));
+    assertEquals(2, cursor.getPosition(0));
+    assertFalse(cursor.isInFlight(1));
+    assertEquals(6, cursor.getPosition(1));
+    cursor.advance(0, 3);
+    cursor.close();
+
+    cursor = RecurringBillingCursor.open(file, 10, 2);
+    assertFalse(cursor.isInFlight(0));
+    assertEquals(3, cursor.getPosition(0));
+    cursor.close();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldNotStartChargeTwice() throws Exception {
+    RecurringBillingCursor cursor = RecurringBillingCursor.inMemory(10, 1);
+    cursor.start(0);
+    cursor.start(0);
+  }
+
+  @Test(expected = PagSeguroLibException.class)
+  public void shouldRejectAnotherChargeSet() throws Exception {
+    File file = new File(folder.getRoot(), "cursor");
+    RecurringBillingCursor.open(file, 10, 3).close();
+
+    RecurringBillingCursor.open(file, 10, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotMoveBackwards() throws Exception {
+    RecurringBillingCursor cursor = RecurringBillingCursor.inMemory(10, 1);
+    cursor.advance(0, 5);
+    cursor.advance(0, 4);
+  }
+}
@@ -0,0 +1,277 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.preapproval.billing;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.uol.pagseguro.api.Resource4Test;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.preapproval.ChargedPreApproval;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalChargingBuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class RecurringBillingRunnerTest extends Resource4Test {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ConcurrentMap<String, AtomicInteger> calls;
+
+  private RecordingListener listener;
+
+  private volatile String crash;
+
+  @Before
+  public void setUp() throws Exception {
+    calls = new ConcurrentHashMap<String, AtomicInteger>();
+    listener = new RecordingListener();
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class))).thenAnswer(new Answer<HttpResponse>() {
+      @Override
+      public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+        final String content = ((HttpRequestBody) invocation.getArguments()[3]).getContent();
+        final String code = content.replaceAll(".*preApprovalCode=([a-z0-9]+).*", "$1");
+        calls.putIfAbsent(code, new AtomicInteger());
+        final int call = calls.get(code).incrementAndGet();
+        if (code.equals(crash)) {
+          // cobranca recebida pelo servidor, processo cai antes de gravar o cursor
+          throw new Crash();
+        }
+        if ("c7".equals(code)) {
+          return new HttpResponse(400, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                                       "<errors><error><code>10003</code>" +
+                                       "<message>Pre approval is not active.</message>" +
+                                       "</error></errors>");
+        }
+        if ("c13".equals(code) && call == 1) {
+          return new HttpResponse(503, "");
+        }
+        return new HttpResponse(200, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                                     "<result><transactionCode>t" + code + "</transactionCode>" +
+                                     "<date>2016-11-09T00:00:00.000-02:00</date></result>");
+      }
+    });
+  }
+
+  @Test
+  public void shouldChargeAllShards() throws Exception {
+    RecurringBillingStatistics statistics = pagSeguro.preApprovals().recurringBilling()
+        .withShards(8)
+        .withMaxConcurrency(4)
+        .withInitialConcurrency(2)
+        .withRetryDelay(0)
+        .withListener(listener)
+        .build()
+        .run(charges(50));
+
+    assertEquals(50, statistics.getTotal());
+    assertEquals(0, statistics.getSkipped());
+    assertEquals(49, statistics.getCharged());
+    assertEquals(1, statistics.getFailed());
+    assertEquals(0, statistics.getRemaining());
+    assertEquals(Collections.singletonMap("400:10003", 1L), statistics.getFailures());
+    assertTrue(statistics.getConcurrencyLimit() >= 1);
+    assertTrue(statistics.getConcurrencyLimit() <= 4);
+    assertTrue(statistics.getMaxMillis() >= statistics.getP50Millis());
+
+    assertEquals(49, listener.charged.size());
+    assertTrue(listener.charged.contains("tc0"));
+    assertTrue(listener.failures.get(0) instanceof PagSeguroBadRequestException);
+    assertFalse(listener.progress.isEmpty());
+    assertEquals(2, calls.get("c13").get());
+    for (int i = 0; i < 50; i++) {
+      assertTrue(calls.containsKey("c" + i));
+    }
+  }
+
+  @Test
+  public void shouldResumeFromCursor() throws Exception {
+    File file = folder.newFile("billing.cursor");
+    file.delete();
+    RecurringBillingCursor cursor = RecurringBillingCursor.open(file, 10, 2);
+    cursor.advance(0, 3);
+    cursor.advance(1, 6);
+    cursor.close();
+
+    cursor = RecurringBillingCursor.open(file, 10, 2);
+    RecurringBillingStatistics statistics = pagSeguro.preApprovals().recurringBilling()
+        .withCursor(cursor)
+        .withRetryDelay(0)
+        .build()
+        .run(charges(10));
+    cursor.close();
+
+    assertEquals(4, statistics.getSkipped());
+    assertEquals(5, statistics.getCharged());
+    assertEquals(1, statistics.getFailed());
+    assertEquals(0, statistics.getRemaining());
+    assertFalse(calls.containsKey("c0"));
+    assertFalse(calls.containsKey("c5"));
+    assertTrue(calls.containsKey("c3"));
+    assertTrue(calls.containsKey("c9"));
+
+    cursor = RecurringBillingCursor.open(file, 10, 2);
+    assertEquals(0, cursor.getRemaining());
+    cursor.close();
+  }
+
+  @Test
+  public void shouldNotChargeAgainChargeInFlightOnResume() throws Exception {
+    File file = folder.newFile("billing.cursor");
+    file.delete();
+    final List<Throwable> crashes = new CopyOnWriteArrayList<Throwable>();
+    RecurringBillingCursor cursor = RecurringBillingCursor.open(file, 6, 1);
+    crash = "c2";
+    RecurringBillingStatistics statistics = pagSeguro.preApprovals().recurringBilling()
+        .withCursor(cursor)
+        .withThreadFactory(new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+              @Override
+              public void uncaughtException(Thread thread, Throwable e) {
+                crashes.add(e);
+              }
+            });
+            return thread;
+          }
+        })
+        .build()
+        .run(charges(6));
+    cursor.close();
+
+    assertEquals(1, crashes.size());
+    assertTrue(crashes.get(0) instanceof Crash);
+    assertEquals(2, statistics.getCharged());
+    assertEquals(4, statistics.getRemaining());
+
+    crash = null;
+    cursor = RecurringBillingCursor.open(file, 6, 1);
+    assertTrue(cursor.isInFlight(0));
+    statistics = pagSeguro.preApprovals().recurringBilling()
+        .withCursor(cursor)
+        .withListener(listener)
+        .build()
+        .run(charges(6));
+    cursor.close();
+
+    assertEquals(2, statistics.getSkipped());
+    assertEquals(1, statistics.getUnknown());
+    assertEquals(3, statistics.getCharged());
+    assertEquals(0, statistics.getRemaining());
+    assertEquals(1, calls.get("c2").get());
+    assertEquals(1, calls.get("c3").get());
+    assertEquals(1, listener.unknown.size());
+    assertEquals("c2", listener.unknown.get(0).getCharging().getCode());
+    assertFalse(listener.charged.contains("tc2"));
+
+    cursor = RecurringBillingCursor.open(file, 6, 1);
+    assertFalse(cursor.isInFlight(0));
+    assertEquals(0, cursor.getRemaining());
+    cursor.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectCursorOfAnotherChargeSet() throws Exception {
+    pagSeguro.preApprovals().recurringBilling()
+        .withCursor(RecurringBillingCursor.inMemory(5, 1))
+        .build()
+        .run(charges(10));
+  }
+
+  private static List<RecurringCharge> charges(int size) {
+    List<RecurringCharge> charges = new ArrayList<RecurringCharge>();
+    for (int i = 0; i < size; i++) {
+      charges.add(new RecurringCharge(new PreApprovalChargingBuilder()
+          .withCode("c" + i)
+          .withReference("r" + i)
+          .build()));
+    }
+    return charges;
+  }
+
+  private static class RecordingListener implements RecurringBillingListener {
+
+    private final List<String> charged = new CopyOnWriteArrayList<String>();
+
+    private final List<RuntimeException> failures = new CopyOnWriteArrayList<RuntimeException>();
+
+    private final List<RecurringCharge> unknown = new CopyOnWriteArrayList<RecurringCharge>();
+
+    private final List<RecurringBillingStatistics> progress =
+        new CopyOnWriteArrayList<RecurringBillingStatistics>();
+
+    @Override
+    public void onCharged(RecurringCharge charge, ChargedPreApproval charged) {
+      this.charged.add(charged.getTransactionCode());
+    }
+
+    @Override
+    public void onFailed(RecurringCharge charge, RuntimeException e) {
+      failures.add(e);
+    }
+
+    @Override
+    public void onUnknown(RecurringCharge charge) {
+      unknown.add(charge);
+    }
+
+    @Override
+    public void onProgress(RecurringBillingStatistics statistics) {
+      progress.add(statistics);
+    }
+  }
+
+  private static class Crash extends Error {
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class BulkTransactionCheckpointTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldRecordFinalStatus() throws Exception {
+    File file = new File(folder.getRoot(), "checkpoint");
+
+    BulkTransactionCheckpoint checkpoint = BulkTransactionCheckpoint.open(file);
+    checkpoint.record("one", BulkTransactionStatus.SUCCEEDED);
+    checkpoint.record("two", BulkTransactionStatus.REJECTED);
+    checkpoint.close();
+
+    checkpoint = BulkTransactionCheckpoint.open(file);
+    assertEquals(BulkTransactionStatus.SUCCEEDED, checkpoint.getStatus("one"));
+    assertEquals(BulkTransactionStatus.REJECTED, checkpoint.getStatus("two"));
+    assertNull(checkpoint.getStatus("three"));
+    checkpoint.close();
+  }
+
+  @Test
+  public void shouldIgnoreTornLine() throws Exception {
+    File file = folder.newFile("checkpoint");
+    FileOutputStream out = new FileOutputStream(file);
+    out.write("SUCCEEDED one\nINVALID two\nSUCCEEDED thr".getBytes("UTF-8"));
+    out.close();
+
+    BulkTransactionCheckpoint checkpoint = BulkTransactionCheckpoint.open(file);
+    assertEquals(1, checkpoint.getCompleted().size());
+    checkpoint.record("three", BulkTransactionStatus.SUCCEEDED);
+    checkpoint.close();
+
+    checkpoint = BulkTransactionCheckpoint.open(file);
+    assertEquals(BulkTransactionStatus.SUCCEEDED, checkpoint.getStatus("three"));
+    assertNull(checkpoint.getStatus("thr"));
+    checkpoint.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotRecordFailures() throws Exception {
+    BulkTransactionCheckpoint checkpoint = BulkTransactionCheckpoint.open(folder.newFile("c"));
+    try {
+      checkpoint.record("one", BulkTransactionStatus.FAILED);
+    } finally {
+      checkpoint.close();
+    }
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.transaction.bulk;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import br.com.uol.pagseguro.api.Resource4Test;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.exception.PagSeguroInternalServerException;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.transaction.TransactionIdentifyBuilder;
+import br.com.uol.pagseguro.api.transaction.TransactionsResource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class BulkTransactionProcessorTest extends Resource4Test {
+
+  private static final Executor DIRECT = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  private static final String OK = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                                   "<result>OK</result>";
+
+  private static final String ERRORS = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                                       "<errors>" +
+                                       "<error>" +
+                                       "<code>14007</code>" +
+                                       "<message>Invalid transaction status.</message>" +
+                                       "</error>" +
+                                       "</errors>";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TransactionsResource transactionsResource;
+
+  private Map<String, Integer> calls;
+
+  @Before
+  public void setUp() throws Exception {
+    transactionsResource = new TransactionsResource(pagSeguro, httpClient);
+    calls = new HashMap<String, Integer>();
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        any(HttpRequestBody.class))).thenAnswer(new Answer<HttpResponse>() {
+      @Override
+      public HttpResponse answer(InvocationOnMock invocation) throws Throwable {
+        final String content = ((HttpRequestBody) invocation.getArguments()[3]).getContent();
+        final String code = content.replaceAll(".*transactionCode=([a-z]+).*", "$1");
+        final int call = calls.containsKey(code) ? calls.get(code) + 1 : 1;
+        calls.put(code, call);
+        if ("bad".equals(code)) {
+          return new HttpResponse(400, ERRORS);
+        }
+        if ("down".equals(code)) {
+          return new HttpResponse(500, "");
+        }
+        if ("flaky".equals(code) && call == 1) {
+          throw new ConnectException("Connection refused");
+        }
+        if ("busy".equals(code) && call == 1) {
+          return new HttpResponse(503, "");
+        }
+        if ("refused".equals(code)) {
+          throw new ConnectException("Connection refused");
+        }
+        if ("slow".equals(code)) {
+          throw new SocketTimeoutException("Read timed out");
+        }
+        return new HttpResponse(200, OK);
+      }
+    });
+  }
+
+  @Test
+  public void shouldAggregateOutcomes() throws Exception {
+    BulkTransactionReport report = transactionsResource.bulkRefund()
+        .withExecutor(DIRECT)
+        .withRetryDelay(0)
+        .withMaxAttempts(2)
+        .build()
+        .run(Arrays.asList(item("ok"), item("bad"), item("flaky"), item("busy"), item("down"),
+            item("refused"), item("ok")));
+
+    assertEquals(3, report.count(BulkTransactionStatus.SUCCEEDED));
+    assertEquals(1, report.count(BulkTransactionStatus.REJECTED));
+    assertEquals(1, report.count(BulkTransactionStatus.FAILED));
+    assertEquals(1, report.count(BulkTransactionStatus.UNKNOWN));
+    assertEquals(1, report.count(BulkTransactionStatus.SKIPPED));
+    assertFalse(report.isInterrupted());
+
+    BulkTransactionOutcome rejected = report.getOutcomes(BulkTransactionStatus.REJECTED).get(0);
+    assertEquals(1, rejected.getAttempts());
+    assertTrue(rejected.getCause() instanceof PagSeguroBadRequestException);
+    assertTrue(rejected.getErrors().contains(14007));
+
+    BulkTransactionOutcome failed = report.getOutcomes(BulkTransactionStatus.FAILED).get(0);
+    assertEquals("refused", failed.getItem().getCode());
+    assertEquals(2, failed.getAttempts());
+    assertTrue(failed.getCause().getCause() instanceof ConnectException);
+    assertNull(failed.getErrors());
+
+    BulkTransactionOutcome unknown = report.getOutcomes(BulkTransactionStatus.UNKNOWN).get(0);
+    assertEquals("down", unknown.getItem().getCode());
+    assertEquals(1, unknown.getAttempts());
+    assertTrue(unknown.getCause() instanceof PagSeguroInternalServerException);
+
+    assertEquals(Integer.valueOf(1), calls.get("ok"));
+    assertEquals(Integer.valueOf(2), calls.get("flaky"));
+    assertEquals(Integer.valueOf(2), calls.get("busy"));
+    assertEquals(Integer.valueOf(1), calls.get("down"));
+  }
+
+  @Test
+  public void shouldNotRetryReadTimeout() throws Exception {
+    BulkTransactionReport report = transactionsResource.bulkRefund()
+        .withExecutor(DIRECT)
+        .withRetryDelay(0)
+        .withMaxAttempts(3)
+        .build()
+        .run(Arrays.asList(new BulkTransactionItem(
+            new TransactionIdentifyBuilder().withCode("slow").build(), new BigDecimal("1.5"))));
+
+    BulkTransactionOutcome outcome = report.getOutcomes().get(0);
+    assertEquals(BulkTransactionStatus.UNKNOWN, outcome.getStatus());
+    assertEquals(1, outcome.getAttempts());
+    assertTrue(outcome.getCause().getCause() instanceof SocketTimeoutException);
+    assertEquals(Integer.valueOf(1), calls.get("slow"));
+  }
+
+  @Test
+  public void shouldNotRunUnknownAgain() throws Exception {
+    File file = folder.newFile("refunds.checkpoint");
+    FileOutputStream out = new FileOutputStream(file);
+    out.write("STARTED ok\n".getBytes("UTF-8"));
+    out.close();
+
+    BulkTransactionCheckpoint checkpoint = BulkTransactionCheckpoint.open(file);
+    BulkTransactionReport report = transactionsResource.bulkRefund()
+        .withExecutor(DIRECT)
+        .withRetryDelay(0)
+        .withMaxAttempts(1)
+        .withCheckpoint(checkpoint)
+        .build()
+        .run(Arrays.asList(item("ok"), item("slow"), item("refused")));
+    checkpoint.close();
+
+    assertEquals(1, report.count(BulkTransactionStatus.SKIPPED));
+    assertEquals(1, report.count(BulkTransactionStatus.UNKNOWN));
+    assertEquals(1, report.count(BulkTransactionStatus.FAILED));
+    assertNull(calls.get("ok"));
+
+    checkpoint = BulkTransactionCheckpoint.open(file);
+    assertEquals(BulkTransactionStatus.UNKNOWN, checkpoint.getStatus("ok"));
+    assertEquals(BulkTransactionStatus.UNKNOWN, checkpoint.getStatus("slow"));
+    assertNull(checkpoint.getStatus("refused"));
+    checkpoint.close();
+  }
+
+  @Test
+  public void shouldSendRefundAmount() throws Exception {
+    transactionsResource.bulkRefund()
+        .withExecutor(DIRECT)
+        .build()
+        .run(Arrays.asList(new BulkTransactionItem(
+            new TransactionIdentifyBuilder().withCode("ok").build(), new BigDecimal("1.5"))));
+
+    ArgumentCaptor<HttpRequestBody> body = ArgumentCaptor.forClass(HttpRequestBody.class);
+    verify(httpClient).execute(eq(HttpMethod.POST), anyString(), anyMap(), body.capture());
+    assertTrue(body.getValue().getContent().contains("refundValue=1.50"));
+  }
+
+  @Test
+  public void shouldResumeFromCheckpoint() throws Exception {
+    File file = folder.newFile("refunds.checkpoint");
+    FileOutputStream out = new FileOutputStream(file);
+    out.write("SUCCEEDED ok\nREJECTED bad\nSUCCEEDED fla".getBytes("UTF-8"));
+    out.close();
+
+    BulkTransactionCheckpoint checkpoint = BulkTransactionCheckpoint.open(file);
+    BulkTransactionReport report = transactionsResource.bulkCancel()
+        .withExecutor(DIRECT)
+        .withRetryDelay(0)
+        .withCheckpoint(checkpoint)
+        .build()
+        .run(Arrays.asList(item("ok"), item("bad"), item("flaky")));
+    checkpoint.close();
+
+    assertEquals(2, report.count(BulkTransactionStatus.SKIPPED));
+    assertEquals(1, report.count(BulkTransactionStatus.SUCCEEDED));
+    assertNull(calls.get("ok"));
+    assertNull(calls.get("bad"));
+
+    checkpoint = BulkTransactionCheckpoint.open(file);
+    assertEquals(BulkTransactionStatus.SUCCEEDED, checkpoint.getStatus("flaky"));
+    assertEquals(3, checkpoint.getCompleted().size());
+    checkpoint.close();
+  }
+
+  @Test
+  public void shouldRunConcurrently() throws Exception {
+    BulkTransactionReport report = transactionsResource.bulkCancel()
+        .withConcurrency(3)
+        .withRatePerSecond(1000)
+        .withRetryDelay(0)
+        .build()
+        .run(Arrays.asList(item("a"), item("b"), item("c"), item("d"), item("e"), item("bad")));
+
+    assertEquals(5, report.count(BulkTransactionStatus.SUCCEEDED));
+    assertEquals(1, report.count(BulkTransactionStatus.REJECTED));
+    assertEquals(6, report.getOutcomes().size());
+  }
+
+  @Test
+  public void shouldClassifyTransientFailures() throws Exception {
+    assertTrue(BulkTransactionProcessor.isTransient(
+        new PagSeguroServiceUnavailableException(new HttpResponse(503, ""))));
+    assertTrue(BulkTransactionProcessor.isTransient(
+        new PagSeguroLibException(new ConnectException())));
+    assertFalse(BulkTransactionProcessor.isTransient(
+        new PagSeguroLibException(new SocketTimeoutException())));
+    assertFalse(BulkTransactionProcessor.isTransient(
+        new PagSeguroInternalServerException(new HttpResponse(500, ""))));
+    assertFalse(BulkTransactionProcessor.isTransient(new IllegalStateException()));
+  }
+
+  private static BulkTransactionItem item(String code) {
+    return new BulkTransactionItem(new TransactionIdentifyBuilder().withCode(code).build());
+  }
+}
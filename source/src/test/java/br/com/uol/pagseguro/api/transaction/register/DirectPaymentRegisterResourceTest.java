@@ -3,6 +3,7 @@ package br.com.uol.pagseguro.api.transaction.register;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
@@ -41,6 +42,8 @@ import br.com.uol.pagseguro.api.http.HttpResponse;
 import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
@@ -97,7 +100,7 @@ public class DirectPaymentRegisterResourceTest extends Resource4Test {
             .withAddress(new AddressBuilder()
                 .withPostalCode("99999999")
                 .withCountry("BRA")
-                .withState(State.XX)
+                .withState(State.SP)
                 .withCity("Cidade Exemplo")
                 .withComplement("99o andar")
                 .withDistrict("Jardim Internet")
@@ -170,6 +173,96 @@ public class DirectPaymentRegisterResourceTest extends Resource4Test {
     assertTransaction(transactionDetail);
   }
 
+  @Test
+  public void shouldBankSlipRegisterWithTemplate() throws IOException, ParseException {
+    HttpResponse response = new HttpResponse(200, responseAsString);
+    ArgumentCaptor<HttpRequestBody> body = ArgumentCaptor.forClass(HttpRequestBody.class);
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        body.capture())).thenReturn(response);
+    DirectPaymentTemplate directPaymentTemplate = new DirectPaymentTemplate(
+        new DirectPaymentRegistrationBuilder()
+            .withPaymentMode("default")
+            .withCurrency(Currency.BRL)
+            .withNotificationURL("www.sualoja.com.br/notification")
+            .withReceiverEmail("receiver@receiver.com")
+            .addItem(new PaymentItemBuilder()
+                .withId("0001")
+                .withDescription("Produto PagSeguroI")
+                .withAmount(new BigDecimal("99.99"))
+                .withQuantity(1)));
+    DirectPaymentRegistration registration = new DirectPaymentRegistrationBuilder()
+        .withCurrency(null)
+        .withReference("LIBJAVA_DIRECT_PAYMENT")
+        .withSender(directPaymentRegistration.getSender())
+        .withShipping(directPaymentRegistration.getShipping())
+        .addItem(new PaymentItemBuilder()
+            .withId("0002")
+            .withDescription("Produto PagSeguroII")
+            .withAmount(new BigDecimal("9.99"))
+            .withQuantity(2))
+        .build();
+
+    TransactionDetail transactionDetail = new DirectPaymentRegisterResource(pagSeguro, httpClient,
+        directPaymentTemplate, registration).withBankSlip();
+
+    assertTransaction(transactionDetail);
+    String content = body.getValue().getContent();
+    assertTrue(content.contains("paymentMode=default"));
+    assertTrue(content.contains("itemId1=0001"));
+    assertTrue(content.contains("itemId2=0002"));
+    assertTrue(content.contains("itemQuantity2=2"));
+    assertTrue(content.contains("paymentMethod=boleto"));
+  }
+
+  @Test
+  public void shouldCreditCardRegisterWithShippingOfRegistration() throws Exception {
+    HttpResponse response = new HttpResponse(200, responseAsString);
+    ArgumentCaptor<HttpRequestBody> body = ArgumentCaptor.forClass(HttpRequestBody.class);
+    when(httpClient.execute(any(HttpMethod.class), anyString(), anyMap(),
+        body.capture())).thenReturn(response);
+    DirectPaymentTemplate directPaymentTemplate = new DirectPaymentTemplate(
+        new DirectPaymentRegistrationBuilder()
+            .withPaymentMode("default")
+            .withCurrency(Currency.BRL)
+            .withReceiverEmail("receiver@receiver.com")
+            .withShipping(new ShippingBuilder()
+                .withType(ShippingType.Type.SEDEX)
+                .withCost(BigDecimal.TEN)));
+    DirectPaymentRegistration registration = new DirectPaymentRegistrationBuilder()
+        .withCurrency(null)
+        .withReference("LIBJAVA_DIRECT_PAYMENT")
+        .withSender(directPaymentRegistration.getSender())
+        .withShipping(new ShippingBuilder()
+            .withAddress(new AddressBuilder()
+                .withPostalCode("99999999")
+                .withCountry("BRA")
+                .withState(State.SP)
+                .withCity("Cidade Exemplo")
+                .withDistrict("Jardim Internet")
+                .withNumber("9999")
+                .withStreet("Av. PagSeguro")))
+        .addItem(new PaymentItemBuilder()
+            .withId("0001")
+            .withDescription("Produto PagSeguroI")
+            .withAmount(new BigDecimal("100.00"))
+            .withQuantity(1))
+        .build();
+
+    // o frete do template nao e enviado, entao nao entra no total das parcelas
+    TransactionDetail transactionDetail = new DirectPaymentRegisterResource(pagSeguro, httpClient,
+        directPaymentTemplate, registration).withCreditCard(creditCard()
+        .withInstallment(new InstallmentBuilder()
+            .withQuantity(1)
+            .withValue(new BigDecimal("100.00")))
+        .build());
+
+    assertTransaction(transactionDetail);
+    String content = body.getValue().getContent();
+    assertTrue(content.contains("shippingAddressCity=Cidade+Exemplo"));
+    assertFalse(content.contains("shippingCost"));
+    assertFalse(content.contains("shippingType"));
+  }
+
   @Test
   public void shouldCreditCardRegister() throws IOException, ParseException {
     HttpResponse response = new HttpResponse(200, responseAsString);
@@ -240,7 +333,16 @@ public class DirectPaymentRegisterResourceTest extends Resource4Test {
 
 
   private CreditCard getCreditCard() throws ParseException {
+    return creditCard()
+        .withInstallment(new InstallmentBuilder()
+            .withQuantity(2)
+            .withValue(new BigDecimal("50054.99"))
+        ).build();
+  }
+
+  private CreditCardBuilder creditCard() throws ParseException {
     return new CreditCardBuilder()
+        .withToken("token")
         .withHolder(new HolderBuilder()
             .addDocument(new DocumentBuilder()
                 .withType(DocumentType.CPF)
@@ -256,17 +358,13 @@ public class DirectPaymentRegisterResourceTest extends Resource4Test {
         .withBillingAddress(new AddressBuilder() //
             .withPostalCode("99999999")
             .withCountry("BRA")
-            .withState(State.XX)//
+            .withState(State.SP)//
             .withCity("Cidade Exemplo")
             .withComplement("99o andar")
             .withDistrict("Jardim Internet")
             .withNumber("9999")
             .withStreet("Av. PagSeguro")
-        )
-        .withInstallment(new InstallmentBuilder()
-            .withQuantity(2)
-            .withValue(new BigDecimal(135.50))
-        ).build();
+        );
   }
 
   private void assertTransaction(TransactionDetail transactionDetail) throws ParseException {
@@ -0,0 +1,214 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.register;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.CreditCard;
+import br.com.uol.pagseguro.api.common.domain.ShippingType;
+import br.com.uol.pagseguro.api.common.domain.builder.AddressBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.CreditCardBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.DocumentBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.HolderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.InstallmentBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ShippingBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.common.domain.enums.DocumentType;
+import br.com.uol.pagseguro.api.common.domain.enums.State;
+import br.com.uol.pagseguro.api.common.domain.validator.CreditCardValidator;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class DirectPaymentRegistrationValidatorTest {
+
+  private DirectPaymentRegistrationValidator validator;
+
+  private DirectPaymentRegistrationBuilder registrationBuilder;
+
+  @Before
+  public void setUp() throws Exception {
+    validator = new DirectPaymentRegistrationValidator();
+    registrationBuilder = new DirectPaymentRegistrationBuilder()
+        .withPaymentMode("default")
+        .withCurrency(Currency.BRL)
+        .withReference("LIBJAVA_DIRECT_PAYMENT")
+        .withExtraAmount(new BigDecimal("-10.00"))
+        .addItem(new PaymentItemBuilder()
+            .withId("0001")
+            .withDescription("Produto PagSeguroI")
+            .withAmount(new BigDecimal("50.00"))
+            .withQuantity(2))
+        .withSender(new SenderBuilder()
+            .withEmail("comprador@uol.com.br")
+            .withName("Jose Comprador")
+            .withCPF("22111944785")
+            .withHash("hash")
+            .withPhone(new PhoneBuilder()
+                .withAreaCode("11")
+                .withNumber("56273440")))
+        .withShipping(new ShippingBuilder()
+            .withType(ShippingType.Type.SEDEX)
+            .withCost(new BigDecimal("10.00"))
+            .withAddress(new AddressBuilder()
+                .withPostalCode("01452002")
+                .withState(State.SP)));
+  }
+
+  @Test
+  public void shouldAcceptValidRegistration() throws Exception {
+    final ValidationErrors errors = validator.validate(registrationBuilder.build());
+
+    assertTrue(errors.toString(), errors.isEmpty());
+    assertEquals(10000L, TransactionRegistrationValidator.getTotalCents(
+        registrationBuilder.build()));
+  }
+
+  @Test
+  public void shouldFindAllErrors() throws Exception {
+    registrationBuilder
+        .withCurrency(null)
+        .withReceiverEmail("vendedor")
+        .addItem(new PaymentItemBuilder()
+            .withDescription("Produto PagSeguroII")
+            .withAmount(new BigDecimal("0.001"))
+            .withQuantity(1000))
+        .withSender(new SenderBuilder()
+            .withEmail("comprador")
+            .withCPF("22111944786")
+            .withPhone(new PhoneBuilder()
+                .withAreaCode("011")
+                .withNumber("5627-3440")))
+        .withShipping(new ShippingBuilder()
+            .withAddress(new AddressBuilder()
+                .withPostalCode("01452-002")
+                .withState(State.XX)));
+
+    final ValidationErrors errors = validator.validate(registrationBuilder.build());
+
+    final int[] codes = {53005, 53070, 53075, 53079, 53012, 53013, 53017, 53019, 53021, 53091,
+        53023, 53034, 53069};
+    for (int code : codes) {
+      assertTrue(code + " " + errors, errors.contains(code));
+    }
+    assertEquals(errors.toString(), codes.length, errors.size());
+    assertEquals(errors.getErrors().get(0), errors.getError(53005));
+  }
+
+  @Test
+  public void shouldRequireItemsAndSender() throws Exception {
+    final ValidationErrors errors = validator.validate(new DirectPaymentRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .build());
+
+    assertTrue(errors.contains(53004));
+    assertTrue(errors.contains(53010));
+    assertTrue(errors.contains(53013));
+    assertTrue(errors.contains(53091));
+  }
+
+  @Test
+  public void shouldValidateCreditCard() throws Exception {
+    final DirectPaymentRegistration registration = registrationBuilder.build();
+    final long totalCents = TransactionRegistrationValidator.getTotalCents(registration);
+    final CreditCardValidator creditCardValidator = new CreditCardValidator(false);
+
+    ValidationErrors errors = validator.validate(registration);
+    creditCardValidator.validate(errors, getCreditCard(1, "100.00", null), totalCents);
+    assertTrue(errors.toString(), errors.isEmpty());
+
+    errors = validator.validate(registration);
+    creditCardValidator.validate(errors, getCreditCard(3, "33.33", 3), totalCents);
+    assertTrue(errors.toString(), errors.isEmpty());
+
+    errors = validator.validate(registration);
+    creditCardValidator.validate(errors, getCreditCard(2, "55.00", null), totalCents);
+    assertTrue(errors.toString(), errors.isEmpty());
+
+    errors = validator.validate(registration);
+    creditCardValidator.validate(errors, getCreditCard(1, "100.10", null), totalCents);
+    assertTrue(errors.contains(53041));
+
+    errors = validator.validate(registration);
+    creditCardValidator.validate(errors, getCreditCard(2, "45.00", null), totalCents);
+    assertTrue(errors.contains(53041));
+
+    errors = validator.validate(registration);
+    creditCardValidator.validate(errors, null, totalCents);
+    assertTrue(errors.contains(53037));
+  }
+
+  @Test
+  public void shouldValidateCreditCardHolder() throws Exception {
+    final CreditCard creditCard = new CreditCardBuilder()
+        .withHolder(new HolderBuilder()
+            .withName("Jose Comprador"))
+        .withInstallment(new InstallmentBuilder()
+            .withQuantity(0))
+        .build();
+
+    ValidationErrors errors = new CreditCardValidator(false).validate(creditCard);
+    final int[] codes = {53037, 53140, 53040, 53045, 53047, 53049, 53051};
+    for (int code : codes) {
+      assertTrue(code + " " + errors, errors.contains(code));
+    }
+    assertEquals(errors.toString(), codes.length, errors.size());
+
+    errors = new CreditCardValidator(true).validate(creditCard);
+    assertFalse(errors.contains(53045));
+  }
+
+  private CreditCard getCreditCard(int quantity, String value, Integer noInterest)
+      throws Exception {
+    return new CreditCardBuilder()
+        .withToken("token")
+        .withHolder(new HolderBuilder()
+            .addDocument(new DocumentBuilder()
+                .withType(DocumentType.CPF)
+                .withValue("22111944785"))
+            .withName("Jose Comprador")
+            .withBithDate(new SimpleDateFormat("dd/MM/yyyy").parse("01/01/1980"))
+            .withPhone(new PhoneBuilder()
+                .withAreaCode("11")
+                .withNumber("56273440")))
+        .withBillingAddress(new AddressBuilder()
+            .withPostalCode("01452002")
+            .withState(State.SP))
+        .withInstallment(new InstallmentBuilder()
+            .withQuantity(quantity)
+            .withValue(new BigDecimal(value))
+            .withNoInterestInstallmentQuantity(noInterest))
+        .build();
+  }
+}
@@ -84,6 +84,7 @@ public class SplitPaymentRegisterResourceTest extends Resource4Test {
             .withEmail("comprador@uol.com.br")//
             .withName("Jose Comprador")
             .withCPF("99999999999")
+            .withHash("hash")
             .withPhone(new PhoneBuilder()//
                 .withAreaCode("99") //
                 .withNumber("99999999"))) //
@@ -93,7 +94,7 @@ public class SplitPaymentRegisterResourceTest extends Resource4Test {
             .withAddress(new AddressBuilder() //
                 .withPostalCode("99999999")
                 .withCountry("BRA")
-                .withState(State.XX)//
+                .withState(State.SP)//
                 .withCity("Cidade Exemplo")
                 .withComplement("99o andar")
                 .withDistrict("Jardim Internet")
@@ -246,6 +247,7 @@ public class SplitPaymentRegisterResourceTest extends Resource4Test {
 
   private CreditCard getCreditCard() throws ParseException {
     return new CreditCardBuilder()
+        .withToken("token")
         .withHolder(new HolderBuilder()
             .addDocument(new DocumentBuilder()
                 .withType(DocumentType.CPF)
@@ -261,7 +263,7 @@ public class SplitPaymentRegisterResourceTest extends Resource4Test {
         .withBillingAddress(new AddressBuilder() //
             .withPostalCode("99999999")
             .withCountry("BRA")
-            .withState(State.XX)//
+            .withState(State.SP)//
             .withCity("Cidade Exemplo")
             .withComplement("99o andar")
             .withDistrict("Jardim Internet")
@@ -270,7 +272,7 @@ public class SplitPaymentRegisterResourceTest extends Resource4Test {
         )
         .withInstallment(new InstallmentBuilder()
             .withQuantity(2)
-            .withValue(new BigDecimal(135.50))
+            .withValue(new BigDecimal("50054.99"))
         ).build();
   }
 
@@ -0,0 +1,109 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.register;
+
+import java.math.BigDecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.ReceiverBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SplitBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.exception.ValidationErrors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class SplitPaymentRegistrationValidatorTest {
+
+  private SplitPaymentRegistrationValidator validator;
+
+  private SplitPaymentRegistrationBuilder registrationBuilder;
+
+  @Before
+  public void setUp() throws Exception {
+    validator = new SplitPaymentRegistrationValidator();
+    registrationBuilder = new SplitPaymentRegistrationBuilder()
+        .withPaymentMode("default")
+        .withCurrency(Currency.BRL)
+        .addItem(new PaymentItemBuilder()
+            .withId("0001")
+            .withDescription("Produto PagSeguroI")
+            .withAmount(new BigDecimal("100.00"))
+            .withQuantity(1))
+        .withSender(new SenderBuilder()
+            .withEmail("comprador@uol.com.br")
+            .withName("Jose Comprador")
+            .withHash("hash")
+            .withPhone(new PhoneBuilder()
+                .withAreaCode("11")
+                .withNumber("56273440")))
+        .withPrimaryReceiver(new ReceiverBuilder()
+            .withPublicKey("publickey1"))
+        .addReceiver(new ReceiverBuilder()
+            .withPublicKey("publickey2")
+            .withSplit(new SplitBuilder()
+                .withAmount(new BigDecimal("60.00"))
+                .withRatePercent(new BigDecimal(50))
+                .withFeePercent(new BigDecimal(50))));
+  }
+
+  @Test
+  public void shouldAcceptValidRegistration() throws Exception {
+    final ValidationErrors errors = validator.validate(registrationBuilder.build());
+
+    assertTrue(errors.toString(), errors.isEmpty());
+  }
+
+  @Test
+  public void shouldValidateReceivers() throws Exception {
+    registrationBuilder
+        .withPrimaryReceiver(new ReceiverBuilder())
+        .addReceiver(new ReceiverBuilder()
+            .withSplit(new SplitBuilder()
+                .withAmount(new BigDecimal("50.00"))
+                .withFeePercent(new BigDecimal(101))))
+        .addReceiver(new ReceiverBuilder()
+            .withPublicKey("publickey3")
+            .withSplit(new SplitBuilder()
+                .withAmount(BigDecimal.ZERO)));
+
+    final ValidationErrors errors = validator.validate(registrationBuilder.build());
+
+    assertEquals(errors.toString(), 5, errors.size());
+    assertEquals("primaryReceiver.publicKey is required.", errors.getErrors().get(0).getMessage());
+    assertEquals("receiver[2].publicKey is required.", errors.getErrors().get(1).getMessage());
+    assertEquals("receiver[2].split.feePercent out of range: 101",
+        errors.getErrors().get(2).getMessage());
+    assertEquals(SplitPaymentRegistrationValidator.SPLIT_AMOUNT_OUT_OF_RANGE,
+        errors.getErrors().get(3).getCode().intValue());
+    assertEquals("receivers split amounts out of range: 11000 cents, transaction total is "
+                 + "10000 cents", errors.getErrors().get(4).getMessage());
+  }
+}
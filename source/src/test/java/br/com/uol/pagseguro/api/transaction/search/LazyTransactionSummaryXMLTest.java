@@ -0,0 +1,110 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.TransactionPaymentMethod;
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+import br.com.uol.pagseguro.api.common.domain.TransactionType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class LazyTransactionSummaryXMLTest {
+
+  private LazyTransactionSummaryXML transactionSummary;
+
+  @Before
+  public void setUp() throws Exception {
+    transactionSummary = new LazyTransactionSummaryXML();
+    transactionSummary.setCode("code");
+    transactionSummary.setDateText("2016-11-09T01:01:01.000-02:00");
+    transactionSummary.setLastEventText("2016-11-09T02:02:02.000-02:00");
+    transactionSummary.setTypeIdText("1");
+    transactionSummary.setStatusIdText(" 3 ");
+    transactionSummary.setPaymentMethodText("1", null);
+    transactionSummary.setGrossAmountText("9.99");
+    transactionSummary.setDiscountAmountText("0.00");
+    transactionSummary.setFeeAmountText("3.33");
+    transactionSummary.setNetAmountText("invalid");
+  }
+
+  @Test
+  public void shouldDecodeOnRead() throws Exception {
+    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+    assertEquals("code", transactionSummary.getCode());
+    assertEquals(dateFormat.parse("2016-11-09 01:01:01"), transactionSummary.getDate());
+    assertEquals(dateFormat.parse("2016-11-09 02:02:02"), transactionSummary.getLastEvent());
+    assertEquals(TransactionType.Type.CHECKOUT, transactionSummary.getType().getType());
+    assertEquals(TransactionStatus.Status.APPROVED, transactionSummary.getStatus().getStatus());
+    assertEquals(TransactionPaymentMethod.Type.CREDIT_CARD,
+        transactionSummary.getPaymentMethod().getType());
+    assertEquals(TransactionPaymentMethod.Code.UNKNOW,
+        transactionSummary.getPaymentMethod().getCode());
+    assertEquals(new BigDecimal("9.99"), transactionSummary.getGrossAmount());
+    assertEquals(new BigDecimal("0.00"), transactionSummary.getDiscountAmount());
+    assertEquals(new BigDecimal("3.33"), transactionSummary.getFeeAmount());
+    assertNull(transactionSummary.getNetAmount());
+    assertNull(transactionSummary.getExtraAmount());
+  }
+
+  @Test
+  public void shouldDecodeOnlyOnce() throws Exception {
+    BigDecimal grossAmount = transactionSummary.getGrossAmount();
+    assertSame(grossAmount, transactionSummary.getGrossAmount());
+    assertSame(transactionSummary.getPaymentMethod(), transactionSummary.getPaymentMethod());
+  }
+
+  @Test
+  public void shouldReadCentsWithoutDecoding() throws Exception {
+    assertEquals(999L, transactionSummary.getGrossAmountCents());
+    assertEquals(333L, transactionSummary.getFeeAmountCents());
+    assertEquals(0L, transactionSummary.getNetAmountCents());
+    assertEquals(0L, transactionSummary.getExtraAmountCents());
+
+    transactionSummary.setGrossAmount(new BigDecimal("1.005"));
+
+    assertEquals(100L, transactionSummary.getGrossAmountCents());
+  }
+
+  @Test
+  public void shouldReplaceRawTextOnSet() throws Exception {
+    transactionSummary.setGrossAmount(BigDecimal.TEN);
+    transactionSummary.setDate(null);
+    transactionSummary.setPaymentMethod(null);
+
+    assertEquals(BigDecimal.TEN, transactionSummary.getGrossAmount());
+    assertNull(transactionSummary.getDate());
+    assertNull(transactionSummary.getPaymentMethod());
+  }
+}
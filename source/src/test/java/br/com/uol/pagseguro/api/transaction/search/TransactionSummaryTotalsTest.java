@@ -0,0 +1,63 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.transaction.search;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class TransactionSummaryTotalsTest {
+
+  @Test
+  public void shouldSumTransactions() throws Exception {
+    LazyTransactionSummaryXML first = new LazyTransactionSummaryXML();
+    first.setGrossAmountText("9.99");
+    first.setFeeAmountText("0.50");
+    first.setNetAmountText("9.49");
+    TransactionSummaryXML second = new TransactionSummaryXML();
+    second.setGrossAmount(new BigDecimal("10.01"));
+    second.setDiscountAmount(new BigDecimal("1"));
+    second.setNetAmount(new BigDecimal("9.01"));
+    second.setExtraAmount(new BigDecimal("-0.5"));
+
+    TransactionSummaryTotals totals = TransactionSummaryTotals.of(
+        Arrays.<TransactionSummary>asList(first, second));
+
+    assertEquals(2L, totals.getCount());
+    assertEquals(2000L, totals.getGrossAmountCents());
+    assertEquals(100L, totals.getDiscountAmountCents());
+    assertEquals(50L, totals.getFeeAmountCents());
+    assertEquals(1850L, totals.getNetAmountCents());
+    assertEquals(-50L, totals.getExtraAmountCents());
+
+    totals.add(TransactionSummaryTotals.of(Arrays.<TransactionSummary>asList(first)));
+
+    assertEquals(3L, totals.getCount());
+    assertEquals(2999L, totals.getGrossAmountCents());
+  }
+}
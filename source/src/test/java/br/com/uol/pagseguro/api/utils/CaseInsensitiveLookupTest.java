@@ -0,0 +1,64 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.enums.PaymentMethodName;
+import br.com.uol.pagseguro.api.notification.NotificationType;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class CaseInsensitiveLookupTest {
+
+  @Test
+  public void shouldGetIgnoringCase() throws Exception {
+    CaseInsensitiveLookup<String> lookup = new CaseInsensitiveLookup<String>()
+        .put("preApproval", "first")
+        .put("PREAPPROVAL", "second")
+        .put(null, "null");
+
+    assertEquals("first", lookup.get("preApproval", "default"));
+    assertEquals("first", lookup.get("PreApproval", "default"));
+    assertEquals("first", lookup.get("preapproval", "default"));
+    assertEquals("default", lookup.get("transaction", "default"));
+    assertEquals("default", lookup.get(null, "default"));
+  }
+
+  @Test
+  public void shouldFindEnumsAsLinearScan() throws Exception {
+    for (PaymentMethodName paymentMethodName : PaymentMethodName.values()) {
+      if (paymentMethodName.getValue() != null) {
+        assertEquals(paymentMethodName, PaymentMethodName.fromValue(paymentMethodName.getValue()));
+        assertEquals(paymentMethodName,
+            PaymentMethodName.fromValue(paymentMethodName.getValue().toLowerCase()));
+      }
+    }
+    assertEquals(PaymentMethodName.UNRECOGNIZED, PaymentMethodName.fromValue("unknown"));
+    assertEquals(PaymentMethodName.UNRECOGNIZED, PaymentMethodName.fromValue(null));
+    assertEquals(NotificationType.PRE_APPROVAL, NotificationType.fromName("PREAPPROVAL"));
+    assertEquals(NotificationType.OTHER, NotificationType.fromName(null));
+  }
+}
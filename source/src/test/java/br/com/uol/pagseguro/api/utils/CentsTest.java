@@ -0,0 +1,113 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SplitBuilder;
+import br.com.uol.pagseguro.api.installment.InstallmentDetail;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class CentsTest {
+
+  @Test
+  public void shouldConvertBigDecimal() throws Exception {
+    assertEquals(0L, Cents.valueOf(null));
+    assertEquals(1000L, Cents.valueOf(BigDecimal.TEN));
+    assertEquals(999L, Cents.valueOf(new BigDecimal("9.99")));
+    assertEquals(-150L, Cents.valueOf(new BigDecimal("-1.5")));
+    assertEquals(2L, Cents.valueOf(new BigDecimal("0.025")));
+    assertEquals(4L, Cents.valueOf(new BigDecimal("0.035")));
+    assertEquals(new BigDecimal("9.99"), Cents.toBigDecimal(999L));
+  }
+
+  @Test
+  public void shouldParseAsBigDecimal() throws Exception {
+    String[] texts = {"0", "0.00", "9.99", " 9.99 ", "10", "10.5", "10.", ".5", "-3.33", "+1.10",
+        "1.2300", "0.025", "1.005", "1E2", "12345678901234567.89"};
+    for (String text : texts) {
+      assertEquals(text, Cents.valueOf(new BigDecimal(text.trim())), Cents.parse(text));
+    }
+  }
+
+  @Test
+  public void shouldParseInvalidAsZero() throws Exception {
+    String[] texts = {null, "", " ", "-", ".", "one", "1.2.3", "1,00"};
+    for (String text : texts) {
+      assertEquals(text, 0L, Cents.parse(text));
+    }
+  }
+
+  @Test
+  public void shouldFormatAsPutCurrency() throws Exception {
+    long[] values = {0L, 1L, 10L, 99L, 100L, 999L, -1L, -150L, 123456789L, Long.MAX_VALUE,
+        Long.MIN_VALUE};
+    for (long value : values) {
+      assertEquals(BigDecimal.valueOf(value, 2).toString(), Cents.toString(value));
+    }
+  }
+
+  @Test
+  public void shouldConvertAmountsOfImplementationsWithoutCents() throws Exception {
+    // implementacao externa, escrita antes dos metodos em centavos
+    InstallmentDetail installment = new InstallmentDetail() {
+      @Override
+      public String getCardBrand() {
+        return "visa";
+      }
+
+      @Override
+      public Integer getQuantity() {
+        return 2;
+      }
+
+      @Override
+      public BigDecimal getAmount() {
+        return new BigDecimal("124.95");
+      }
+
+      @Override
+      public BigDecimal getTotalAmount() {
+        return null;
+      }
+
+      @Override
+      public Boolean getInterestFree() {
+        return true;
+      }
+    };
+
+    assertEquals(12495L, installment.getAmountCents());
+    assertEquals(0L, installment.getTotalAmountCents());
+    assertEquals(999L, new PaymentItemBuilder().withAmount(new BigDecimal("9.99")).build()
+        .getAmountCents());
+    assertEquals(150L, new SplitBuilder().withAmount(new BigDecimal("1.5")).build()
+        .getAmountCents());
+  }
+}
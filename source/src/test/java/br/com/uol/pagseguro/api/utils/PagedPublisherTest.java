@@ -0,0 +1,228 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import br.com.uol.pagseguro.api.common.domain.DataList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class PagedPublisherTest {
+
+  private static final Executor DIRECT = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  private List<Integer> fetched;
+
+  private PageFetcher<String> fetcher;
+
+  private RecordingSubscriber subscriber;
+
+  @Before
+  public void setUp() throws Exception {
+    fetched = new ArrayList<Integer>();
+    fetcher = new PageFetcher<String>() {
+      @Override
+      public DataList<? extends String> fetch(int page) {
+        fetched.add(page);
+        return new Page(Arrays.asList(page + "a", page + "b"), 3);
+      }
+    };
+    subscriber = new RecordingSubscriber();
+  }
+
+  @Test
+  public void shouldPublishAllPagesInOrder() throws Exception {
+    new PagedPublisher<String>(fetcher, 1, DIRECT).subscribe(subscriber);
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    assertEquals(Arrays.asList("1a", "1b", "2a", "2b", "3a", "3b"), subscriber.items);
+    assertEquals(Arrays.asList(1, 2, 3), fetched);
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  public void shouldFetchPagesOnDemand() throws Exception {
+    new PagedPublisher<String>(fetcher, 0, DIRECT).subscribe(subscriber);
+    assertTrue(fetched.isEmpty());
+
+    subscriber.subscription.request(1);
+    assertEquals(Arrays.asList("1a"), subscriber.items);
+    assertEquals(Arrays.asList(1), fetched);
+
+    subscriber.subscription.request(2);
+    assertEquals(Arrays.asList("1a", "1b", "2a"), subscriber.items);
+    assertEquals(Arrays.asList(1, 2), fetched);
+    assertFalse(subscriber.completed);
+  }
+
+  @Test
+  public void shouldPrefetchPages() throws Exception {
+    new PagedPublisher<String>(fetcher, 2, DIRECT).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+
+    assertEquals(Arrays.asList("1a"), subscriber.items);
+    assertEquals(Arrays.asList(1, 2), fetched);
+  }
+
+  @Test
+  public void shouldStopFetchingWhenCancelled() throws Exception {
+    new PagedPublisher<String>(fetcher, 0, DIRECT).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    subscriber.subscription.cancel();
+    subscriber.subscription.request(10);
+
+    assertEquals(Arrays.asList("1a"), subscriber.items);
+    assertEquals(Arrays.asList(1), fetched);
+    assertFalse(subscriber.completed);
+  }
+
+  @Test
+  public void shouldSignalErrorOfFetch() throws Exception {
+    final IllegalStateException failure = new IllegalStateException();
+    new PagedPublisher<String>(new PageFetcher<String>() {
+      @Override
+      public DataList<? extends String> fetch(int page) {
+        throw failure;
+      }
+    }, 0, DIRECT).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+
+    assertEquals(failure, subscriber.error);
+  }
+
+  @Test
+  public void shouldSignalErrorOnInvalidRequest() throws Exception {
+    new PagedPublisher<String>(fetcher, 0, DIRECT).subscribe(subscriber);
+
+    subscriber.subscription.request(0);
+
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+    assertTrue(fetched.isEmpty());
+  }
+
+  @Test
+  public void shouldCompleteEmptySearch() throws Exception {
+    new PagedPublisher<String>(new PageFetcher<String>() {
+      @Override
+      public DataList<? extends String> fetch(int page) {
+        return new Page(new ArrayList<String>(), 0);
+      }
+    }, 0, DIRECT).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+
+    assertTrue(subscriber.items.isEmpty());
+    assertTrue(subscriber.completed);
+  }
+
+  private static class RecordingSubscriber implements Subscriber<String> {
+
+    private final List<String> items = new ArrayList<String>();
+
+    private Subscription subscription;
+
+    private boolean completed;
+
+    private Throwable error;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(String item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      this.error = error;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+  private static class Page implements DataList<String> {
+
+    private final List<String> data;
+
+    private final int totalPages;
+
+    Page(List<String> data, int totalPages) {
+      this.data = data;
+      this.totalPages = totalPages;
+    }
+
+    @Override
+    public List<String> getData() {
+      return data;
+    }
+
+    @Override
+    public Integer getTotalPages() {
+      return totalPages;
+    }
+
+    @Override
+    public Integer size() {
+      return data.size();
+    }
+
+    @Override
+    public Boolean isEmpty() {
+      return data.isEmpty();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      return data.iterator();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class ThreadsTest {
+
+  private static final Runnable NOTHING = new Runnable() {
+    @Override
+    public void run() {
+    }
+  };
+
+  @Test
+  public void shouldCreateDaemonThreadsWithPrefix() throws Exception {
+    ThreadFactory factory = Threads.threadFactory("worker-");
+
+    Thread first = factory.newThread(NOTHING);
+    Thread second = factory.newThread(NOTHING);
+
+    assertFalse(Threads.isVirtual());
+    assertEquals("worker-1", first.getName());
+    assertEquals("worker-2", second.getName());
+    assertTrue(first.isDaemon());
+  }
+
+  @Test
+  public void shouldRunTasksOnNamedThreads() throws Exception {
+    ExecutorService executor = Threads.newTaskExecutor("task-");
+    try {
+      String name = executor.submit(new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+          return Thread.currentThread().getName();
+        }
+      }).get(10, TimeUnit.SECONDS);
+
+      assertTrue(name.startsWith("task-"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.PagSeguroEnv;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.HttpMethod;
+import br.com.uol.pagseguro.api.http.HttpRequestBody;
+import br.com.uol.pagseguro.api.http.HttpResponse;
+import br.com.uol.pagseguro.api.utils.logging.SimpleLoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Loads the search resources in a class loader without the optional reactive-streams jar. Only
+ * the date range publishers need it, so the other searches must keep working
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public class WithoutReactiveStreamsTest {
+
+  private static final String[] SEARCH_RESOURCES = {
+      "br.com.uol.pagseguro.api.transaction.search.TransactionSearchResource",
+      "br.com.uol.pagseguro.api.preapproval.search.PreApprovalSearchResource",
+      "br.com.uol.pagseguro.api.application.authorization.search.AuthorizationSearchResource"};
+
+  private static final String CODE = "9E884542-81B3-4419-9A75-BCC6FB495EF1";
+
+  private ClassLoader classLoader;
+
+  @Before
+  public void setUp() throws Exception {
+    classLoader = new WithoutReactiveStreamsClassLoader(getClass().getClassLoader());
+  }
+
+  @Test
+  public void shouldNotLoadReactiveStreams() throws Exception {
+    try {
+      Class.forName("org.reactivestreams.Publisher", false, classLoader);
+      fail("reactive-streams loaded");
+    } catch (ClassNotFoundException e) {
+      // esperado
+    }
+  }
+
+  @Test
+  public void shouldLoadSearchResources() throws Exception {
+    for (String name : SEARCH_RESOURCES) {
+      final Class<?> resource = Class.forName(name, true, classLoader);
+      assertEquals(classLoader, resource.getClassLoader());
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldSearchByCode() throws Exception {
+    final Callable<String> search = (Callable<String>) Class.forName(
+        SearchByCode.class.getName(), true, classLoader).newInstance();
+
+    assertEquals(CODE, search.call());
+  }
+
+  /**
+   * Search by code made by a class of the isolated class loader
+   */
+  public static class SearchByCode implements Callable<String> {
+
+    @Override
+    public String call() throws Exception {
+      final PagSeguro pagSeguro = PagSeguro.instance(new SimpleLoggerFactory(),
+          new HttpClient() {
+            @Override
+            public HttpResponse execute(HttpMethod method, String targetURL,
+                                        Map<String, String> headers, HttpRequestBody body)
+                throws IOException {
+              return new HttpResponse(200, "<transaction><code>" + CODE + "</code></transaction>");
+            }
+          }, Credential.sellerCredential("vendedor@loja.com.br", "token"), PagSeguroEnv.SANDBOX);
+      return pagSeguro.transactions().search().byCode(CODE).getCode();
+    }
+  }
+
+  /**
+   * Class loader that defines the classes of the library itself and refuses the classes of
+   * reactive-streams. Any other class is loaded by the parent
+   */
+  private static class WithoutReactiveStreamsClassLoader extends ClassLoader {
+
+    WithoutReactiveStreamsClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (name.startsWith("org.reactivestreams.")) {
+        throw new ClassNotFoundException(name);
+      }
+      if (!name.startsWith("br.com.uol.pagseguro.api.")) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> loaded = findLoadedClass(name);
+        if (loaded == null) {
+          final byte[] bytes = read(name.replace('.', '/') + ".class");
+          loaded = defineClass(name, bytes, 0, bytes.length);
+        }
+        if (resolve) {
+          resolveClass(loaded);
+        }
+        return loaded;
+      }
+    }
+
+    private byte[] read(String resource) throws ClassNotFoundException {
+      final InputStream in = getParent().getResourceAsStream(resource);
+      if (in == null) {
+        throw new ClassNotFoundException(resource);
+      }
+      try {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+          out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+      } catch (IOException e) {
+        throw new ClassNotFoundException(resource, e);
+      } finally {
+        try {
+          in.close();
+        } catch (IOException e) {
+          // ignorado
+        }
+      }
+    }
+  }
+}
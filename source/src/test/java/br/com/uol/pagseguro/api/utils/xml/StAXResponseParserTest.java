@@ -0,0 +1,453 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package br.com.uol.pagseguro.api.utils.xml;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.application.authorization.RegisteredAuthorizationResponseXML;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationDetailXML;
+import br.com.uol.pagseguro.api.application.authorization.search.AuthorizationSearchResponseXML;
+import br.com.uol.pagseguro.api.checkout.RegisterCheckoutResponseXML;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.exception.ServerErrorsXML;
+import br.com.uol.pagseguro.api.installment.InstallmentListingResponseXML;
+import br.com.uol.pagseguro.api.preapproval.ChargePreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.RegisterPreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.cancel.CancelPreApprovalResponseXML;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalDetailXML;
+import br.com.uol.pagseguro.api.preapproval.search.PreApprovalSearchResponseXML;
+import br.com.uol.pagseguro.api.session.CreatedSessionXML;
+import br.com.uol.pagseguro.api.transaction.CancelResponseXMLTransaction;
+import br.com.uol.pagseguro.api.transaction.RefundResponseXMLTransaction;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetailXML;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSearchResponseXML;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Differential tests between the StAX readers and JAXB
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+@RunWith(PowerMockRunner.class)
+public class StAXResponseParserTest {
+
+  @Mock
+  private PagSeguro pagSeguro;
+
+  private StAXResponseParser staxParser;
+
+  private JAXBResponseParser jaxbParser;
+
+  @Before
+  public void setUp() throws Exception {
+    staxParser = new StAXResponseParser();
+    when(pagSeguro.getHostRedirect()).thenReturn("https://pagseguro.uol.com.br");
+    jaxbParser = new JAXBResponseParser();
+  }
+
+  @Test
+  public void shouldParseTransactionDetailAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\" standalone=\"yes\"?>" +
+                              "<transaction>" +
+                              "<date>2016-11-09T00:00:00.000-02:00</date>" +
+                              "<code>code</code>" +
+                              "<reference>reference</reference>" +
+                              "<type>1</type>" +
+                              "<status>3</status>" +
+                              "<lastEventDate>2016-11-10T10:25:55.123Z</lastEventDate>" +
+                              "<paymentMethod><type>1</type><code>101</code></paymentMethod>" +
+                              "<grossAmount>1.00</grossAmount>" +
+                              "<discountAmount>0.00</discountAmount>" +
+                              "<creditorFees>" +
+                              "<intermediationRateAmount>0.40</intermediationRateAmount>" +
+                              "<intermediationFeeAmount>0.05</intermediationFeeAmount>" +
+                              "</creditorFees>" +
+                              "<netAmount>0.55</netAmount>" +
+                              "<extraAmount>0.00</extraAmount>" +
+                              "<escrowEndDate>2016-12-09T00:00:00</escrowEndDate>" +
+                              "<installmentCount>1</installmentCount>" +
+                              "<itemCount>2</itemCount>" +
+                              "<items>" +
+                              "<item><id>1</id><description>Item &amp; one</description>" +
+                              "<quantity>1</quantity><amount>0.50</amount></item>" +
+                              "<item><id>2</id><description><![CDATA[Item <two>]]></description>" +
+                              "<quantity>2</quantity><amount>0.25</amount></item>" +
+                              "</items>" +
+                              "<sender>" +
+                              "<name>Comprador</name>" +
+                              "<email>comprador@uol.com.br</email>" +
+                              "<phone><areaCode>11</areaCode><number>99999999</number></phone>" +
+                              "<documents><document><type>CPF</type><value>1</value></document>" +
+                              "</documents>" +
+                              "</sender>" +
+                              "<shipping>" +
+                              "<address>" +
+                              "<street>Av. PagSeguro</street><number>9999</number>" +
+                              "<complement>99o andar</complement><district>Jardim</district>" +
+                              "<city>Cidade</city><state>SP</state><country>BRA</country>" +
+                              "<postalCode>99999999</postalCode>" +
+                              "</address>" +
+                              "<type>1</type>" +
+                              "<cost>21.50</cost>" +
+                              "</shipping>" +
+                              "<paymentLink>https://pagseguro.uol.com.br/link</paymentLink>" +
+                              "<method>method</method>" +
+                              "<mode>mode</mode>" +
+                              "<cancellationSource>INTERNAL</cancellationSource>" +
+                              "</transaction>";
+
+    assertSameAsJaxb(TransactionDetailXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseDatesAsJaxb() throws Exception {
+    String[] dates = {"2016-11-09T00:00:00.000-02:00", "2016-11-10T10:25:55.123Z",
+        "2016-12-09T00:00:00", "2017-02-28T23:59:59.9+05:30", "1969-12-31T23:59:59.999-00:00"};
+    for (String date : dates) {
+      String responseAsString = "<transaction><date>" + date + "</date></transaction>";
+      TransactionDetailXML expected = jaxbParser.parse(pagSeguro, TransactionDetailXML.class,
+          responseAsString);
+      TransactionDetailXML parsed = staxParser.parse(pagSeguro, TransactionDetailXML.class,
+          responseAsString);
+      assertEquals(date, expected.getDate().getTime(), parsed.getDate().getTime());
+    }
+  }
+
+  @Test
+  public void shouldParseInvalidValuesAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                              "<transaction>" +
+                              "<date></date>" +
+                              "<code> code </code>" +
+                              "<reference/>" +
+                              "<type>x</type>" +
+                              "<status> 3 </status>" +
+                              "<grossAmount> 1.00 </grossAmount>" +
+                              "<netAmount>one</netAmount>" +
+                              "<lastEventDate>yesterday</lastEventDate>" +
+                              "<items></items>" +
+                              "<unknown><status>7</status></unknown>" +
+                              "</transaction>";
+
+    assertSameAsJaxb(TransactionDetailXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseTransactionSearchAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                              "<transactionSearchResult>" +
+                              "<date>2016-09-11T00:00:00.000-02:00</date>" +
+                              "<currentPage>1</currentPage>" +
+                              "<resultsInThisPage>2</resultsInThisPage>" +
+                              "<totalPages>3</totalPages>" +
+                              "<transactions>" +
+                              "<transaction>" +
+                              "<date>2016-11-09T01:01:01.000-02:00</date>" +
+                              "<lastEventDate>2016-11-09T02:02:02.000-02:00</lastEventDate>" +
+                              "<code>code3</code>" +
+                              "<reference>reference</reference>" +
+                              "<type>1</type>" +
+                              "<status>3</status>" +
+                              "<paymentMethod><type>1</type></paymentMethod>" +
+                              "<grossAmount>9.99</grossAmount>" +
+                              "<discountAmount>0.00</discountAmount>" +
+                              "<feeAmount>3.33</feeAmount>" +
+                              "<netAmount>2.22</netAmount>" +
+                              "<extraAmount>1.11</extraAmount>" +
+                              "</transaction>" +
+                              "<transaction>" +
+                              "<date>2016-11-09T01:01:01-03:00</date>" +
+                              "<code>code4</code>" +
+                              "<type>11</type>" +
+                              "<status>7</status>" +
+                              "<grossAmount>10</grossAmount>" +
+                              "</transaction>" +
+                              "</transactions>" +
+                              "</transactionSearchResult>";
+
+    assertSameAsJaxb(TransactionSearchResponseXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseEmptyTransactionSearchAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                              "<transactionSearchResult>" +
+                              "<resultsInThisPage>0</resultsInThisPage>" +
+                              "<totalPages>0</totalPages>" +
+                              "</transactionSearchResult>";
+
+    assertSameAsJaxb(TransactionSearchResponseXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseSessionAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<session><id>620f99e348c24f07877c927b353e49d3</id></session>";
+
+    assertSameAsJaxb(CreatedSessionXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseInstallmentsAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<installments>" +
+                              "<installment>" +
+                              "<cardBrand>visa</cardBrand>" +
+                              "<quantity>1</quantity>" +
+                              "<amount>30.00</amount>" +
+                              "<totalAmount>30.00</totalAmount>" +
+                              "<interestFree>true</interestFree>" +
+                              "</installment>" +
+                              "<installment>" +
+                              "<cardBrand>visa</cardBrand>" +
+                              "<quantity>2</quantity>" +
+                              "<amount>15.48</amount>" +
+                              "<totalAmount>30.96</totalAmount>" +
+                              "<interestFree>0</interestFree>" +
+                              "</installment>" +
+                              "</installments>";
+
+    assertSameAsJaxb(InstallmentListingResponseXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseErrorsAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<errors>" +
+                              "<error><code>10001</code><message>Message.</message></error>" +
+                              "<error><code>0002</code><message>Message two.</message></error>" +
+                              "</errors>";
+
+    assertSameAsJaxb(ServerErrorsXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseResultsAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<result>OK</result>";
+
+    assertSameAsJaxb(CancelResponseXMLTransaction.class, responseAsString);
+    assertSameAsJaxb(RefundResponseXMLTransaction.class, responseAsString);
+    assertSameAsJaxb(RefundResponseXMLTransaction.class, "<result/>");
+  }
+
+  @Test
+  public void shouldParseCheckoutAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<checkout>" +
+                              "<code>8CF4BE7DCECEF0F004A6DFA0A8243412</code>" +
+                              "<date>2010-12-02T10:11:28.000-02:00</date>" +
+                              "</checkout>";
+
+    assertSameAsJaxb(RegisterCheckoutResponseXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseAuthorizationRequestAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<authorizationRequest>" +
+                              "<code>D4C8A0A7B5B54B3FBD0A47E4B6C7C2B1</code>" +
+                              "<date>2016-11-09T00:00:00.000-02:00</date>" +
+                              "<redirectURL>ignored</redirectURL>" +
+                              "</authorizationRequest>";
+
+    assertSameAsJaxb(RegisteredAuthorizationResponseXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseAuthorizationAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<authorization>" +
+                              "<code>code</code>" +
+                              "<creationDate>2016-11-09T00:00:00.000-02:00</creationDate>" +
+                              "<reference>reference</reference>" +
+                              "<authorizerEmail>vendedor@uol.com.br</authorizerEmail>" +
+                              "<account><publicKey>PUB123</publicKey></account>" +
+                              "<permissions>" +
+                              "<permission><code>CREATE_CHECKOUTS</code><status>APPROVED</status>" +
+                              "<lastUpdate>2016-11-09T00:00:00.000-02:00</lastUpdate></permission>" +
+                              "<permission><code>SEARCH_TRANSACTIONS</code>" +
+                              "<status>DENIED</status></permission>" +
+                              "</permissions>" +
+                              "</authorization>";
+
+    assertSameAsJaxb(AuthorizationDetailXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParseAuthorizationSearchAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<authorizationSearchResult>" +
+                              "<date>2016-11-09T00:00:00.000-02:00</date>" +
+                              "<authorizations>" +
+                              "<authorization>" +
+                              "<code>code1</code>" +
+                              "<creationDate>2016-11-09T00:00:00.000-02:00</creationDate>" +
+                              "<reference>reference</reference>" +
+                              "<account><publicKey>PUB123</publicKey></account>" +
+                              "<permissions><permission><code>RECEIVE_TRANSACTION_NOTIFICATIONS" +
+                              "</code><status>APPROVED</status></permission></permissions>" +
+                              "</authorization>" +
+                              "<authorization><code>code2</code></authorization>" +
+                              "</authorizations>" +
+                              "<resultsInThisPage>2</resultsInThisPage>" +
+                              "<currentPage>1</currentPage>" +
+                              "<totalPages>1</totalPages>" +
+                              "</authorizationSearchResult>";
+
+    assertSameAsJaxb(AuthorizationSearchResponseXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParsePreApprovalResponsesAsJaxb() throws Exception {
+    assertSameAsJaxb(RegisterPreApprovalResponseXML.class,
+        "<preApprovalRequest><code>code</code>" +
+        "<date>2016-11-09T00:00:00.000-02:00</date></preApprovalRequest>");
+    assertSameAsJaxb(ChargePreApprovalResponseXML.class,
+        "<result><transactionCode>code</transactionCode>" +
+        "<date>2016-11-09T00:00:00.000-02:00</date></result>");
+    assertSameAsJaxb(CancelPreApprovalResponseXML.class,
+        "<result><status>OK</status><date>2016-11-09T00:00:00.000-02:00</date></result>");
+  }
+
+  @Test
+  public void shouldParsePreApprovalAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<preApproval>" +
+                              "<name>Seguro contra roubo</name>" +
+                              "<code>code</code>" +
+                              "<date>2016-11-09T00:00:00.000-02:00</date>" +
+                              "<tracker>538C53</tracker>" +
+                              "<status>ACTIVE</status>" +
+                              "<reference>reference</reference>" +
+                              "<lastEventDate>2016-11-10T00:00:00.000-02:00</lastEventDate>" +
+                              "<charge>auto</charge>" +
+                              "<sender>" +
+                              "<name>Comprador</name>" +
+                              "<email>comprador@uol.com.br</email>" +
+                              "<phone><areaCode>11</areaCode><number>99999999</number></phone>" +
+                              "<address><street>Av. PagSeguro</street><number>9999</number>" +
+                              "<city>Cidade</city><state>SP</state><country>BRA</country>" +
+                              "<postalCode>99999999</postalCode></address>" +
+                              "</sender>" +
+                              "</preApproval>";
+
+    assertSameAsJaxb(PreApprovalDetailXML.class, responseAsString);
+  }
+
+  @Test
+  public void shouldParsePreApprovalSearchAsJaxb() throws Exception {
+    String responseAsString = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                              "<preApprovalSearchResult>" +
+                              "<date>2016-11-09T00:00:00.000-02:00</date>" +
+                              "<currentPage>1</currentPage>" +
+                              "<resultsInThisPage>2</resultsInThisPage>" +
+                              "<totalPages>1</totalPages>" +
+                              "<preApprovals>" +
+                              "<preApproval>" +
+                              "<name>Seguro contra roubo</name>" +
+                              "<code>code1</code>" +
+                              "<date>2016-11-09T00:00:00.000-02:00</date>" +
+                              "<tracker>538C53</tracker>" +
+                              "<status>CANCELLED</status>" +
+                              "<lastEventDate>2016-11-10T00:00:00.000-02:00</lastEventDate>" +
+                              "<charge>manual</charge>" +
+                              "</preApproval>" +
+                              "<preApproval><code>code2</code><status>x</status></preApproval>" +
+                              "</preApprovals>" +
+                              "</preApprovalSearchResult>";
+
+    assertSameAsJaxb(PreApprovalSearchResponseXML.class, responseAsString);
+  }
+
+  @Test(expected = PagSeguroLibException.class)
+  public void shouldThrowsErrorLibOnUnexpectedRoot() throws Exception {
+    staxParser.parse(pagSeguro, CreatedSessionXML.class, "<errors></errors>");
+  }
+
+  @Test(expected = PagSeguroLibException.class)
+  public void shouldThrowsErrorLibOnMalformedXml() throws Exception {
+    staxParser.parse(pagSeguro, CreatedSessionXML.class, "<session><id>1</session>");
+  }
+
+  @Test(expected = PagSeguroLibException.class)
+  public void shouldThrowsErrorLibWithoutFallback() throws Exception {
+    new StAXResponseParser(null).parse(pagSeguro, Object.class, "<object/>");
+  }
+
+  @Test
+  public void shouldParseWithoutFallback() throws Exception {
+    StAXResponseParser parser = new StAXResponseParser(null);
+    parser.prepare(pagSeguro, PreApprovalDetailXML.class);
+    parser.prepare(pagSeguro, Object.class);
+
+    assertEquals("OK", parser.parse(pagSeguro, RefundResponseXMLTransaction.class,
+        "<result>OK</result>").getResult());
+  }
+
+  @Test
+  public void shouldSupportHotResponses() throws Exception {
+    assertTrue(staxParser.supports(TransactionDetailXML.class));
+    assertTrue(staxParser.supports(TransactionSearchResponseXML.class));
+    assertTrue(staxParser.supports(CreatedSessionXML.class));
+    assertTrue(staxParser.supports(InstallmentListingResponseXML.class));
+    assertTrue(staxParser.supports(ServerErrorsXML.class));
+    assertFalse(staxParser.supports(Object.class));
+  }
+
+  @Test
+  public void shouldSupportAllResponses() throws Exception {
+    Class<?>[] responses = {CancelResponseXMLTransaction.class,
+        RefundResponseXMLTransaction.class, RegisterCheckoutResponseXML.class,
+        RegisteredAuthorizationResponseXML.class, AuthorizationDetailXML.class,
+        AuthorizationSearchResponseXML.class, RegisterPreApprovalResponseXML.class,
+        ChargePreApprovalResponseXML.class, CancelPreApprovalResponseXML.class,
+        PreApprovalDetailXML.class, PreApprovalSearchResponseXML.class};
+    for (Class<?> response : responses) {
+      assertTrue(response.getName(), staxParser.supports(response));
+    }
+  }
+
+  @Test
+  public void shouldPrepareResponsesWithEmptyRoot() throws Exception {
+    staxParser.prepare(pagSeguro, TransactionDetailXML.class);
+    staxParser.prepare(pagSeguro, RefundResponseXMLTransaction.class);
+    jaxbParser.prepare(pagSeguro, TransactionSearchResponseXML.class);
+    jaxbParser.prepare(pagSeguro, RegisterCheckoutResponseXML.class);
+    jaxbParser.prepare(pagSeguro, Object.class);
+  }
+
+  private <T> void assertSameAsJaxb(Class<T> clazz, String responseAsString) {
+    T expected = jaxbParser.parse(pagSeguro, clazz, responseAsString);
+    T parsed = staxParser.parse(pagSeguro, clazz, responseAsString);
+    assertEquals(expected.toString(), parsed.toString());
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.application.authorization.AuthorizationRegistrationBuilder;
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistrationBuilder;
+import br.com.uol.pagseguro.api.common.domain.PermissionCode;
+import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PhoneBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.SenderBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.credential.DefaultCredentialProviderChain;
+import br.com.uol.pagseguro.api.environment.DefaultEnvironmentProviderChain;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.installment.InstallmentRequestBuilder;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalChargingBuilder;
+import br.com.uol.pagseguro.api.preapproval.PreApprovalRegistrationBuilder;
+import br.com.uol.pagseguro.api.preapproval.cancel.PreApprovalCancellationBuilder;
+import br.com.uol.pagseguro.api.transaction.register.DirectPaymentRegistrationBuilder;
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+import br.com.uol.pagseguro.api.utils.xml.StAXResponseParser;
+
+/**
+ * Smoke test of native images. Calls every operation of the library against a local stub server
+ * with the StAX parser and no fallback, so any response that still depends on JAXB reflection
+ * fails the run. The same main is executed on the jvm by the tests and compiled as a native
+ * executable by the {@code native} profile
+ *
+ * <pre>
+ * mvn -Pnative package
+ * ./target/pagseguro-native-smoke
+ * </pre>
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+public final class NativeImageSmoke {
+
+  private static final String TRANSACTION_CODE = "9E884542-81B3-4419-9A75-BCC6FB495EF1";
+
+  private static final BigDecimal AMOUNT = new BigDecimal("249.90");
+
+  private NativeImageSmoke() {
+  }
+
+  /**
+   * Run the smoke test. Exits with status 1 when an operation fails
+   *
+   * @param args Not used
+   */
+  public static void main(String[] args) {
+    final PagSeguroStubServer server = new PagSeguroStubServer().start();
+    try {
+      final List<String> operations = run(server);
+      System.out.println(String.format("Smoke ok: %d operacoes", operations.size()));
+    } catch (RuntimeException e) {
+      System.err.println("Smoke falhou: " + e);
+      System.exit(1);
+    } finally {
+      server.close();
+    }
+  }
+
+  /**
+   * Call every operation against the server. The response parser is replaced by a StAX parser
+   * without fallback during the run
+   *
+   * @param server Stub server
+   * @return Names of the operations called
+   */
+  public static List<String> run(PagSeguroStubServer server) {
+    final List<String> operations = new ArrayList<String>();
+    final ResponseParser previous = ResponseParser.getResponseParser();
+    ResponseParser.configureResponseParser(new StAXResponseParser(null));
+    try {
+      providers(operations);
+      seller(server.client(Credential.sellerCredential("email@email.com", "token")), operations);
+      application(server.client(Credential.applicationCredential("appId", "appKey")),
+          operations);
+      errors(server, operations);
+    } finally {
+      ResponseParser.configureResponseParser(previous);
+    }
+    return operations;
+  }
+
+  /**
+   * Read credential and environment from the jvm properties
+   *
+   * @param operations Operations called
+   */
+  private static void providers(List<String> operations) {
+    final String email = System.getProperty("pagseguro.email");
+    final String token = System.getProperty("pagseguro.token");
+    final String environment = System.getProperty("pagseguro.environment");
+    System.setProperty("pagseguro.email", "email@email.com");
+    System.setProperty("pagseguro.token", "token");
+    System.setProperty("pagseguro.environment", "sandbox");
+    try {
+      check(new DefaultCredentialProviderChain().getCredential() != null, "credential");
+      check(new DefaultEnvironmentProviderChain().getEnvironment() != null, "environment");
+      operations.add("providers");
+    } finally {
+      restore("pagseguro.email", email);
+      restore("pagseguro.token", token);
+      restore("pagseguro.environment", environment);
+    }
+  }
+
+  /**
+   * Call the operations of seller credential
+   *
+   * @param pagSeguro  Pagseguro instance
+   * @param operations Operations called
+   */
+  private static void seller(PagSeguro pagSeguro, List<String> operations) {
+    final DateRangeBuilder dateRange = new DateRangeBuilder().between(
+        new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)), new Date());
+
+    check(pagSeguro.checkouts().register(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withReference("SMOKE")
+        .addItem(item())).getCheckoutCode() != null, "checkout");
+    operations.add("checkout");
+
+    check(pagSeguro.transactions().register(new DirectPaymentRegistrationBuilder()
+        .withPaymentMode("default")
+        .withCurrency(Currency.BRL)
+        .withReference("SMOKE")
+        .withSender(new SenderBuilder()
+            .withName("Jose Comprador")
+            .withEmail("comprador@sandbox.pagseguro.com.br")
+            .withPhone(new PhoneBuilder()
+                .withAreaCode("11")
+                .withNumber("56273440"))
+            .withCPF("22111944785")
+            .withHash("abc123def456"))
+        .addItem(item())).withBankSlip().getCode() != null, "direct payment");
+    operations.add("direct-payment");
+
+    check(TRANSACTION_CODE.equals(pagSeguro.transactions().search().byCode(TRANSACTION_CODE)
+        .getCode()), "transaction search by code");
+    operations.add("transaction-search-by-code");
+
+    check(pagSeguro.transactions().search().byDateRange(dateRange, 1, 10).getData() != null,
+        "transaction search");
+    operations.add("transaction-search");
+
+    pagSeguro.transactions().cancelByCode(TRANSACTION_CODE);
+    operations.add("transaction-cancel");
+
+    pagSeguro.transactions().refundByCode(TRANSACTION_CODE);
+    operations.add("transaction-refund");
+
+    check(pagSeguro.sessions().create().getId() != null, "session");
+    operations.add("session");
+
+    check(!pagSeguro.installments().list(new InstallmentRequestBuilder()
+        .withCardBrand("visa")
+        .withAmount(AMOUNT)
+        .withMaxInstallmentNoInterest(3)).getData().isEmpty(), "installments");
+    operations.add("installments");
+
+    final String preApprovalCode = pagSeguro.preApprovals().register(
+        new PreApprovalRegistrationBuilder()
+            .withCurrency(Currency.BRL)
+            .withReference("SMOKE")).getPreApprovalCode();
+    check(preApprovalCode != null, "pre approval");
+    operations.add("pre-approval");
+
+    check(pagSeguro.preApprovals().charge(new PreApprovalChargingBuilder()
+        .withCode(preApprovalCode)
+        .withReference("SMOKE")
+        .addItem(item())).getTransactionCode() != null, "pre approval charge");
+    operations.add("pre-approval-charge");
+
+    check(pagSeguro.preApprovals().search().byCode(preApprovalCode) != null,
+        "pre approval search by code");
+    operations.add("pre-approval-search-by-code");
+
+    check(pagSeguro.preApprovals().search().byDateRange(dateRange, 1, 10).getData() != null,
+        "pre approval search");
+    operations.add("pre-approval-search");
+
+    check(pagSeguro.preApprovals().cancel(new PreApprovalCancellationBuilder()
+        .withCode(preApprovalCode)).getTransactionStatus() != null, "pre approval cancel");
+    operations.add("pre-approval-cancel");
+  }
+
+  /**
+   * Call the operations of application credential
+   *
+   * @param pagSeguro  Pagseguro instance
+   * @param operations Operations called
+   */
+  private static void application(PagSeguro pagSeguro, List<String> operations) {
+    final DateRangeBuilder dateRange = new DateRangeBuilder().between(
+        new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)), new Date());
+
+    check(pagSeguro.authorizations().register(new AuthorizationRegistrationBuilder()
+        .withReference("SMOKE")
+        .addPermission(PermissionCode.Code.CREATE_CHECKOUTS)).getCode() != null,
+        "authorization");
+    operations.add("authorization");
+
+    check(pagSeguro.authorizations().search().byCode("CODE") != null,
+        "authorization search by code");
+    operations.add("authorization-search-by-code");
+
+    check(pagSeguro.authorizations().search().byDateRange(dateRange, 1, 10).getData() != null,
+        "authorization search");
+    operations.add("authorization-search");
+  }
+
+  /**
+   * Read the errors of a bad request
+   *
+   * @param server     Stub server
+   * @param operations Operations called
+   */
+  private static void errors(PagSeguroStubServer server, List<String> operations) {
+    final StubProfile profile = server.getProfile();
+    server.setProfile(new StubProfileBuilder().withErrorRate(1).withErrorStatus(400, 1).build());
+    try {
+      server.client(Credential.sellerCredential("email@email.com", "token")).sessions().create();
+      throw new IllegalStateException("Expected bad request");
+    } catch (PagSeguroBadRequestException e) {
+      check(e.getErrors().size() > 0, "errors");
+      operations.add("errors");
+    } finally {
+      server.setProfile(profile);
+    }
+  }
+
+  /**
+   * Item of the requests
+   *
+   * @return Item builder
+   */
+  private static PaymentItemBuilder item() {
+    return new PaymentItemBuilder()
+        .withId("1")
+        .withDescription("Notebook Prata")
+        .withAmount(AMOUNT)
+        .withQuantity(1);
+  }
+
+  /**
+   * Check the response of an operation
+   *
+   * @param condition Condition of a valid response
+   * @param operation Operation name
+   */
+  private static void check(boolean condition, String operation) {
+    if (!condition) {
+      throw new IllegalStateException(String.format("Unexpected response of [%s]", operation));
+    }
+  }
+
+  /**
+   * Restore a jvm property
+   *
+   * @param key   Property key
+   * @param value Previous value or null to clear it
+   */
+  private static void restore(String key, String value) {
+    if (value == null) {
+      System.clearProperty(key);
+    } else {
+      System.setProperty(key, value);
+    }
+  }
+}
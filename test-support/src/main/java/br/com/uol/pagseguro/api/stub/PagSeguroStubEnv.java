@@ -0,0 +1,64 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.http.HttpClient;
+
+/**
+ * Environment pointing to a stub server
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see PagSeguroStubServer#client(Credential)
+ */
+public class PagSeguroStubEnv extends PagSeguro {
+
+  private final String host;
+
+  /**
+   * Constructor
+   *
+   * @param httpClient Http client
+   * @param credential Credential
+   * @param host       Host of the stub server, like {@code http://127.0.0.1:8080}
+   */
+  public PagSeguroStubEnv(HttpClient httpClient, Credential credential, String host) {
+    super(httpClient, credential);
+    this.host = host;
+  }
+
+  @Override
+  public String getHost() {
+    return host;
+  }
+
+  @Override
+  public String getHostRedirect() {
+    return host;
+  }
+
+  @Override
+  public String toString() {
+    return "pagseguro-stub-env";
+  }
+
+}
@@ -0,0 +1,311 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.PagSeguroLibException;
+import br.com.uol.pagseguro.api.http.HttpClient;
+import br.com.uol.pagseguro.api.http.JSEHttpClient;
+import br.com.uol.pagseguro.api.utils.Threads;
+
+/**
+ * Embeddable http server answering the endpoints of the library with PagSeguro-shaped xml.
+ * Used to run integration tests and load tests without the sandbox. The latency and the errors of
+ * the responses are configured by a {@link StubProfile}, that can be replaced while the server is
+ * running
+ *
+ * <pre>
+ * PagSeguroStubServer server = new PagSeguroStubServer().start();
+ * PagSeguro pagSeguro = server.client(credential);
+ * </pre>
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see StubRoute
+ */
+public class PagSeguroStubServer implements Closeable {
+
+  private static final String CHARSET = "ISO-8859-1";
+
+  private final int port;
+
+  private final Map<StubRoute, AtomicLong> requests =
+      new EnumMap<StubRoute, AtomicLong>(StubRoute.class);
+
+  private volatile StubProfile profile;
+
+  private volatile Random random;
+
+  private volatile TransactionSimulator simulator;
+
+  private HttpServer server;
+
+  private ExecutorService executor;
+
+  /**
+   * Constructor. Listens on a free port
+   */
+  public PagSeguroStubServer() {
+    this(0);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param port Port or zero to use a free port
+   */
+  public PagSeguroStubServer(int port) {
+    this(port, StubProfile.DEFAULT);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param port    Port or zero to use a free port
+   * @param profile Initial profile
+   */
+  public PagSeguroStubServer(int port, StubProfile profile) {
+    this.port = port;
+    for (StubRoute route : StubRoute.values()) {
+      requests.put(route, new AtomicLong());
+    }
+    setProfile(profile);
+  }
+
+  /**
+   * Start the server
+   *
+   * @return The server itself
+   */
+  public synchronized PagSeguroStubServer start() {
+    if (server != null) {
+      throw new IllegalStateException("Server already started");
+    }
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    } catch (IOException e) {
+      throw new PagSeguroLibException(e);
+    }
+    executor = Threads.newTaskExecutor("pagseguro-stub-");
+    server.setExecutor(executor);
+    server.createContext("/", new StubHandler());
+    server.start();
+    return this;
+  }
+
+  /**
+   * Stop the server
+   */
+  @Override
+  public synchronized void close() {
+    if (server == null) {
+      return;
+    }
+    server.stop(0);
+    executor.shutdownNow();
+    server = null;
+    executor = null;
+  }
+
+  /**
+   * Get host of the server, like {@code http://127.0.0.1:8080}
+   *
+   * @return Host
+   */
+  public synchronized String getHost() {
+    if (server == null) {
+      throw new IllegalStateException("Server not started");
+    }
+    final InetSocketAddress address = server.getAddress();
+    return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+  }
+
+  /**
+   * Get current profile
+   *
+   * @return Profile
+   */
+  public StubProfile getProfile() {
+    return profile;
+  }
+
+  /**
+   * Replace the profile. Requests received after the call use the new profile
+   *
+   * @param profile Profile
+   */
+  public void setProfile(StubProfile profile) {
+    if (profile == null) {
+      throw new NullPointerException("profile can not be null");
+    }
+    this.random = new Random(profile.getSeed());
+    this.profile = profile;
+  }
+
+  /**
+   * Get simulator attached to the server
+   *
+   * @return Simulator or null
+   */
+  public TransactionSimulator getSimulator() {
+    return simulator;
+  }
+
+  /**
+   * Attach a simulator. The routes handled by the simulator are answered from its state and the
+   * other routes keep the static payloads. The latency and the errors of the profile still apply
+   *
+   * @param simulator Simulator or null to answer every route with static payloads
+   */
+  public void setSimulator(TransactionSimulator simulator) {
+    this.simulator = simulator;
+  }
+
+  /**
+   * Get count of requests received by a route
+   *
+   * @param route Route
+   * @return Count of requests
+   */
+  public long getRequestCount(StubRoute route) {
+    return requests.get(route).get();
+  }
+
+  /**
+   * Create a client pointing to the server
+   *
+   * @param credential Credential
+   * @return Pagseguro instance
+   */
+  public PagSeguro client(Credential credential) {
+    return client(new JSEHttpClient(), credential);
+  }
+
+  /**
+   * Create a client pointing to the server
+   *
+   * @param httpClient Http client
+   * @param credential Credential
+   * @return Pagseguro instance
+   */
+  public PagSeguro client(HttpClient httpClient, Credential credential) {
+    return new PagSeguroStubEnv(httpClient, credential, getHost());
+  }
+
+  /**
+   * Handler of all requests
+   */
+  private class StubHandler implements HttpHandler {
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+      try {
+        final String body = read(exchange.getRequestBody());
+        final String method = exchange.getRequestMethod();
+        final String path = exchange.getRequestURI().getRawPath();
+        final StubProfile current = profile;
+        final Random random = PagSeguroStubServer.this.random;
+        final long latency;
+        final int error;
+        synchronized (random) {
+          latency = current.sampleLatency(random);
+          error = current.sampleError(random);
+        }
+        sleep(latency);
+        for (StubRoute route : StubRoute.values()) {
+          final Matcher matcher = route.match(method, path);
+          if (matcher == null) {
+            continue;
+          }
+          requests.get(route).incrementAndGet();
+          if (error != 0) {
+            synchronized (random) {
+              write(exchange, error, StubResponses.errors(error, random));
+            }
+            return;
+          }
+          final StubRequest request = new StubRequest(matcher,
+              exchange.getRequestURI().getRawQuery(), body);
+          final TransactionSimulator currentSimulator = simulator;
+          final StubReply reply = currentSimulator != null
+              ? currentSimulator.respond(route, request) : null;
+          if (reply != null) {
+            write(exchange, reply.getStatus(), reply.getBody());
+          } else {
+            write(exchange, 200, route.respond(request, current));
+          }
+          return;
+        }
+        write(exchange, 404, "Not Found");
+      } finally {
+        exchange.close();
+      }
+    }
+
+    private void sleep(long millis) {
+      if (millis <= 0) {
+        return;
+      }
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private String read(InputStream input) throws IOException {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[4096];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toString(CHARSET);
+    }
+
+    private void write(HttpExchange exchange, int status, String body) throws IOException {
+      final byte[] bytes = body.getBytes(CHARSET);
+      exchange.getResponseHeaders().set("Content-Type", "application/xml;charset=" + CHARSET);
+      exchange.sendResponseHeaders(status, bytes.length);
+      final OutputStream output = exchange.getResponseBody();
+      output.write(bytes);
+      output.close();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import br.com.uol.pagseguro.api.common.domain.PreApprovalStatus;
+
+/**
+ * Pre approval kept by the stub server
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class SimulatedPreApproval {
+
+  private final String code;
+
+  private final String name;
+
+  private final String reference;
+
+  private final String charge;
+
+  private final long date;
+
+  private PreApprovalStatus.Status status;
+
+  private long lastEventDate;
+
+  private int version;
+
+  SimulatedPreApproval(String code, String name, String reference, String charge, long date,
+                       PreApprovalStatus.Status status) {
+    this.code = code;
+    this.name = name;
+    this.reference = reference;
+    this.charge = charge;
+    this.date = date;
+    this.status = status;
+    this.lastEventDate = date;
+  }
+
+  String getCode() {
+    return code;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  String getReference() {
+    return reference;
+  }
+
+  String getCharge() {
+    return charge;
+  }
+
+  long getDate() {
+    return date;
+  }
+
+  synchronized PreApprovalStatus.Status getStatus() {
+    return status;
+  }
+
+  synchronized long getLastEventDate() {
+    return lastEventDate;
+  }
+
+  synchronized int getVersion() {
+    return version;
+  }
+
+  /**
+   * Move the pre approval to another status
+   *
+   * @param status Status
+   * @param millis Date of the event
+   */
+  synchronized void transition(PreApprovalStatus.Status status, long millis) {
+    this.status = status;
+    this.lastEventDate = millis;
+    this.version++;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+
+/**
+ * Transaction kept by the stub server. The status and the last event date change along the
+ * lifecycle, the other fields are fixed on creation
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class SimulatedTransaction {
+
+  private final String code;
+
+  private final String reference;
+
+  private final long date;
+
+  private final List<StubItem> items;
+
+  private final BigDecimal grossAmount;
+
+  private final String senderName;
+
+  private final String senderEmail;
+
+  private TransactionStatus.Status status;
+
+  private long lastEventDate;
+
+  private int version;
+
+  SimulatedTransaction(String code, String reference, long date, List<StubItem> items,
+                       String senderName, String senderEmail, TransactionStatus.Status status) {
+    this.code = code;
+    this.reference = reference;
+    this.date = date;
+    this.items = items;
+    this.grossAmount = StubItem.total(items);
+    this.senderName = senderName;
+    this.senderEmail = senderEmail;
+    this.status = status;
+    this.lastEventDate = date;
+  }
+
+  /**
+   * Create a transaction from the parameters of a payment request
+   *
+   * @param code    Code
+   * @param request Request
+   * @param date    Creation date
+   * @param status  Initial status
+   * @return Transaction
+   */
+  static SimulatedTransaction fromRequest(String code, StubRequest request, long date,
+                                          TransactionStatus.Status status) {
+    return new SimulatedTransaction(code, request.getParameter("reference"), date,
+        StubItem.fromRequest(request), request.getParameter("senderName"),
+        request.getParameter("senderEmail"), status);
+  }
+
+  String getCode() {
+    return code;
+  }
+
+  String getReference() {
+    return reference;
+  }
+
+  long getDate() {
+    return date;
+  }
+
+  List<StubItem> getItems() {
+    return items;
+  }
+
+  BigDecimal getGrossAmount() {
+    return grossAmount;
+  }
+
+  String getSenderName() {
+    return senderName;
+  }
+
+  String getSenderEmail() {
+    return senderEmail;
+  }
+
+  synchronized TransactionStatus.Status getStatus() {
+    return status;
+  }
+
+  synchronized long getLastEventDate() {
+    return lastEventDate;
+  }
+
+  synchronized int getVersion() {
+    return version;
+  }
+
+  /**
+   * Move the transaction to another status
+   *
+   * @param status Status
+   * @param millis Date of the event
+   */
+  synchronized void transition(TransactionStatus.Status status, long millis) {
+    this.status = status;
+    this.lastEventDate = millis;
+    this.version++;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Item of a transaction answered by the stub server
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class StubItem {
+
+  private static final BigDecimal DEFAULT_AMOUNT = new BigDecimal("100.00");
+
+  private final String id;
+
+  private final String description;
+
+  private final int quantity;
+
+  private final BigDecimal amount;
+
+  StubItem(String id, String description, int quantity, BigDecimal amount) {
+    this.id = id;
+    this.description = description;
+    this.quantity = quantity;
+    this.amount = amount;
+  }
+
+  String getId() {
+    return id;
+  }
+
+  String getDescription() {
+    return description;
+  }
+
+  int getQuantity() {
+    return quantity;
+  }
+
+  BigDecimal getAmount() {
+    return amount;
+  }
+
+  /**
+   * Read the items of the request ({@code itemId1}, {@code itemAmount1}...). Requests without
+   * items get a single default item
+   *
+   * @param request Request
+   * @return Items
+   */
+  static List<StubItem> fromRequest(StubRequest request) {
+    final List<StubItem> items = new ArrayList<StubItem>();
+    for (int i = 1; request.getParameter("itemId" + i) != null; i++) {
+      items.add(new StubItem(request.getParameter("itemId" + i),
+          request.getParameter("itemDescription" + i), request.getInteger("itemQuantity" + i, 1),
+          amount(request.getParameter("itemAmount" + i))));
+    }
+    if (items.isEmpty()) {
+      return Collections.singletonList(new StubItem("0001", "Produto", 1, DEFAULT_AMOUNT));
+    }
+    return items;
+  }
+
+  /**
+   * Sum the amounts of the items
+   *
+   * @param items Items
+   * @return Gross amount
+   */
+  static BigDecimal total(List<StubItem> items) {
+    BigDecimal total = BigDecimal.ZERO;
+    for (StubItem item : items) {
+      total = total.add(item.amount.multiply(BigDecimal.valueOf(item.quantity)));
+    }
+    return total;
+  }
+
+  private static BigDecimal amount(String value) {
+    try {
+      return value == null ? DEFAULT_AMOUNT : new BigDecimal(value);
+    } catch (NumberFormatException e) {
+      return DEFAULT_AMOUNT;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.util.Random;
+
+/**
+ * Behaviour of the stub server: latency distribution, error rate and size of the search results.
+ * The default profile answers immediately and never fails
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see StubProfileBuilder
+ */
+public class StubProfile {
+
+  /**
+   * Default profile
+   */
+  public static final StubProfile DEFAULT = new StubProfileBuilder().build();
+
+  private final double medianMillis;
+
+  private final double sigma;
+
+  private final double errorRate;
+
+  private final int[] errorStatuses;
+
+  private final int[] errorWeights;
+
+  private final int totalWeight;
+
+  private final int searchResults;
+
+  private final long seed;
+
+  /**
+   * Constructor
+   *
+   * @param builder Builder
+   * @see StubProfileBuilder
+   */
+  StubProfile(StubProfileBuilder builder) {
+    this.medianMillis = builder.getMedianMillis();
+    this.sigma = builder.getSigma();
+    this.errorRate = builder.getErrorRate();
+    this.errorStatuses = builder.getErrorStatuses();
+    this.errorWeights = builder.getErrorWeights();
+    int totalWeight = 0;
+    for (int weight : errorWeights) {
+      totalWeight += weight;
+    }
+    this.totalWeight = totalWeight;
+    this.searchResults = builder.getSearchResults();
+    this.seed = builder.getSeed();
+  }
+
+  /**
+   * Get median of the latency in milliseconds
+   *
+   * @return Median latency
+   */
+  public double getMedianMillis() {
+    return medianMillis;
+  }
+
+  /**
+   * Get rate of requests answered with an error
+   *
+   * @return Error rate between 0 and 1
+   */
+  public double getErrorRate() {
+    return errorRate;
+  }
+
+  /**
+   * Get total of results of the searches
+   *
+   * @return Total of results
+   */
+  public int getSearchResults() {
+    return searchResults;
+  }
+
+  /**
+   * Get seed of the random generator
+   *
+   * @return Seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Sample a latency. The latency follows a log-normal distribution
+   *
+   * @param random Random generator
+   * @return Latency in milliseconds
+   */
+  long sampleLatency(Random random) {
+    if (medianMillis <= 0) {
+      return 0;
+    }
+    return Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+  }
+
+  /**
+   * Sample the status of the response
+   *
+   * @param random Random generator
+   * @return Error status or zero if the request must succeed
+   */
+  int sampleError(Random random) {
+    if (errorRate <= 0 || random.nextDouble() >= errorRate) {
+      return 0;
+    }
+    int value = random.nextInt(totalWeight);
+    for (int i = 0; i < errorStatuses.length; i++) {
+      value -= errorWeights[i];
+      if (value < 0) {
+        return errorStatuses[i];
+      }
+    }
+    return errorStatuses[errorStatuses.length - 1];
+  }
+
+  @Override
+  public String toString() {
+    return "StubProfile{" +
+           "medianMillis=" + medianMillis +
+           ", sigma=" + sigma +
+           ", errorRate=" + errorRate +
+           ", searchResults=" + searchResults +
+           ", seed=" + seed +
+           '}';
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.uol.pagseguro.api.utils.Builder;
+
+/**
+ * Builder for stub profile
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see StubProfile
+ */
+public final class StubProfileBuilder implements Builder<StubProfile> {
+
+  /**
+   * Quantile of the standard normal distribution at 99%
+   */
+  private static final double Z_99 = 2.326;
+
+  private double medianMillis = 0;
+
+  private double sigma = 0;
+
+  private double errorRate = 0;
+
+  private final List<int[]> errors = new ArrayList<int[]>();
+
+  private int searchResults = 25;
+
+  private long seed = System.nanoTime();
+
+  /**
+   * Set a log-normal latency
+   *
+   * @param medianMillis Median in milliseconds
+   * @param p99Millis    Percentile 99 in milliseconds
+   * @return Builder for stub profile
+   */
+  public StubProfileBuilder withLatency(long medianMillis, long p99Millis) {
+    if (medianMillis < 0 || p99Millis < medianMillis) {
+      throw new IllegalArgumentException("latency must satisfy 0 <= median <= p99");
+    }
+    this.medianMillis = medianMillis;
+    this.sigma = medianMillis == 0 ? 0 : Math.log((double) p99Millis / medianMillis) / Z_99;
+    return this;
+  }
+
+  /**
+   * Set a fixed latency
+   *
+   * @param millis Latency in milliseconds
+   * @return Builder for stub profile
+   */
+  public StubProfileBuilder withFixedLatency(long millis) {
+    return withLatency(millis, millis);
+  }
+
+  /**
+   * Set rate of requests answered with an error
+   *
+   * @param errorRate Error rate between 0 and 1
+   * @return Builder for stub profile
+   */
+  public StubProfileBuilder withErrorRate(double errorRate) {
+    if (errorRate < 0 || errorRate > 1) {
+      throw new IllegalArgumentException("errorRate must be between 0 and 1");
+    }
+    this.errorRate = errorRate;
+    return this;
+  }
+
+  /**
+   * Add a http status to the errors. Without statuses the errors are answered with 500
+   *
+   * @param status Http status, like 400 or 503
+   * @param weight Relative weight of the status
+   * @return Builder for stub profile
+   */
+  public StubProfileBuilder withErrorStatus(int status, int weight) {
+    if (status < 400 || status > 599) {
+      throw new IllegalArgumentException("status must be a http error");
+    }
+    if (weight <= 0) {
+      throw new IllegalArgumentException("weight must be positive");
+    }
+    errors.add(new int[]{status, weight});
+    return this;
+  }
+
+  /**
+   * Set total of results of the searches
+   *
+   * @param searchResults Total of results
+   * @return Builder for stub profile
+   */
+  public StubProfileBuilder withSearchResults(int searchResults) {
+    if (searchResults < 0) {
+      throw new IllegalArgumentException("searchResults must not be negative");
+    }
+    this.searchResults = searchResults;
+    return this;
+  }
+
+  /**
+   * Set seed of the random generator, so runs can be reproduced
+   *
+   * @param seed Seed
+   * @return Builder for stub profile
+   */
+  public StubProfileBuilder withSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  double getMedianMillis() {
+    return medianMillis;
+  }
+
+  double getSigma() {
+    return sigma;
+  }
+
+  double getErrorRate() {
+    return errorRate;
+  }
+
+  int[] getErrorStatuses() {
+    if (errors.isEmpty()) {
+      return new int[]{500};
+    }
+    final int[] statuses = new int[errors.size()];
+    for (int i = 0; i < statuses.length; i++) {
+      statuses[i] = errors.get(i)[0];
+    }
+    return statuses;
+  }
+
+  int[] getErrorWeights() {
+    if (errors.isEmpty()) {
+      return new int[]{1};
+    }
+    final int[] weights = new int[errors.size()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = errors.get(i)[1];
+    }
+    return weights;
+  }
+
+  int getSearchResults() {
+    return searchResults;
+  }
+
+  long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Build the stub profile
+   *
+   * @return Stub profile
+   * @see StubProfile
+   */
+  @Override
+  public StubProfile build() {
+    return new StubProfile(this);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+/**
+ * Response written by the stub server
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class StubReply {
+
+  private final int status;
+
+  private final String body;
+
+  StubReply(int status, String body) {
+    this.status = status;
+    this.body = body;
+  }
+
+  static StubReply ok(String body) {
+    return new StubReply(200, body);
+  }
+
+  static StubReply badRequest(String code, String message) {
+    return new StubReply(400, StubResponses.error(code, message));
+  }
+
+  static StubReply notFound() {
+    return new StubReply(404, "Not Found");
+  }
+
+  int getStatus() {
+    return status;
+  }
+
+  String getBody() {
+    return body;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * Request received by the stub server
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+class StubRequest {
+
+  private static final String CHARSET = "ISO-8859-1";
+
+  private final Matcher path;
+
+  private final Map<String, String> parameters;
+
+  /**
+   * Constructor
+   *
+   * @param path  Path matched by the route
+   * @param query Query string or null
+   * @param body  Form body or null
+   */
+  StubRequest(Matcher path, String query, String body) {
+    this.path = path;
+    this.parameters = new HashMap<String, String>();
+    parse(query);
+    parse(body);
+  }
+
+  /**
+   * Get group of the path matched by the route
+   *
+   * @param group Group
+   * @return Value of group
+   */
+  String getPathGroup(int group) {
+    return path.group(group);
+  }
+
+  /**
+   * Get parameter of query string or form body
+   *
+   * @param name Name
+   * @return Value or null
+   */
+  String getParameter(String name) {
+    return parameters.get(name);
+  }
+
+  /**
+   * Get parameter as integer
+   *
+   * @param name         Name
+   * @param defaultValue Value if the parameter is absent or invalid
+   * @return Value
+   */
+  int getInteger(String name, int defaultValue) {
+    try {
+      return Integer.parseInt(parameters.get(name));
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /**
+   * Get page of a search
+   *
+   * @return Page, starting at 1
+   */
+  int getPage() {
+    return Math.max(1, getInteger("page", 1));
+  }
+
+  /**
+   * Get size of the pages of a search
+   *
+   * @return Page size
+   */
+  int getPageSize() {
+    return Math.max(1, getInteger("maxPageResults", 50));
+  }
+
+  /**
+   * Get parameter as date, in the format of the searches ({@code yyyy-MM-dd'T'HH:mm})
+   *
+   * @param name         Name
+   * @param defaultValue Value if the parameter is absent or invalid
+   * @return Date in milliseconds
+   */
+  long getDate(String name, long defaultValue) {
+    final String value = parameters.get(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm").parse(value).getTime();
+    } catch (ParseException e) {
+      return defaultValue;
+    }
+  }
+
+  /**
+   * Parse url encoded parameters
+   *
+   * @param encoded Url encoded parameters
+   */
+  private void parse(String encoded) {
+    if (encoded == null || encoded.isEmpty()) {
+      return;
+    }
+    try {
+      for (String pair : encoded.split("&")) {
+        final int separator = pair.indexOf('=');
+        if (separator > 0) {
+          parameters.put(URLDecoder.decode(pair.substring(0, separator), CHARSET),
+              URLDecoder.decode(pair.substring(separator + 1), CHARSET));
+        }
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
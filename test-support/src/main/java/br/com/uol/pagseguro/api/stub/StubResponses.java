@@ -0,0 +1,406 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import br.com.uol.pagseguro.api.common.domain.PreApprovalStatus;
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+
+/**
+ * Xml payloads of the stub server, following the format of the PagSeguro responses
+ *
+ * @author PagSeguro Internet Ltda.
+ */
+final class StubResponses {
+
+  private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\" "
+                                       + "standalone=\"yes\"?>";
+
+  private static final BigDecimal DEFAULT_AMOUNT = new BigDecimal("100.00");
+
+  private static final BigDecimal MONTHLY_INTEREST = new BigDecimal("0.0199");
+
+  private static final BigDecimal FEE_RATE = new BigDecimal("0.0399");
+
+  private static final BigDecimal FEE_RATE_AMOUNT = new BigDecimal("0.40");
+
+  private static final List<StubItem> DEFAULT_ITEMS = Collections.singletonList(
+      new StubItem("0001", "Produto", 1, DEFAULT_AMOUNT));
+
+  private StubResponses() {
+  }
+
+  static String checkout() {
+    return PROLOG + "<checkout><code>" + code() + "</code><date>" + now() + "</date></checkout>";
+  }
+
+  static String result() {
+    return PROLOG + "<result>OK</result>";
+  }
+
+  static String session() {
+    return PROLOG + "<session><id>" + code().toLowerCase(Locale.ENGLISH) + "</id></session>";
+  }
+
+  static String transaction(String code, StubRequest request) {
+    return transaction(SimulatedTransaction.fromRequest(code != null ? code : transactionCode(),
+        request, System.currentTimeMillis(), TransactionStatus.Status.WAITING_PAYMENT));
+  }
+
+  static String transaction(SimulatedTransaction transaction) {
+    final StringBuilder items = new StringBuilder();
+    for (StubItem item : transaction.getItems()) {
+      items.append("<item>")
+          .append(element("id", item.getId()))
+          .append(element("description", item.getDescription()))
+          .append("<quantity>").append(item.getQuantity()).append("</quantity>")
+          .append("<amount>").append(item.getAmount()).append("</amount>")
+          .append("</item>");
+    }
+    final BigDecimal gross = transaction.getGrossAmount().setScale(2, RoundingMode.HALF_EVEN);
+    final BigDecimal fee = fee(gross);
+    return PROLOG + "<transaction>" +
+           "<date>" + format(transaction.getDate()) + "</date>" +
+           "<code>" + transaction.getCode() + "</code>" +
+           element("reference", transaction.getReference()) +
+           "<type>1</type>" +
+           "<status>" + statusId(transaction.getStatus()) + "</status>" +
+           "<lastEventDate>" + format(transaction.getLastEventDate()) + "</lastEventDate>" +
+           "<paymentMethod><type>1</type><code>101</code></paymentMethod>" +
+           "<grossAmount>" + gross + "</grossAmount>" +
+           "<discountAmount>0.00</discountAmount>" +
+           "<creditorFees>" +
+           "<intermediationRateAmount>" + FEE_RATE_AMOUNT + "</intermediationRateAmount>" +
+           "<intermediationFeeAmount>" + fee.subtract(FEE_RATE_AMOUNT) +
+           "</intermediationFeeAmount>" +
+           "</creditorFees>" +
+           "<netAmount>" + gross.subtract(fee) + "</netAmount>" +
+           "<extraAmount>0.00</extraAmount>" +
+           "<installmentCount>1</installmentCount>" +
+           "<itemCount>" + transaction.getItems().size() + "</itemCount>" +
+           "<items>" + items + "</items>" +
+           "<sender>" +
+           element("name", value(transaction.getSenderName(), "Comprador")) +
+           element("email",
+               value(transaction.getSenderEmail(), "comprador@sandbox.pagseguro.com.br")) +
+           "<phone><areaCode>11</areaCode><number>999999999</number></phone>" +
+           "</sender>" +
+           "<shipping>" +
+           "<address><street>Av. Brigadeiro Faria Lima</street><number>1384</number>" +
+           "<complement>5o andar</complement><district>Jardim Paulistano</district>" +
+           "<city>Sao Paulo</city><state>SP</state><country>BRA</country>" +
+           "<postalCode>01452002</postalCode></address>" +
+           "<type>3</type><cost>0.00</cost>" +
+           "</shipping>" +
+           "</transaction>";
+  }
+
+  static String transactionSearch(StubRequest request, int total) {
+    final int pageSize = request.getPageSize();
+    final int page = request.getPage();
+    final int first = (page - 1) * pageSize;
+    final int size = Math.max(0, Math.min(pageSize, total - first));
+    final long now = System.currentTimeMillis();
+    final List<SimulatedTransaction> transactions = new ArrayList<SimulatedTransaction>(size);
+    for (int i = 0; i < size; i++) {
+      transactions.add(new SimulatedTransaction(transactionCode(), "REF" + (first + i + 1), now,
+          DEFAULT_ITEMS, null, null, TransactionStatus.Status.APPROVED));
+    }
+    return transactionSearch(transactions, page, (total + pageSize - 1) / pageSize, now);
+  }
+
+  static String transactionSearch(List<SimulatedTransaction> transactions, int page,
+                                  int totalPages, long now) {
+    final StringBuilder summaries = new StringBuilder();
+    for (SimulatedTransaction transaction : transactions) {
+      final BigDecimal gross = transaction.getGrossAmount().setScale(2, RoundingMode.HALF_EVEN);
+      final BigDecimal fee = fee(gross);
+      summaries.append("<transaction>")
+          .append("<date>").append(format(transaction.getDate())).append("</date>")
+          .append("<code>").append(transaction.getCode()).append("</code>")
+          .append(element("reference", transaction.getReference()))
+          .append("<type>1</type>")
+          .append("<status>").append(statusId(transaction.getStatus())).append("</status>")
+          .append("<lastEventDate>").append(format(transaction.getLastEventDate()))
+          .append("</lastEventDate>")
+          .append("<paymentMethod><type>1</type></paymentMethod>")
+          .append("<grossAmount>").append(gross).append("</grossAmount>")
+          .append("<discountAmount>0.00</discountAmount>")
+          .append("<feeAmount>").append(fee).append("</feeAmount>")
+          .append("<netAmount>").append(gross.subtract(fee)).append("</netAmount>")
+          .append("<extraAmount>0.00</extraAmount>")
+          .append("</transaction>");
+    }
+    return PROLOG + "<transactionSearchResult>" +
+           "<date>" + format(now) + "</date>" +
+           "<currentPage>" + page + "</currentPage>" +
+           "<resultsInThisPage>" + transactions.size() + "</resultsInThisPage>" +
+           "<totalPages>" + totalPages + "</totalPages>" +
+           "<transactions>" + summaries + "</transactions>" +
+           "</transactionSearchResult>";
+  }
+
+  static String installments(StubRequest request) {
+    final BigDecimal amount = amount(request.getParameter("amount"));
+    final String brand = value(request.getParameter("cardBrand"), "visa");
+    final int noInterest = Math.max(1, request.getInteger("maxInstallmentNoInterest", 1));
+    final StringBuilder installments = new StringBuilder();
+    for (int quantity = 1; quantity <= 12; quantity++) {
+      final BigDecimal total = quantity <= noInterest ? amount
+          : amount.multiply(BigDecimal.ONE.add(MONTHLY_INTEREST).pow(quantity - 1));
+      final BigDecimal each = total.divide(BigDecimal.valueOf(quantity), 2, RoundingMode.HALF_UP);
+      installments.append("<installment>")
+          .append(element("cardBrand", brand))
+          .append("<quantity>").append(quantity).append("</quantity>")
+          .append("<amount>").append(each).append("</amount>")
+          .append("<totalAmount>").append(each.multiply(BigDecimal.valueOf(quantity)))
+          .append("</totalAmount>")
+          .append("<interestFree>").append(quantity <= noInterest).append("</interestFree>")
+          .append("</installment>");
+    }
+    return PROLOG + "<installments>" + installments + "</installments>";
+  }
+
+  static String preApprovalRequest() {
+    return preApprovalRequest(code(), System.currentTimeMillis());
+  }
+
+  static String preApprovalRequest(String code, long date) {
+    return PROLOG + "<preApprovalRequest><code>" + code + "</code><date>" + format(date) +
+           "</date></preApprovalRequest>";
+  }
+
+  static String preApprovalCharge() {
+    return preApprovalCharge(code(), System.currentTimeMillis());
+  }
+
+  static String preApprovalCharge(String transactionCode, long date) {
+    return PROLOG + "<result><transactionCode>" + transactionCode + "</transactionCode><date>" +
+           format(date) + "</date></result>";
+  }
+
+  static String preApprovalCancel() {
+    return preApprovalCancel(System.currentTimeMillis());
+  }
+
+  static String preApprovalCancel(long date) {
+    return PROLOG + "<result><date>" + format(date) + "</date><status>OK</status></result>";
+  }
+
+  static String preApproval(String code) {
+    return preApproval(defaultPreApproval(code, "REF1"));
+  }
+
+  static String preApproval(SimulatedPreApproval preApproval) {
+    return PROLOG + preApprovalElement(preApproval);
+  }
+
+  static String preApprovalSearch(StubRequest request, int total) {
+    final int pageSize = request.getPageSize();
+    final int page = request.getPage();
+    final int first = (page - 1) * pageSize;
+    final int size = Math.max(0, Math.min(pageSize, total - first));
+    final List<SimulatedPreApproval> preApprovals = new ArrayList<SimulatedPreApproval>(size);
+    for (int i = 0; i < size; i++) {
+      preApprovals.add(defaultPreApproval(code(), "REF" + (first + i + 1)));
+    }
+    return preApprovalSearch(preApprovals, page, (total + pageSize - 1) / pageSize,
+        System.currentTimeMillis());
+  }
+
+  static String preApprovalSearch(List<SimulatedPreApproval> preApprovals, int page,
+                                  int totalPages, long now) {
+    final StringBuilder elements = new StringBuilder();
+    for (SimulatedPreApproval preApproval : preApprovals) {
+      elements.append(preApprovalElement(preApproval));
+    }
+    return PROLOG + "<preApprovalSearchResult>" +
+           "<date>" + format(now) + "</date>" +
+           "<currentPage>" + page + "</currentPage>" +
+           "<resultsInThisPage>" + preApprovals.size() + "</resultsInThisPage>" +
+           "<totalPages>" + totalPages + "</totalPages>" +
+           "<preApprovals>" + elements + "</preApprovals>" +
+           "</preApprovalSearchResult>";
+  }
+
+  static String authorizationRequest() {
+    return PROLOG + "<authorizationRequest><code>" + code() + "</code><date>" + now() +
+           "</date></authorizationRequest>";
+  }
+
+  static String authorization(String code) {
+    return PROLOG + authorizationElement(code != null ? code : code(), "AUTH1");
+  }
+
+  static String authorizationSearch(StubRequest request, int total) {
+    final int pageSize = request.getPageSize();
+    final int totalPages = (total + pageSize - 1) / pageSize;
+    final int page = request.getPage();
+    final int first = (page - 1) * pageSize;
+    final int size = Math.max(0, Math.min(pageSize, total - first));
+    final StringBuilder authorizations = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      authorizations.append(authorizationElement(code(), "AUTH" + (first + i + 1)));
+    }
+    return PROLOG + "<authorizationSearchResult>" +
+           "<date>" + now() + "</date>" +
+           "<authorizations>" + authorizations + "</authorizations>" +
+           "<resultsInThisPage>" + size + "</resultsInThisPage>" +
+           "<currentPage>" + page + "</currentPage>" +
+           "<totalPages>" + totalPages + "</totalPages>" +
+           "</authorizationSearchResult>";
+  }
+
+  static String errors(int status, Random random) {
+    switch (status) {
+      case 400:
+        final String[][] errors = {
+            {"11004", "Currency is required."},
+            {"11013", "senderAreaCode invalid value."},
+            {"53004", "items invalid quantity."},
+            {"10003", "Email invalid value."}};
+        final String[] error = errors[random.nextInt(errors.length)];
+        return error(error[0], error[1]);
+      case 401:
+        return "Unauthorized";
+      case 403:
+        return "Forbidden";
+      case 503:
+        return "Service Unavailable";
+      default:
+        return "Internal Server Error";
+    }
+  }
+
+  static String error(String code, String message) {
+    return PROLOG + "<errors><error><code>" + code + "</code><message>" + message +
+           "</message></error></errors>";
+  }
+
+  static String code() {
+    return UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ENGLISH);
+  }
+
+  static String transactionCode() {
+    return UUID.randomUUID().toString().toUpperCase(Locale.ENGLISH);
+  }
+
+  static String format(long millis) {
+    return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").format(new Date(millis));
+  }
+
+  private static SimulatedPreApproval defaultPreApproval(String code, String reference) {
+    return new SimulatedPreApproval(code, "Assinatura mensal", reference, "auto",
+        System.currentTimeMillis(), PreApprovalStatus.Status.ACTIVE);
+  }
+
+  private static String preApprovalElement(SimulatedPreApproval preApproval) {
+    return "<preApproval>" +
+           element("name", preApproval.getName()) +
+           element("code", preApproval.getCode()) +
+           "<date>" + format(preApproval.getDate()) + "</date>" +
+           "<tracker>" + preApproval.getCode().substring(0, 6) + "</tracker>" +
+           "<status>" + preApproval.getStatus().name() + "</status>" +
+           element("reference", preApproval.getReference()) +
+           "<lastEventDate>" + format(preApproval.getLastEventDate()) + "</lastEventDate>" +
+           element("charge", preApproval.getCharge()) +
+           "</preApproval>";
+  }
+
+  private static String authorizationElement(String code, String reference) {
+    final String date = now();
+    return "<authorization>" +
+           element("code", code) +
+           "<authorizerEmail>vendedor@sandbox.pagseguro.com.br</authorizerEmail>" +
+           "<creationDate>" + date + "</creationDate>" +
+           element("reference", reference) +
+           "<account><publicKey>PUB" + code() + "</publicKey></account>" +
+           "<permissions>" +
+           "<permission><code>CREATE_CHECKOUTS</code><status>APPROVED</status>" +
+           "<lastUpdate>" + date + "</lastUpdate></permission>" +
+           "<permission><code>SEARCH_TRANSACTIONS</code><status>APPROVED</status>" +
+           "<lastUpdate>" + date + "</lastUpdate></permission>" +
+           "</permissions>" +
+           "</authorization>";
+  }
+
+  private static String now() {
+    return format(System.currentTimeMillis());
+  }
+
+  private static BigDecimal amount(String value) {
+    try {
+      return value == null ? DEFAULT_AMOUNT : new BigDecimal(value);
+    } catch (NumberFormatException e) {
+      return DEFAULT_AMOUNT;
+    }
+  }
+
+  private static BigDecimal fee(BigDecimal gross) {
+    return gross.multiply(FEE_RATE).add(FEE_RATE_AMOUNT).setScale(2, RoundingMode.HALF_EVEN);
+  }
+
+  private static int statusId(TransactionStatus.Status status) {
+    switch (status) {
+      case WAITING_PAYMENT:
+        return 1;
+      case IN_REVIEW:
+        return 2;
+      case APPROVED:
+        return 3;
+      case AVAILABLE:
+        return 4;
+      case IN_DISPUTE:
+        return 5;
+      case RETURNED:
+        return 6;
+      case CANCELLED:
+        return 7;
+      default:
+        return 0;
+    }
+  }
+
+  private static String value(String value, String defaultValue) {
+    return value != null ? value : defaultValue;
+  }
+
+  private static String element(String name, String value) {
+    return value == null ? "" : "<" + name + ">" + escape(value) + "</" + name + ">";
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+}
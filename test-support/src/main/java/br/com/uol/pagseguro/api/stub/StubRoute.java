@@ -0,0 +1,230 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes answered by the stub server. The routes follow the endpoints of the library and are
+ * matched in the order they are declared
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see br.com.uol.pagseguro.api.Endpoints
+ */
+public enum StubRoute {
+
+  CHECKOUT_REQUEST("POST", "/v2/checkout") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.checkout();
+    }
+  },
+
+  TRANSACTION_CANCEL("POST", "/v2/transactions/cancels") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.result();
+    }
+  },
+
+  TRANSACTION_REFUND("POST", "/v2/transactions/refunds") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.result();
+    }
+  },
+
+  TRANSACTION_ABANDONED("GET", "/v2/transactions/abandoned") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.transactionSearch(request, profile.getSearchResults());
+    }
+  },
+
+  TRANSACTION_SEARCH_BY_NOTIFICATION_CODE("GET", "/v2/transactions/notifications/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.transaction(null, request);
+    }
+  },
+
+  TRANSACTION_SEARCH("GET", "/v3/transactions") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.transactionSearch(request, profile.getSearchResults());
+    }
+  },
+
+  TRANSACTION_SEARCH_BY_CODE("GET", "/v3/transactions/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.transaction(request.getPathGroup(1), request);
+    }
+  },
+
+  DIRECT_PAYMENT("POST", "/v2/transactions") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.transaction(null, request);
+    }
+  },
+
+  SPLIT_PAYMENT("POST", "/transactions/?") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.transaction(null, request);
+    }
+  },
+
+  SESSION_CREATE("POST", "(/v2)?/sessions") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.session();
+    }
+  },
+
+  INSTALLMENT_SEARCH("GET", "/v2/installments") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.installments(request);
+    }
+  },
+
+  PRE_APPROVAL_REQUEST("POST", "/v2/pre-approvals/request") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApprovalRequest();
+    }
+  },
+
+  PRE_APPROVAL_CHARGE("POST", "/v2/pre-approvals/payment") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApprovalCharge();
+    }
+  },
+
+  PRE_APPROVAL_CANCEL("GET", "/v2/pre-approvals/cancel/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApprovalCancel();
+    }
+  },
+
+  PRE_APPROVAL_SEARCH_BY_INTERVAL("GET", "/v2/pre-approvals/notifications") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApprovalSearch(request, profile.getSearchResults());
+    }
+  },
+
+  PRE_APPROVAL_SEARCH_BY_NOTIFICATION("GET", "/v2/pre-approvals/notifications/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApproval(StubResponses.code());
+    }
+  },
+
+  PRE_APPROVAL_SEARCH("GET", "/v2/pre-approvals") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApprovalSearch(request, profile.getSearchResults());
+    }
+  },
+
+  PRE_APPROVAL_SEARCH_BY_CODE("GET", "/v2/pre-approvals/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.preApproval(request.getPathGroup(1));
+    }
+  },
+
+  AUTHORIZATION_REQUEST("POST", "/v2/authorizations/request") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.authorizationRequest();
+    }
+  },
+
+  AUTHORIZATION_SEARCH_BY_NOTIFICATION_CODE("GET", "/v2/authorizations/notifications/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.authorization(null);
+    }
+  },
+
+  AUTHORIZATION_SEARCH("GET", "/v2/authorizations") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.authorizationSearch(request, profile.getSearchResults());
+    }
+  },
+
+  AUTHORIZATION_SEARCH_BY_CODE("GET", "/v2/authorizations/([^/]+)") {
+    @Override
+    String respond(StubRequest request, StubProfile profile) {
+      return StubResponses.authorization(request.getPathGroup(1));
+    }
+  };
+
+  private final String method;
+
+  private final Pattern path;
+
+  StubRoute(String method, String path) {
+    this.method = method;
+    this.path = Pattern.compile(path);
+  }
+
+  /**
+   * Get http method of the route
+   *
+   * @return Http method
+   */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * Answer the request
+   *
+   * @param request Request received
+   * @param profile Current profile
+   * @return Xml body of the response
+   */
+  abstract String respond(StubRequest request, StubProfile profile);
+
+  /**
+   * Match the path of the route
+   *
+   * @param method Http method
+   * @param path   Path of the request
+   * @return Matcher or null if the route does not match
+   */
+  Matcher match(String method, String path) {
+    if (!this.method.equals(method)) {
+      return null;
+    }
+    final Matcher matcher = this.path.matcher(path);
+    return matcher.matches() ? matcher : null;
+  }
+}
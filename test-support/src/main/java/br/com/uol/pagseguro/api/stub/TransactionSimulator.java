@@ -0,0 +1,635 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.uol.pagseguro.api.common.domain.PreApprovalStatus;
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+import br.com.uol.pagseguro.api.utils.Threads;
+import br.com.uol.pagseguro.api.utils.logging.Log;
+import br.com.uol.pagseguro.api.utils.logging.LoggerFactory;
+
+/**
+ * Stateful simulator of transactions and pre approvals. Attached to a stub server, it answers the
+ * payment, search, cancel and refund routes from its own state instead of static payloads.
+ *
+ * <p>Created transactions start as {@code WAITING_PAYMENT}. After the approval delay they are
+ * {@code APPROVED} (or {@code CANCELLED}, at the cancellation rate) and after the settlement delay
+ * they are {@code AVAILABLE} (or {@code RETURNED}, at the return rate). Pre approvals start as
+ * {@code PENDING} and are {@code ACTIVE} after the approval delay. Time only moves on
+ * {@link #advance(long, TimeUnit)}. Each status change creates a notification code, answered by
+ * the searches by notification, and is posted to the webhook when one is configured
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionSimulatorBuilder
+ * @see PagSeguroStubServer#setSimulator(TransactionSimulator)
+ */
+public class TransactionSimulator implements Closeable {
+
+  private static Log LOGGER = LoggerFactory.getLogger(TransactionSimulator.class);
+
+  private static final String CHARSET = "ISO-8859-1";
+
+  private static final String TRANSACTION = "transaction";
+
+  private static final String PRE_APPROVAL = "preApproval";
+
+  private final VirtualClock clock;
+
+  private final long approvalDelay;
+
+  private final long settlementDelay;
+
+  private final double cancellationRate;
+
+  private final double returnRate;
+
+  private final URL webhook;
+
+  private final Random random;
+
+  private final ExecutorService deliveries;
+
+  private final ConcurrentMap<String, SimulatedTransaction> transactions =
+      new ConcurrentHashMap<String, SimulatedTransaction>();
+
+  private final List<SimulatedTransaction> transactionsByDate =
+      new ArrayList<SimulatedTransaction>();
+
+  private final ConcurrentMap<String, SimulatedPreApproval> preApprovals =
+      new ConcurrentHashMap<String, SimulatedPreApproval>();
+
+  private final List<SimulatedPreApproval> preApprovalsByDate =
+      new ArrayList<SimulatedPreApproval>();
+
+  private final ConcurrentMap<String, String> notifications =
+      new ConcurrentHashMap<String, String>();
+
+  private final PriorityQueue<Transition> schedule = new PriorityQueue<Transition>();
+
+  private final AtomicLong notificationCount = new AtomicLong();
+
+  private final AtomicLong deliveredCount = new AtomicLong();
+
+  private final AtomicLong failedDeliveryCount = new AtomicLong();
+
+  private long sequence;
+
+  /**
+   * Constructor
+   *
+   * @param builder Builder
+   * @see TransactionSimulatorBuilder
+   */
+  TransactionSimulator(TransactionSimulatorBuilder builder) {
+    this.clock = builder.getClock();
+    this.approvalDelay = builder.getApprovalDelay();
+    this.settlementDelay = builder.getSettlementDelay();
+    this.cancellationRate = builder.getCancellationRate();
+    this.returnRate = builder.getReturnRate();
+    this.webhook = builder.getWebhook();
+    this.random = new Random(builder.getSeed());
+    this.deliveries = webhook != null ? Threads.newTaskExecutor("pagseguro-simulator-") : null;
+  }
+
+  /**
+   * Get clock of the simulator
+   *
+   * @return Virtual clock
+   */
+  public VirtualClock getClock() {
+    return clock;
+  }
+
+  /**
+   * Move the clock forward, applying every status change due until the new time
+   *
+   * @param duration Duration
+   * @param unit     Unit of duration
+   * @return Count of status changes applied
+   */
+  public int advance(long duration, TimeUnit unit) {
+    final long now = clock.advance(duration, unit);
+    int applied = 0;
+    while (true) {
+      final Transition transition;
+      synchronized (schedule) {
+        final Transition next = schedule.peek();
+        if (next == null || next.due > now) {
+          return applied;
+        }
+        transition = schedule.poll();
+      }
+      if (transition.apply()) {
+        applied++;
+      }
+    }
+  }
+
+  /**
+   * Get count of transactions created
+   *
+   * @return Count of transactions
+   */
+  public int getTransactionCount() {
+    return transactions.size();
+  }
+
+  /**
+   * Get count of transactions on a status
+   *
+   * @param status Status
+   * @return Count of transactions
+   */
+  public int getTransactionCount(TransactionStatus.Status status) {
+    int count = 0;
+    for (SimulatedTransaction transaction : transactions.values()) {
+      if (transaction.getStatus() == status) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get count of pre approvals on a status
+   *
+   * @param status Status
+   * @return Count of pre approvals
+   */
+  public int getPreApprovalCount(PreApprovalStatus.Status status) {
+    int count = 0;
+    for (SimulatedPreApproval preApproval : preApprovals.values()) {
+      if (preApproval.getStatus() == status) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get count of notifications created
+   *
+   * @return Count of notifications
+   */
+  public long getNotificationCount() {
+    return notificationCount.get();
+  }
+
+  /**
+   * Get count of notifications accepted by the webhook
+   *
+   * @return Count of notifications delivered
+   */
+  public long getDeliveredCount() {
+    return deliveredCount.get();
+  }
+
+  /**
+   * Get count of notifications not accepted by the webhook
+   *
+   * @return Count of notifications not delivered
+   */
+  public long getFailedDeliveryCount() {
+    return failedDeliveryCount.get();
+  }
+
+  /**
+   * Stop the delivery of notifications
+   */
+  @Override
+  public void close() {
+    if (deliveries != null) {
+      deliveries.shutdownNow();
+    }
+  }
+
+  /**
+   * Answer a request from the state of the simulator
+   *
+   * @param route   Route matched
+   * @param request Request
+   * @return Reply or null if the route is not simulated
+   */
+  StubReply respond(StubRoute route, StubRequest request) {
+    switch (route) {
+      case CHECKOUT_REQUEST:
+        createTransaction(request, null);
+        return StubReply.ok(StubResponses.checkout());
+      case DIRECT_PAYMENT:
+      case SPLIT_PAYMENT:
+        return StubReply.ok(StubResponses.transaction(createTransaction(request, null)));
+      case TRANSACTION_SEARCH_BY_CODE:
+        return transactionReply(transactions.get(request.getPathGroup(1)));
+      case TRANSACTION_SEARCH_BY_NOTIFICATION_CODE:
+        return transactionReply(transactionByNotification(request.getPathGroup(1)));
+      case TRANSACTION_SEARCH:
+        return searchTransactions(request);
+      case TRANSACTION_ABANDONED:
+        return StubReply.ok(StubResponses.transactionSearch(
+            Collections.<SimulatedTransaction>emptyList(), 1, 0, clock.currentTimeMillis()));
+      case TRANSACTION_CANCEL:
+        return cancelTransaction(request.getParameter("transactionCode"));
+      case TRANSACTION_REFUND:
+        return refundTransaction(request.getParameter("transactionCode"));
+      case PRE_APPROVAL_REQUEST:
+        final SimulatedPreApproval created = createPreApproval(request);
+        return StubReply.ok(StubResponses.preApprovalRequest(created.getCode(),
+            created.getDate()));
+      case PRE_APPROVAL_CHARGE:
+        return chargePreApproval(request);
+      case PRE_APPROVAL_CANCEL:
+        return cancelPreApproval(request.getPathGroup(1));
+      case PRE_APPROVAL_SEARCH_BY_CODE:
+        return preApprovalReply(preApprovals.get(request.getPathGroup(1)));
+      case PRE_APPROVAL_SEARCH_BY_NOTIFICATION:
+        final String code = notifications.get(request.getPathGroup(1));
+        return preApprovalReply(code == null ? null : preApprovals.get(code));
+      case PRE_APPROVAL_SEARCH:
+        return searchPreApprovals(request, false);
+      case PRE_APPROVAL_SEARCH_BY_INTERVAL:
+        return searchPreApprovals(request, true);
+      default:
+        return null;
+    }
+  }
+
+  private SimulatedTransaction createTransaction(StubRequest request, String reference) {
+    final SimulatedTransaction transaction;
+    synchronized (transactionsByDate) {
+      final SimulatedTransaction fromRequest = SimulatedTransaction.fromRequest(
+          StubResponses.transactionCode(), request, clock.currentTimeMillis(),
+          TransactionStatus.Status.WAITING_PAYMENT);
+      transaction = reference == null ? fromRequest : new SimulatedTransaction(
+          fromRequest.getCode(), reference, fromRequest.getDate(), fromRequest.getItems(),
+          fromRequest.getSenderName(), fromRequest.getSenderEmail(),
+          TransactionStatus.Status.WAITING_PAYMENT);
+      transactionsByDate.add(transaction);
+      transactions.put(transaction.getCode(), transaction);
+    }
+    publish(transaction.getCode(), TRANSACTION);
+    scheduleApproval(transaction);
+    return transaction;
+  }
+
+  private SimulatedPreApproval createPreApproval(StubRequest request) {
+    final SimulatedPreApproval preApproval;
+    synchronized (preApprovalsByDate) {
+      preApproval = new SimulatedPreApproval(StubResponses.code(),
+          request.getParameter("preApprovalName"), request.getParameter("reference"),
+          request.getParameter("preApprovalCharge"), clock.currentTimeMillis(),
+          PreApprovalStatus.Status.PENDING);
+      preApprovalsByDate.add(preApproval);
+      preApprovals.put(preApproval.getCode(), preApproval);
+    }
+    final int version = preApproval.getVersion();
+    schedule(new Transition(preApproval.getDate() + approvalDelay) {
+      @Override
+      boolean apply() {
+        synchronized (preApproval) {
+          if (preApproval.getVersion() != version) {
+            return false;
+          }
+          preApproval.transition(PreApprovalStatus.Status.ACTIVE, due);
+        }
+        publish(preApproval.getCode(), PRE_APPROVAL);
+        return true;
+      }
+    });
+    return preApproval;
+  }
+
+  private void scheduleApproval(final SimulatedTransaction transaction) {
+    final int version = transaction.getVersion();
+    schedule(new Transition(transaction.getDate() + approvalDelay) {
+      @Override
+      boolean apply() {
+        final boolean cancelled = sample(cancellationRate);
+        synchronized (transaction) {
+          if (transaction.getVersion() != version) {
+            return false;
+          }
+          transaction.transition(cancelled ? TransactionStatus.Status.CANCELLED
+              : TransactionStatus.Status.APPROVED, due);
+        }
+        publish(transaction.getCode(), TRANSACTION);
+        if (!cancelled) {
+          scheduleSettlement(transaction, due);
+        }
+        return true;
+      }
+    });
+  }
+
+  private void scheduleSettlement(final SimulatedTransaction transaction, long approved) {
+    final int version = transaction.getVersion();
+    schedule(new Transition(approved + settlementDelay) {
+      @Override
+      boolean apply() {
+        final boolean returned = sample(returnRate);
+        synchronized (transaction) {
+          if (transaction.getVersion() != version) {
+            return false;
+          }
+          transaction.transition(returned ? TransactionStatus.Status.RETURNED
+              : TransactionStatus.Status.AVAILABLE, due);
+        }
+        publish(transaction.getCode(), TRANSACTION);
+        return true;
+      }
+    });
+  }
+
+  private StubReply cancelTransaction(String code) {
+    final SimulatedTransaction transaction = code == null ? null : transactions.get(code);
+    if (transaction == null) {
+      return StubReply.badRequest("13003", "transactionCode invalid value.");
+    }
+    synchronized (transaction) {
+      final TransactionStatus.Status status = transaction.getStatus();
+      if (status != TransactionStatus.Status.WAITING_PAYMENT
+          && status != TransactionStatus.Status.IN_REVIEW) {
+        return StubReply.badRequest("56002", "Cannot cancel transaction with current status.");
+      }
+      transaction.transition(TransactionStatus.Status.CANCELLED, clock.currentTimeMillis());
+    }
+    publish(code, TRANSACTION);
+    return StubReply.ok(StubResponses.result());
+  }
+
+  private StubReply refundTransaction(String code) {
+    final SimulatedTransaction transaction = code == null ? null : transactions.get(code);
+    if (transaction == null) {
+      return StubReply.badRequest("13003", "transactionCode invalid value.");
+    }
+    synchronized (transaction) {
+      final TransactionStatus.Status status = transaction.getStatus();
+      if (status != TransactionStatus.Status.APPROVED
+          && status != TransactionStatus.Status.AVAILABLE
+          && status != TransactionStatus.Status.IN_DISPUTE) {
+        return StubReply.badRequest("14007", "Invalid transaction status to refund.");
+      }
+      transaction.transition(TransactionStatus.Status.RETURNED, clock.currentTimeMillis());
+    }
+    publish(code, TRANSACTION);
+    return StubReply.ok(StubResponses.result());
+  }
+
+  private StubReply chargePreApproval(StubRequest request) {
+    final String code = request.getParameter("preApprovalCode");
+    final SimulatedPreApproval preApproval = code == null ? null : preApprovals.get(code);
+    if (preApproval == null) {
+      return StubReply.badRequest("17022", "preApprovalCode invalid value.");
+    }
+    if (preApproval.getStatus() != PreApprovalStatus.Status.ACTIVE) {
+      return StubReply.badRequest("17023", "Pre-approval is not active.");
+    }
+    final String reference = request.getParameter("reference");
+    final SimulatedTransaction transaction = createTransaction(request,
+        reference != null ? reference : preApproval.getReference());
+    return StubReply.ok(StubResponses.preApprovalCharge(transaction.getCode(),
+        transaction.getDate()));
+  }
+
+  private StubReply cancelPreApproval(String code) {
+    final SimulatedPreApproval preApproval = preApprovals.get(code);
+    if (preApproval == null) {
+      return StubReply.notFound();
+    }
+    final long now = clock.currentTimeMillis();
+    synchronized (preApproval) {
+      final PreApprovalStatus.Status status = preApproval.getStatus();
+      if (status != PreApprovalStatus.Status.PENDING
+          && status != PreApprovalStatus.Status.ACTIVE) {
+        return StubReply.badRequest("17024", "Pre-approval status does not allow cancellation.");
+      }
+      preApproval.transition(PreApprovalStatus.Status.CANCELLED, now);
+    }
+    publish(code, PRE_APPROVAL);
+    return StubReply.ok(StubResponses.preApprovalCancel(now));
+  }
+
+  private StubReply searchTransactions(StubRequest request) {
+    final long now = clock.currentTimeMillis();
+    final long from = request.getDate("initialDate", now - TimeUnit.DAYS.toMillis(30));
+    final long to = request.getDate("finalDate", now) + TimeUnit.MINUTES.toMillis(1);
+    final String reference = request.getParameter("reference");
+    final List<SimulatedTransaction> matches = new ArrayList<SimulatedTransaction>();
+    synchronized (transactionsByDate) {
+      for (int i = firstAtOrAfter(transactionsByDate, from); i < transactionsByDate.size(); i++) {
+        final SimulatedTransaction transaction = transactionsByDate.get(i);
+        if (transaction.getDate() >= to) {
+          break;
+        }
+        if (reference == null || reference.equals(transaction.getReference())) {
+          matches.add(transaction);
+        }
+      }
+    }
+    final int pageSize = request.getPageSize();
+    final int page = request.getPage();
+    return StubReply.ok(StubResponses.transactionSearch(page(matches, page, pageSize), page,
+        totalPages(matches.size(), pageSize), now));
+  }
+
+  private StubReply searchPreApprovals(StubRequest request, boolean byInterval) {
+    final long now = clock.currentTimeMillis();
+    final long from;
+    final long to;
+    if (byInterval) {
+      from = now - TimeUnit.DAYS.toMillis(request.getInteger("interval", 1));
+      to = Long.MAX_VALUE;
+    } else {
+      from = request.getDate("initialDate", now - TimeUnit.DAYS.toMillis(30));
+      to = request.getDate("finalDate", now) + TimeUnit.MINUTES.toMillis(1);
+    }
+    final String reference = request.getParameter("reference");
+    final List<SimulatedPreApproval> matches = new ArrayList<SimulatedPreApproval>();
+    synchronized (preApprovalsByDate) {
+      for (SimulatedPreApproval preApproval : preApprovalsByDate) {
+        final long date = byInterval ? preApproval.getLastEventDate() : preApproval.getDate();
+        if (date >= from && date < to
+            && (reference == null || reference.equals(preApproval.getReference()))) {
+          matches.add(preApproval);
+        }
+      }
+    }
+    final int pageSize = request.getPageSize();
+    final int page = request.getPage();
+    return StubReply.ok(StubResponses.preApprovalSearch(page(matches, page, pageSize), page,
+        totalPages(matches.size(), pageSize), now));
+  }
+
+  private SimulatedTransaction transactionByNotification(String notificationCode) {
+    final String code = notifications.get(notificationCode);
+    return code == null ? null : transactions.get(code);
+  }
+
+  private static StubReply transactionReply(SimulatedTransaction transaction) {
+    return transaction == null ? StubReply.notFound()
+        : StubReply.ok(StubResponses.transaction(transaction));
+  }
+
+  private static StubReply preApprovalReply(SimulatedPreApproval preApproval) {
+    return preApproval == null ? StubReply.notFound()
+        : StubReply.ok(StubResponses.preApproval(preApproval));
+  }
+
+  private static int firstAtOrAfter(List<SimulatedTransaction> byDate, long millis) {
+    int low = 0;
+    int high = byDate.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (byDate.get(middle).getDate() < millis) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static <T> List<T> page(List<T> all, int page, int pageSize) {
+    final int first = (page - 1) * pageSize;
+    if (first >= all.size()) {
+      return Collections.emptyList();
+    }
+    return all.subList(first, Math.min(all.size(), first + pageSize));
+  }
+
+  private static int totalPages(int total, int pageSize) {
+    return (total + pageSize - 1) / pageSize;
+  }
+
+  private boolean sample(double rate) {
+    synchronized (random) {
+      return random.nextDouble() < rate;
+    }
+  }
+
+  private void schedule(Transition transition) {
+    synchronized (schedule) {
+      transition.sequence = sequence++;
+      schedule.add(transition);
+    }
+  }
+
+  /**
+   * Create a notification of a status change and post it to the webhook
+   *
+   * @param code Code of the transaction or pre approval
+   * @param type Type of notification, like {@code transaction}
+   */
+  private void publish(String code, String type) {
+    final String notificationCode = StubResponses.transactionCode();
+    notifications.put(notificationCode, code);
+    notificationCount.incrementAndGet();
+    if (deliveries == null) {
+      return;
+    }
+    final String body;
+    try {
+      body = "notificationCode=" + URLEncoder.encode(notificationCode, CHARSET) +
+             "&notificationType=" + type;
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    deliveries.execute(new Runnable() {
+      @Override
+      public void run() {
+        deliver(body);
+      }
+    });
+  }
+
+  private void deliver(String body) {
+    HttpURLConnection connection = null;
+    try {
+      connection = (HttpURLConnection) webhook.openConnection();
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type",
+          "application/x-www-form-urlencoded; charset=" + CHARSET);
+      final OutputStream output = connection.getOutputStream();
+      output.write(body.getBytes(CHARSET));
+      output.close();
+      final int status = connection.getResponseCode();
+      if (status >= 200 && status < 300) {
+        deliveredCount.incrementAndGet();
+      } else {
+        failedDeliveryCount.incrementAndGet();
+        LOGGER.warn(String.format("Webhook recusou a notificacao [%d]", status));
+      }
+    } catch (IOException e) {
+      failedDeliveryCount.incrementAndGet();
+      LOGGER.warn("Erro ao enviar notificacao ao webhook", e);
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
+  /**
+   * Status change scheduled on the virtual clock
+   */
+  private abstract static class Transition implements Comparable<Transition> {
+
+    final long due;
+
+    long sequence;
+
+    Transition(long due) {
+      this.due = due;
+    }
+
+    /**
+     * Apply the status change
+     *
+     * @return False if the target changed since the scheduling and the change was discarded
+     */
+    abstract boolean apply();
+
+    @Override
+    public int compareTo(Transition other) {
+      if (due != other.due) {
+        return due < other.due ? -1 : 1;
+      }
+      return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+    }
+  }
+}
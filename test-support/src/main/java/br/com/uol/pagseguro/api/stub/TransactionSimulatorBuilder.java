@@ -0,0 +1,191 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.utils.Builder;
+
+/**
+ * Builder for transaction simulator
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionSimulator
+ */
+public final class TransactionSimulatorBuilder implements Builder<TransactionSimulator> {
+
+  private VirtualClock clock;
+
+  private long approvalDelay = TimeUnit.MINUTES.toMillis(2);
+
+  private long settlementDelay = TimeUnit.DAYS.toMillis(14);
+
+  private double cancellationRate = 0.05;
+
+  private double returnRate = 0.01;
+
+  private URL webhook;
+
+  private long seed = System.nanoTime();
+
+  /**
+   * Set the clock. By default a clock starting at the current time is used
+   *
+   * @param clock Virtual clock
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withClock(VirtualClock clock) {
+    if (clock == null) {
+      throw new NullPointerException("clock can not be null");
+    }
+    this.clock = clock;
+    return this;
+  }
+
+  /**
+   * Set the time from creation to approval or cancellation of transactions, and from request to
+   * activation of pre approvals. Default is 2 minutes
+   *
+   * @param delay Delay
+   * @param unit  Unit of delay
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withApprovalDelay(long delay, TimeUnit unit) {
+    if (delay < 0) {
+      throw new IllegalArgumentException("delay must not be negative");
+    }
+    this.approvalDelay = unit.toMillis(delay);
+    return this;
+  }
+
+  /**
+   * Set the time from approval to availability of transactions. Default is 14 days
+   *
+   * @param delay Delay
+   * @param unit  Unit of delay
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withSettlementDelay(long delay, TimeUnit unit) {
+    if (delay < 0) {
+      throw new IllegalArgumentException("delay must not be negative");
+    }
+    this.settlementDelay = unit.toMillis(delay);
+    return this;
+  }
+
+  /**
+   * Set share of transactions cancelled instead of approved. Default is 0.05
+   *
+   * @param cancellationRate Rate between 0 and 1
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withCancellationRate(double cancellationRate) {
+    if (cancellationRate < 0 || cancellationRate > 1) {
+      throw new IllegalArgumentException("cancellationRate must be between 0 and 1");
+    }
+    this.cancellationRate = cancellationRate;
+    return this;
+  }
+
+  /**
+   * Set share of approved transactions returned instead of available. Default is 0.01
+   *
+   * @param returnRate Rate between 0 and 1
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withReturnRate(double returnRate) {
+    if (returnRate < 0 || returnRate > 1) {
+      throw new IllegalArgumentException("returnRate must be between 0 and 1");
+    }
+    this.returnRate = returnRate;
+    return this;
+  }
+
+  /**
+   * Set url where the notifications are posted, like a notification http server
+   *
+   * @param webhook Url
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withWebhook(String webhook) {
+    if (webhook == null) {
+      throw new NullPointerException("webhook can not be null");
+    }
+    try {
+      this.webhook = new URL(webhook);
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException("webhook must be a valid url", e);
+    }
+    return this;
+  }
+
+  /**
+   * Set seed of the random generator, so runs can be reproduced
+   *
+   * @param seed Seed
+   * @return Builder for transaction simulator
+   */
+  public TransactionSimulatorBuilder withSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  VirtualClock getClock() {
+    return clock != null ? clock : new VirtualClock();
+  }
+
+  long getApprovalDelay() {
+    return approvalDelay;
+  }
+
+  long getSettlementDelay() {
+    return settlementDelay;
+  }
+
+  double getCancellationRate() {
+    return cancellationRate;
+  }
+
+  double getReturnRate() {
+    return returnRate;
+  }
+
+  URL getWebhook() {
+    return webhook;
+  }
+
+  long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Build the transaction simulator
+   *
+   * @return Transaction simulator
+   * @see TransactionSimulator
+   */
+  @Override
+  public TransactionSimulator build() {
+    return new TransactionSimulator(this);
+  }
+}
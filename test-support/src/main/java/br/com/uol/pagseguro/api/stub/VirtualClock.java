@@ -0,0 +1,82 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock of the simulator. The time only moves when it is advanced, so days of transaction
+ * lifecycle can be simulated in milliseconds
+ *
+ * @author PagSeguro Internet Ltda.
+ * @see TransactionSimulator#advance(long, TimeUnit)
+ */
+public class VirtualClock {
+
+  private final AtomicLong millis;
+
+  /**
+   * Constructor. Starts at the current time
+   */
+  public VirtualClock() {
+    this(System.currentTimeMillis());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param startMillis Start time in milliseconds since epoch
+   */
+  public VirtualClock(long startMillis) {
+    this.millis = new AtomicLong(startMillis);
+  }
+
+  /**
+   * Get current time
+   *
+   * @return Time in milliseconds since epoch
+   */
+  public long currentTimeMillis() {
+    return millis.get();
+  }
+
+  /**
+   * Move the clock forward
+   *
+   * @param duration Duration
+   * @param unit     Unit of duration
+   * @return Time after the advance
+   */
+  public long advance(long duration, TimeUnit unit) {
+    if (duration < 0) {
+      throw new IllegalArgumentException("duration must not be negative");
+    }
+    return millis.addAndGet(unit.toMillis(duration));
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualClock{" +
+           "millis=" + millis +
+           '}';
+  }
+}
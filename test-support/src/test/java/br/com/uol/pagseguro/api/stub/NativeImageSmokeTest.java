@@ -0,0 +1,71 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import br.com.uol.pagseguro.api.utils.xml.ResponseParser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class NativeImageSmokeTest {
+
+  private PagSeguroStubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new PagSeguroStubServer().start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.close();
+  }
+
+  @Test
+  public void shouldCallEveryOperationWithoutFallback() throws Exception {
+    ResponseParser parser = ResponseParser.getResponseParser();
+
+    List<String> operations = NativeImageSmoke.run(server);
+
+    assertEquals(18, operations.size());
+    assertSame(parser, ResponseParser.getResponseParser());
+    for (StubRoute route : new StubRoute[]{StubRoute.CHECKOUT_REQUEST,
+        StubRoute.DIRECT_PAYMENT, StubRoute.TRANSACTION_SEARCH_BY_CODE,
+        StubRoute.TRANSACTION_SEARCH, StubRoute.TRANSACTION_CANCEL,
+        StubRoute.TRANSACTION_REFUND, StubRoute.INSTALLMENT_SEARCH,
+        StubRoute.PRE_APPROVAL_REQUEST, StubRoute.PRE_APPROVAL_CHARGE,
+        StubRoute.PRE_APPROVAL_SEARCH_BY_CODE, StubRoute.PRE_APPROVAL_SEARCH,
+        StubRoute.PRE_APPROVAL_CANCEL, StubRoute.AUTHORIZATION_REQUEST,
+        StubRoute.AUTHORIZATION_SEARCH_BY_CODE, StubRoute.AUTHORIZATION_SEARCH}) {
+      assertEquals(route.name(), 1, server.getRequestCount(route));
+    }
+    assertEquals(2, server.getRequestCount(StubRoute.SESSION_CREATE));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistrationBuilder;
+import br.com.uol.pagseguro.api.checkout.RegisteredCheckout;
+import br.com.uol.pagseguro.api.common.domain.DataList;
+import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.exception.PagSeguroServiceUnavailableException;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSummary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class PagSeguroStubServerTest {
+
+  private PagSeguroStubServer server;
+
+  private PagSeguro pagSeguro;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new PagSeguroStubServer().start();
+    pagSeguro = server.client(Credential.sellerCredential("email@email.com", "token"));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.close();
+  }
+
+  @Test
+  public void shouldRegisterCheckout() throws Exception {
+    RegisteredCheckout registeredCheckout = pagSeguro.checkouts().register(
+        new CheckoutRegistrationBuilder()
+            .withCurrency(Currency.BRL)
+            .withReference("reference")
+            .addItem(new PaymentItemBuilder()
+                .withId("1")
+                .withDescription("description")
+                .withAmount(new BigDecimal("9.99"))
+                .withQuantity(1)));
+
+    assertNotNull(registeredCheckout.getCheckoutCode());
+    assertTrue(registeredCheckout.getRedirectURL().startsWith(server.getHost()));
+    assertEquals(1, server.getRequestCount(StubRoute.CHECKOUT_REQUEST));
+  }
+
+  @Test
+  public void shouldSearchTransactionsByPage() throws Exception {
+    server.setProfile(new StubProfileBuilder().withSearchResults(25).build());
+    DateRangeBuilder dateRange = new DateRangeBuilder().between(
+        new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)), new Date());
+
+    DataList<? extends TransactionSummary> first = pagSeguro.transactions().search()
+        .byDateRange(dateRange, 1, 10);
+    DataList<? extends TransactionSummary> last = pagSeguro.transactions().search()
+        .byDateRange(dateRange, 3, 10);
+
+    assertEquals(Integer.valueOf(3), first.getTotalPages());
+    assertEquals(10, first.getData().size());
+    assertEquals(5, last.getData().size());
+    assertEquals(2, server.getRequestCount(StubRoute.TRANSACTION_SEARCH));
+  }
+
+  @Test
+  public void shouldSearchTransactionByCode() throws Exception {
+    TransactionDetail transaction = pagSeguro.transactions().search().byCode("CODE");
+
+    assertEquals("CODE", transaction.getCode());
+    assertNotNull(transaction.getGrossAmount());
+    assertFalse(transaction.getItems().isEmpty());
+  }
+
+  @Test
+  public void shouldAnswerErrorsOfProfile() throws Exception {
+    server.setProfile(new StubProfileBuilder().withErrorRate(1).withErrorStatus(400, 1).build());
+    try {
+      pagSeguro.transactions().search().byCode("CODE");
+      fail();
+    } catch (PagSeguroBadRequestException e) {
+      assertEquals(1, e.getErrors().size());
+    }
+
+    server.setProfile(new StubProfileBuilder().withErrorRate(1).withErrorStatus(503, 1).build());
+    try {
+      pagSeguro.transactions().search().byCode("CODE");
+      fail();
+    } catch (PagSeguroServiceUnavailableException e) {
+      assertEquals(2, server.getRequestCount(StubRoute.TRANSACTION_SEARCH_BY_CODE));
+    }
+  }
+
+  @Test
+  public void shouldApplyLatencyOfProfile() throws Exception {
+    server.setProfile(new StubProfileBuilder().withFixedLatency(50).build());
+    long start = System.nanoTime();
+    pagSeguro.sessions().create();
+
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * 2007-2016 [PagSeguro Internet Ltda.]
+ *
+ * NOTICE OF LICENSE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright: 2007-2016 PagSeguro Internet Ltda.
+ * Licence: http://www.apache.org/licenses/LICENSE-2.0
+ */
+package br.com.uol.pagseguro.api.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import br.com.uol.pagseguro.api.PagSeguro;
+import br.com.uol.pagseguro.api.checkout.CheckoutRegistrationBuilder;
+import br.com.uol.pagseguro.api.common.domain.DataList;
+import br.com.uol.pagseguro.api.common.domain.TransactionStatus;
+import br.com.uol.pagseguro.api.common.domain.builder.DateRangeBuilder;
+import br.com.uol.pagseguro.api.common.domain.builder.PaymentItemBuilder;
+import br.com.uol.pagseguro.api.common.domain.enums.Currency;
+import br.com.uol.pagseguro.api.credential.Credential;
+import br.com.uol.pagseguro.api.exception.PagSeguroBadRequestException;
+import br.com.uol.pagseguro.api.transaction.search.TransactionDetail;
+import br.com.uol.pagseguro.api.transaction.search.TransactionSummary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * @author PagSeguro Internet Ltda.
+ */
+public class TransactionSimulatorTest {
+
+  private PagSeguroStubServer server;
+
+  private TransactionSimulator simulator;
+
+  private PagSeguro pagSeguro;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new PagSeguroStubServer().start();
+    pagSeguro = server.client(Credential.sellerCredential("email@email.com", "token"));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.close();
+    if (simulator != null) {
+      simulator.close();
+    }
+  }
+
+  @Test
+  public void shouldMoveTransactionsThroughLifecycle() throws Exception {
+    attach(new TransactionSimulatorBuilder()
+        .withApprovalDelay(1, TimeUnit.MINUTES)
+        .withSettlementDelay(14, TimeUnit.DAYS)
+        .withCancellationRate(0)
+        .withReturnRate(0));
+    register("reference");
+    register("reference");
+
+    TransactionSummary summary = searchAll().getData().get(0);
+    assertEquals(2, simulator.getTransactionCount());
+    assertEquals(TransactionStatus.Status.WAITING_PAYMENT, summary.getStatus().getStatus());
+
+    assertEquals(2, simulator.advance(1, TimeUnit.MINUTES));
+    assertEquals(TransactionStatus.Status.APPROVED, statusOf(summary.getCode()));
+
+    assertEquals(0, simulator.advance(13, TimeUnit.DAYS));
+    assertEquals(2, simulator.advance(1, TimeUnit.DAYS));
+    assertEquals(TransactionStatus.Status.AVAILABLE, statusOf(summary.getCode()));
+    assertEquals(2, simulator.getTransactionCount(TransactionStatus.Status.AVAILABLE));
+    assertEquals(6, simulator.getNotificationCount());
+  }
+
+  @Test
+  public void shouldCancelAndRefundByStatus() throws Exception {
+    attach(new TransactionSimulatorBuilder().withCancellationRate(0));
+    register("reference");
+    String code = searchAll().getData().get(0).getCode();
+
+    pagSeguro.transactions().cancelByCode(code);
+    assertEquals(TransactionStatus.Status.CANCELLED, statusOf(code));
+    try {
+      pagSeguro.transactions().refundByCode(code);
+      fail();
+    } catch (PagSeguroBadRequestException e) {
+      assertEquals(1, e.getErrors().size());
+    }
+
+    assertEquals(0, simulator.advance(1, TimeUnit.DAYS));
+    assertEquals(TransactionStatus.Status.CANCELLED, statusOf(code));
+  }
+
+  @Test
+  public void shouldPaginateSearchesByDateRange() throws Exception {
+    attach(new TransactionSimulatorBuilder());
+    for (int i = 0; i < 25; i++) {
+      register("reference" + (i % 5));
+    }
+
+    Date from = new Date(simulator.getClock().currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+    Date to = new Date(simulator.getClock().currentTimeMillis());
+    DataList<? extends TransactionSummary> last = pagSeguro.transactions().search()
+        .byDateRange(new DateRangeBuilder().between(from, to), 3, 10);
+
+    assertEquals(Integer.valueOf(3), last.getTotalPages());
+    assertEquals(5, last.getData().size());
+    assertEquals(5, pagSeguro.transactions().search().byDateRange(
+        new DateRangeBuilder().between(from, to), "reference1", 1, 50).getData().size());
+  }
+
+  @Test
+  public void shouldPostNotificationsToWebhook() throws Exception {
+    final BlockingQueue<String> notificationCodes = new LinkedBlockingQueue<String>();
+    HttpServer webhook = HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    webhook.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        String body = read(exchange.getRequestBody());
+        for (String parameter : body.split("&")) {
+          if (parameter.startsWith("notificationCode=")) {
+            notificationCodes.add(URLDecoder.decode(parameter.substring(17), "ISO-8859-1"));
+          }
+        }
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+      }
+    });
+    webhook.start();
+    try {
+      attach(new TransactionSimulatorBuilder()
+          .withCancellationRate(0)
+          .withWebhook("http://127.0.0.1:" + webhook.getAddress().getPort() + "/"));
+      register("reference");
+      simulator.advance(2, TimeUnit.MINUTES);
+
+      TransactionDetail created = pagSeguro.transactions().search()
+          .byNotificationCode(poll(notificationCodes));
+      TransactionDetail approved = pagSeguro.transactions().search()
+          .byNotificationCode(poll(notificationCodes));
+
+      assertEquals(created.getCode(), approved.getCode());
+      assertEquals(TransactionStatus.Status.APPROVED, approved.getStatus().getStatus());
+    } finally {
+      webhook.stop(0);
+    }
+  }
+
+  private void attach(TransactionSimulatorBuilder builder) {
+    simulator = builder.withSeed(1).build();
+    server.setSimulator(simulator);
+  }
+
+  private void register(String reference) {
+    pagSeguro.checkouts().register(new CheckoutRegistrationBuilder()
+        .withCurrency(Currency.BRL)
+        .withReference(reference)
+        .addItem(new PaymentItemBuilder()
+            .withId("1")
+            .withDescription("description")
+            .withAmount(new BigDecimal("9.99"))
+            .withQuantity(2)));
+  }
+
+  private DataList<? extends TransactionSummary> searchAll() {
+    long now = simulator.getClock().currentTimeMillis();
+    return pagSeguro.transactions().search().byDateRange(new DateRangeBuilder()
+        .between(new Date(now - TimeUnit.HOURS.toMillis(1)), new Date(now)), 1, 50);
+  }
+
+  private TransactionStatus.Status statusOf(String code) {
+    return pagSeguro.transactions().search().byCode(code).getStatus().getStatus();
+  }
+
+  private static String poll(BlockingQueue<String> queue) throws InterruptedException {
+    String value = queue.poll(5, TimeUnit.SECONDS);
+    assertNotNull(value);
+    return value;
+  }
+
+  private static String read(InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int read;
+    while ((read = input.read(buffer)) != -1) {
+      output.write(buffer, 0, read);
+    }
+    return output.toString("ISO-8859-1");
+  }
+}